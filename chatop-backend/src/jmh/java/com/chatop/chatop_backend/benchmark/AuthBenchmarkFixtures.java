@@ -0,0 +1,65 @@
+package com.chatop.chatop_backend.benchmark;
+
+import com.chatop.chatop_backend.security.AuthenticatedUser;
+import com.chatop.chatop_backend.security.JwtService;
+import com.chatop.chatop_backend.security.VerifiedTokenCache;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * Données partagées par les benchmarks d'authentification : aucune base de données ni contexte Spring.
+ * Le secret est fixe (graine constante) pour que les tokens aient la même taille d'une exécution à l'autre.
+ */
+final class AuthBenchmarkFixtures {
+
+    static final String EMAIL = "jean-baptiste.dupont@example.com";
+    static final String NAME = "Jean-Baptiste Dupont";
+    static final long USER_ID = 48_213L;
+    static final String RAW_PASSWORD = "Ch@top-Mot2Passe!";
+    static final long EXPIRATION_MS = 86_400_000L;
+
+    // Secret HMAC-SHA512 (64 octets), comme celui stocké dans Vault
+    static final String SECRET = secret();
+
+    private AuthBenchmarkFixtures() {
+    }
+
+    static AuthenticatedUser user() {
+        return new AuthenticatedUser(USER_ID, EMAIL, NAME, "ROLE_USER", null);
+    }
+
+    static JwtService jwtService(boolean cacheEnabled) {
+        VerifiedTokenCache cache = new VerifiedTokenCache(cacheEnabled, 10_000, new SimpleMeterRegistry());
+        return new JwtService(SECRET, EXPIRATION_MS, cache);
+    }
+
+    /**
+     * Construit un token selon le profil demandé :
+     * - "standard" : token émis par l'application (sub, uid, role, iat, exp) ;
+     * - "legacy" : token émis avant l'ajout des claims uid/role (sub, iat, exp).
+     */
+    static String token(JwtService jwtService, String profile) {
+        if ("legacy".equals(profile)) {
+            long now = System.currentTimeMillis();
+            return Jwts.builder()
+                    .subject(EMAIL)
+                    .issuedAt(new Date(now))
+                    .expiration(new Date(now + EXPIRATION_MS))
+                    .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                    .compact();
+        }
+        return jwtService.generateToken(user());
+    }
+
+    private static String secret() {
+        byte[] bytes = new byte[64];
+        new Random(42).nextBytes(bytes);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,116 @@
+package com.chatop.chatop_backend.benchmark;
+
+import com.chatop.chatop_backend.dto.RentalDto;
+import com.chatop.chatop_backend.service.RentalCollectionVersion;
+import com.chatop.chatop_backend.service.ResourceVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Compare le coût côté application d'un GET /api/rentals :
+ * - fullResponse : construction des DTOs puis sérialisation JSON du corps complet ;
+ * - notModified : calcul de la version de la collection et évaluation de If-None-Match (réponse 304 sans corps).
+ * Les octets économisés par une réponse 304 sont affichés au démarrage (taille du corps complet) ;
+ * le CPU et les allocations se lisent dans le score et gc.alloc.rate.norm (profil -prof gc).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConditionalGetBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int rentals;
+
+    private ObjectMapper objectMapper;
+    private RentalCollectionVersion collectionVersion;
+    private String clientEtag;
+    private final Date now = new Date();
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        collectionVersion = new RentalCollectionVersion();
+        clientEtag = collectionVersion.current().etag();
+        System.out.printf("Corps complet: %d octets pour %d locations ; réponse 304: 0 octet de corps%n",
+                fullResponse(), rentals);
+    }
+
+    @Benchmark
+    public long fullResponse() throws IOException {
+        List<RentalDto> dtos = LongStream.rangeClosed(1, rentals).mapToObj(this::rental).collect(Collectors.toList());
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, Collections.singletonMap("rentals", dtos));
+        return out.bytes;
+    }
+
+    @Benchmark
+    public boolean notModified() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/rentals");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, clientEtag);
+        ServletWebRequest webRequest = new ServletWebRequest(request, new MockHttpServletResponse());
+        ResourceVersion version = collectionVersion.current();
+        return webRequest.checkNotModified(version.etag(), version.lastModified());
+    }
+
+    private RentalDto rental(long id) {
+        return new RentalDto(
+                id,
+                "Appartement lumineux n°" + id,
+                BigDecimal.valueOf(35 + id % 120),
+                BigDecimal.valueOf(450 + id % 2000),
+                "http://localhost:3001/uploads/" + id + "-photo.jpg",
+                "Bel appartement rénové proche des transports, cuisine équipée, balcon plein sud.",
+                now,
+                now,
+                1 + id % 5000,
+                0L,
+                48.8566 + id % 1000 * 0.0001,
+                2.3522 + id % 997 * 0.0001);
+    }
+
+    /**
+     * Flux de sortie qui ne conserve rien et compte les octets écrits.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.chatop.chatop_backend.benchmark;
+
+import com.chatop.chatop_backend.security.AuthenticatedUser;
+import com.chatop.chatop_backend.security.JwtAuthenticationFilter;
+import com.chatop.chatop_backend.security.JwtService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure un passage complet dans {@link JwtAuthenticationFilter}, en requêtes par milliseconde.
+ * - authenticatedRequest : appel d'API avec token (principal chargé via un UserDetailsService en mémoire
+ *   en mode "database", ou reconstruit depuis les claims en mode "token") ;
+ * - imageRequest : image de /uploads avec le même en-tête Bearer (ajouté par l'intercepteur du front),
+ *   avec ou sans le contournement des routes publiques (publicBypass).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"database", "token"})
+    public String principalSource;
+
+    @Param({"true", "false"})
+    public boolean publicBypass;
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = AuthBenchmarkFixtures.jwtService(cacheEnabled);
+        AuthenticatedUser user = AuthBenchmarkFixtures.user();
+        UserDetailsService userDetailsService = username -> {
+            if (!user.getUsername().equals(username)) {
+                throw new UsernameNotFoundException(username);
+            }
+            return user;
+        };
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService);
+        ReflectionTestUtils.setField(filter, "principalSource", principalSource);
+        ReflectionTestUtils.setField(filter, "publicBypass", publicBypass);
+        authorizationHeader = "Bearer " + AuthBenchmarkFixtures.token(jwtService, "standard");
+    }
+
+    @Benchmark
+    public void authenticatedRequest(Blackhole blackhole) throws Exception {
+        run("/api/rentals", blackhole);
+    }
+
+    @Benchmark
+    public void imageRequest(Blackhole blackhole) throws Exception {
+        run("/uploads/3f9c2b1e-appartement-paris.jpg", blackhole);
+    }
+
+    private void run(String uri, Blackhole blackhole) throws Exception {
+        // Requête neuve à chaque appel : OncePerRequestFilter marque la requête comme déjà filtrée
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, NO_OP_CHAIN);
+            blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+            blackhole.consume(response.getStatus());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.chatop.chatop_backend.benchmark;
+
+import com.chatop.chatop_backend.security.AuthenticatedUser;
+import com.chatop.chatop_backend.security.JwtService;
+import com.chatop.chatop_backend.security.VerifiedToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure les opérations de {@link JwtService} utilisées à chaque requête authentifiée.
+ * cacheEnabled compare la vérification HMAC complète au cache des tokens vérifiés ;
+ * tokenProfile compare les tokens actuels (avec uid/role) aux anciens tokens (sujet seul).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    @Param({"standard", "legacy"})
+    public String tokenProfile;
+
+    private JwtService jwtService;
+    private AuthenticatedUser user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = AuthBenchmarkFixtures.jwtService(cacheEnabled);
+        user = AuthBenchmarkFixtures.user();
+        token = AuthBenchmarkFixtures.token(jwtService, tokenProfile);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+}
@@ -0,0 +1,165 @@
+package com.chatop.chatop_backend.benchmark;
+
+import com.chatop.chatop_backend.search.AvailabilityCalendar;
+import com.chatop.chatop_backend.search.DayBitmap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare la recherche "disponible du X au Y" sur les calendriers en bitmap ({@link AvailabilityCalendar})
+ * à une requête SQL classique sur une table d'une ligne par nuit bloquée (NOT EXISTS sur un intervalle de dates, H2).
+ * Chaque location a cinq à quinze réservations de 2 à 14 nuits réparties sur l'année ; les séjours recherchés
+ * commencent à une date tirée au hasard. Sont mesurées une page de 20 résultats et le comptage sur tout le catalogue.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RentalAvailabilityBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+    private static final String PAGE = "SELECT r.id FROM rentals r WHERE r.id > ? AND NOT EXISTS (SELECT 1 "
+            + "FROM rental_blocked_days b WHERE b.rental_id = r.id AND b.blocked_on >= ? AND b.blocked_on < ?) ORDER BY r.id LIMIT ?";
+    private static final String COUNT = "SELECT COUNT(*) FROM rentals r WHERE NOT EXISTS (SELECT 1 "
+            + "FROM rental_blocked_days b WHERE b.rental_id = r.id AND b.blocked_on >= ? AND b.blocked_on < ?)";
+
+    @Param({"10000", "100000"})
+    public int rentals;
+
+    @Param({"3", "14"})
+    public int nights;
+
+    @Param({"20"})
+    public int limit;
+
+    private AvailabilityCalendar calendar;
+    private Connection connection;
+    private PreparedStatement page;
+    private PreparedStatement count;
+    private final SplittableRandom queries = new SplittableRandom(7);
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:availability-" + rentals + ";DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE rentals (id BIGINT PRIMARY KEY)");
+            statement.execute("CREATE TABLE rental_blocked_days (rental_id BIGINT NOT NULL, blocked_on DATE NOT NULL, "
+                    + "PRIMARY KEY (rental_id, blocked_on))");
+        }
+        connection.setAutoCommit(false);
+
+        SplittableRandom random = new SplittableRandom(42);
+        calendar = new AvailabilityCalendar();
+        long blockedRows = 0;
+        try (PreparedStatement insertRental = connection.prepareStatement("INSERT INTO rentals VALUES (?)");
+             PreparedStatement insertDay = connection.prepareStatement(
+                     "MERGE INTO rental_blocked_days KEY (rental_id, blocked_on) VALUES (?, ?)")) {
+            for (long id = 1; id <= rentals; id++) {
+                calendar.addRental(id);
+                insertRental.setLong(1, id);
+                insertRental.addBatch();
+                DayBitmap bitmap = DayBitmap.EMPTY;
+                int bookings = 5 + random.nextInt(11);
+                for (int b = 0; b < bookings; b++) {
+                    int start = random.nextInt(365 - 14);
+                    int end = start + 2 + random.nextInt(13);
+                    bitmap = bitmap.withRange(start, end, true);
+                    for (int day = start; day < end; day++) {
+                        insertDay.setLong(1, id);
+                        insertDay.setDate(2, Date.valueOf(FIRST_DAY.plusDays(day)));
+                        insertDay.addBatch();
+                        blockedRows++;
+                    }
+                }
+                calendar.put(id, FIRST_DAY.getYear(), bitmap);
+                if (id % 1_000 == 0) {
+                    insertRental.executeBatch();
+                    insertDay.executeBatch();
+                }
+            }
+            insertRental.executeBatch();
+            insertDay.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        System.out.printf("Calendriers: %d locations, %d nuits réservées (%d octets en bitmap)%n", rentals,
+                blockedRows, calendar.bitmaps() * DayBitmap.BYTES);
+        page = connection.prepareStatement(PAGE);
+        count = connection.prepareStatement(COUNT);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long[] bitmapPage() {
+        LocalDate from = nextStart();
+        return calendar.findAvailable(from, from.plusDays(nights), 0L, limit);
+    }
+
+    @Benchmark
+    public long bitmapCount() {
+        LocalDate from = nextStart();
+        return calendar.countAvailable(from, from.plusDays(nights));
+    }
+
+    @Benchmark
+    public long[] sqlPage() throws SQLException {
+        LocalDate from = nextStart();
+        page.setLong(1, 0L);
+        page.setDate(2, Date.valueOf(from));
+        page.setDate(3, Date.valueOf(from.plusDays(nights)));
+        page.setInt(4, limit);
+        long[] ids = new long[limit];
+        int found = 0;
+        try (ResultSet rs = page.executeQuery()) {
+            while (rs.next()) {
+                ids[found++] = rs.getLong(1);
+            }
+        }
+        return ids;
+    }
+
+    @Benchmark
+    public long sqlCount() throws SQLException {
+        LocalDate from = nextStart();
+        count.setDate(1, Date.valueOf(from));
+        count.setDate(2, Date.valueOf(from.plusDays(nights)));
+        try (ResultSet rs = count.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private LocalDate nextStart() {
+        return FIRST_DAY.plusDays(queries.nextInt(365 - nights));
+    }
+}
@@ -0,0 +1,134 @@
+package com.chatop.chatop_backend.benchmark;
+
+import com.chatop.chatop_backend.model.Message;
+import com.chatop.chatop_backend.model.Rental;
+import com.chatop.chatop_backend.model.User;
+import com.chatop.chatop_backend.repository.RentalRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure la suppression d'une location ayant de nombreux messages, sur une base H2 en mémoire :
+ * - entityCascade : comportement précédent (CascadeType.ALL + orphanRemoval sur Rental.messages) :
+ *   chargement de la location et de tous ses messages, puis un DELETE par message et un pour la location ;
+ * - setBased : requête de RentalRepository.deleteAllByIdIn, un seul DELETE, les messages étant supprimés
+ *   par la clé étrangère ON DELETE CASCADE (générée depuis @OnDelete sur Message.rental).
+ * Une nouvelle location et ses messages sont insérés avant chaque appel (hors mesure).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RentalDeleteBenchmark {
+
+    // Insertion ensembliste des messages (H2 : SYSTEM_RANGE génère les lignes)
+    private static final String INSERT_MESSAGES = "insert into messages (rental_id, user_id, message, created_at, updated_at) "
+            + "select ?1, ?2, 'Bonjour, la location est-elle encore disponible ?', current_timestamp, current_timestamp "
+            + "from system_range(1, ?3)";
+
+    @Param({"100", "10000"})
+    public int messages;
+
+    private SessionFactory sessionFactory;
+    private String setBasedDelete;
+    private Long ownerId;
+    private Long rentalId;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Rental.class)
+                .addAnnotatedClass(Message.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL,
+                        "jdbc:h2:mem:delete-" + messages + ";MODE=MySQL;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .buildSessionFactory();
+        setBasedDelete = RentalRepository.class.getMethod("deleteAllByIdIn", Collection.class)
+                .getAnnotation(Query.class).value();
+        ownerId = sessionFactory.fromTransaction(session -> {
+            LocalDateTime now = LocalDateTime.now();
+            User owner = User.builder()
+                    .email("owner@chatop.test")
+                    .name("Propriétaire")
+                    .password("{noop}secret")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            session.persist(owner);
+            return owner.getId();
+        });
+    }
+
+    @Setup(Level.Invocation)
+    public void insertRental() {
+        rentalId = sessionFactory.fromTransaction(session -> {
+            LocalDateTime now = LocalDateTime.now();
+            Rental rental = new Rental();
+            rental.setName("Appartement lumineux");
+            rental.setSurface(BigDecimal.valueOf(42));
+            rental.setPrice(BigDecimal.valueOf(850));
+            rental.setDescription("Bel appartement rénové proche des transports.");
+            rental.setOwner(session.getReference(User.class, ownerId));
+            rental.setCreatedAt(now);
+            rental.setUpdatedAt(now);
+            session.persist(rental);
+            session.flush();
+            session.createNativeMutationQuery(INSERT_MESSAGES)
+                    .setParameter(1, rental.getId())
+                    .setParameter(2, ownerId)
+                    .setParameter(3, messages)
+                    .executeUpdate();
+            return rental.getId();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public int entityCascade() {
+        return sessionFactory.fromTransaction(session -> {
+            Rental rental = session.get(Rental.class, rentalId);
+            List<Message> loaded = session.createSelectionQuery("from Message m where m.rental = :rental", Message.class)
+                    .setParameter("rental", rental)
+                    .getResultList();
+            loaded.forEach(session::remove);
+            session.remove(rental);
+            return loaded.size() + 1;
+        });
+    }
+
+    @Benchmark
+    public int setBased() {
+        return sessionFactory.fromTransaction(session -> session.createMutationQuery(setBasedDelete)
+                .setParameter("ids", List.of(rentalId))
+                .executeUpdate());
+    }
+}
@@ -0,0 +1,171 @@
+package com.chatop.chatop_backend.benchmark;
+
+import com.chatop.chatop_backend.dto.RentalGeoRow;
+import com.chatop.chatop_backend.search.GeoArea;
+import com.chatop.chatop_backend.search.RentalGeoGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare trois façons de trouver les locations les plus proches d'un point, dans un rayon donné :
+ * - grid : index spatial en mémoire ({@link RentalGeoGrid}, cellules de 0,1°) ;
+ * - sqlDistanceScan : approche naïve, distance de haversine calculée en SQL pour chaque ligne, tri et LIMIT ;
+ * - sqlBoundingBox : repli de l'application sans index en mémoire (rectangle englobant sur l'index
+ *   (latitude, longitude), distances calculées en Java).
+ * Les requêtes SQL sont exécutées sur H2 en mémoire (table réduite à id, latitude, longitude) : les durées
+ * absolues diffèrent de MySQL, mais pas l'ordre de grandeur du parcours complet face à l'index.
+ * Les locations sont réparties autour de dix villes françaises ; chaque appel cible la ville suivante.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RentalGeoSearchBenchmark {
+
+    // Paris, Lyon, Marseille, Nantes, Bordeaux, Lille, Nice, Toulouse, Strasbourg, Montpellier
+    private static final double[][] CITIES = {
+            {48.8566, 2.3522}, {45.7640, 4.8357}, {43.2965, 5.3698}, {47.2184, -1.5536}, {44.8378, -0.5792},
+            {50.6292, 3.0573}, {43.7102, 7.2620}, {43.6047, 1.4442}, {48.5734, 7.7521}, {43.6108, 3.8767}};
+
+    private static final String DISTANCE = "6371.0088 * 2 * ASIN(SQRT(POWER(SIN(RADIANS(latitude - ?) / 2), 2) "
+            + "+ COS(RADIANS(?)) * COS(RADIANS(latitude)) * POWER(SIN(RADIANS(longitude - ?) / 2), 2)))";
+    private static final String DISTANCE_SCAN = "SELECT id, distance FROM (SELECT id, " + DISTANCE
+            + " AS distance FROM rentals_geo) t WHERE distance <= ? ORDER BY distance, id LIMIT ?";
+    private static final String BOUNDING_BOX = "SELECT id, latitude, longitude FROM rentals_geo "
+            + "WHERE latitude BETWEEN ? AND ? AND longitude BETWEEN ? AND ?";
+
+    @Param({"100000", "1000000"})
+    public int rentals;
+
+    @Param({"2", "10", "50"})
+    public double radiusKm;
+
+    @Param({"20"})
+    public int limit;
+
+    private RentalGeoGrid grid;
+    private Connection connection;
+    private PreparedStatement distanceScan;
+    private PreparedStatement boundingBox;
+    private int next;
+
+    @Setup
+    public void setUp() throws SQLException {
+        SplittableRandom random = new SplittableRandom(42);
+        List<RentalGeoRow> rows = new ArrayList<>(rentals);
+        for (long id = 1; id <= rentals; id++) {
+            double[] city = CITIES[random.nextInt(CITIES.length)];
+            // Densité décroissante autour du centre-ville (jusqu'à ~50 km)
+            double spread = 0.05 + 0.4 * random.nextDouble() * random.nextDouble();
+            rows.add(new RentalGeoRow(id, city[0] + (random.nextDouble() * 2 - 1) * spread,
+                    city[1] + (random.nextDouble() * 2 - 1) * spread));
+        }
+
+        long start = System.nanoTime();
+        grid = RentalGeoGrid.build(rows.iterator(), 0.1);
+        System.out.printf("Grille: %d locations, construite en %d ms%n", grid.size(),
+                (System.nanoTime() - start) / 1_000_000);
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:geo-" + rentals + ";DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE rentals_geo (id BIGINT PRIMARY KEY, latitude DOUBLE, longitude DOUBLE)");
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO rentals_geo VALUES (?, ?, ?)")) {
+            for (int i = 0; i < rows.size(); i++) {
+                RentalGeoRow row = rows.get(i);
+                insert.setLong(1, row.id());
+                insert.setDouble(2, row.latitude());
+                insert.setDouble(3, row.longitude());
+                insert.addBatch();
+                if (i % 10_000 == 9_999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX rentals_geo_location_idx ON rentals_geo(latitude, longitude)");
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        distanceScan = connection.prepareStatement(DISTANCE_SCAN);
+        boundingBox = connection.prepareStatement(BOUNDING_BOX);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public RentalGeoGrid.Hits grid() {
+        return grid.search(nextArea(), limit);
+    }
+
+    @Benchmark
+    public long[] sqlDistanceScan() throws SQLException {
+        GeoArea area = nextArea();
+        distanceScan.setDouble(1, area.referenceLatitude());
+        distanceScan.setDouble(2, area.referenceLatitude());
+        distanceScan.setDouble(3, area.referenceLongitude());
+        distanceScan.setDouble(4, radiusKm);
+        distanceScan.setInt(5, limit);
+        long[] ids = new long[limit];
+        int count = 0;
+        try (ResultSet rs = distanceScan.executeQuery()) {
+            while (rs.next()) {
+                ids[count++] = rs.getLong(1);
+            }
+        }
+        return ids;
+    }
+
+    @Benchmark
+    public RentalGeoGrid.Hits sqlBoundingBox() throws SQLException {
+        GeoArea area = nextArea();
+        boundingBox.setDouble(1, area.minLatitude());
+        boundingBox.setDouble(2, area.maxLatitude());
+        boundingBox.setDouble(3, area.minLongitude());
+        boundingBox.setDouble(4, area.maxLongitude());
+        List<RentalGeoRow> candidates = new ArrayList<>();
+        try (ResultSet rs = boundingBox.executeQuery()) {
+            while (rs.next()) {
+                candidates.add(new RentalGeoRow(rs.getLong(1), rs.getDouble(2), rs.getDouble(3)));
+            }
+        }
+        return RentalGeoGrid.rank(candidates.iterator(), area, limit);
+    }
+
+    private GeoArea nextArea() {
+        double[] city = CITIES[next];
+        next = (next + 1) % CITIES.length;
+        return GeoArea.circle(city[0], city[1], radiusKm);
+    }
+}
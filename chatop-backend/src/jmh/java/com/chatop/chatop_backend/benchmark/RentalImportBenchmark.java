@@ -0,0 +1,151 @@
+package com.chatop.chatop_backend.benchmark;
+
+import com.chatop.chatop_backend.dto.RentalImportProgressDto;
+import com.chatop.chatop_backend.model.Message;
+import com.chatop.chatop_backend.model.Rental;
+import com.chatop.chatop_backend.model.User;
+import com.chatop.chatop_backend.service.JsonStreamWriter;
+import com.chatop.chatop_backend.service.RentalImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure l'import de locations en masse sur une base H2 en mémoire (temps pour importer toutes les lignes) :
+ * - entityPersist : une entité Rental persistée par ligne, 1 000 par transaction, hibernate.jdbc.batch_size=30
+ *   comme dans application.properties ; GenerationType.IDENTITY force un INSERT par ligne ;
+ * - jdbcBatchImport : {@link RentalImportService} (NDJSON lu en flux, batchUpdate par lot de chunkSize lignes).
+ * H2 n'a pas d'équivalent de rewriteBatchedStatements : avec MySQL, chaque lot devient en plus un INSERT multi-lignes
+ * et l'écart est plus important (aller-retour réseau par INSERT).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RentalImportBenchmark {
+
+    private static final String JDBC_URL = "jdbc:h2:mem:import;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"100", "1000"})
+    public int chunkSize;
+
+    private SessionFactory sessionFactory;
+    private JdbcTemplate jdbcTemplate;
+    private RentalImportService importService;
+    private byte[] ndjson;
+    private Long ownerId;
+
+    @Setup
+    public void setUp() {
+        // Schéma créé par Hibernate depuis les entités (même DDL que l'application avec ddl-auto)
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Rental.class)
+                .addAnnotatedClass(Message.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, JDBC_URL)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "30")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .buildSessionFactory();
+        ownerId = sessionFactory.fromTransaction(session -> {
+            LocalDateTime now = LocalDateTime.now();
+            User owner = User.builder()
+                    .email("agence@chatop.test")
+                    .name("Agence")
+                    .password("{noop}secret")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            session.persist(owner);
+            return owner.getId();
+        });
+
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(JDBC_URL);
+        dataSource.setUser("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        ObjectMapper objectMapper = new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        importService = new RentalImportService(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                objectMapper, new JsonStreamWriter(objectMapper), event -> { }, chunkSize, Long.MAX_VALUE, 100);
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            builder.append("{\"name\":\"Appartement lumineux n°").append(i)
+                    .append("\",\"surface\":").append(35 + i % 120)
+                    .append(",\"price\":").append(450 + i % 2000)
+                    .append(",\"description\":\"Bel appartement rénové proche des transports, cuisine équipée.\"}\n");
+        }
+        ndjson = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearRentals() {
+        jdbcTemplate.update("DELETE FROM RENTALS");
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public long entityPersist() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < rows; from += 1000) {
+            int start = from;
+            sessionFactory.inTransaction(session -> {
+                User owner = session.getReference(User.class, ownerId);
+                for (int i = start; i < Math.min(start + 1000, rows); i++) {
+                    Rental rental = new Rental();
+                    rental.setName("Appartement lumineux n°" + i);
+                    rental.setSurface(BigDecimal.valueOf(35 + i % 120));
+                    rental.setPrice(BigDecimal.valueOf(450 + i % 2000));
+                    rental.setDescription("Bel appartement rénové proche des transports, cuisine équipée.");
+                    rental.setOwner(owner);
+                    rental.setCreatedAt(now);
+                    rental.setUpdatedAt(now);
+                    session.persist(rental);
+                }
+            });
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public long jdbcBatchImport() {
+        RentalImportProgressDto summary = importService.importRentals(new ByteArrayInputStream(ndjson),
+                RentalImportService.Format.NDJSON, ownerId, "agence@chatop.test", false, OutputStream.nullOutputStream());
+        return summary.imported();
+    }
+}
@@ -0,0 +1,158 @@
+package com.chatop.chatop_backend.benchmark;
+
+import com.chatop.chatop_backend.dto.RentalDto;
+import com.chatop.chatop_backend.dto.RentalRow;
+import com.chatop.chatop_backend.model.Message;
+import com.chatop.chatop_backend.model.Rental;
+import com.chatop.chatop_backend.model.User;
+import com.chatop.chatop_backend.repository.RentalRepository;
+import com.chatop.chatop_backend.service.RentalServiceImpl;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.objenesis.ObjenesisStd;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare les deux chemins de lecture de GET /api/rentals (chatop.rentals.read-path) sur une base H2 en mémoire :
+ * - entityReadWrite : entités Rental + User (jointure), instantanés et flush en fin de transaction, puis mapToDto ;
+ * - entityReadOnly : même lecture dans une transaction en lecture seule (pas d'instantané ni de flush) ;
+ * - projection : projection RentalRow (colonnes du DTO, owner_id sans jointure) en lecture seule, puis toDto().
+ * Les requêtes sont celles déclarées sur {@link RentalRepository} ; le mapping des entités est celui de
+ * {@link RentalServiceImpl}. H2 n'a pas le coût réseau de MySQL : seul le coût côté application est comparé.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RentalReadPathBenchmark {
+
+    // Requête de RentalRepository.findAll() (@EntityGraph owner)
+    private static final String ENTITY_QUERY = "select r from Rental r join fetch r.owner";
+
+    @Param({"100", "1000", "10000"})
+    public int rentals;
+
+    private SessionFactory sessionFactory;
+    private String projectionQuery;
+    private RentalServiceImpl entityMapper;
+    private Method mapToDto;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Rental.class)
+                .addAnnotatedClass(Message.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL,
+                        "jdbc:h2:mem:read-path-" + rentals + ";MODE=MySQL;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .buildSessionFactory();
+        sessionFactory.inTransaction(this::insertRentals);
+
+        projectionQuery = RentalRepository.class.getMethod("findAllRows").getAnnotation(Query.class).value();
+        // Seul mapToDto est utilisé : l'instance est créée sans ses dépendances
+        entityMapper = new ObjenesisStd().newInstance(RentalServiceImpl.class);
+        mapToDto = ReflectionUtils.findMethod(RentalServiceImpl.class, "mapToDto", Rental.class);
+        ReflectionUtils.makeAccessible(mapToDto);
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<RentalDto> entityReadWrite() {
+        return sessionFactory.fromTransaction(this::readEntities);
+    }
+
+    @Benchmark
+    public List<RentalDto> entityReadOnly() {
+        return sessionFactory.fromTransaction(session -> {
+            readOnly(session);
+            return readEntities(session);
+        });
+    }
+
+    @Benchmark
+    public List<RentalDto> projection() {
+        return sessionFactory.fromTransaction(session -> {
+            readOnly(session);
+            List<RentalRow> rows = session.createQuery(projectionQuery, RentalRow.class).getResultList();
+            List<RentalDto> dtos = new ArrayList<>(rows.size());
+            for (RentalRow row : rows) {
+                dtos.add(row.toDto());
+            }
+            return dtos;
+        });
+    }
+
+    private List<RentalDto> readEntities(Session session) {
+        List<Rental> entities = session.createQuery(ENTITY_QUERY, Rental.class).getResultList();
+        List<RentalDto> dtos = new ArrayList<>(entities.size());
+        for (Rental rental : entities) {
+            dtos.add((RentalDto) ReflectionUtils.invokeMethod(mapToDto, entityMapper, rental));
+        }
+        return dtos;
+    }
+
+    // Équivalent de @Transactional(readOnly = true) avec Spring : session en lecture seule, sans flush
+    private static void readOnly(Session session) {
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+    }
+
+    private void insertRentals(Session session) {
+        LocalDateTime now = LocalDateTime.now();
+        List<User> owners = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, rentals / 10); i++) {
+            User owner = User.builder()
+                    .email("owner" + i + "@chatop.test")
+                    .name("Propriétaire " + i)
+                    .password("{noop}secret")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            session.persist(owner);
+            owners.add(owner);
+        }
+        for (int i = 0; i < rentals; i++) {
+            Rental rental = new Rental();
+            rental.setName("Appartement lumineux n°" + i);
+            rental.setSurface(BigDecimal.valueOf(35 + i % 120));
+            rental.setPrice(BigDecimal.valueOf(450 + i % 2000));
+            rental.setPicture(i + "-photo.jpg");
+            rental.setDescription("Bel appartement rénové proche des transports, cuisine équipée, balcon plein sud.");
+            rental.setOwner(owners.get(i % owners.size()));
+            rental.setCreatedAt(now);
+            rental.setUpdatedAt(now);
+            session.persist(rental);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.chatop.chatop_backend.benchmark;
+
+import com.chatop.chatop_backend.dto.RentalDto;
+import com.chatop.chatop_backend.service.JsonStreamWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Compare l'écriture de N locations en JSON :
+ * - materialized : liste complète de DTOs puis sérialisation d'un bloc (ancien GET /api/rentals) ;
+ * - streaming : DTOs produits à la demande et écrits un à un par {@link JsonStreamWriter}.
+ * Les lignes sont synthétiques (pas de base de données) : seul le coût côté application est mesuré.
+ * La mémoire se lit dans gc.alloc.rate.norm (profil -prof gc) ; le tas est limité à 512 Mo pour
+ * que la version matérialisée à 1M de lignes mette en évidence la pression mémoire.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx512m"})
+@State(Scope.Benchmark)
+public class RentalStreamingBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private JsonStreamWriter jsonStreamWriter;
+    private final Date now = new Date();
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        jsonStreamWriter = new JsonStreamWriter(objectMapper);
+    }
+
+    @Benchmark
+    public long materialized() throws IOException {
+        List<RentalDto> rentals = rows().collect(Collectors.toList());
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, Collections.singletonMap("rentals", rentals));
+        return out.bytes;
+    }
+
+    @Benchmark
+    public long streaming() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        jsonStreamWriter.writeArray(out, "rentals", rows().iterator(), null);
+        return out.bytes;
+    }
+
+    private Stream<RentalDto> rows() {
+        return LongStream.rangeClosed(1, rows).mapToObj(id -> new RentalDto(
+                id,
+                "Appartement lumineux n°" + id,
+                BigDecimal.valueOf(35 + id % 120),
+                BigDecimal.valueOf(450 + id % 2000),
+                "http://localhost:3001/uploads/" + id + "-photo.jpg",
+                "Bel appartement rénové proche des transports, cuisine équipée, balcon plein sud.",
+                now,
+                now,
+                1 + id % 5000,
+                0L,
+                48.8566 + id % 1000 * 0.0001,
+                2.3522 + id % 997 * 0.0001));
+    }
+
+    /**
+     * Flux de sortie qui ne conserve rien et compte les octets écrits.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
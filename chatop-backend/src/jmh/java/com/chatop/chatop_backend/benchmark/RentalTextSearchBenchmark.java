@@ -0,0 +1,105 @@
+package com.chatop.chatop_backend.benchmark;
+
+import com.chatop.chatop_backend.dto.RentalTextRow;
+import com.chatop.chatop_backend.search.RentalTextIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Mesure la latence d'une recherche plein texte ({@link RentalTextIndex}) selon la taille de l'index.
+ * L'index est construit sur disque (répertoire temporaire) avec des annonces synthétiques en français ;
+ * query couvre un terme fréquent, une combinaison sélective, une phrase exacte et un préfixe.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RentalTextSearchBenchmark {
+
+    private static final String[] TYPES = {"Appartement", "Studio", "Maison", "Loft", "Duplex", "Chambre"};
+    private static final String[] QUALITIES = {"lumineux", "rénové", "calme", "spacieux", "meublé", "traversant"};
+    private static final String[] FEATURES = {"terrasse", "balcon", "jardin", "cheminée", "parking", "piscine",
+            "cave", "ascenseur", "vue sur la mer", "proche de la gare", "cuisine équipée", "double vitrage"};
+    private static final String[] CITIES = {"Paris", "Lyon", "Marseille", "Nantes", "Bordeaux", "Lille", "Nice",
+            "Toulouse", "Strasbourg", "Montpellier"};
+
+    @Param({"10000", "100000", "1000000"})
+    public int documents;
+
+    @Param({"appartement", "terrasse vue mer", "\"cuisine equipee\"", "chemin*"})
+    public String query;
+
+    @Param({"20"})
+    public int limit;
+
+    private Path directory;
+    private RentalTextIndex index;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("rental-text-index-bench");
+        index = RentalTextIndex.open(directory);
+        SplittableRandom random = new SplittableRandom(42);
+        Iterator<RentalTextRow> rows = LongStream.rangeClosed(1, documents)
+                .mapToObj(id -> row(id, random))
+                .iterator();
+        long start = System.nanoTime();
+        index.replaceAll(rows);
+        System.out.printf("Index: %d documents, %d Ko, construit en %d ms%n", index.numDocs(),
+                index.sizeInBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        index.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public RentalTextIndex.Hits search() throws IOException {
+        return index.search(query, limit);
+    }
+
+    private static RentalTextRow row(long id, SplittableRandom random) {
+        String type = pick(TYPES, random);
+        String city = pick(CITIES, random);
+        String name = type + " " + pick(QUALITIES, random) + " à " + city;
+        StringBuilder description = new StringBuilder()
+                .append(type).append(" de ").append(20 + random.nextInt(180)).append(" m² situé à ").append(city)
+                .append(", ").append(pick(QUALITIES, random)).append(" et ").append(pick(QUALITIES, random)).append('.');
+        int features = 1 + random.nextInt(4);
+        for (int i = 0; i < features; i++) {
+            description.append(" Avec ").append(pick(FEATURES, random)).append('.');
+        }
+        description.append(" L'annonce n°").append(id).append(" est disponible immédiatement.");
+        return new RentalTextRow(id, name, description.toString());
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+}
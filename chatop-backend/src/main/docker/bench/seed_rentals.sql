@@ -0,0 +1,37 @@
+-- Jeu de données de mesure : 1 000 propriétaires et 1 000 000 de locations.
+-- ⚠️ À exécuter manuellement sur une base de test uniquement (ce fichier n'est pas dans init/) :
+--   docker exec -i <conteneur-mysql> mysql -uchatopuser -pchatoppass chatop < seed_rentals.sql
+USE chatop;
+
+SET SESSION cte_max_recursion_depth = 1000000;
+
+-- Propriétaires (mot de passe BCrypt factice, connexion impossible)
+INSERT INTO USERS (email, name, password)
+WITH RECURSIVE seq (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM seq WHERE n < 999)
+SELECT CONCAT('bench-owner-', n, '@example.com'), CONCAT('Propriétaire ', n),
+       '$2a$10$invalidinvalidinvalidinvalidinvalidinvalidinvalidinvali'
+FROM seq;
+
+-- Locations : prix de 200 à 4 999, surfaces de 15 à 314 m², réparties sur les propriétaires
+INSERT INTO RENTALS (name, surface, price, picture, description, owner_id)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000000)
+SELECT CONCAT(ELT(1 + n % 5, 'Studio', 'Appartement', 'Maison', 'Loft', 'Chalet'), ' n°', n),
+       15 + (n * 7919) % 300,
+       200 + (n * 104729) % 4800,
+       NULL,
+       CONCAT('Location de mesure ', n, ELT(1 + n % 4, ' proche de la mer', ' au calme', ' centre-ville', ' avec jardin')),
+       o.id
+FROM seq
+JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS rn
+      FROM USERS WHERE email LIKE 'bench-owner-%') o ON o.rn = seq.n % 1000;
+
+ANALYZE TABLE RENTALS;
+
+-- Requêtes représentatives de GET /api/rentals/search (comparer les durées avec et sans les index) :
+EXPLAIN ANALYZE SELECT * FROM RENTALS WHERE price BETWEEN 500 AND 800 ORDER BY price, id LIMIT 20;
+EXPLAIN ANALYZE SELECT * FROM RENTALS WHERE price BETWEEN 500 AND 800 AND surface BETWEEN 40 AND 60 ORDER BY id DESC LIMIT 20;
+EXPLAIN ANALYZE SELECT * FROM RENTALS WHERE owner_id = (SELECT MIN(id) FROM USERS WHERE email LIKE 'bench-owner-%') ORDER BY price, id LIMIT 20;
+-- GET /api/user/{id}/rentals (rentals_owner_idx) :
+EXPLAIN ANALYZE SELECT * FROM RENTALS WHERE owner_id = (SELECT MIN(id) FROM USERS WHERE email LIKE 'bench-owner-%') AND id > 0 ORDER BY id LIMIT 20;
+EXPLAIN ANALYZE SELECT SUM(CASE WHEN price < 250 THEN 1 ELSE 0 END), SUM(CASE WHEN price >= 250 AND price < 500 THEN 1 ELSE 0 END)
+FROM RENTALS WHERE surface BETWEEN 40 AND 60;
@@ -9,6 +9,7 @@ FLUSH PRIVILEGES;
 
 -- Supprimer les tables existantes si elles existent déjà (évite les conflits)
 DROP TABLE IF EXISTS MESSAGES;
+DROP TABLE IF EXISTS RENTAL_AVAILABILITY;
 DROP TABLE IF EXISTS RENTALS;
 DROP TABLE IF EXISTS USERS;
 
@@ -30,9 +31,14 @@ CREATE TABLE RENTALS (
   price DECIMAL(10,2) NOT NULL,
   picture VARCHAR(255),
   description TEXT,
+  latitude DOUBLE NULL,
+  longitude DOUBLE NULL,
   owner_id BIGINT NOT NULL,
-  created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
-  updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  -- Précision à la milliseconde : updated_at sert de validateur HTTP (ETag / Last-Modified)
+  created_at DATETIME(3) DEFAULT CURRENT_TIMESTAMP(3),
+  updated_at DATETIME(3) DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+  -- Verrouillage optimiste (@Version) : incrémentée à chaque mise à jour
+  version BIGINT NOT NULL DEFAULT 0,
   CONSTRAINT fk_rentals_owner FOREIGN KEY (owner_id) REFERENCES USERS(id) ON DELETE CASCADE
 );
 
@@ -48,10 +54,32 @@ CREATE TABLE MESSAGES (
   CONSTRAINT fk_messages_user FOREIGN KEY (user_id) REFERENCES USERS(id) ON DELETE CASCADE
 );
 
+-- Création de la table RENTAL_AVAILABILITY : nuits bloquées d'une location, une ligne par année civile.
+-- blocked_days est un bitmap de 366 bits (46 octets, bit i = i-ème jour de l'année) ; une année sans nuit
+-- bloquée n'a pas de ligne. Les lignes sont supprimées avec leur location.
+CREATE TABLE RENTAL_AVAILABILITY (
+  rental_id BIGINT NOT NULL,
+  calendar_year INT NOT NULL,
+  blocked_days VARBINARY(46) NOT NULL,
+  PRIMARY KEY (rental_id, calendar_year),
+  CONSTRAINT fk_availability_rental FOREIGN KEY (rental_id) REFERENCES RENTALS(id) ON DELETE CASCADE
+);
+
 -- Index pour optimiser les requêtes
 CREATE UNIQUE INDEX USERS_email_idx ON USERS(email);
-CREATE INDEX rentals_owner_idx ON RENTALS(owner_id);
-CREATE INDEX messages_rental_idx ON MESSAGES(rental_id);
+-- Index composites de la recherche de locations (GET /api/rentals/search) :
+-- (owner_id, price) couvre aussi la clé étrangère owner_id ; InnoDB ajoute l'id en fin d'index,
+-- ce qui permet les tris "prix puis id" et "surface puis id" sans tri en mémoire.
+CREATE INDEX rentals_owner_price_idx ON RENTALS(owner_id, price);
+CREATE INDEX rentals_price_surface_idx ON RENTALS(price, surface);
+CREATE INDEX rentals_surface_price_idx ON RENTALS(surface, price);
+-- Locations d'un propriétaire par pages (GET /api/user/{id}/rentals) : owner_id = ? AND id > ? ORDER BY id LIMIT n
+-- lit uniquement la page demandée, quelle que soit la taille du catalogue
+CREATE INDEX rentals_owner_idx ON RENTALS(owner_id, id);
+-- Recherche géographique sans l'index spatial en mémoire (repli) : rectangle englobant de la zone
+CREATE INDEX rentals_location_idx ON RENTALS(latitude, longitude);
+-- Fil de discussion d'une location, paginé par (created_at, id) : l'index couvre le filtre et le tri
+CREATE INDEX messages_rental_idx ON MESSAGES(rental_id, created_at, id);
 CREATE INDEX messages_user_idx ON MESSAGES(user_id);
 
 -- Message de confirmation
@@ -0,0 +1,10 @@
+-- Réplication vers le réplica en lecture (service db-replica, profil docker compose "replica")
+-- Exécuté après init.sql : le réplica rejoue tout le binlog (base, tables et utilisateurs compris)
+
+-- Utilisateur utilisé par le réplica pour lire le binlog
+CREATE USER IF NOT EXISTS 'repl'@'%' IDENTIFIED BY 'replpass';
+GRANT REPLICATION SLAVE ON *.* TO 'repl'@'%';
+
+-- Permet à l'application de lire SHOW REPLICA STATUS (surveillance du retard du réplica)
+GRANT REPLICATION CLIENT ON *.* TO 'chatopuser'@'%';
+FLUSH PRIVILEGES;
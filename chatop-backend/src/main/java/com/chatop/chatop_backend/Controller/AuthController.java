@@ -4,17 +4,22 @@ import com.chatop.chatop_backend.dto.AuthResponse;
 import com.chatop.chatop_backend.dto.LoginRequest;
 import com.chatop.chatop_backend.dto.RegisterRequest;
 import com.chatop.chatop_backend.dto.UserDto;
-import com.chatop.chatop_backend.model.User;
-import com.chatop.chatop_backend.repository.UserRepository;
+import com.chatop.chatop_backend.dto.UserSnapshot;
+import com.chatop.chatop_backend.exception.LoginThrottledException;
+import com.chatop.chatop_backend.exception.PasswordHashingOverloadedException;
+import com.chatop.chatop_backend.security.LoginRateLimiter;
 import com.chatop.chatop_backend.service.AuthService;
+import com.chatop.chatop_backend.service.UserCacheService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -41,7 +46,8 @@ public class AuthController {
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
     
     private final AuthService authService;
-    private final UserRepository userRepository;
+    private final UserCacheService userCacheService;
+    private final LoginRateLimiter loginRateLimiter;
 
     /**
      * Endpoint pour enregistrer un nouvel utilisateur.
@@ -54,7 +60,8 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Utilisateur enregistré avec succès"),
             @ApiResponse(responseCode = "400", description = "Erreur lors de l'enregistrement"),
-            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur"),
+            @ApiResponse(responseCode = "503", description = "Service d'authentification saturé, réessayer plus tard")
     })
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
@@ -64,6 +71,9 @@ public class AuthController {
             AuthResponse response = authService.register(request);
             logger.info("Enregistrement réussi pour l'email: {}", request.getEmail());
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingOverloadedException e) {
+            logger.warn("Enregistrement rejeté, pool de hachage saturé: {}", request.getEmail());
+            return overloaded(e);
         } catch (Exception e) {
             logger.error("Erreur lors de l'enregistrement de l'utilisateur: {}", e.getMessage(), e);
             return ResponseEntity
@@ -75,8 +85,11 @@ public class AuthController {
     /**
      * Endpoint pour authentifier un utilisateur existant.
      * @Valid permet d'éviter de recevoir des données incorrectes.
+     * Les tentatives sont limitées par email et par IP avant toute vérification du mot de passe ;
+     * une connexion réussie n'est pas décomptée.
      *
      * @param request Données de connexion
+     * @param httpRequest Requête HTTP (adresse IP du client)
      * @return Réponse contenant le token JWT
      */
     @Operation(summary = "Authentifie un utilisateur existant")
@@ -84,17 +97,29 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "Utilisateur authentifié avec succès"),
             @ApiResponse(responseCode = "400", description = "Erreur lors de l'authentification"),
             @ApiResponse(responseCode = "401", description = "Identifiants invalides"),
-            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
+            @ApiResponse(responseCode = "429", description = "Trop de tentatives de connexion, réessayer plus tard"),
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur"),
+            @ApiResponse(responseCode = "503", description = "Service d'authentification saturé, réessayer plus tard")
     })
     @CrossOrigin(origins = "*") // permet à tous les domaines d'accéder à cette route
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         logger.info("Tentative de connexion pour l'email: {}", request.getEmail());
         
         try {
+            loginRateLimiter.checkLoginAttempt(request.getEmail(), httpRequest.getRemoteAddr());
             AuthResponse response = authService.login(request);
+            loginRateLimiter.loginSucceeded(request.getEmail(), httpRequest.getRemoteAddr());
             logger.info("Connexion réussie pour l'email: {}", request.getEmail());
             return ResponseEntity.ok(response);
+        } catch (LoginThrottledException e) {
+            return ResponseEntity
+                    .status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(e.getMessage());
+        } catch (PasswordHashingOverloadedException e) {
+            logger.warn("Connexion rejetée, pool de hachage saturé: {}", request.getEmail());
+            return overloaded(e);
         } catch (Exception e) {
             logger.error("Erreur lors de la connexion de l'utilisateur: {}", e.getMessage(), e);
             
@@ -112,7 +137,7 @@ public class AuthController {
 
     /**
      * Endpoint pour récupérer les informations de l'utilisateur authentifié.
-     * - Récupère l'utilisateur en base de données avec son email extrait de Authentication.
+     * - Récupère l'utilisateur (via le cache des utilisateurs) avec son email extrait de Authentication.
      *
      * @param authentication Objet d'authentification fourni par Spring Security
      * @return Réponse contenant les informations de l'utilisateur
@@ -138,14 +163,14 @@ public class AuthController {
             
             logger.info("Récupération des informations de l'utilisateur: {}", email);
             
-            User user = userRepository.findByEmail(email)
+            UserSnapshot user = userCacheService.findByEmail(email)
                     .orElseThrow(() -> {
                         logger.error("Utilisateur non trouvé en base de données: {}", email);
                         return new UsernameNotFoundException("Utilisateur non trouvé");
                     });
 
             // Transformation de User en UserDto
-            UserDto dto = new UserDto(user.getId(), user.getName(), user.getEmail(), user.getCreatedAt(), user.getUpdatedAt());
+            UserDto dto = user.toDto();
             
             logger.info("Informations de l'utilisateur {} récupérées avec succès", email);
             return ResponseEntity.ok(dto);
@@ -162,4 +187,17 @@ public class AuthController {
                     .body("Erreur interne du serveur: " + e.getMessage());
         }
     }
+
+    /**
+     * Construit la réponse 503 renvoyée lorsque le pool de hachage des mots de passe est saturé.
+     *
+     * @param e Exception de saturation
+     * @return Réponse 503 avec l'en-tête Retry-After
+     */
+    private ResponseEntity<?> overloaded(PasswordHashingOverloadedException e) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
 }
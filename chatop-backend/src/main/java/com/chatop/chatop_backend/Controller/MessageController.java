@@ -12,13 +12,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Contrôleur pour gérer les messages.
@@ -118,4 +123,81 @@ public class MessageController {
             log.info("🏁 [{}] Fin du traitement de la requête de récupération des messages", requestId);
         }
     }
+
+    /**
+     * Récupère tous les messages en flux continu.
+     * La réponse est écrite au fil de la lecture en base : la mémoire utilisée ne dépend pas
+     * du nombre de messages.
+     *
+     * @return Flux JSON de tous les messages
+     */
+    @Operation(summary = "Récupère tous les messages en flux continu (volumes importants)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Messages écrits en flux"),
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMessages() {
+        String requestId = UUID.randomUUID().toString();
+        log.info("📥 [{}] Réception d'une requête de récupération en flux de tous les messages", requestId);
+
+        StreamingResponseBody body = out -> {
+            try {
+                long count = messageService.streamAllMessages(out);
+                log.info("✅ [{}] {} messages écrits en flux", requestId, count);
+            } catch (Exception e) {
+                log.error("❌ [{}] Erreur lors de l'écriture en flux des messages: {}", requestId, e.getMessage(), e);
+                throw e;
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Exporte tous les messages en NDJSON (une ligne par message), éventuellement compressé en gzip.
+     * Les lignes sont écrites au fil de la lecture en base : la mémoire utilisée ne dépend pas
+     * du nombre de messages. Une erreur survenant en cours d'écriture interrompt la réponse.
+     * Réservé au rôle ADMIN (voir SecurityConfig).
+     *
+     * @param gzip Compresse la réponse (Content-Encoding: gzip)
+     * @return Flux NDJSON de tous les messages
+     */
+    @Operation(summary = "Exporte tous les messages en NDJSON (gzip optionnel)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Messages exportés en flux"),
+            @ApiResponse(responseCode = "403", description = "Réservé au rôle ADMIN"),
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportMessages(
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+        String requestId = UUID.randomUUID().toString();
+        log.info("📥 [{}] Réception d'une requête d'export des messages (gzip: {})", requestId, gzip);
+
+        StreamingResponseBody body = out -> {
+            try {
+                long count;
+                if (gzip) {
+                    // finish() écrit la fin du flux gzip sans fermer la réponse, qui reste gérée par le conteneur
+                    GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                    count = messageService.exportMessages(compressed);
+                    compressed.finish();
+                } else {
+                    count = messageService.exportMessages(out);
+                }
+                log.info("✅ [{}] {} messages exportés", requestId, count);
+            } catch (Exception e) {
+                log.error("❌ [{}] Erreur lors de l'export des messages: {}", requestId, e.getMessage(), e);
+                throw e;
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("messages.ndjson").build().toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
 }
@@ -0,0 +1,237 @@
+package com.chatop.chatop_backend.controller;
+
+import com.chatop.chatop_backend.dto.AvailabilityRangeRequest;
+import com.chatop.chatop_backend.dto.RentalAvailabilityDto;
+import com.chatop.chatop_backend.dto.RentalPageDto;
+import com.chatop.chatop_backend.dto.UserSnapshot;
+import com.chatop.chatop_backend.exception.RentalNotFoundException;
+import com.chatop.chatop_backend.exception.UserNotFoundException;
+import com.chatop.chatop_backend.security.AuthenticatedUser;
+import com.chatop.chatop_backend.service.RentalAvailabilityService;
+import com.chatop.chatop_backend.service.UserCacheService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Contrôleur des calendriers de disponibilité des locations.
+ * Les périodes désignent des nuits : du "from" (inclus) au "to" (exclu, jour de départ), au format ISO (2026-07-01).
+ */
+@RestController
+@RequestMapping("/api/rentals")
+@Tag(name = "Rental Availability", description = "APIs pour gérer les disponibilités des locations")
+public class RentalAvailabilityController {
+
+    private static final Logger log = LoggerFactory.getLogger(RentalAvailabilityController.class);
+    private final RentalAvailabilityService availabilityService;
+    private final UserCacheService userCacheService;
+
+    public RentalAvailabilityController(RentalAvailabilityService availabilityService,
+            UserCacheService userCacheService) {
+        this.availabilityService = availabilityService;
+        this.userCacheService = userCacheService;
+        log.info("🔌 RentalAvailabilityController initialisé avec succès");
+    }
+
+    /**
+     * Recherche les locations libres sur toute une période, par identifiant croissant ({"rentals": [...], "next": "..."}).
+     *
+     * @param from Première nuit (incluse)
+     * @param to Jour de départ (exclu)
+     * @param cursor Curseur opaque renvoyé par la page précédente (optionnel)
+     * @param limit Taille de page (optionnelle, plafonnée côté serveur)
+     * @return Page de locations disponibles
+     */
+    @Operation(summary = "Recherche les locations disponibles sur une période")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Locations disponibles récupérées avec succès"),
+        @ApiResponse(responseCode = "400", description = "Période, curseur ou taille de page invalide"),
+        @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    @GetMapping("/available")
+    public ResponseEntity<?> findAvailableRentals(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        String requestId = UUID.randomUUID().toString();
+        log.info("📥 [{}] Réception d'une requête de recherche de locations disponibles du {} au {}", requestId, from, to);
+
+        try {
+            RentalPageDto page = availabilityService.findAvailableRentals(from, to, cursor, limit);
+            log.info("✅ [{}] {} locations disponibles récupérées", requestId, page.getRentals().size());
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ [{}] Recherche de disponibilité invalide: {}", requestId, e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("❌ [{}] Erreur lors de la recherche de locations disponibles: {}", requestId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("message", "Erreur lors de la recherche de locations disponibles"));
+        }
+    }
+
+    /**
+     * Récupère le calendrier d'une location sur une période.
+     *
+     * @param id ID de la location
+     * @param from Première nuit (incluse)
+     * @param to Jour de départ (exclu)
+     * @return Disponibilité de la location et périodes bloquées
+     */
+    @Operation(summary = "Récupère le calendrier de disponibilité d'une location")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Calendrier récupéré avec succès"),
+        @ApiResponse(responseCode = "400", description = "Période invalide"),
+        @ApiResponse(responseCode = "404", description = "Location non trouvée"),
+        @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<?> getAvailability(@PathVariable Long id,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        String requestId = UUID.randomUUID().toString();
+        log.info("📥 [{}] Réception d'une requête de calendrier de la location {} du {} au {}", requestId, id, from, to);
+
+        try {
+            RentalAvailabilityDto availability = availabilityService.getAvailability(id, from, to);
+            log.info("✅ [{}] Calendrier de la location {} récupéré: {} période(s) bloquée(s)", requestId, id,
+                    availability.blocked().size());
+            return ResponseEntity.ok(availability);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ [{}] Période invalide: {}", requestId, e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (RentalNotFoundException e) {
+            log.warn("⚠️ [{}] {}", requestId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("❌ [{}] Erreur lors de la lecture du calendrier de la location {}: {}", requestId, id,
+                    e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("message", "Erreur lors de la lecture du calendrier"));
+        }
+    }
+
+    /**
+     * Bloque des nuits dans le calendrier d'une location de l'utilisateur authentifié.
+     *
+     * @param id ID de la location
+     * @param range Période à bloquer
+     * @param authentication Objet d'authentification fourni par Spring Security
+     * @return Calendrier de la période après modification
+     */
+    @Operation(summary = "Bloque une période dans le calendrier d'une location")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Période bloquée"),
+        @ApiResponse(responseCode = "400", description = "Période invalide"),
+        @ApiResponse(responseCode = "401", description = "Utilisateur non authentifié"),
+        @ApiResponse(responseCode = "403", description = "La location n'appartient pas à l'utilisateur"),
+        @ApiResponse(responseCode = "404", description = "Location non trouvée"),
+        @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    @PostMapping(value = "/{id}/availability/block", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> block(@PathVariable Long id, @Valid @RequestBody AvailabilityRangeRequest range,
+            Authentication authentication) {
+        return updateAvailability(id, range, authentication, true);
+    }
+
+    /**
+     * Libère des nuits dans le calendrier d'une location de l'utilisateur authentifié.
+     *
+     * @param id ID de la location
+     * @param range Période à libérer
+     * @param authentication Objet d'authentification fourni par Spring Security
+     * @return Calendrier de la période après modification
+     */
+    @Operation(summary = "Libère une période dans le calendrier d'une location")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Période libérée"),
+        @ApiResponse(responseCode = "400", description = "Période invalide"),
+        @ApiResponse(responseCode = "401", description = "Utilisateur non authentifié"),
+        @ApiResponse(responseCode = "403", description = "La location n'appartient pas à l'utilisateur"),
+        @ApiResponse(responseCode = "404", description = "Location non trouvée"),
+        @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    @PostMapping(value = "/{id}/availability/free", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> free(@PathVariable Long id, @Valid @RequestBody AvailabilityRangeRequest range,
+            Authentication authentication) {
+        return updateAvailability(id, range, authentication, false);
+    }
+
+    private ResponseEntity<?> updateAvailability(Long id, AvailabilityRangeRequest range,
+            Authentication authentication, boolean blocked) {
+        String requestId = UUID.randomUUID().toString();
+        String action = blocked ? "blocage" : "libération";
+        log.info("📥 [{}] Réception d'une requête de {} du {} au {} pour la location {}", requestId, action,
+                range.getFrom(), range.getTo(), id);
+
+        // Vérifie que l'utilisateur est authentifié
+        if (authentication == null || authentication.getName() == null) {
+            log.error("⛔ [{}] Erreur: Utilisateur non authentifié", requestId);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Collections.singletonMap("message", "Utilisateur non authentifié"));
+        }
+
+        try {
+            Long ownerId = currentUserId(authentication);
+            RentalAvailabilityDto availability = blocked
+                    ? availabilityService.block(id, range.getFrom(), range.getTo(), ownerId)
+                    : availabilityService.free(id, range.getFrom(), range.getTo(), ownerId);
+            log.info("✅ [{}] Calendrier de la location {} mis à jour ({})", requestId, id, action);
+            return ResponseEntity.ok(availability);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ [{}] Période invalide: {}", requestId, e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (RentalNotFoundException | UserNotFoundException e) {
+            log.error("⛔ [{}] {}", requestId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (AccessDeniedException e) {
+            log.warn("⛔ [{}] Modification du calendrier refusée pour la location {}: {}", requestId, id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("❌ [{}] Erreur lors de la modification du calendrier de la location {}: {}", requestId, id,
+                    e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("message", "Erreur lors de la modification du calendrier"));
+        }
+    }
+
+    // Identifiant de l'utilisateur authentifié : lu dans le principal JWT, sinon via le cache des utilisateurs
+    private Long currentUserId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal && principal.getId() != null) {
+            return principal.getId();
+        }
+        return userCacheService.findByEmail(authentication.getName()).map(UserSnapshot::id)
+                .orElseThrow(() -> new UserNotFoundException(
+                        "Utilisateur non trouvé avec l'email: " + authentication.getName()));
+    }
+}
@@ -2,24 +2,51 @@ package com.chatop.chatop_backend.controller;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.chatop.chatop_backend.config.DataSourceRouting;
+import com.chatop.chatop_backend.dto.RentalBulkDeleteRequest;
+import com.chatop.chatop_backend.dto.RentalBulkDeleteResultDto;
 import com.chatop.chatop_backend.dto.RentalDto;
+import com.chatop.chatop_backend.dto.RentalGeoSearchResultDto;
+import com.chatop.chatop_backend.dto.RentalImportProgressDto;
+import com.chatop.chatop_backend.dto.RentalMessagePageDto;
+import com.chatop.chatop_backend.dto.RentalPageDto;
+import com.chatop.chatop_backend.dto.RentalPatchRequest;
+import com.chatop.chatop_backend.dto.RentalSearchCriteria;
+import com.chatop.chatop_backend.dto.RentalSearchResultDto;
+import com.chatop.chatop_backend.dto.RentalTextSearchResultDto;
+import com.chatop.chatop_backend.exception.RentalNotFoundException;
+import com.chatop.chatop_backend.exception.RentalVersionConflictException;
 import com.chatop.chatop_backend.exception.UserNotFoundException;
+import com.chatop.chatop_backend.search.GeoArea;
+import com.chatop.chatop_backend.security.AuthenticatedUser;
+import com.chatop.chatop_backend.service.ConditionalRequestSupport;
 import com.chatop.chatop_backend.service.FileStorageService;
+import com.chatop.chatop_backend.service.JsonStreamWriter;
+import com.chatop.chatop_backend.service.MessageService;
+import com.chatop.chatop_backend.service.RentalCollectionVersion;
+import com.chatop.chatop_backend.service.RentalImportService;
 import com.chatop.chatop_backend.service.RentalService;
-import com.chatop.chatop_backend.repository.UserRepository;
-import com.chatop.chatop_backend.model.User;
+import com.chatop.chatop_backend.service.ResourceVersion;
+import com.chatop.chatop_backend.service.UserCacheService;
+import com.chatop.chatop_backend.dto.UserSnapshot;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -45,43 +72,297 @@ public class RentalController {
     private static final Logger log = LoggerFactory.getLogger(RentalController.class);
     private final FileStorageService fileStorageService;
     private final RentalService rentalService;
-    private final UserRepository userRepository;
+    private final UserCacheService userCacheService;
+    private final RentalCollectionVersion collectionVersion;
+    private final ConditionalRequestSupport conditionalRequests;
+    private final RentalImportService rentalImportService;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final MessageService messageService;
 
     public RentalController(RentalService rentalService, FileStorageService fileStorageService,
-            UserRepository userRepository) {
+            UserCacheService userCacheService, RentalCollectionVersion collectionVersion,
+            ConditionalRequestSupport conditionalRequests, RentalImportService rentalImportService,
+            JsonStreamWriter jsonStreamWriter, MessageService messageService) {
         this.rentalService = rentalService;
         this.fileStorageService = fileStorageService;
-        this.userRepository = userRepository;
+        this.userCacheService = userCacheService;
+        this.collectionVersion = collectionVersion;
+        this.conditionalRequests = conditionalRequests;
+        this.rentalImportService = rentalImportService;
+        this.jsonStreamWriter = jsonStreamWriter;
+        this.messageService = messageService;
         log.info("🔌 RentalController initialisé avec succès");
     }
 
     /**
      * Récupère toutes les locations.
+     * Si un curseur ou une taille de page est fourni, renvoie une page de locations
+     * ({"rentals": [...], "next": "..."}) ; sinon, la liste complète est renvoyée comme auparavant.
+     * L'ETag est la version de la collection : If-None-Match est traité (304) avant toute lecture en base.
      * 
-     * @return Liste de toutes les locations
+     * @param cursor Curseur opaque renvoyé par la page précédente (optionnel)
+     * @param limit Taille de page (optionnelle, plafonnée côté serveur)
+     * @param webRequest Requête courante (en-têtes conditionnels)
+     * @return Liste de toutes les locations, ou une page de locations
      */
-    @Operation(summary = "Récupère toutes les locations")
+    @Operation(summary = "Récupère toutes les locations (ou une page de locations avec cursor/limit)")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Locations récupérées avec succès"),
         @ApiResponse(responseCode = "204", description = "Aucune location trouvée"),
+        @ApiResponse(responseCode = "304", description = "Locations inchangées depuis la version du client"),
+        @ApiResponse(responseCode = "400", description = "Curseur ou taille de page invalide"),
         @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
     })
     @GetMapping
-    public ResponseEntity<?> getAllRentals() {
+    public ResponseEntity<?> getAllRentals(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest webRequest) {
         String requestId = UUID.randomUUID().toString(); // Génère un ID de requête unique
         log.info("📥 [{}] Réception d'une requête de récupération de toutes les locations", requestId);
+
+        ResourceVersion version = collectionVersion.current();
+        if (conditionalRequests.checkNotModified(webRequest, version, "rentals")) {
+            // Statut 304 et validateurs déjà positionnés sur la réponse, sans corps
+            log.info("✅ [{}] Locations inchangées ({}), réponse 304", requestId, version.etag());
+            return null;
+        }
         
+        if (cursor != null || limit != null) {
+            return getRentalsPage(requestId, cursor, limit, version);
+        }
+
         try {
             log.debug("🔍 [{}] Appel du service pour récupérer toutes les locations", requestId);
             List<RentalDto> rentals = rentalService.getAllRentals();
 
             if (rentals.isEmpty()) {
                 log.warn("⚠️ [{}] Aucune location trouvée dans la base de données", requestId);
-                return ResponseEntity.noContent().build();
+                return ResponseEntity.noContent().eTag(version.etag()).build();
             } else {
                 log.info("✅ [{}] {} locations récupérées avec succès", requestId, rentals.size());
-                return ResponseEntity.ok(Collections.singletonMap("rentals", rentals));
+                return conditionalRequests.ok(version).body(Collections.singletonMap("rentals", rentals));
+            }
+        } catch (Exception e) {
+            log.error("❌ [{}] Erreur lors de la récupération des locations: {}", requestId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("message", "Erreur lors de la récupération des locations"));
+        }
+    }
+
+    /**
+     * Recherche des locations avec filtres, tri, pagination et facettes (tranches de prix et de surface).
+     *
+     * @param minPrice Prix minimal (inclus)
+     * @param maxPrice Prix maximal (inclus)
+     * @param minSurface Surface minimale (incluse)
+     * @param maxSurface Surface maximale (incluse)
+     * @param ownerId Identifiant du propriétaire
+     * @param keyword Mot-clé recherché dans le nom et la description
+     * @param sort Tri : newest (défaut), oldest, price_asc, price_desc, surface_asc, surface_desc
+     * @param page Numéro de page (à partir de 0)
+     * @param size Taille de page
+     * @return Résultats de la recherche
+     */
+    @Operation(summary = "Recherche des locations (filtres, tri, facettes)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recherche effectuée avec succès"),
+        @ApiResponse(responseCode = "400", description = "Critères de recherche invalides"),
+        @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<?> searchRentals(
+            @RequestParam(value = "min_price", required = false) BigDecimal minPrice,
+            @RequestParam(value = "max_price", required = false) BigDecimal maxPrice,
+            @RequestParam(value = "min_surface", required = false) BigDecimal minSurface,
+            @RequestParam(value = "max_surface", required = false) BigDecimal maxSurface,
+            @RequestParam(value = "owner_id", required = false) Long ownerId,
+            @RequestParam(value = "q", required = false) String keyword,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size) {
+        String requestId = UUID.randomUUID().toString();
+        log.info("📥 [{}] Réception d'une requête de recherche de locations", requestId);
+
+        try {
+            RentalSearchCriteria criteria = RentalSearchCriteria.builder()
+                    .minPrice(minPrice)
+                    .maxPrice(maxPrice)
+                    .minSurface(minSurface)
+                    .maxSurface(maxSurface)
+                    .ownerId(ownerId)
+                    .keyword(keyword)
+                    .sort(RentalSearchCriteria.Sort.fromParam(sort))
+                    .build();
+            RentalSearchResultDto result = rentalService.searchRentals(criteria, page, size);
+            log.info("✅ [{}] {} locations trouvées", requestId, result.getTotal());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ [{}] Critères de recherche invalides: {}", requestId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("❌ [{}] Erreur lors de la recherche de locations: {}", requestId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("message", "Erreur lors de la recherche de locations"));
+        }
+    }
+
+    /**
+     * Recherche plein texte dans le nom et la description des locations, résultats classés par pertinence.
+     * Les accents et la casse sont ignorés ; tous les mots sont requis ("phrase exacte", préfixe*, -exclusion).
+     *
+     * @param query Texte recherché
+     * @param limit Nombre maximal de résultats
+     * @return Locations classées par pertinence
+     */
+    @Operation(summary = "Recherche plein texte des locations (nom et description)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recherche effectuée avec succès"),
+        @ApiResponse(responseCode = "400", description = "Texte recherché manquant ou limite invalide"),
+        @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    @GetMapping("/text-search")
+    public ResponseEntity<?> searchRentalsByText(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        String requestId = UUID.randomUUID().toString();
+        log.info("📥 [{}] Réception d'une requête de recherche plein texte de locations", requestId);
+
+        try {
+            RentalTextSearchResultDto result = rentalService.searchRentalsByText(query, limit);
+            log.info("✅ [{}] {} locations trouvées", requestId, result.getTotal());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ [{}] Recherche plein texte invalide: {}", requestId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("❌ [{}] Erreur lors de la recherche plein texte de locations: {}", requestId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("message", "Erreur lors de la recherche de locations"));
+        }
+    }
+
+    /**
+     * Recherche géographique des locations, classées de la plus proche à la plus éloignée.
+     * Deux formes : un cercle (lat, lng, radius_km) ou un rectangle (min_lat, min_lng, max_lat, max_lng),
+     * trié par distance au centre du rectangle ou au point lat/lng s'il est fourni.
+     * Un rectangle dont min_lng dépasse max_lng traverse l'antiméridien.
+     *
+     * @param latitude Latitude du centre (ou du point de référence d'un rectangle)
+     * @param longitude Longitude du centre (ou du point de référence d'un rectangle)
+     * @param radiusKm Rayon en kilomètres
+     * @param minLatitude Latitude minimale du rectangle
+     * @param minLongitude Longitude minimale (ouest) du rectangle
+     * @param maxLatitude Latitude maximale du rectangle
+     * @param maxLongitude Longitude maximale (est) du rectangle
+     * @param limit Nombre maximal de résultats
+     * @return Locations de la zone avec leur distance en kilomètres
+     */
+    @Operation(summary = "Recherche géographique des locations (rayon ou rectangle), classées par distance")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recherche effectuée avec succès"),
+        @ApiResponse(responseCode = "400", description = "Zone de recherche ou limite invalide"),
+        @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    @GetMapping("/nearby")
+    public ResponseEntity<?> searchRentalsNearby(
+            @RequestParam(value = "lat", required = false) Double latitude,
+            @RequestParam(value = "lng", required = false) Double longitude,
+            @RequestParam(value = "radius_km", required = false) Double radiusKm,
+            @RequestParam(value = "min_lat", required = false) Double minLatitude,
+            @RequestParam(value = "min_lng", required = false) Double minLongitude,
+            @RequestParam(value = "max_lat", required = false) Double maxLatitude,
+            @RequestParam(value = "max_lng", required = false) Double maxLongitude,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        String requestId = UUID.randomUUID().toString();
+        log.info("📥 [{}] Réception d'une requête de recherche géographique de locations", requestId);
+
+        try {
+            GeoArea area = geoArea(latitude, longitude, radiusKm, minLatitude, minLongitude, maxLatitude, maxLongitude);
+            RentalGeoSearchResultDto result = rentalService.searchRentalsNearby(area, limit);
+            log.info("✅ [{}] {} locations trouvées", requestId, result.getTotal());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ [{}] Recherche géographique invalide: {}", requestId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("❌ [{}] Erreur lors de la recherche géographique de locations: {}", requestId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("message", "Erreur lors de la recherche de locations"));
+        }
+    }
+
+    private static GeoArea geoArea(Double latitude, Double longitude, Double radiusKm, Double minLatitude,
+            Double minLongitude, Double maxLatitude, Double maxLongitude) {
+        boolean box = minLatitude != null || minLongitude != null || maxLatitude != null || maxLongitude != null;
+        if (!box) {
+            if (latitude == null || longitude == null || radiusKm == null) {
+                throw new IllegalArgumentException(
+                        "Indiquez lat, lng et radius_km, ou un rectangle min_lat, min_lng, max_lat, max_lng");
             }
+            return GeoArea.circle(latitude, longitude, radiusKm);
+        }
+        if (minLatitude == null || minLongitude == null || maxLatitude == null || maxLongitude == null) {
+            throw new IllegalArgumentException("Un rectangle exige min_lat, min_lng, max_lat et max_lng");
+        }
+        if (radiusKm != null) {
+            throw new IllegalArgumentException("radius_km ne s'applique pas à une recherche par rectangle");
+        }
+        return GeoArea.box(minLatitude, minLongitude, maxLatitude, maxLongitude, latitude, longitude);
+    }
+
+    /**
+     * Récupère toutes les locations en flux continu ({"rentals": [...]}).
+     * La réponse est écrite au fil de la lecture en base : la mémoire utilisée ne dépend pas
+     * du nombre de locations. Une erreur survenant en cours d'écriture interrompt la réponse.
+     *
+     * @return Flux JSON de toutes les locations
+     */
+    @Operation(summary = "Récupère toutes les locations en flux continu (volumes importants)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Locations écrites en flux"),
+        @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllRentals() {
+        String requestId = UUID.randomUUID().toString();
+        log.info("📥 [{}] Réception d'une requête de récupération en flux de toutes les locations", requestId);
+
+        StreamingResponseBody body = out -> {
+            try {
+                long count = rentalService.streamAllRentals(out);
+                log.info("✅ [{}] {} locations écrites en flux", requestId, count);
+            } catch (Exception e) {
+                log.error("❌ [{}] Erreur lors de l'écriture en flux des locations: {}", requestId, e.getMessage(), e);
+                throw e;
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Récupère une page de locations (pagination par curseur).
+     *
+     * @param requestId Identifiant de la requête pour les logs
+     * @param cursor Curseur opaque de la page précédente
+     * @param limit Taille de page
+     * @param version Version de la collection (validateurs de la réponse)
+     * @return Page de locations
+     */
+    private ResponseEntity<?> getRentalsPage(String requestId, String cursor, Integer limit, ResourceVersion version) {
+        try {
+            log.debug("🔍 [{}] Appel du service pour récupérer une page de locations (limit: {})", requestId, limit);
+            RentalPageDto page = rentalService.getRentalsPage(cursor, limit);
+            log.info("✅ [{}] {} locations récupérées, page suivante: {}", requestId,
+                    page.getRentals().size(), page.getNext() != null);
+            return conditionalRequests.ok(version).body(page);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ [{}] Paramètres de pagination invalides: {}", requestId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", e.getMessage()));
         } catch (Exception e) {
             log.error("❌ [{}] Erreur lors de la récupération des locations: {}", requestId, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -91,28 +372,45 @@ public class RentalController {
 
     /**
      * Récupère une location par son ID.
+     * Seule sa date de modification est lue pour traiter If-None-Match / If-Modified-Since (304) ;
+     * la location complète n'est chargée que si le client n'en a pas la version courante.
      * 
      * @param id ID de la location
+     * @param webRequest Requête courante (en-têtes conditionnels)
      * @return Location correspondant à l'ID
      */
     @Operation(summary = "Récupère une location par son ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Location trouvée"),
+        @ApiResponse(responseCode = "304", description = "Location inchangée depuis la version du client"),
         @ApiResponse(responseCode = "404", description = "Location non trouvée"),
         @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<?> getRentalById(@PathVariable Long id) {
+    public ResponseEntity<?> getRentalById(@PathVariable Long id, WebRequest webRequest) {
         String requestId = UUID.randomUUID().toString();
         log.info("📥 [{}] Réception d'une requête de récupération de la location avec l'ID: {}", requestId, id);
         
         try {
+            Optional<ResourceVersion> version = rentalService.getRentalVersion(id);
+            if (version.isEmpty()) {
+                log.warn("⚠️ [{}] Location non trouvée avec l'ID: {}", requestId, id);
+                return ResponseEntity.notFound().build();
+            }
+            if (conditionalRequests.checkNotModified(webRequest, version.get(), "rental")) {
+                log.info("✅ [{}] Location {} inchangée, réponse 304", requestId, id);
+                return null;
+            }
+
             log.debug("🔍 [{}] Recherche de la location avec l'ID: {}", requestId, id);
             Optional<RentalDto> rentalOpt = rentalService.getRentalById(id);
             
             if (rentalOpt.isPresent()) {
                 log.info("✅ [{}] Location trouvée avec l'ID: {}", requestId, id);
-                return ResponseEntity.ok(rentalOpt.get());
+                RentalDto rental = rentalOpt.get();
+                return conditionalRequests.ok(
+                        ResourceVersion.ofRental(rental.getId(), rental.getVersion(), rental.getUpdatedAt()))
+                        .body(rental);
             } else {
                 log.warn("⚠️ [{}] Location non trouvée avec l'ID: {}", requestId, id);
                 return ResponseEntity.notFound().build();
@@ -124,6 +422,49 @@ public class RentalController {
         }
     }
 
+    /**
+     * Récupère une page du fil de discussion d'une location, du plus ancien au plus récent message
+     * ({"messages": [...], "next": "..."}). Chaque message porte le nom de son auteur, lu dans la même requête.
+     *
+     * @param id ID de la location
+     * @param cursor Curseur opaque renvoyé par la page précédente (optionnel)
+     * @param limit Taille de page (optionnelle, plafonnée côté serveur)
+     * @return Page de messages et curseur de la page suivante
+     */
+    @Operation(summary = "Récupère une page des messages d'une location")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Messages récupérés avec succès"),
+        @ApiResponse(responseCode = "400", description = "Curseur ou taille de page invalide"),
+        @ApiResponse(responseCode = "404", description = "Location non trouvée"),
+        @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    @GetMapping("/{id}/messages")
+    public ResponseEntity<?> getRentalMessages(@PathVariable Long id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        String requestId = UUID.randomUUID().toString();
+        log.info("📥 [{}] Réception d'une requête de récupération des messages de la location {}", requestId, id);
+
+        try {
+            RentalMessagePageDto page = messageService.getRentalMessages(id, cursor, limit);
+            log.info("✅ [{}] {} messages de la location {} récupérés", requestId, page.messages().size(), id);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ [{}] Paramètres de pagination invalides: {}", requestId, e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (RentalNotFoundException e) {
+            log.warn("⚠️ [{}] {}", requestId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("❌ [{}] Erreur lors de la récupération des messages de la location {}: {}", requestId, id,
+                    e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("message", "Erreur lors de la récupération des messages"));
+        }
+    }
+
    /**
     * Crée une nouvelle location.
     *
@@ -132,6 +473,8 @@ public class RentalController {
     * @param price Prix de la location
     * @param description Description de la location
     * @param picture Image de la location
+    * @param latitude Latitude (optionnelle, fournie avec la longitude)
+    * @param longitude Longitude (optionnelle, fournie avec la latitude)
     * @param authentication Objet d'authentification fourni par Spring Security
     * @return Réponse contenant la location créée
      */
@@ -149,6 +492,8 @@ public class RentalController {
             @RequestParam("price") BigDecimal price,
             @RequestParam("description") String description,
             @RequestParam(value = "picture", required = false) MultipartFile picture,
+            @RequestParam(value = "latitude", required = false) Double latitude,
+            @RequestParam(value = "longitude", required = false) Double longitude,
             Authentication authentication) {
 
         String requestId = UUID.randomUUID().toString();
@@ -161,17 +506,25 @@ public class RentalController {
                     .body(Collections.singletonMap("message", "Utilisateur non authentifié"));
         }
 
+        try {
+            GeoArea.validate(latitude, longitude);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ [{}] Coordonnées invalides: {}", requestId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        }
+
         String userEmail = authentication.getName();
         log.debug("👤 [{}] Recherche de l'utilisateur avec l'email: {}", requestId, userEmail);
         
         try {
             // Récupération de l'utilisateur
-            User owner = userRepository.findByEmail(userEmail)
+            UserSnapshot owner = userCacheService.findByEmail(userEmail)
                     .orElseThrow(() -> {
                         log.error("❌ [{}] Utilisateur non trouvé avec l'email: {}", requestId, userEmail);
                         return new UserNotFoundException("Utilisateur non trouvé avec l'email: " + userEmail);
                     });
-            log.info("👤 [{}] Utilisateur authentifié: {}, ID: {}", requestId, owner.getEmail(), owner.getId());
+            log.info("👤 [{}] Utilisateur authentifié: {}, ID: {}", requestId, owner.email(), owner.id());
 
             // Création du DTO
             RentalDto rentalDto = new RentalDto();
@@ -179,7 +532,9 @@ public class RentalController {
             rentalDto.setSurface(surface);
             rentalDto.setPrice(price);
             rentalDto.setDescription(description);
-            rentalDto.setOwnerId(owner.getId());
+            rentalDto.setLatitude(latitude);
+            rentalDto.setLongitude(longitude);
+            rentalDto.setOwnerId(owner.id());
             log.debug("📦 [{}] Données du RentalDto préparées: {}", requestId, rentalDto.getName());
 
             // Gestion de l'image
@@ -233,6 +588,9 @@ public class RentalController {
      * @param price Prix de la location
      * @param description Description de la location
      * @param picture Image de la location
+     * @param latitude Nouvelle latitude (fournie avec la longitude)
+     * @param longitude Nouvelle longitude (fournie avec la latitude)
+     * @param ifMatch En-tête If-Match (optionnel) : ETag de la version modifiée par le client
      * @param authentication Objet d'authentification fourni par Spring Security
      * @return Réponse contenant la location mise à jour
      */
@@ -241,7 +599,9 @@ public class RentalController {
             @ApiResponse(responseCode = "200", description = "Location mise à jour avec succès"),
             @ApiResponse(responseCode = "400", description = "Erreur lors de la mise à jour de la location"),
             @ApiResponse(responseCode = "401", description = "Utilisateur non authentifié"),
+            @ApiResponse(responseCode = "403", description = "La location n'appartient pas à l'utilisateur"),
             @ApiResponse(responseCode = "404", description = "Location non trouvée"),
+            @ApiResponse(responseCode = "412", description = "La location a été modifiée depuis la version indiquée par If-Match"),
             @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
     })
     @PutMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -252,6 +612,9 @@ public class RentalController {
             @RequestParam(value = "price", required = false) BigDecimal price,
             @RequestParam(value = "description", required = false) String description,
             @RequestParam(value = "picture", required = false) MultipartFile picture,
+            @RequestParam(value = "latitude", required = false) Double latitude,
+            @RequestParam(value = "longitude", required = false) Double longitude,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
     
         String requestId = UUID.randomUUID().toString();
@@ -264,13 +627,22 @@ public class RentalController {
                     .body(Collections.singletonMap("message", "Utilisateur non authentifié"));
         }
     
+        try {
+            GeoArea.validate(latitude, longitude);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ [{}] Coordonnées invalides: {}", requestId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        }
+
         String userEmail = authentication.getName();
         log.debug("👤 [{}] Utilisateur authentifié: {}", requestId, userEmail);
+        String uploadedPicture = null;
         
         try {
-            // Récupération de la location existante
+            // Récupération de la location existante (sur la base principale : la vérification précède une écriture)
             log.debug("🔍 [{}] Recherche de la location avec l'ID: {}", requestId, id);
-            Optional<RentalDto> existingRentalOpt = rentalService.getRentalById(id);
+            Optional<RentalDto> existingRentalOpt = DataSourceRouting.onPrimary(() -> rentalService.getRentalById(id));
             
             if (existingRentalOpt.isEmpty()) {
                 log.error("⛔ [{}] Location non trouvée avec l'ID: {}", requestId, id);
@@ -279,6 +651,22 @@ public class RentalController {
             }
             
             RentalDto existingRental = existingRentalOpt.get();
+            Long ownerId = currentUserId(authentication);
+            if (!ownerId.equals(existingRental.getOwnerId())) {
+                log.warn("⛔ [{}] Mise à jour refusée: la location {} n'appartient pas à l'utilisateur {}",
+                        requestId, id, ownerId);
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Collections.singletonMap("message", "La location n'appartient pas à l'utilisateur"));
+            }
+            ResourceVersion currentVersion = ResourceVersion.ofRental(existingRental.getId(), existingRental.getVersion(),
+                    existingRental.getUpdatedAt());
+            if (!conditionalRequests.checkIfMatch(ifMatch, currentVersion, "rental")) {
+                log.warn("⚠️ [{}] Location {} modifiée entre-temps (If-Match: {}, version courante: {})",
+                        requestId, id, ifMatch, currentVersion.etag());
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                        .eTag(currentVersion.etag())
+                        .body(Collections.singletonMap("message", "La location a été modifiée depuis votre dernière lecture"));
+            }
             log.debug("✅ [{}] Location trouvée, préparation des modifications", requestId);
             
             // Mise à jour des champs si fournis
@@ -307,6 +695,14 @@ public class RentalController {
                 existingRental.setDescription(description);
                 hasChanges = true;
             }
+
+            if (latitude != null && longitude != null && (!latitude.equals(existingRental.getLatitude())
+                    || !longitude.equals(existingRental.getLongitude()))) {
+                log.trace("✏️ [{}] Mise à jour de la position: ({}, {})", requestId, latitude, longitude);
+                existingRental.setLatitude(latitude);
+                existingRental.setLongitude(longitude);
+                hasChanges = true;
+            }
             
             // Gestion de l'image
             if (picture != null && !picture.isEmpty()) {
@@ -315,6 +711,7 @@ public class RentalController {
                             picture.getOriginalFilename(), picture.getSize());
                     String imagePath = fileStorageService.saveFile(picture);
                     existingRental.setPicture(imagePath);
+                    uploadedPicture = imagePath;
                     log.info("📸 [{}] Nouvelle image enregistrée avec succès: {}", requestId, imagePath);
                     hasChanges = true;
                 } catch (IOException e) {
@@ -326,12 +723,14 @@ public class RentalController {
             
             if (!hasChanges) {
                 log.info("ℹ️ [{}] Aucune modification détectée pour la location ID: {}", requestId, id);
-                return ResponseEntity.ok(existingRental);
+                return conditionalRequests.ok(currentVersion).body(existingRental);
             }
             
             // Sauvegarde en base de données
             log.debug("💾 [{}] Appel du service pour mettre à jour la location", requestId);
-            RentalDto updatedRental = rentalService.updateRental(id, existingRental);
+            // La version vérifiée ci-dessus est contrôlée à nouveau par l'UPDATE : une écriture concurrente donne 412
+            Long expectedVersion = ifMatch == null || "*".equals(ifMatch.trim()) ? null : existingRental.getVersion();
+            RentalDto updatedRental = rentalService.updateRental(id, existingRental, expectedVersion);
             
             if (updatedRental == null) {
                 log.error("⛔ [{}] Erreur: RentalService a retourné null lors de la mise à jour", requestId);
@@ -340,8 +739,25 @@ public class RentalController {
             }
             
             log.info("✅ [{}] Location mise à jour avec succès, ID: {}", requestId, updatedRental.getId());
-            return ResponseEntity.ok(updatedRental);
+            return conditionalRequests.ok(ResourceVersion.ofRental(updatedRental.getId(), updatedRental.getVersion(),
+                    updatedRental.getUpdatedAt()))
+                    .body(updatedRental);
             
+        } catch (RentalVersionConflictException e) {
+            conditionalRequests.recordRejected("rental", "precondition_failed");
+            log.warn("⚠️ [{}] Location {} modifiée pendant la mise à jour (If-Match: {}, version courante: {})",
+                    requestId, id, ifMatch, e.getCurrentVersion());
+            // L'image envoyée avec la modification rejetée n'est référencée par aucune location
+            if (uploadedPicture != null) {
+                fileStorageService.deleteFile(uploadedPicture);
+            }
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .eTag(ResourceVersion.ofRental(id, e.getCurrentVersion(), e.getCurrentUpdatedAt()).etag())
+                    .body(Collections.singletonMap("message", "La location a été modifiée depuis votre dernière lecture"));
+        } catch (RentalNotFoundException | UserNotFoundException e) {
+            log.error("⛔ [{}] {}", requestId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Collections.singletonMap("message", e.getMessage()));
         } catch (Exception e) {
             log.error("❌ [{}] Erreur inattendue lors de la mise à jour de la location: {}", requestId, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -349,38 +765,145 @@ public class RentalController {
         }
     }
 
+    /**
+     * Modifie partiellement une location (JSON) : seuls les champs fournis sont modifiés, en une seule
+     * requête UPDATE conditionnée par la version de la location (verrouillage optimiste).
+     * La version attendue provient de l'en-tête If-Match (ETag) ou, à défaut, du champ "version" du corps.
+     * "If-Match: *" applique la modification sans contrôle de version.
+     *
+     * @param id ID de la location
+     * @param changes Champs à modifier
+     * @param ifMatch En-tête If-Match (optionnel) : ETag de la version modifiée par le client
+     * @param authentication Objet d'authentification fourni par Spring Security
+     * @return Réponse contenant la location modifiée et son nouvel ETag
+     */
+    @Operation(summary = "Modifie partiellement une location existante")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Location modifiée avec succès"),
+            @ApiResponse(responseCode = "400", description = "Aucun champ à modifier ou champ invalide"),
+            @ApiResponse(responseCode = "401", description = "Utilisateur non authentifié"),
+            @ApiResponse(responseCode = "403", description = "La location n'appartient pas à l'utilisateur"),
+            @ApiResponse(responseCode = "404", description = "Location non trouvée"),
+            @ApiResponse(responseCode = "409", description = "La location a été modifiée depuis la version indiquée dans le corps"),
+            @ApiResponse(responseCode = "412", description = "La location a été modifiée depuis la version indiquée par If-Match"),
+            @ApiResponse(responseCode = "428", description = "Aucune version indiquée (If-Match ou champ version)"),
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    @PatchMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> patchRental(
+            @PathVariable Long id,
+            @Valid @RequestBody RentalPatchRequest changes,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            Authentication authentication) {
+
+        String requestId = UUID.randomUUID().toString();
+        log.info("📥 [{}] Réception d'une requête de modification partielle de la location avec l'ID: {}", requestId, id);
+
+        // Vérifie que l'utilisateur est authentifié
+        if (authentication == null || authentication.getName() == null) {
+            log.error("⛔ [{}] Erreur: Utilisateur non authentifié", requestId);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Collections.singletonMap("message", "Utilisateur non authentifié"));
+        }
+
+        // Version attendue : If-Match prioritaire, puis champ "version" du corps
+        boolean fromIfMatch = ifMatch != null;
+        Long expectedVersion;
+        if (fromIfMatch) {
+            expectedVersion = "*".equals(ifMatch.trim()) ? null : ResourceVersion.parseRentalVersion(id, ifMatch);
+            if (expectedVersion == null && !"*".equals(ifMatch.trim())) {
+                log.warn("⚠️ [{}] If-Match ne correspond à aucune version de la location {}: {}", requestId, id, ifMatch);
+                conditionalRequests.recordRejected("rental", "precondition_failed");
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                        .body(Collections.singletonMap("message", "La location a été modifiée depuis votre dernière lecture"));
+            }
+        } else if (changes.getVersion() != null) {
+            expectedVersion = changes.getVersion();
+        } else {
+            log.warn("⚠️ [{}] Modification de la location {} sans version attendue", requestId, id);
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                    .body(Collections.singletonMap("message", "En-tête If-Match ou champ version requis"));
+        }
+
+        try {
+            Long ownerId = currentUserId(authentication);
+            RentalDto patched = rentalService.patchRental(id, changes, expectedVersion, ownerId);
+            log.info("✅ [{}] Location {} modifiée partiellement, version: {}", requestId, id, patched.getVersion());
+            return conditionalRequests.ok(ResourceVersion.ofRental(patched.getId(), patched.getVersion(),
+                    patched.getUpdatedAt()))
+                    .body(patched);
+
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ [{}] Modification partielle invalide: {}", requestId, e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (RentalNotFoundException | UserNotFoundException e) {
+            log.error("⛔ [{}] {}", requestId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (AccessDeniedException e) {
+            log.warn("⛔ [{}] Modification refusée pour la location {}: {}", requestId, id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (RentalVersionConflictException e) {
+            String outcome = fromIfMatch ? "precondition_failed" : "conflict";
+            conditionalRequests.recordRejected("rental", outcome);
+            log.warn("⚠️ [{}] Conflit de version sur la location {}: attendue {}, actuelle {}",
+                    requestId, id, expectedVersion, e.getCurrentVersion());
+            return ResponseEntity.status(fromIfMatch ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+                    .eTag(ResourceVersion.ofRental(id, e.getCurrentVersion(), e.getCurrentUpdatedAt()).etag())
+                    .body(Collections.singletonMap("message", "La location a été modifiée depuis votre dernière lecture"));
+        } catch (Exception e) {
+            log.error("❌ [{}] Erreur inattendue lors de la modification de la location: {}", requestId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("message", "Erreur lors de la modification de la location"));
+        }
+    }
+
     /** 
-     * Supprime une location existante.
+     * Supprime une location existante de l'utilisateur authentifié.
      * 
      * @param id ID de la location
+     * @param authentication Objet d'authentification fourni par Spring Security
      * @return Réponse indiquant si la location a été supprimée avec succès
      */
     @Operation(summary = "Supprime une location existante")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Location supprimée avec succès"),
+            @ApiResponse(responseCode = "401", description = "Utilisateur non authentifié"),
+            @ApiResponse(responseCode = "403", description = "La location n'appartient pas à l'utilisateur"),
             @ApiResponse(responseCode = "404", description = "Location non trouvée"),
             @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
     })
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteRental(@PathVariable Long id) {
+    public ResponseEntity<?> deleteRental(@PathVariable Long id, Authentication authentication) {
         String requestId = UUID.randomUUID().toString();
         log.info("📥 [{}] Réception d'une requête de suppression de la location avec l'ID: {}", requestId, id);
+
+        // Vérifie que l'utilisateur est authentifié
+        if (authentication == null || authentication.getName() == null) {
+            log.error("⛔ [{}] Erreur: Utilisateur non authentifié", requestId);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Collections.singletonMap("message", "Utilisateur non authentifié"));
+        }
         
         try {
-            // Vérifier d'abord que la location existe
-            log.debug("🔍 [{}] Vérification de l'existence de la location avec l'ID: {}", requestId, id);
-            Optional<RentalDto> existingRentalOpt = rentalService.getRentalById(id);
-            
-            if (existingRentalOpt.isEmpty()) {
+            // Le service vérifie l'existence et le propriétaire par une projection et supprime en un seul DELETE
+            if (!rentalService.deleteRental(id, currentUserId(authentication))) {
                 log.warn("⚠️ [{}] Tentative de suppression d'une location inexistante avec l'ID: {}", requestId, id);
                 return ResponseEntity.notFound().build();
             }
-            
-            log.debug("🗑️ [{}] Suppression de la location avec l'ID: {}", requestId, id);
-            rentalService.deleteRental(id);
             log.info("✅ [{}] Location supprimée avec succès, ID: {}", requestId, id);
             
             return ResponseEntity.noContent().build();
+        } catch (UserNotFoundException e) {
+            log.error("⛔ [{}] {}", requestId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (AccessDeniedException e) {
+            log.warn("⛔ [{}] Suppression refusée pour la location {}: {}", requestId, id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Collections.singletonMap("message", e.getMessage()));
         } catch (Exception e) {
             log.error("❌ [{}] Erreur lors de la suppression de la location avec l'ID: {}: {}", 
                     requestId, id, e.getMessage(), e);
@@ -388,4 +911,112 @@ public class RentalController {
                     .body(Collections.singletonMap("message", "Erreur lors de la suppression de la location"));
         }
     }
+
+    /**
+     * Supprime plusieurs locations de l'utilisateur authentifié en une seule requête DELETE.
+     * Les identifiants inexistants ou appartenant à un autre utilisateur sont ignorés et signalés dans la réponse.
+     *
+     * @param request Identifiants des locations à supprimer (au plus {@value RentalBulkDeleteRequest#MAX_IDS})
+     * @param authentication Objet d'authentification fourni par Spring Security
+     * @return Identifiants supprimés, inexistants et interdits
+     */
+    @Operation(summary = "Supprime plusieurs locations de l'utilisateur")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suppression effectuée"),
+            @ApiResponse(responseCode = "400", description = "Liste d'identifiants vide ou trop longue"),
+            @ApiResponse(responseCode = "401", description = "Utilisateur non authentifié"),
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    @PostMapping(value = "/bulk-delete", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> deleteRentals(@Valid @RequestBody RentalBulkDeleteRequest request,
+            Authentication authentication) {
+        String requestId = UUID.randomUUID().toString();
+        log.info("📥 [{}] Réception d'une requête de suppression de {} location(s)", requestId, request.getIds().size());
+
+        // Vérifie que l'utilisateur est authentifié
+        if (authentication == null || authentication.getName() == null) {
+            log.error("⛔ [{}] Erreur: Utilisateur non authentifié", requestId);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Collections.singletonMap("message", "Utilisateur non authentifié"));
+        }
+
+        try {
+            RentalBulkDeleteResultDto result = rentalService.deleteRentals(request.getIds(), currentUserId(authentication));
+            log.info("✅ [{}] {} location(s) supprimée(s)", requestId, result.deleted().size());
+            return ResponseEntity.ok(result);
+        } catch (UserNotFoundException e) {
+            log.error("⛔ [{}] {}", requestId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("❌ [{}] Erreur lors de la suppression en masse: {}", requestId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("message", "Erreur lors de la suppression des locations"));
+        }
+    }
+
+    /**
+     * Importe des locations en masse depuis le corps de la requête, lu en flux (NDJSON ou CSV avec en-tête).
+     * La progression est renvoyée en NDJSON : une ligne après chaque lot inséré, puis une ligne de bilan
+     * ("done" ou "failed") avec les premières erreurs. Sans owner_email, les locations sont attribuées
+     * à l'utilisateur authentifié ; un autre propriétaire est réservé au rôle ADMIN.
+     *
+     * @param request Requête HTTP (corps lu en flux)
+     * @param authentication Objet d'authentification fourni par Spring Security
+     * @return Progression de l'import en NDJSON
+     */
+    @Operation(summary = "Importe des locations en masse (NDJSON ou CSV)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Progression de l'import en NDJSON"),
+            @ApiResponse(responseCode = "401", description = "Utilisateur non authentifié"),
+            @ApiResponse(responseCode = "415", description = "Format non supporté")
+    })
+    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" },
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<?> importRentals(HttpServletRequest request, Authentication authentication) {
+        String requestId = UUID.randomUUID().toString();
+        log.info("📥 [{}] Réception d'une requête d'import de locations ({})", requestId, request.getContentType());
+
+        // Vérifie que l'utilisateur est authentifié
+        if (authentication == null || authentication.getName() == null) {
+            log.error("⛔ [{}] Erreur: Utilisateur non authentifié", requestId);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Collections.singletonMap("message", "Utilisateur non authentifié"));
+        }
+
+        Long callerId;
+        try {
+            callerId = currentUserId(authentication);
+        } catch (UserNotFoundException e) {
+            log.error("⛔ [{}] {}", requestId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Collections.singletonMap("message", e.getMessage()));
+        }
+        String callerEmail = authentication.getName();
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        RentalImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? RentalImportService.Format.CSV
+                : RentalImportService.Format.NDJSON;
+
+        StreamingResponseBody body = out -> {
+            RentalImportProgressDto summary = rentalImportService.importRentals(request.getInputStream(), format,
+                    callerId, callerEmail, admin, out);
+            jsonStreamWriter.writeLine(out, summary);
+            log.info("✅ [{}] Import {}: {} locations insérées, {} lignes rejetées", requestId, summary.status(),
+                    summary.imported(), summary.rejected());
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Identifiant de l'utilisateur authentifié : lu dans le principal JWT, sinon via le cache des utilisateurs
+    private Long currentUserId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal && principal.getId() != null) {
+            return principal.getId();
+        }
+        return userCacheService.findByEmail(authentication.getName()).map(UserSnapshot::id)
+                .orElseThrow(() -> new UserNotFoundException(
+                        "Utilisateur non trouvé avec l'email: " + authentication.getName()));
+    }
 }
@@ -1,9 +1,14 @@
 package com.chatop.chatop_backend.controller;
 
+import com.chatop.chatop_backend.dto.RentalPageDto;
 import com.chatop.chatop_backend.dto.UserDto;
+import com.chatop.chatop_backend.dto.UserSnapshot;
 import com.chatop.chatop_backend.exception.UserNotFoundException;
-import com.chatop.chatop_backend.model.User;
-import com.chatop.chatop_backend.repository.UserRepository;
+import com.chatop.chatop_backend.security.AuthenticatedUser;
+import com.chatop.chatop_backend.service.ConditionalRequestSupport;
+import com.chatop.chatop_backend.service.RentalService;
+import com.chatop.chatop_backend.service.ResourceVersion;
+import com.chatop.chatop_backend.service.UserCacheService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -18,10 +23,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Contrôleur pour gérer les utilisateurs.
@@ -32,29 +40,37 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserController {
 
   private static final Logger log = LoggerFactory.getLogger(UserController.class);
-  private final UserRepository userRepository;
+  private final UserCacheService userCacheService;
+  private final ConditionalRequestSupport conditionalRequests;
+  private final RentalService rentalService;
 
-  public UserController(UserRepository userRepository) {
-    this.userRepository = userRepository;
+  public UserController(UserCacheService userCacheService, ConditionalRequestSupport conditionalRequests,
+      RentalService rentalService) {
+    this.userCacheService = userCacheService;
+    this.conditionalRequests = conditionalRequests;
+    this.rentalService = rentalService;
     log.info("🔌 UserController initialisé avec succès");
   }
 
   /**
    * Récupère un utilisateur par son ID.
+   * L'ETag et Last-Modified sont dérivés de updated_at : un client à jour reçoit 304 sans corps.
    * 
    * @param id ID de l'utilisateur
+   * @param webRequest Requête courante (en-têtes conditionnels)
    * @return Utilisateur correspondant à l'ID
    * @throws UserNotFoundException Si l'utilisateur n'est pas trouvé
    */
   @Operation(summary = "Récupère un utilisateur par son ID", description = "Renvoie les informations d'un utilisateur à partir de son identifiant")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Utilisateur trouvé"),
+      @ApiResponse(responseCode = "304", description = "Utilisateur inchangé depuis la version du client"),
       @ApiResponse(responseCode = "400", description = "ID utilisateur invalide"),
       @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé"),
       @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
   })
   @GetMapping("/{id}")
-  public ResponseEntity<?> getUserById(@PathVariable Long id) {
+  public ResponseEntity<?> getUserById(@PathVariable Long id, WebRequest webRequest) {
     String requestId = UUID.randomUUID().toString();
     log.info("📥 [{}] Réception d'une requête de récupération de l'utilisateur avec l'ID: {}", requestId, id);
 
@@ -66,29 +82,30 @@ public class UserController {
             .body(Collections.singletonMap("message", "L'ID utilisateur doit être un nombre positif"));
       }
 
-      // Recherche de l'utilisateur
+      // Recherche de l'utilisateur (via le cache des utilisateurs)
       log.debug("🔍 [{}] Recherche de l'utilisateur avec l'ID: {}", requestId, id);
-      Optional<User> userOpt = userRepository.findById(id);
+      Optional<UserSnapshot> userOpt = userCacheService.findById(id);
       
       if (userOpt.isEmpty()) {
         log.warn("⚠️ [{}] Utilisateur non trouvé avec l'ID: {}", requestId, id);
         throw new UserNotFoundException("Utilisateur non trouvé avec l'ID: " + id);
       }
       
-      User user = userOpt.get();
-      log.debug("✅ [{}] Utilisateur trouvé: {}", requestId, user.getEmail());
+      UserSnapshot user = userOpt.get();
+      log.debug("✅ [{}] Utilisateur trouvé: {}", requestId, user.email());
+
+      ResourceVersion version = ResourceVersion.ofUser(user.id(), user.updatedAt());
+      if (conditionalRequests.checkNotModified(webRequest, version, "user")) {
+        log.info("✅ [{}] Utilisateur {} inchangé, réponse 304", requestId, user.id());
+        return null;
+      }
       
       // Conversion en DTO pour ne pas exposer les données sensibles
       log.trace("🔄 [{}] Conversion de l'utilisateur en DTO", requestId);
-      UserDto userDto = new UserDto();
-      userDto.setId(user.getId());
-      userDto.setName(user.getName());
-      userDto.setEmail(user.getEmail());
-      userDto.setCreatedAt(user.getCreatedAt());
-      userDto.setUpdatedAt(user.getUpdatedAt());
+      UserDto userDto = user.toDto();
       
-      log.info("✅ [{}] Utilisateur récupéré avec succès: ID={}, Email={}", requestId, user.getId(), user.getEmail());
-      return ResponseEntity.ok(userDto);
+      log.info("✅ [{}] Utilisateur récupéré avec succès: ID={}, Email={}", requestId, user.id(), user.email());
+      return conditionalRequests.ok(version).body(userDto);
       
     } catch (UserNotFoundException e) {
       // Exception spécifique pour utilisateur non trouvé
@@ -129,4 +146,116 @@ public class UserController {
     return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
         .body(Collections.singletonMap("message", "Cette fonctionnalité n'est pas encore implémentée"));
   }
+
+  /**
+   * Récupère les locations d'un utilisateur, par pages triées par identifiant.
+   * Servi par l'index rentals_owner_idx et mis en cache par propriétaire.
+   *
+   * @param id ID du propriétaire
+   * @param cursor Curseur de la page suivante (champ "next" de la page précédente)
+   * @param limit Taille de page
+   * @return Page de locations du propriétaire
+   */
+  @Operation(summary = "Récupère les locations d'un utilisateur", description = "Renvoie une page des locations dont l'utilisateur est propriétaire")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Page de locations récupérée"),
+      @ApiResponse(responseCode = "400", description = "ID utilisateur ou paramètres de pagination invalides"),
+      @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé"),
+      @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
+  })
+  @GetMapping("/{id}/rentals")
+  public ResponseEntity<?> getUserRentals(@PathVariable Long id,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "limit", required = false) Integer limit) {
+    String requestId = UUID.randomUUID().toString();
+    log.info("📥 [{}] Réception d'une requête de récupération des locations de l'utilisateur avec l'ID: {}", requestId, id);
+
+    if (id == null || id <= 0) {
+      log.warn("⚠️ [{}] ID utilisateur invalide: {}", requestId, id);
+      return ResponseEntity.badRequest()
+          .body(Collections.singletonMap("message", "L'ID utilisateur doit être un nombre positif"));
+    }
+    try {
+      if (userCacheService.findById(id).isEmpty()) {
+        throw new UserNotFoundException("Utilisateur non trouvé avec l'ID: " + id);
+      }
+      return getRentalsPage(requestId, id, cursor, limit);
+    } catch (UserNotFoundException e) {
+      log.warn("⚠️ [{}] {}", requestId, e.getMessage());
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body(Collections.singletonMap("message", e.getMessage()));
+    } catch (Exception e) {
+      log.error("❌ [{}] Erreur inattendue lors de la récupération de l'utilisateur: {}", requestId, e.getMessage(), e);
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body(Collections.singletonMap("message", "Erreur lors de la récupération des locations"));
+    } finally {
+      log.info("🏁 [{}] Fin du traitement de la requête de récupération des locations de l'utilisateur", requestId);
+    }
+  }
+
+  /**
+   * Récupère les locations de l'utilisateur authentifié, par pages triées par identifiant.
+   *
+   * @param cursor Curseur de la page suivante (champ "next" de la page précédente)
+   * @param limit Taille de page
+   * @param authentication Informations d'authentification de l'utilisateur
+   * @return Page de locations de l'utilisateur
+   */
+  @Operation(summary = "Récupère les locations de l'utilisateur actuel", description = "Renvoie une page des locations dont l'utilisateur authentifié est propriétaire")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Page de locations récupérée"),
+      @ApiResponse(responseCode = "400", description = "Paramètres de pagination invalides"),
+      @ApiResponse(responseCode = "401", description = "Utilisateur non authentifié"),
+      @ApiResponse(responseCode = "500", description = "Erreur interne du serveur")
+  })
+  @GetMapping("/me/rentals")
+  public ResponseEntity<?> getCurrentUserRentals(
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "limit", required = false) Integer limit,
+      Authentication authentication) {
+    String requestId = UUID.randomUUID().toString();
+    log.info("📥 [{}] Réception d'une requête de récupération des locations de l'utilisateur courant", requestId);
+
+    if (authentication == null || authentication.getName() == null) {
+      log.error("⛔ [{}] Erreur: Utilisateur non authentifié", requestId);
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+          .body(Collections.singletonMap("message", "Utilisateur non authentifié"));
+    }
+    try {
+      return getRentalsPage(requestId, currentUserId(authentication), cursor, limit);
+    } catch (UserNotFoundException e) {
+      log.error("⛔ [{}] {}", requestId, e.getMessage());
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+          .body(Collections.singletonMap("message", "Utilisateur non authentifié"));
+    } finally {
+      log.info("🏁 [{}] Fin du traitement de la requête de récupération des locations de l'utilisateur courant", requestId);
+    }
+  }
+
+  private ResponseEntity<?> getRentalsPage(String requestId, Long ownerId, String cursor, Integer limit) {
+    try {
+      RentalPageDto page = rentalService.getRentalsByOwner(ownerId, cursor, limit);
+      log.info("✅ [{}] {} locations du propriétaire {} récupérées, page suivante: {}", requestId,
+          page.getRentals().size(), ownerId, page.getNext() != null);
+      return ResponseEntity.ok(page);
+    } catch (IllegalArgumentException e) {
+      log.warn("⚠️ [{}] Paramètres de pagination invalides: {}", requestId, e.getMessage());
+      return ResponseEntity.badRequest()
+          .body(Collections.singletonMap("message", e.getMessage()));
+    } catch (Exception e) {
+      log.error("❌ [{}] Erreur lors de la récupération des locations du propriétaire {}: {}", requestId, ownerId,
+          e.getMessage(), e);
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body(Collections.singletonMap("message", "Erreur lors de la récupération des locations"));
+    }
+  }
+
+  private Long currentUserId(Authentication authentication) {
+    if (authentication.getPrincipal() instanceof AuthenticatedUser principal && principal.getId() != null) {
+      return principal.getId();
+    }
+    return userCacheService.findByEmail(authentication.getName()).map(UserSnapshot::id)
+        .orElseThrow(() -> new UserNotFoundException(
+            "Utilisateur non trouvé avec l'email: " + authentication.getName()));
+  }
 }
@@ -0,0 +1,38 @@
+package com.chatop.chatop_backend.actuator;
+
+import com.chatop.chatop_backend.service.RentalAvailabilityIndex;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Endpoint Actuator des calendriers de disponibilité en mémoire.
+ * - GET /actuator/rentalavailabilityindex : statistiques (locations, années avec des jours bloqués, dernière reconstruction) ;
+ * - POST /actuator/rentalavailabilityindex : reconstruction complète des calendriers depuis la base.
+ *
+ * @Endpoint expose cette classe comme endpoint Actuator.
+ */
+@Component
+@Endpoint(id = "rentalavailabilityindex")
+public class RentalAvailabilityIndexEndpoint {
+
+    private final RentalAvailabilityIndex availabilityIndex;
+
+    public RentalAvailabilityIndexEndpoint(RentalAvailabilityIndex availabilityIndex) {
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return availabilityIndex.stats();
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        availabilityIndex.rebuild();
+        return availabilityIndex.stats();
+    }
+}
@@ -0,0 +1,48 @@
+package com.chatop.chatop_backend.actuator;
+
+import com.chatop.chatop_backend.service.RentalCatalogIndex;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Endpoint Actuator de l'index en mémoire du catalogue des locations.
+ * - GET /actuator/rentalcatalog : statistiques (taille, version, état) ;
+ * - GET /actuator/rentalcatalog/consistency : comparaison complète avec la base de données ;
+ * - POST /actuator/rentalcatalog : reconstruction de l'index depuis la base.
+ *
+ * @Endpoint expose cette classe comme endpoint Actuator.
+ */
+@Component
+@Endpoint(id = "rentalcatalog")
+public class RentalCatalogEndpoint {
+
+    private final RentalCatalogIndex catalogIndex;
+
+    public RentalCatalogEndpoint(RentalCatalogIndex catalogIndex) {
+        this.catalogIndex = catalogIndex;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return catalogIndex.stats();
+    }
+
+    @ReadOperation
+    public Object operation(@Selector String name) {
+        if ("consistency".equals(name)) {
+            return catalogIndex.checkConsistency();
+        }
+        return null;
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        catalogIndex.rebuild();
+        return catalogIndex.stats();
+    }
+}
@@ -0,0 +1,38 @@
+package com.chatop.chatop_backend.actuator;
+
+import com.chatop.chatop_backend.service.RentalGeoIndex;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Endpoint Actuator de l'index spatial des locations.
+ * - GET /actuator/rentalgeoindex : statistiques (locations géolocalisées, taille des cellules, dernière reconstruction) ;
+ * - POST /actuator/rentalgeoindex : reconstruction complète de l'index depuis la base.
+ *
+ * @Endpoint expose cette classe comme endpoint Actuator.
+ */
+@Component
+@Endpoint(id = "rentalgeoindex")
+public class RentalGeoIndexEndpoint {
+
+    private final RentalGeoIndex geoIndex;
+
+    public RentalGeoIndexEndpoint(RentalGeoIndex geoIndex) {
+        this.geoIndex = geoIndex;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return geoIndex.stats();
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        geoIndex.rebuild();
+        return geoIndex.stats();
+    }
+}
@@ -0,0 +1,38 @@
+package com.chatop.chatop_backend.actuator;
+
+import com.chatop.chatop_backend.service.RentalTextSearchService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Endpoint Actuator de l'index plein texte des locations.
+ * - GET /actuator/rentaltextindex : statistiques (documents, taille sur disque, dernière reconstruction) ;
+ * - POST /actuator/rentaltextindex : reconstruction complète de l'index depuis la base.
+ *
+ * @Endpoint expose cette classe comme endpoint Actuator.
+ */
+@Component
+@Endpoint(id = "rentaltextindex")
+public class RentalTextIndexEndpoint {
+
+    private final RentalTextSearchService textSearchService;
+
+    public RentalTextIndexEndpoint(RentalTextSearchService textSearchService) {
+        this.textSearchService = textSearchService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return textSearchService.stats();
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        textSearchService.rebuild();
+        return textSearchService.stats();
+    }
+}
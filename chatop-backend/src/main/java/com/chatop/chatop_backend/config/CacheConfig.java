@@ -0,0 +1,62 @@
+package com.chatop.chatop_backend.config;
+
+import com.chatop.chatop_backend.service.OwnerRentalsCache;
+import com.chatop.chatop_backend.service.UserCacheService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration des caches en mémoire de l'application (Caffeine).
+ * Les caches sont déclarés au démarrage : Spring Boot Actuator les lie alors automatiquement
+ * à Micrometer (taux de succès, temps de chargement, évictions) et les expose via /actuator/caches.
+ *
+ * @Configuration indique que cette classe contient des méthodes de configuration.
+ * @EnableCaching active l'abstraction de cache de Spring.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Gestionnaire de caches Caffeine.
+     * Les caches utilisateurs et le cache des locations par propriétaire sont bornés en taille et en durée de vie,
+     * et enregistrent leurs statistiques.
+     *
+     * @param usersMaxSize Nombre maximal d'utilisateurs conservés par cache
+     * @param usersTtl Durée de vie d'une entrée après écriture
+     * @param ownerRentalsMaxPages Nombre maximal de pages de locations conservées (tous propriétaires confondus)
+     * @param ownerRentalsTtl Durée de vie d'une page de locations
+     * @return Gestionnaire de caches
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${chatop.cache.users.max-size:10000}") long usersMaxSize,
+            @Value("${chatop.cache.users.ttl:10m}") Duration usersTtl,
+            @Value("${chatop.cache.owner-rentals.max-pages:50000}") long ownerRentalsMaxPages,
+            @Value("${chatop.cache.owner-rentals.ttl:10m}") Duration ownerRentalsTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(UserCacheService.USERS_BY_EMAIL, Caffeine.newBuilder()
+                .maximumSize(usersMaxSize)
+                .expireAfterWrite(usersTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(UserCacheService.USERS_BY_ID, Caffeine.newBuilder()
+                .maximumSize(usersMaxSize)
+                .expireAfterWrite(usersTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(OwnerRentalsCache.RENTALS_BY_OWNER, Caffeine.newBuilder()
+                .maximumSize(ownerRentalsMaxPages)
+                .expireAfterWrite(ownerRentalsTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,46 @@
+package com.chatop.chatop_backend.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Force l'utilisation de la base principale pour une lecture, même en transaction en lecture seule.
+ * À utiliser pour les lectures qui doivent voir les dernières écritures validées, y compris celles
+ * d'autres instances (reconstruction des index en mémoire, vérification avant une mise à jour).
+ * Sans réplica configuré (chatop.datasource.replica.enabled=false), l'appel est sans effet.
+ * @see ReadWriteRoutingDataSource
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Integer> PRIMARY_DEPTH = ThreadLocal.withInitial(() -> 0);
+
+    private DataSourceRouting() {
+    }
+
+    /**
+     * Exécute l'action en routant toutes ses connexions vers la base principale.
+     * La transaction doit être démarrée à l'intérieur de l'action (la connexion est choisie à son ouverture).
+     *
+     * @param action Action à exécuter
+     * @return Résultat de l'action
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        PRIMARY_DEPTH.set(PRIMARY_DEPTH.get() + 1);
+        try {
+            return action.get();
+        } finally {
+            int depth = PRIMARY_DEPTH.get() - 1;
+            if (depth == 0) {
+                PRIMARY_DEPTH.remove();
+            } else {
+                PRIMARY_DEPTH.set(depth);
+            }
+        }
+    }
+
+    /**
+     * @return true si le thread courant exécute une action {@link #onPrimary(Supplier)}
+     */
+    static boolean isPrimaryForced() {
+        return PRIMARY_DEPTH.get() > 0;
+    }
+}
@@ -0,0 +1,111 @@
+package com.chatop.chatop_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Routage des lectures vers un réplica MySQL (chatop.datasource.replica.enabled=true).
+ * Deux pools Hikari sont créés : la base principale (spring.datasource.*, fournie par Vault) et le réplica
+ * (chatop.datasource.replica.*, mêmes identifiants par défaut). Tous deux reçoivent les réglages
+ * spring.datasource.hikari.* (propriétés du pilote comprises). La source de données exposée à JPA
+ * et à JdbcTemplate est un {@link LazyConnectionDataSourceProxy} autour de {@link ReadWriteRoutingDataSource}.
+ * Sans cette propriété, Spring Boot configure comme avant une seule source de données.
+ *
+ * @Configuration indique que cette classe contient des méthodes de configuration.
+ */
+@Configuration
+@ConditionalOnProperty(name = "chatop.datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * Pool de la base principale (écritures et lectures qui doivent voir les dernières écritures).
+     *
+     * @param properties Propriétés spring.datasource.*
+     * @return Pool Hikari de la base principale
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("chatop-primary");
+        return dataSource;
+    }
+
+    /**
+     * Pool du réplica (transactions en lecture seule).
+     *
+     * @param properties Propriétés spring.datasource.* (identifiants et pilote par défaut)
+     * @param url URL JDBC du réplica
+     * @param username Utilisateur du réplica (par défaut celui de la base principale)
+     * @param password Mot de passe du réplica (par défaut celui de la base principale)
+     * @return Pool Hikari du réplica
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+            @Value("${chatop.datasource.replica.url}") String url,
+            @Value("${chatop.datasource.replica.username:}") String username,
+            @Value("${chatop.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(StringUtils.hasText(username) ? username : properties.determineUsername())
+                .password(StringUtils.hasText(password) ? password : properties.determinePassword())
+                .build();
+        dataSource.setPoolName("chatop-replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Surveillance du retard du réplica.
+     *
+     * @param replica Pool du réplica
+     * @param maxLag Retard maximal toléré
+     * @param checkInterval Intervalle entre deux mesures
+     * @param meterRegistry Registre des métriques
+     * @return Moniteur du retard
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+            @Value("${chatop.datasource.replica.max-lag:2s}") Duration maxLag,
+            @Value("${chatop.datasource.replica.check-interval:5s}") Duration checkInterval,
+            MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replica, maxLag, checkInterval, meterRegistry);
+    }
+
+    /**
+     * Source de données principale de l'application : routage lecture/écriture, connexion obtenue paresseusement.
+     *
+     * @param primary Pool de la base principale
+     * @param replica Pool du réplica
+     * @param lagMonitor Moniteur du retard du réplica
+     * @param maxLag Retard maximal toléré (et durée de lecture sur la base principale après une écriture)
+     * @param maxTrackedWriters Nombre maximal d'utilisateurs dont les dernières écritures sont suivies
+     * @param meterRegistry Registre des métriques
+     * @return Source de données routée
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaLagMonitor lagMonitor,
+            @Value("${chatop.datasource.replica.max-lag:2s}") Duration maxLag,
+            @Value("${chatop.datasource.replica.max-tracked-writers:100000}") long maxTrackedWriters,
+            MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, lagMonitor, maxLag, maxTrackedWriters, meterRegistry));
+    }
+}
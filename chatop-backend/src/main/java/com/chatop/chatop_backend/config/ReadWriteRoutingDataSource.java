@@ -0,0 +1,113 @@
+package com.chatop.chatop_backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Source de données qui choisit, à l'ouverture de chaque connexion, entre la base principale et le réplica.
+ * Elle est enveloppée dans un LazyConnectionDataSourceProxy : la connexion réelle n'est obtenue qu'à la
+ * première requête SQL, une fois l'attribut readOnly de la transaction connu.
+ * - Transaction en écriture, hors transaction ou {@link DataSourceRouting#onPrimary} : base principale.
+ * - Transaction en lecture seule (@Transactional(readOnly = true)) : réplica, sauf si
+ *   - le réplica est en retard de plus de chatop.datasource.replica.max-lag (ou injoignable), ou
+ *   - le même utilisateur a validé une transaction en écriture sur cette instance depuis moins de max-lag :
+ *     le réplica peut ne pas l'avoir encore reçue (lecture de ses propres écritures, ETag de la collection).
+ *     La fenêtre est propre à chaque utilisateur authentifié (les requêtes anonymes en partagent une) :
+ *     les écritures d'un utilisateur ne renvoient pas les lectures des autres vers la base principale.
+ *     Au plus chatop.datasource.replica.max-tracked-writers utilisateurs sont suivis.
+ * Métrique datasource.routing.connections{target} : connexions ouvertes par cible.
+ * @see DataSourceRoutingConfig
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    // Clé des requêtes sans utilisateur authentifié (inscription, connexion)
+    private static final String ANONYMOUS = "";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final long freshnessNanos;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    // Dernière écriture validée (System.nanoTime()) par utilisateur, oubliée après max-lag
+    private final Cache<String, Long> lastWriteNanos;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+            Duration maxLag, long maxTrackedWriters, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.freshnessNanos = maxLag.toNanos();
+        this.lastWriteNanos = Caffeine.newBuilder()
+                .maximumSize(maxTrackedWriters)
+                .expireAfterWrite(maxLag)
+                .build();
+        this.primaryConnections = connections(meterRegistry, Target.PRIMARY);
+        this.replicaConnections = connections(meterRegistry, Target.REPLICA);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target target = route();
+        (target == Target.REPLICA ? replicaConnections : primaryConnections).increment();
+        return target;
+    }
+
+    private Target route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                // Transaction en écriture : la fenêtre de fraîcheur de l'utilisateur démarre à sa validation
+                String writer = currentUser();
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        lastWriteNanos.put(writer, System.nanoTime());
+                    }
+                });
+            }
+            return Target.PRIMARY;
+        }
+        if (DataSourceRouting.isPrimaryForced()
+                || !lagMonitor.isReplicaUsable()
+                || wroteRecently(currentUser())) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    private boolean wroteRecently(String user) {
+        Long lastWrite = lastWriteNanos.getIfPresent(user);
+        return lastWrite != null && System.nanoTime() - lastWrite < freshnessNanos;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return ANONYMOUS;
+        }
+        return authentication.getName();
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, Target target) {
+        return Counter.builder("datasource.routing.connections")
+                .description("Connexions ouvertes par la source de données routée, par cible")
+                .tag("target", target.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
+}
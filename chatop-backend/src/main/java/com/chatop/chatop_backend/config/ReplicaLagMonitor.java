@@ -0,0 +1,109 @@
+package com.chatop.chatop_backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Surveille le retard du réplica (SHOW REPLICA STATUS, colonne Seconds_Behind_Source) à intervalle régulier.
+ * Le réplica n'est utilisable que si son retard est connu et inférieur ou égal à la tolérance configurée :
+ * réplication arrêtée, retard excessif ou réplica injoignable renvoient toutes les lectures vers la base principale.
+ * Une instance sans réplication configurée (deux bases indépendantes en développement) est considérée à jour.
+ * L'utilisateur de connexion doit disposer du privilège REPLICATION CLIENT sur le réplica.
+ * Métrique datasource.replica.lag : retard mesuré en secondes (-1 si inconnu).
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replica;
+    private final long maxLagSeconds;
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean replicaUsable;
+    private volatile long lagSeconds = -1;
+
+    /**
+     * @param replica Source de données du réplica (interrogée directement, sans routage)
+     * @param maxLag Retard maximal toléré (précision : la seconde)
+     * @param checkInterval Intervalle entre deux mesures
+     * @param meterRegistry Registre des métriques
+     */
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, Duration checkInterval, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout(5);
+        this.maxLagSeconds = maxLag.toSeconds();
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Retard du réplica en secondes (-1 si inconnu)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("🔀 Surveillance du réplica démarrée: tolérance {} s, mesure toutes les {} ms",
+                maxLagSeconds, checkInterval.toMillis());
+    }
+
+    /**
+     * @return true si les lectures peuvent être servies par le réplica
+     */
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * @return Dernier retard mesuré en secondes, -1 si inconnu
+     */
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    void check() {
+        try {
+            List<Long> lags = replica.query("SHOW REPLICA STATUS", (rs, rowNum) -> {
+                long lag = rs.getLong("Seconds_Behind_Source");
+                return rs.wasNull() ? null : lag;
+            });
+            if (lags.isEmpty()) {
+                update(true, 0, "aucune réplication configurée, base considérée à jour");
+            } else if (lags.get(0) == null) {
+                update(false, -1, "réplication arrêtée");
+            } else {
+                long lag = lags.get(0);
+                update(lag <= maxLagSeconds, lag, "retard de " + lag + " s");
+            }
+        } catch (DataAccessException e) {
+            update(false, -1, "réplica injoignable: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    // Seuls les changements d'état sont journalisés
+    private void update(boolean usable, long lag, String reason) {
+        lagSeconds = lag;
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("✅ Réplica utilisé pour les lectures ({})", reason);
+            } else {
+                log.warn("⚠️ Réplica écarté, lectures sur la base principale ({})", reason);
+            }
+        }
+        replicaUsable = usable;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -1,7 +1,10 @@
 package com.chatop.chatop_backend.config;
 
+import com.chatop.chatop_backend.security.BoundedPasswordEncoder;
 import com.chatop.chatop_backend.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,6 +15,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -21,7 +25,9 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * Configuration de Spring Security pour l'application.
@@ -42,19 +48,69 @@ import java.util.Arrays;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    /**
+     * Routes d'authentification, publiques (permitAll).
+     */
+    private static final String AUTH_ROUTES = "/api/auth/**";
+
+    /**
+     * Routes d'authentification qui n'utilisent jamais le token : /api/auth/me, lui, en a besoin
+     * pour identifier l'utilisateur.
+     */
+    private static final String[] TOKENLESS_AUTH_ROUTES = {
+            "/api/auth/login",
+            "/api/auth/register"
+    };
+
+    /**
+     * Routes accessibles sans authentification (permitAll).
+     */
+    public static final String[] PUBLIC_ROUTES = {
+            "/uploads/**",
+            "/", // Chemin racine pour rediriger vers Swagger UI
+            "/healthcheck",
+            "/actuator/**", // Chemin pour les endpoints Actuator à des fins de surveillance (à sécuriser en production)
+            AUTH_ROUTES,
+            "/api-docs/**",
+            "/api-docs/swagger-config",
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/webjars/**"
+    };
+
+    /**
+     * Routes publiques pour lesquelles le filtre JWT n'est pas exécuté du tout.
+     * Dérivées de {@link #PUBLIC_ROUTES}, avec {@link #AUTH_ROUTES} remplacé par {@link #TOKENLESS_AUTH_ROUTES}.
+     */
+    public static final String[] JWT_BYPASS_ROUTES = jwtBypassRoutes();
+
+    private static String[] jwtBypassRoutes() {
+        List<String> routes = new ArrayList<>();
+        for (String route : PUBLIC_ROUTES) {
+            if (AUTH_ROUTES.equals(route)) {
+                routes.addAll(Arrays.asList(TOKENLESS_AUTH_ROUTES));
+            } else {
+                routes.add(route);
+            }
+        }
+        return routes.toArray(String[]::new);
+    }
+
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
     private final JwtAuthenticationFilter jwtAuthFilter;
 
     /**
      * Configure la chaîne de filtres de sécurité.
      *
      * @param http Configuration de la sécurité HTTP
+     * @param authenticationProvider Fournisseur d'authentification par identifiants
      * @return Chaîne de filtres de sécurité configurée
      * @Bean indique que cette méthode produit un bean à utiliser dans l'application. un bean est un objet qui est instancié, assemblé et géré par un conteneur IoC (Inversion of Control). Il sert de composant dans le développement d'applications. un conteneur IoC est un cadre logiciel qui gère les beans. Le Bean est utile quand vous avez besoin d'un objet à plusieurs endroits dans votre application.
      * @throws Exception si une erreur se produit lors de la configuration de la sécurité
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider) throws Exception {
          http    
                 // Désactive la protection CSRF. CSRF signifie Cross-Site Request Forgery. Il s'agit d'une attaque qui force un utilisateur à exécuter des actions non désirées sur une application Web dans laquelle il est authentifié.    
                 .csrf(AbstractHttpConfigurer::disable)
@@ -65,7 +121,8 @@ public class SecurityConfig {
                         .policyDirectives("default-src 'self';  style-src 'self' 'unsafe-inline';"))
                     // X-Frame-Options : Empêche le site d'être affiché dans un iframe (protection contre le clickjacking)
                     .frameOptions(frameOptions -> frameOptions.deny())
-                    // Cache-Control : Désactive la mise en cache pour les ressources sensibles pour éviter les fuites d'informations
+                    // Cache-Control : l'en-tête "no-store" de Spring Security n'est pas ajouté ; les contrôleurs qui gèrent
+                    // les requêtes conditionnelles (ETag) positionnent eux-mêmes "private, no-cache" (revalidation à chaque appel)
                     .cacheControl(cacheControl -> cacheControl.disable())
                     // HSTS : Active la politique de sécurité de transport strict (HSTS) pour forcer HTTPS et protéger contre les attaques de type SSLStrip
                     .httpStrictTransportSecurity(hsts -> hsts
@@ -77,24 +134,16 @@ public class SecurityConfig {
                  // Configure CORS pour permettre les requêtes cross-origin. CORS signifie Cross-Origin Resource Sharing. Il s'agit d'un mécanisme qui utilise des en-têtes HTTP pour permettre à un serveur de dire à un navigateur web d'accéder à des ressources d'un serveur situé sur un autre domaine.
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
-                    .requestMatchers("/uploads/**").permitAll() 
-                        .requestMatchers(
-                                "/", // Chemin racine pour rediriger vers Swagger UI
-                                "/healthcheck",
-                                "/actuator/**", // Chemin pour les endpoints Actuator à des fins de surveillance (à sécuriser en production)
-                                "/api/auth/**",
-                                "/api-docs/**",
-                                "/api-docs/swagger-config",
-                                "/swagger-ui/**",
-                                "/swagger-ui.html",
-                                "/webjars/**").permitAll()
+                        .requestMatchers(PUBLIC_ROUTES).permitAll()
                                 .requestMatchers("/api/rentals/**").authenticated() 
+                                // L'export de tous les messages est réservé au rôle ADMIN (déclaré avant /api/messages/**)
+                                .requestMatchers("/api/messages/export").hasRole("ADMIN")
                                 .requestMatchers("/api/messages/**").authenticated()
                         // Chemin pour les locations qui nécessitent une authentification
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Désactive la gestion de session pour que Spring Security ne crée pas de session HTTP
-                .authenticationProvider(authenticationProvider()) // Configure le fournisseur d'authentification qui vérifie les identifiants de l'utilisateur
+                .authenticationProvider(authenticationProvider) // Configure le fournisseur d'authentification qui vérifie les identifiants de l'utilisateur
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class); // Ajoute le filtre d'authentification JWT avant le filtre d'authentification par nom d'utilisateur et mot de passe
 
         return http.build(); // Construit la chaîne de filtres de sécurité configurée et la retourne pour être utilisée dans l'application.
@@ -107,9 +156,9 @@ public class SecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:4200, http://localhost:8888")); // localhost:4200 pour Angular, localhost:8888 pour JavaDocs
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
-        configuration.setExposedHeaders(Arrays.asList("Content-Disposition")); // Expose l'en-tête Content-Disposition pour le téléchargement de fichiers (ref aux images dans uploads)
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "If-Match", "If-None-Match", "If-Modified-Since"));
+        configuration.setExposedHeaders(Arrays.asList("Content-Disposition", "ETag", "Last-Modified")); // Content-Disposition pour le téléchargement de fichiers (ref aux images dans uploads), ETag et Last-Modified pour les requêtes conditionnelles
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -118,21 +167,38 @@ public class SecurityConfig {
 
     /**
      * Fournit un encodeur de mot de passe pour hacher les mots de passe avec un bean pour n'avoir qu'une seule instance dans l'application.
+     * Le hachage BCrypt est exécuté sur un pool dédié et borné (voir {@link BoundedPasswordEncoder}).
+     *
+     * @param strength Facteur de travail BCrypt (log2 du nombre d'itérations)
+     * @param poolSize Nombre de threads de hachage (0 = nombre de cœurs)
+     * @param queueCapacity Nombre maximal de hachages en attente avant rejet
+     * @param retryAfterSeconds Délai conseillé au client lorsque le pool est saturé
+     * @param meterRegistry Registre des métriques
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${chatop.auth.bcrypt.strength:10}") int strength,
+            @Value("${chatop.auth.bcrypt.pool-size:0}") int poolSize,
+            @Value("${chatop.auth.bcrypt.queue-capacity:64}") int queueCapacity,
+            @Value("${chatop.auth.bcrypt.retry-after-seconds:1}") long retryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity,
+                retryAfterSeconds, meterRegistry);
     }
 
     /**
      * Configure le fournisseur d'authentification qui vérifie les identifiants de
      * l'utilisateur.
+     * Les hachages produits avec un facteur de travail inférieur à celui configuré sont
+     * mis à niveau de manière transparente après une connexion réussie.
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
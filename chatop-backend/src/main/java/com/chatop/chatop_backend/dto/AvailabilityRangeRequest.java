@@ -0,0 +1,30 @@
+package com.chatop.chatop_backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Cette classe contient la période à bloquer ou à libérer dans le calendrier d'une location
+ * (POST /api/rentals/{id}/availability/block et /free) : les nuits du "from" (inclus) au "to" (exclu).
+ * @Getter: Génère automatiquement les getters pour tous les champs de la classe grâce à Lombok.
+ * @Setter: Génère automatiquement les setters pour tous les champs de la classe grâce à Lombok.
+ * @NoArgsConstructor: Génère automatiquement un constructeur sans argument grâce à Lombok.
+ * @AllArgsConstructor: Génère automatiquement un constructeur avec tous les arguments grâce à Lombok également.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityRangeRequest {
+
+  @NotNull(message = "La date de début (from) est obligatoire")
+  private LocalDate from;
+
+  @NotNull(message = "La date de fin (to) est obligatoire")
+  private LocalDate to;
+}
@@ -0,0 +1,12 @@
+package com.chatop.chatop_backend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Période de nuits consécutives.
+ *
+ * @param from Première nuit (incluse)
+ * @param to Jour de départ (exclu)
+ */
+public record DateRangeDto(LocalDate from, LocalDate to) {
+}
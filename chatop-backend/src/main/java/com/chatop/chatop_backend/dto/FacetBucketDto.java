@@ -0,0 +1,20 @@
+package com.chatop.chatop_backend.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/** Cette classe représente une tranche de facette (prix ou surface) et le nombre de locations qu'elle contient.
+ *  La borne min est incluse, la borne max exclue ; une borne null signifie "sans limite".
+ *  @Data: Génère automatiquement les getters, setters, constructeurs, equals, hashcode, toString.
+ * @NoArgsConstructor: Génère automatiquement un constructeur sans argument.
+ * @AllArgsConstructor: Génère automatiquement un constructeur avec tous les arguments.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetBucketDto {
+    private BigDecimal min;
+    private BigDecimal max;
+    private long count;
+}
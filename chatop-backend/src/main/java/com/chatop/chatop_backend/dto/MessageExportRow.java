@@ -0,0 +1,15 @@
+package com.chatop.chatop_backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ligne de l'export des messages (une ligne NDJSON par message).
+ * Projetée directement par la requête depuis les colonnes de MESSAGES : aucune entité n'est chargée.
+ *
+ * @param rentalId Identifiant de la location
+ * @param userId Identifiant de l'auteur
+ * @param message Contenu du message
+ * @param createdAt Date d'envoi
+ */
+public record MessageExportRow(Long rentalId, Long userId, String message, LocalDateTime createdAt) {
+}
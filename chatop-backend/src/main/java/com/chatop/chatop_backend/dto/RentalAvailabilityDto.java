@@ -0,0 +1,17 @@
+package com.chatop.chatop_backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Calendrier d'une location sur une période.
+ *
+ * @param rentalId Identifiant de la location
+ * @param from Début de la période (inclus)
+ * @param to Fin de la période (exclue)
+ * @param available true si aucune nuit de la période n'est bloquée
+ * @param blocked Périodes bloquées, dans l'ordre chronologique
+ */
+public record RentalAvailabilityDto(Long rentalId, LocalDate from, LocalDate to, boolean available,
+        List<DateRangeDto> blocked) {
+}
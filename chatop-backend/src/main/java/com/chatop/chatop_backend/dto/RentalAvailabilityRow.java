@@ -0,0 +1,11 @@
+package com.chatop.chatop_backend.dto;
+
+/**
+ * Projection d'une ligne de RENTAL_AVAILABILITY, utilisée pour construire les calendriers en mémoire.
+ *
+ * @param rentalId Identifiant de la location
+ * @param year Année civile
+ * @param blockedDays Jours bloqués (bitmap, voir DayBitmap)
+ */
+public record RentalAvailabilityRow(Long rentalId, Integer year, byte[] blockedDays) {
+}
@@ -0,0 +1,31 @@
+package com.chatop.chatop_backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Cette classe contient les identifiants des locations à supprimer (POST /api/rentals/bulk-delete).
+ * @Getter: Génère automatiquement les getters pour tous les champs de la classe grâce à Lombok.
+ * @Setter: Génère automatiquement les setters pour tous les champs de la classe grâce à Lombok.
+ * @NoArgsConstructor: Génère automatiquement un constructeur sans argument grâce à Lombok.
+ * @AllArgsConstructor: Génère automatiquement un constructeur avec tous les arguments grâce à Lombok également.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RentalBulkDeleteRequest {
+
+  public static final int MAX_IDS = 500;
+
+  @NotEmpty(message = "La liste des identifiants est obligatoire")
+  @Size(max = MAX_IDS, message = "Au plus " + MAX_IDS + " locations par requête")
+  private List<@NotNull Long> ids;
+}
@@ -0,0 +1,13 @@
+package com.chatop.chatop_backend.dto;
+
+import java.util.List;
+
+/**
+ * Résultat d'une suppression de locations en masse.
+ *
+ * @param deleted Identifiants des locations supprimées
+ * @param notFound Identifiants inexistants
+ * @param forbidden Identifiants de locations appartenant à un autre utilisateur (non supprimées)
+ */
+public record RentalBulkDeleteResultDto(List<Long> deleted, List<Long> notFound, List<Long> forbidden) {
+}
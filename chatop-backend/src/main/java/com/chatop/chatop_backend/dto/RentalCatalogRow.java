@@ -0,0 +1,14 @@
+package com.chatop.chatop_backend.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection minimale d'une location utilisée pour construire et vérifier l'index en mémoire du catalogue.
+ *
+ * @param id Identifiant de la location
+ * @param price Prix
+ * @param surface Surface
+ * @param ownerId Identifiant du propriétaire
+ */
+public record RentalCatalogRow(Long id, BigDecimal price, BigDecimal surface, Long ownerId) {
+}
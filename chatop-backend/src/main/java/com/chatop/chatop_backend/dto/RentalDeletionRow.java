@@ -0,0 +1,12 @@
+package com.chatop.chatop_backend.dto;
+
+/**
+ * Projection minimale d'une location avant sa suppression : propriétaire (contrôle d'accès, événements)
+ * et image (nettoyage du fichier après validation).
+ *
+ * @param id Identifiant de la location
+ * @param ownerId Identifiant du propriétaire
+ * @param picture Chemin de l'image enregistrée (peut être null)
+ */
+public record RentalDeletionRow(Long id, Long ownerId, String picture) {
+}
@@ -32,4 +32,31 @@ public class RentalDto {
     
     @JsonProperty("owner_id")
     private Long ownerId;
+
+    // Version de la location (verrouillage optimiste), à renvoyer lors d'une modification partielle
+    private Long version;
+
+    // Coordonnées géographiques en degrés décimaux (null si la location n'est pas géolocalisée)
+    private Double latitude;
+    private Double longitude;
+
+    // Préfixe des URLs des images renvoyées au client
+    public static final String PICTURE_BASE_URL = "http://localhost:3001";
+
+    /**
+     * Construit l'URL publique d'une image à partir du chemin enregistré en base
+     * (nom de fichier, chemin "/uploads/..." ou URL déjà complète).
+     *
+     * @param storedPath Chemin de l'image en base (peut être null)
+     * @return URL complète de l'image, ou null s'il n'y a pas d'image
+     */
+    public static String pictureUrl(String storedPath) {
+        if (storedPath == null || storedPath.isEmpty()) {
+            return null;
+        }
+        if (storedPath.startsWith(PICTURE_BASE_URL)) {
+            return storedPath;
+        }
+        return PICTURE_BASE_URL + (storedPath.startsWith("/uploads/") ? storedPath : "/uploads/" + storedPath);
+    }
 }
@@ -0,0 +1,11 @@
+package com.chatop.chatop_backend.dto;
+
+/**
+ * Projection minimale d'une location géolocalisée, utilisée pour construire l'index spatial en mémoire.
+ *
+ * @param id Identifiant de la location
+ * @param latitude Latitude en degrés décimaux
+ * @param longitude Longitude en degrés décimaux
+ */
+public record RentalGeoRow(Long id, Double latitude, Double longitude) {
+}
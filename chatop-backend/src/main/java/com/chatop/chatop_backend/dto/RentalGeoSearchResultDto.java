@@ -0,0 +1,20 @@
+package com.chatop.chatop_backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/** Cette classe est le résultat d'une recherche géographique de locations (rayon ou rectangle).
+ *  Les locations sont classées de la plus proche à la plus éloignée du point de référence ;
+ *  "total" compte toutes les locations de la zone, au-delà de la limite demandée.
+ *  @Data: Génère automatiquement les getters, setters, constructeurs, equals, hashcode, toString.
+ * @NoArgsConstructor: Génère automatiquement un constructeur sans argument.
+ * @AllArgsConstructor: Génère automatiquement un constructeur avec tous les arguments.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RentalGeoSearchResultDto {
+    private List<RentalNearbyDto> rentals;
+    private long total;
+}
@@ -0,0 +1,10 @@
+package com.chatop.chatop_backend.dto;
+
+/**
+ * Ligne rejetée lors d'un import de locations.
+ *
+ * @param line Numéro de ligne dans le fichier importé (à partir de 1)
+ * @param message Cause du rejet
+ */
+public record RentalImportErrorDto(long line, String message) {
+}
@@ -0,0 +1,18 @@
+package com.chatop.chatop_backend.dto;
+
+import java.util.List;
+
+/**
+ * Ligne de progression d'un import de locations, écrite en NDJSON après chaque lot puis à la fin de l'import.
+ *
+ * @param status "progress" après chaque lot, puis "done" ou "failed"
+ * @param chunk Numéro du dernier lot traité
+ * @param read Nombre de lignes lues
+ * @param imported Nombre de locations insérées
+ * @param rejected Nombre de lignes rejetées
+ * @param elapsedMs Durée écoulée depuis le début de l'import
+ * @param errors Erreurs (ligne et message), uniquement dans la dernière ligne, bornées en nombre
+ */
+public record RentalImportProgressDto(String status, int chunk, long read, long imported, long rejected,
+        long elapsedMs, List<RentalImportErrorDto> errors) {
+}
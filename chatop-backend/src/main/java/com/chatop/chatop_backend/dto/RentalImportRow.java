@@ -0,0 +1,33 @@
+package com.chatop.chatop_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Cette classe représente une ligne d'un import de locations en masse (NDJSON ou CSV).
+ * Les champs suivent la convention snake_case de l'API (owner_email).
+ * @Getter: Génère automatiquement les getters pour tous les champs de la classe grâce à Lombok.
+ * @Setter: Génère automatiquement les setters pour tous les champs de la classe grâce à Lombok.
+ * @NoArgsConstructor: Génère automatiquement un constructeur sans argument grâce à Lombok.
+ * @AllArgsConstructor: Génère automatiquement un constructeur avec tous les arguments grâce à Lombok également.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RentalImportRow {
+  private String name;
+  private BigDecimal surface;
+  private BigDecimal price;
+  private String picture;
+  private String description;
+  // Propriétaire de la location (optionnel : l'utilisateur authentifié par défaut)
+  private String ownerEmail;
+  // Coordonnées géographiques (optionnelles, fournies ensemble)
+  private Double latitude;
+  private Double longitude;
+}
@@ -0,0 +1,18 @@
+package com.chatop.chatop_backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Message du fil de discussion d'une location, avec le nom de son auteur.
+ * Projeté directement par la requête (une jointure sur USERS), sans entité Message ni User.
+ *
+ * @param id Identifiant du message
+ * @param rentalId Identifiant de la location
+ * @param userId Identifiant de l'auteur
+ * @param userName Nom de l'auteur
+ * @param message Contenu du message
+ * @param createdAt Date d'envoi
+ */
+public record RentalMessageDto(Long id, Long rentalId, Long userId, String userName, String message,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,13 @@
+package com.chatop.chatop_backend.dto;
+
+import java.util.List;
+
+/**
+ * Page du fil de discussion d'une location (pagination par curseur), du plus ancien au plus récent message.
+ * Le curseur "next" vaut null lorsqu'il n'y a plus de messages à lire.
+ *
+ * @param messages Messages de la page
+ * @param next Curseur opaque de la page suivante
+ */
+public record RentalMessagePageDto(List<RentalMessageDto> messages, String next) {
+}
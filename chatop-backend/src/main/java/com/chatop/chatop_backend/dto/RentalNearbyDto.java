@@ -0,0 +1,21 @@
+package com.chatop.chatop_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.*;
+
+/** Cette classe représente une location trouvée par une recherche géographique.
+ *  Les champs de la location sont au premier niveau du JSON, complétés par sa distance au point de référence.
+ *  @Data: Génère automatiquement les getters, setters, constructeurs, equals, hashcode, toString.
+ * @NoArgsConstructor: Génère automatiquement un constructeur sans argument.
+ * @AllArgsConstructor: Génère automatiquement un constructeur avec tous les arguments.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RentalNearbyDto {
+    @JsonUnwrapped
+    private RentalDto rental;
+
+    // Distance au point de référence, en kilomètres (arrondie au mètre)
+    private double distanceKm;
+}
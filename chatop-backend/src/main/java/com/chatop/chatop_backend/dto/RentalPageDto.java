@@ -0,0 +1,20 @@
+package com.chatop.chatop_backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/** Cette classe est un Data Transfer Object (DTO) qui représente une page de locations (pagination par curseur).
+ *  Elle contient les locations de la page et le curseur opaque permettant de demander la page suivante.
+ *  Le curseur "next" vaut null lorsqu'il n'y a plus de locations à lire.
+ *  @Data: Génère automatiquement les getters, setters, constructeurs, equals, hashcode, toString.
+ * @NoArgsConstructor: Génère automatiquement un constructeur sans argument.
+ * @AllArgsConstructor: Génère automatiquement un constructeur avec tous les arguments.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RentalPageDto {
+    private List<RentalDto> rentals;
+    private String next;
+}
@@ -0,0 +1,57 @@
+package com.chatop.chatop_backend.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Cette classe contient les champs d'une modification partielle de location (PATCH /api/rentals/{id}).
+ * Seuls les champs renseignés (non null) sont modifiés. La version attendue peut être fournie ici
+ * ou dans l'en-tête If-Match ; l'image se modifie toujours via PUT (multipart).
+ * @Getter: Génère automatiquement les getters pour tous les champs de la classe grâce à Lombok.
+ * @Setter: Génère automatiquement les setters pour tous les champs de la classe grâce à Lombok.
+ * @NoArgsConstructor: Génère automatiquement un constructeur sans argument grâce à Lombok.
+ * @AllArgsConstructor: Génère automatiquement un constructeur avec tous les arguments grâce à Lombok également.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RentalPatchRequest {
+  @Size(min = 1, max = 255, message = "Le nom doit contenir entre 1 et 255 caractères")
+  private String name;
+
+  @DecimalMin(value = "0", inclusive = false, message = "La surface doit être positive")
+  private BigDecimal surface;
+
+  @DecimalMin(value = "0", inclusive = false, message = "Le prix doit être positif")
+  private BigDecimal price;
+
+  private String description;
+
+  // Nouvelles coordonnées : latitude et longitude sont modifiées ensemble
+  @DecimalMin(value = "-90", message = "La latitude doit être comprise entre -90 et 90")
+  @DecimalMax(value = "90", message = "La latitude doit être comprise entre -90 et 90")
+  private Double latitude;
+
+  @DecimalMin(value = "-180", message = "La longitude doit être comprise entre -180 et 180")
+  @DecimalMax(value = "180", message = "La longitude doit être comprise entre -180 et 180")
+  private Double longitude;
+
+  // Version lue par le client (alternative à l'en-tête If-Match)
+  private Long version;
+
+  /**
+   * @return true si au moins un champ de la location est modifié
+   */
+  public boolean hasChanges() {
+    return name != null || surface != null || price != null || description != null
+        || latitude != null || longitude != null;
+  }
+}
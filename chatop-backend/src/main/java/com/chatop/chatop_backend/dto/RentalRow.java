@@ -0,0 +1,57 @@
+package com.chatop.chatop_backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Projection en lecture seule d'une location : exactement les colonnes de {@link RentalDto},
+ * propriétaire compris sous la forme de la clé étrangère owner_id (sans jointure sur USERS).
+ * Contrairement à l'entité Rental, elle n'est jamais gérée par Hibernate (ni instantané, ni flush).
+ *
+ * @param id Identifiant de la location
+ * @param name Nom
+ * @param surface Surface
+ * @param price Prix
+ * @param picture Chemin de l'image en base
+ * @param description Description
+ * @param createdAt Date de création
+ * @param updatedAt Date de mise à jour
+ * @param ownerId Identifiant du propriétaire
+ * @param version Version de la location (verrouillage optimiste)
+ * @param latitude Latitude (null si la location n'est pas géolocalisée)
+ * @param longitude Longitude (null si la location n'est pas géolocalisée)
+ */
+public record RentalRow(
+        Long id,
+        String name,
+        BigDecimal surface,
+        BigDecimal price,
+        String picture,
+        String description,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long ownerId,
+        Long version,
+        Double latitude,
+        Double longitude) {
+
+    // Fuseau résolu une seule fois (et non à chaque ligne)
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    /**
+     * Convertit la projection en DTO exposé par l'API (même résultat que le mapping de l'entité).
+     *
+     * @return DTO de la location
+     */
+    public RentalDto toDto() {
+        return new RentalDto(id, name, surface, price, RentalDto.pictureUrl(picture), description,
+                toDate(createdAt), toDate(updatedAt), ownerId, version,
+                latitude, longitude);
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return dateTime == null ? null : Date.from(dateTime.atZone(ZONE).toInstant());
+    }
+}
@@ -0,0 +1,54 @@
+package com.chatop.chatop_backend.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/** Cette classe regroupe les critères de recherche des locations (GET /api/rentals/search).
+ *  Tous les critères sont optionnels : un critère null n'est pas appliqué.
+ *  @Data: Génère automatiquement les getters, setters, constructeurs, equals, hashcode, toString.
+ * @Builder: Génère automatiquement un builder pour construire les critères.
+ * @NoArgsConstructor: Génère automatiquement un constructeur sans argument.
+ * @AllArgsConstructor: Génère automatiquement un constructeur avec tous les arguments.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RentalSearchCriteria {
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private BigDecimal minSurface;
+    private BigDecimal maxSurface;
+    private Long ownerId;
+    private String keyword;
+
+    @Builder.Default
+    private Sort sort = Sort.NEWEST;
+
+    /**
+     * Ordres de tri disponibles ; l'identifiant départage toujours les égalités.
+     */
+    public enum Sort {
+        NEWEST, OLDEST, PRICE_ASC, PRICE_DESC, SURFACE_ASC, SURFACE_DESC;
+
+        /**
+         * Convertit le paramètre de requête (ex. "price_asc") en ordre de tri.
+         *
+         * @param value Valeur du paramètre (null pour l'ordre par défaut)
+         * @return Ordre de tri
+         * @throws IllegalArgumentException si la valeur est inconnue
+         */
+        public static Sort fromParam(String value) {
+            if (value == null || value.isBlank()) {
+                return NEWEST;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Tri inconnu: " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.chatop.chatop_backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/** Cette classe est le résultat d'une recherche de locations.
+ *  Elle contient la page de locations demandée, le nombre total de résultats et les facettes
+ *  ("price" et "surface") : chaque facette est calculée avec tous les filtres sauf le sien,
+ *  pour indiquer combien de locations correspondraient si l'on choisissait une autre tranche.
+ *  @Data: Génère automatiquement les getters, setters, constructeurs, equals, hashcode, toString.
+ * @NoArgsConstructor: Génère automatiquement un constructeur sans argument.
+ * @AllArgsConstructor: Génère automatiquement un constructeur avec tous les arguments.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RentalSearchResultDto {
+    private List<RentalDto> rentals;
+    private long total;
+    private int page;
+    private int size;
+    private Map<String, List<FacetBucketDto>> facets;
+}
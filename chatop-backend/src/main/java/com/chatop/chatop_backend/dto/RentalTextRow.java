@@ -0,0 +1,11 @@
+package com.chatop.chatop_backend.dto;
+
+/**
+ * Projection d'une location limitée aux champs indexés par la recherche plein texte.
+ *
+ * @param id Identifiant de la location
+ * @param name Nom de la location
+ * @param description Description de la location
+ */
+public record RentalTextRow(Long id, String name, String description) {
+}
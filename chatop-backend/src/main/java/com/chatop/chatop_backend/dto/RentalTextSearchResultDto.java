@@ -0,0 +1,21 @@
+package com.chatop.chatop_backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/** Cette classe est le résultat d'une recherche plein texte de locations.
+ *  Les locations sont classées de la plus pertinente à la moins pertinente.
+ *  Au-delà de 1000 résultats, "total" est une borne inférieure et "total_exact" vaut false.
+ *  @Data: Génère automatiquement les getters, setters, constructeurs, equals, hashcode, toString.
+ * @NoArgsConstructor: Génère automatiquement un constructeur sans argument.
+ * @AllArgsConstructor: Génère automatiquement un constructeur avec tous les arguments.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RentalTextSearchResultDto {
+    private List<RentalDto> rentals;
+    private long total;
+    private boolean totalExact;
+}
@@ -0,0 +1,15 @@
+package com.chatop.chatop_backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection minimale d'une location utilisée pour évaluer les requêtes conditionnelles (ETag, Last-Modified)
+ * et expliquer l'échec d'une mise à jour conditionnelle.
+ *
+ * @param id Identifiant de la location
+ * @param version Version de la location (verrouillage optimiste)
+ * @param updatedAt Date de dernière modification
+ * @param ownerId Identifiant du propriétaire
+ */
+public record RentalVersionRow(Long id, Long version, LocalDateTime updatedAt, Long ownerId) {
+}
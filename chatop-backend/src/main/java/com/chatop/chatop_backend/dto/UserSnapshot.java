@@ -0,0 +1,54 @@
+package com.chatop.chatop_backend.dto;
+
+import com.chatop.chatop_backend.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Copie immuable et légère d'un utilisateur, conservée dans le cache des utilisateurs.
+ * Contrairement à l'entité {@link User}, elle n'est rattachée à aucun contexte de persistance
+ * et peut être partagée sans risque entre les threads.
+ * Le mot de passe haché est conservé pour l'authentification mais n'apparaît jamais dans toString().
+ *
+ * @param id Identifiant de l'utilisateur
+ * @param email Email de l'utilisateur
+ * @param name Nom de l'utilisateur
+ * @param role Rôle de l'utilisateur
+ * @param password Mot de passe haché
+ * @param createdAt Date de création
+ * @param updatedAt Date de mise à jour
+ */
+public record UserSnapshot(
+        Long id,
+        String email,
+        String name,
+        String role,
+        String password,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    /**
+     * Construit une copie à partir d'une entité User.
+     *
+     * @param user Entité utilisateur
+     * @return Copie immuable
+     */
+    public static UserSnapshot from(User user) {
+        return new UserSnapshot(user.getId(), user.getEmail(), user.getName(), user.getRole(),
+                user.getPassword(), user.getCreatedAt(), user.getUpdatedAt());
+    }
+
+    /**
+     * Convertit la copie en DTO exposé par l'API.
+     *
+     * @return DTO utilisateur sans données sensibles
+     */
+    public UserDto toDto() {
+        return new UserDto(id, name, email, createdAt, updatedAt);
+    }
+
+    @Override
+    public String toString() {
+        return "UserSnapshot[id=" + id + ", email=" + email + ", role=" + role + "]";
+    }
+}
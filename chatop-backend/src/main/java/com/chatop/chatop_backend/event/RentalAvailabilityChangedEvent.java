@@ -0,0 +1,15 @@
+package com.chatop.chatop_backend.event;
+
+import java.util.Set;
+
+/**
+ * Événement publié après le blocage ou la libération de jours d'une location.
+ * Les abonnés l'écoutent avec @TransactionalEventListener afin de ne voir que les calendriers validés en base.
+ * Il ne porte pas les jours bloqués : deux modifications successives du même calendrier peuvent être
+ * notifiées dans le désordre, les abonnés relisent donc l'état validé des années modifiées.
+ *
+ * @param rentalId Identifiant de la location
+ * @param years Années modifiées
+ */
+public record RentalAvailabilityChangedEvent(Long rentalId, Set<Integer> years) {
+}
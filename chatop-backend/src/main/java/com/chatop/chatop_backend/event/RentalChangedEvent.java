@@ -0,0 +1,33 @@
+package com.chatop.chatop_backend.event;
+
+import com.chatop.chatop_backend.dto.RentalDto;
+
+/**
+ * Événement publié par le service des locations après chaque création, mise à jour ou suppression.
+ * Les abonnés (index en mémoire, caches...) l'écoutent avec @TransactionalEventListener afin de
+ * ne voir que les modifications effectivement validées en base.
+ *
+ * @param type Type de modification
+ * @param rentalId Identifiant de la location
+ * @param ownerId Identifiant du propriétaire
+ * @param rental État de la location après modification (null pour une suppression)
+ */
+public record RentalChangedEvent(Type type, Long rentalId, Long ownerId, RentalDto rental) {
+
+    /**
+     * Types de modification d'une location.
+     */
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    public static RentalChangedEvent created(RentalDto rental) {
+        return new RentalChangedEvent(Type.CREATED, rental.getId(), rental.getOwnerId(), rental);
+    }
+
+    public static RentalChangedEvent updated(RentalDto rental) {
+        return new RentalChangedEvent(Type.UPDATED, rental.getId(), rental.getOwnerId(), rental);
+    }
+
+    public static RentalChangedEvent deleted(Long rentalId, Long ownerId) {
+        return new RentalChangedEvent(Type.DELETED, rentalId, ownerId, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.chatop.chatop_backend.event;
+
+import java.util.List;
+
+/**
+ * Événement publié lorsque des images ne sont plus référencées par aucune location
+ * (suppression de locations, remplacement d'une image). Les fichiers sont supprimés
+ * après la validation de la transaction, jamais si elle est annulée.
+ *
+ * @param pictures Chemins des images enregistrées (format renvoyé par FileStorageService.saveFile)
+ */
+public record RentalPicturesReleasedEvent(List<String> pictures) {
+}
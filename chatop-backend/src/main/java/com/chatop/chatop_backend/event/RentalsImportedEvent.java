@@ -0,0 +1,11 @@
+package com.chatop.chatop_backend.event;
+
+/**
+ * Événement publié à la fin d'un import de locations en masse (POST /api/rentals/import).
+ * Les lignes sont insérées par lots JDBC, sans {@link RentalChangedEvent} par location :
+ * les index en mémoire et la version de la collection sont reconstruits une seule fois.
+ *
+ * @param imported Nombre de locations insérées
+ */
+public record RentalsImportedEvent(long imported) {
+}
@@ -0,0 +1,24 @@
+package com.chatop.chatop_backend.exception;
+
+/**
+ * Exception levée lorsqu'un email ou une adresse IP a dépassé le nombre de tentatives de connexion autorisées.
+ * La requête est rejetée (HTTP 429 avec Retry-After) avant toute vérification du mot de passe.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Retourne le délai conseillé avant une nouvelle tentative.
+     *
+     * @return Délai en secondes
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,24 @@
+package com.chatop.chatop_backend.exception;
+
+/**
+ * Exception levée lorsque le pool dédié au hachage des mots de passe est saturé.
+ * La requête est rejetée immédiatement (HTTP 503 avec Retry-After) au lieu d'attendre indéfiniment.
+ */
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Retourne le délai conseillé avant une nouvelle tentative.
+     *
+     * @return Délai en secondes
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,11 @@
+package com.chatop.chatop_backend.exception;
+
+/**
+ * Exception levée lorsqu'une location demandée n'existe pas (HTTP 404).
+ */
+public class RentalNotFoundException extends RuntimeException {
+
+    public RentalNotFoundException(String message) {
+        super(message);
+    }
+}
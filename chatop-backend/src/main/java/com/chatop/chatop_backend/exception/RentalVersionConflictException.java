@@ -0,0 +1,37 @@
+package com.chatop.chatop_backend.exception;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exception levée lorsqu'une mise à jour conditionnelle échoue parce que la location a été modifiée
+ * depuis la version lue par le client (HTTP 409, ou 412 si la version venait de If-Match).
+ */
+public class RentalVersionConflictException extends RuntimeException {
+
+    private final Long currentVersion;
+    private final LocalDateTime currentUpdatedAt;
+
+    public RentalVersionConflictException(String message, Long currentVersion, LocalDateTime currentUpdatedAt) {
+        super(message);
+        this.currentVersion = currentVersion;
+        this.currentUpdatedAt = currentUpdatedAt;
+    }
+
+    /**
+     * Retourne la version actuelle de la location en base.
+     *
+     * @return Version actuelle
+     */
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+
+    /**
+     * Retourne la date de mise à jour actuelle de la location en base.
+     *
+     * @return Date de mise à jour
+     */
+    public LocalDateTime getCurrentUpdatedAt() {
+        return currentUpdatedAt;
+    }
+}
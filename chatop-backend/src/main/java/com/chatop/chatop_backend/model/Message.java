@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 
@@ -20,12 +24,20 @@ public class Message {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToOne
+    // Relations chargées à la demande : lire un message ne déclenche pas de requête par auteur ou par location.
+    // Les lectures qui ont besoin de l'auteur le joignent explicitement (voir MessageRepository).
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
     
-    @ManyToOne
+    // Supprimés par la base avec leur location (fk_messages_rental ... ON DELETE CASCADE, voir init.sql)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "rental_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Rental rental;
     
     @Column(nullable = false)
@@ -3,6 +3,7 @@ package com.chatop.chatop_backend.model;
 import jakarta.persistence.*;
 // lombok sert à générer automatiquement les getters, setters, constructeurs, equals, hashcode, toString. Il permet également de réduire la quantité de code à écrire.
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -42,6 +43,11 @@ public class Rental {
   @Column(columnDefinition = "TEXT")
   private String description;
 
+  // Coordonnées géographiques en degrés décimaux (WGS 84), null pour une location non géolocalisée
+  private Double latitude;
+
+  private Double longitude;
+
   @ManyToOne
   @JoinColumn(name = "owner_id", nullable = false) // Clé étrangère vers User
   private User owner;
@@ -52,7 +58,14 @@ public class Rental {
   @Column(name = "updated_at")
   private LocalDateTime updatedAt;
 
-  // Relation avec Messages
-  @OneToMany(mappedBy = "rental", cascade = CascadeType.ALL, orphanRemoval = true)
+  // Verrouillage optimiste : incrémentée à chaque mise à jour, elle sert aussi d'ETag aux clients
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private Long version;
+
+  // Relation avec Messages : pas de cascade JPA, les messages sont supprimés par la clé étrangère
+  // (ON DELETE CASCADE) lors d'un DELETE ensembliste, sans être chargés un par un
+  @OneToMany(mappedBy = "rental")
   private List<Message> messages;
 }
@@ -0,0 +1,31 @@
+package com.chatop.chatop_backend.model;
+
+import com.chatop.chatop_backend.search.DayBitmap;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Cette classe représente les jours bloqués d'une location pour une année civile (table RENTAL_AVAILABILITY).
+ * Les jours sont stockés sous forme de bitmap de {@value DayBitmap#BYTES} octets (voir {@link DayBitmap}) :
+ * une année sans jour bloqué n'a pas de ligne. Les lignes sont supprimées par la base avec leur location
+ * (fk_availability_rental ... ON DELETE CASCADE, voir init.sql).
+ * @Entity: Spécifie que la classe est une entité.
+ * @Table: Spécifie le nom de la table dans la base de données.
+ * @Getter: Génère automatiquement les getters pour tous les champs de la classe.
+ * @Setter: Génère automatiquement les setters pour tous les champs de la classe.
+ * @NoArgsConstructor: Génère automatiquement un constructeur sans argument.
+ * @AllArgsConstructor: Génère automatiquement un constructeur avec tous les arguments.
+ */
+@Entity
+@Table(name = "RENTAL_AVAILABILITY")
+@Getter
+@Setter
+@NoArgsConstructor @AllArgsConstructor
+public class RentalAvailability {
+
+  @EmbeddedId
+  private RentalAvailabilityId id;
+
+  @Column(name = "blocked_days", nullable = false, length = DayBitmap.BYTES)
+  private byte[] blockedDays;
+}
@@ -0,0 +1,26 @@
+package com.chatop.chatop_backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Clé de {@link RentalAvailability} : une ligne par location et par année civile.
+ * @Embeddable: Spécifie que la classe est intégrée à une entité (clé composite).
+ * @Data: Génère automatiquement les getters, setters, equals, hashcode et toString requis pour une clé composite.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RentalAvailabilityId implements Serializable {
+
+  @Column(name = "rental_id", nullable = false)
+  private Long rentalId;
+
+  // "year" est un mot-clé SQL (H2) : colonne calendar_year
+  @Column(name = "calendar_year", nullable = false)
+  private Integer year;
+}
@@ -15,7 +15,7 @@ import java.util.List;
  * Cette classe implémente {@link UserDetails} pour être compatible avec Spring Security.
  */
 @Entity
-@Table(name = "USERS")
+@Table(name = "USERS", uniqueConstraints = @UniqueConstraint(name = User.EMAIL_UNIQUE_INDEX, columnNames = "email"))
 @Getter
 @Setter
 @Builder
@@ -23,11 +23,17 @@ import java.util.List;
 @AllArgsConstructor
 public class User implements UserDetails, Serializable {
 
+    /**
+     * Index unique de l'email (voir init.sql) : nommé pour reconnaître un doublon d'email parmi
+     * les violations de contraintes.
+     */
+    public static final String EMAIL_UNIQUE_INDEX = "USERS_email_idx";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
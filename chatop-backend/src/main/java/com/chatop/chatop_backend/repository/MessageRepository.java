@@ -1,7 +1,52 @@
 package com.chatop.chatop_backend.repository;
 
+import com.chatop.chatop_backend.dto.MessageDto;
+import com.chatop.chatop_backend.dto.MessageExportRow;
+import com.chatop.chatop_backend.dto.RentalMessageDto;
 import com.chatop.chatop_backend.model.Message;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
+
+    // Lecture en flux de tous les messages, projetés directement en DTO (aucune entité ni jointure chargée).
+    // Integer.MIN_VALUE demande au pilote MySQL de transmettre les lignes une à une.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select new com.chatop.chatop_backend.dto.MessageDto(m.rental.id, m.user.id, m.message) "
+            + "from Message m order by m.id")
+    Stream<MessageDto> streamAllAsDto();
+
+    // Export de tous les messages par identifiant croissant : seules les colonnes exportées sont lues
+    // (m.rental.id et m.user.id sont les clés étrangères de MESSAGES, sans jointure). Les lignes sont transmises
+    // une à une par le pilote MySQL ; le Stream doit être consommé dans une transaction puis fermé.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.chatop.chatop_backend.dto.MessageExportRow(m.rental.id, m.user.id, m.message, m.createdAt) "
+            + "from Message m order by m.id")
+    Stream<MessageExportRow> streamExportRows();
+
+    // Fil de discussion d'une location par pages, du plus ancien au plus récent (index messages_rental_idx sur
+    // rental_id, created_at, id) : l'auteur est lu par une jointure dans la même requête, sans entité chargée
+    @Query("select new com.chatop.chatop_backend.dto.RentalMessageDto(m.id, m.rental.id, u.id, u.name, m.message, "
+            + "m.createdAt) from Message m join m.user u where m.rental.id = :rentalId order by m.createdAt, m.id")
+    List<RentalMessageDto> findThreadFirstPage(@Param("rentalId") Long rentalId, Limit limit);
+
+    // Page suivante : (created_at, id) strictement après la dernière position lue
+    @Query("select new com.chatop.chatop_backend.dto.RentalMessageDto(m.id, m.rental.id, u.id, u.name, m.message, "
+            + "m.createdAt) from Message m join m.user u where m.rental.id = :rentalId "
+            + "and (m.createdAt > :afterCreatedAt or (m.createdAt = :afterCreatedAt and m.id > :afterId)) "
+            + "order by m.createdAt, m.id")
+    List<RentalMessageDto> findThreadPageAfter(@Param("rentalId") Long rentalId,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt, @Param("afterId") Long afterId, Limit limit);
 }
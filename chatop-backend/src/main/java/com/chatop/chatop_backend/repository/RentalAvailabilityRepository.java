@@ -0,0 +1,47 @@
+package com.chatop.chatop_backend.repository;
+
+import com.chatop.chatop_backend.dto.RentalAvailabilityRow;
+import com.chatop.chatop_backend.model.RentalAvailability;
+import com.chatop.chatop_backend.model.RentalAvailabilityId;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Cette interface permet de lire et d'écrire les calendriers de disponibilité des locations (une ligne par
+ * location et par année, voir {@link RentalAvailability}).
+ * @Repository: Indique à Spring qu'il s'agit d'un bean qui doit être instancié.
+ */
+@Repository
+public interface RentalAvailabilityRepository extends JpaRepository<RentalAvailability, RentalAvailabilityId> {
+
+  // Années d'une location (clé primaire rental_id, calendar_year)
+  @Query("select a from RentalAvailability a where a.id.rentalId = :rentalId "
+      + "and a.id.year between :fromYear and :toYear")
+  List<RentalAvailability> findByRental(@Param("rentalId") Long rentalId, @Param("fromYear") Integer fromYear,
+      @Param("toYear") Integer toYear);
+
+  // Années de plusieurs locations (recherche sans calendrier en mémoire)
+  @Query("select new com.chatop.chatop_backend.dto.RentalAvailabilityRow(a.id.rentalId, a.id.year, a.blockedDays) "
+      + "from RentalAvailability a where a.id.rentalId in :rentalIds and a.id.year between :fromYear and :toYear")
+  List<RentalAvailabilityRow> findRowsByRentalIdIn(@Param("rentalIds") Collection<Long> rentalIds,
+      @Param("fromYear") Integer fromYear, @Param("toYear") Integer toYear);
+
+  // Lecture en flux des calendriers à partir d'une année (voir RentalAvailabilityIndex)
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select new com.chatop.chatop_backend.dto.RentalAvailabilityRow(a.id.rentalId, a.id.year, a.blockedDays) "
+      + "from RentalAvailability a where a.id.year >= :fromYear")
+  Stream<RentalAvailabilityRow> streamRowsFromYear(@Param("fromYear") Integer fromYear);
+}
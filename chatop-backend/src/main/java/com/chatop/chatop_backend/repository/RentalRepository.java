@@ -1,10 +1,27 @@
 package com.chatop.chatop_backend.repository;
 
+import com.chatop.chatop_backend.dto.RentalCatalogRow;
+import com.chatop.chatop_backend.dto.RentalDeletionRow;
+import com.chatop.chatop_backend.dto.RentalGeoRow;
+import com.chatop.chatop_backend.dto.RentalRow;
+import com.chatop.chatop_backend.dto.RentalTextRow;
+import com.chatop.chatop_backend.dto.RentalVersionRow;
 import com.chatop.chatop_backend.model.Rental;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -13,11 +30,133 @@ import org.springframework.stereotype.Repository;
  * @Repository: Indique à Spring qu'il s'agit d'un bean qui doit être instancié.
  */
 @Repository
-public interface RentalRepository extends JpaRepository<Rental, Long> {
+public interface RentalRepository extends JpaRepository<Rental, Long>, RentalRepositoryCustom {
 
   // 🔥 Utilisation de l'annotation @EntityGraph pour charger l'entité propriétaire de la location.
   // Cela permet d'éviter les requêtes supplémentaires lors de l'accès à l'entité propriétaire.
   @EntityGraph(attributePaths = {"owner"})
   List<Rental> findAll();
-}
 
+  // Projections en lecture seule (chatop.rentals.read-path=projection) : les colonnes de RentalDto uniquement,
+  // owner_id lu directement sur RENTALS sans jointure sur USERS, aucune entité gérée par Hibernate
+  @Query("select new com.chatop.chatop_backend.dto.RentalRow(r.id, r.name, r.surface, r.price, r.picture, "
+      + "r.description, r.createdAt, r.updatedAt, r.owner.id, r.version, r.latitude, r.longitude) from Rental r order by r.id")
+  List<RentalRow> findAllRows();
+
+  @Query("select new com.chatop.chatop_backend.dto.RentalRow(r.id, r.name, r.surface, r.price, r.picture, "
+      + "r.description, r.createdAt, r.updatedAt, r.owner.id, r.version, r.latitude, r.longitude) from Rental r where r.id = :id")
+  Optional<RentalRow> findRowById(@Param("id") Long id);
+
+  // Pagination par clé (keyset) : "WHERE id > ? ORDER BY id LIMIT ?" parcourt directement la clé primaire,
+  // sans OFFSET, quel que soit le numéro de la page.
+  @EntityGraph(attributePaths = {"owner"})
+  List<Rental> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+  // Même page en projection (chatop.rentals.read-path=projection) : ni entités, ni jointure sur USERS
+  @Query("select new com.chatop.chatop_backend.dto.RentalRow(r.id, r.name, r.surface, r.price, r.picture, "
+      + "r.description, r.createdAt, r.updatedAt, r.owner.id, r.version, r.latitude, r.longitude) from Rental r "
+      + "where r.id > :afterId order by r.id")
+  List<RentalRow> findRowsAfter(@Param("afterId") Long afterId, Limit limit);
+
+  // Locations d'un propriétaire par pages (index rentals_owner_idx sur owner_id, id) : seules les lignes
+  // de la page sont lues, sans jointure sur USERS, quelle que soit la taille du catalogue
+  @Query("select new com.chatop.chatop_backend.dto.RentalRow(r.id, r.name, r.surface, r.price, r.picture, "
+      + "r.description, r.createdAt, r.updatedAt, r.owner.id, r.version, r.latitude, r.longitude) from Rental r "
+      + "where r.owner.id = :ownerId and r.id > :afterId order by r.id")
+  List<RentalRow> findRowsByOwner(@Param("ownerId") Long ownerId, @Param("afterId") Long afterId, Limit limit);
+
+  @Query("select new com.chatop.chatop_backend.dto.RentalRow(r.id, r.name, r.surface, r.price, r.picture, "
+      + "r.description, r.createdAt, r.updatedAt, r.owner.id, r.version, r.latitude, r.longitude) from Rental r "
+      + "where r.id in :ids")
+  List<RentalRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+  // Lecture en flux (curseur en avant seulement) de toutes les locations avec leur propriétaire.
+  // Integer.MIN_VALUE demande au pilote MySQL de transmettre les lignes une à une au lieu de charger
+  // tout le résultat en mémoire. Le Stream doit être consommé dans une transaction puis fermé.
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select r from Rental r join fetch r.owner order by r.id")
+  Stream<Rental> streamAll();
+
+  // Chargement d'un lot de locations par identifiants, propriétaire compris (une seule requête)
+  @EntityGraph(attributePaths = {"owner"})
+  List<Rental> findByIdIn(Collection<Long> ids);
+
+  // Lecture en flux des seules colonnes de l'index en mémoire du catalogue (voir RentalCatalogIndex)
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select new com.chatop.chatop_backend.dto.RentalCatalogRow(r.id, r.price, r.surface, r.owner.id) "
+      + "from Rental r order by r.id")
+  Stream<RentalCatalogRow> streamCatalogRows();
+
+  // Lecture en flux des champs de l'index plein texte (voir RentalTextSearchService)
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select new com.chatop.chatop_backend.dto.RentalTextRow(r.id, r.name, r.description) "
+      + "from Rental r order by r.id")
+  Stream<RentalTextRow> streamTextRows();
+
+  // Lecture en flux des coordonnées des locations géolocalisées (voir RentalGeoIndex)
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select new com.chatop.chatop_backend.dto.RentalGeoRow(r.id, r.latitude, r.longitude) from Rental r "
+      + "where r.latitude is not null and r.longitude is not null")
+  Stream<RentalGeoRow> streamGeoRows();
+
+  // Recherche géographique sans l'index spatial : locations du rectangle englobant (index rentals_location_idx),
+  // les distances étant calculées ensuite en Java
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select new com.chatop.chatop_backend.dto.RentalGeoRow(r.id, r.latitude, r.longitude) from Rental r "
+      + "where r.latitude between :minLatitude and :maxLatitude and r.longitude between :minLongitude and :maxLongitude")
+  Stream<RentalGeoRow> streamGeoRowsInBox(@Param("minLatitude") double minLatitude,
+      @Param("maxLatitude") double maxLatitude, @Param("minLongitude") double minLongitude,
+      @Param("maxLongitude") double maxLongitude);
+
+  // Identifiants de toutes les locations, en flux (voir RentalAvailabilityIndex)
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select r.id from Rental r order by r.id")
+  Stream<Long> streamIds();
+
+  // Identifiants suivants par clé primaire (recherche de disponibilité sans calendrier en mémoire)
+  @Query("select r.id from Rental r where r.id > :afterId order by r.id")
+  List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+  // Verrouille la ligne de la location (SELECT ... FOR UPDATE) jusqu'à la fin de la transaction :
+  // les modifications du calendrier d'une même location sont sérialisées
+  @Query(value = "SELECT owner_id FROM RENTALS WHERE id = :id FOR UPDATE", nativeQuery = true)
+  Optional<Long> lockOwnerIdById(@Param("id") Long id);
+
+  // Lecture de la seule version d'une location (requêtes conditionnelles, sans charger l'entité)
+  @Query("select new com.chatop.chatop_backend.dto.RentalVersionRow(r.id, r.version, r.updatedAt, r.owner.id) "
+      + "from Rental r where r.id = :id")
+  Optional<RentalVersionRow> findVersionById(@Param("id") Long id);
+
+  // Propriétaire et image des locations à supprimer (une seule requête, sans entité)
+  @Query("select new com.chatop.chatop_backend.dto.RentalDeletionRow(r.id, r.owner.id, r.picture) "
+      + "from Rental r where r.id in :ids")
+  List<RentalDeletionRow> findDeletionRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+  // Suppression ensembliste : un seul DELETE, les messages sont supprimés par la base
+  // (fk_messages_rental ... ON DELETE CASCADE) sans être chargés par Hibernate
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from Rental r where r.id in :ids")
+  int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+  // Images encore utilisées par au moins une location (avant de supprimer les fichiers)
+  @Query("select distinct r.picture from Rental r where r.picture in :pictures")
+  List<String> findPicturesIn(@Param("pictures") Collection<String> pictures);
+}
@@ -0,0 +1,63 @@
+package com.chatop.chatop_backend.repository;
+
+import com.chatop.chatop_backend.dto.RentalPatchRequest;
+import com.chatop.chatop_backend.dto.RentalSearchCriteria;
+import com.chatop.chatop_backend.model.Rental;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Requêtes des locations construites dynamiquement (API Criteria) : recherche et mise à jour partielle.
+ * Implémentée par {@link RentalRepositoryImpl} et exposée via {@link RentalRepository}.
+ */
+public interface RentalRepositoryCustom {
+
+    /**
+     * Dimensions pouvant faire l'objet d'une facette.
+     */
+    enum FacetDimension { PRICE, SURFACE }
+
+    /**
+     * Recherche une page de locations (propriétaire chargé) selon les critères.
+     *
+     * @param criteria Critères de recherche
+     * @param offset Position du premier résultat
+     * @param limit Nombre maximal de résultats
+     * @return Locations trouvées, dans l'ordre demandé
+     */
+    List<Rental> search(RentalSearchCriteria criteria, int offset, int limit);
+
+    /**
+     * Compte les locations correspondant aux critères.
+     *
+     * @param criteria Critères de recherche
+     * @return Nombre de locations
+     */
+    long countSearch(RentalSearchCriteria criteria);
+
+    /**
+     * Compte les locations par tranche en une seule requête (SUM(CASE ...)).
+     * Le filtre de la dimension elle-même n'est pas appliqué (facette disjonctive).
+     *
+     * @param criteria Critères de recherche
+     * @param dimension Dimension de la facette
+     * @param bounds Bornes croissantes : n bornes donnent n + 1 tranches
+     * @return Nombre de locations par tranche
+     */
+    long[] countByBuckets(RentalSearchCriteria criteria, FacetDimension dimension, BigDecimal[] bounds);
+
+    /**
+     * Met à jour une location en une seule requête UPDATE ne contenant que les colonnes modifiées,
+     * la date de mise à jour et la version (incrémentée). Aucune entité n'est chargée.
+     *
+     * @param id Identifiant de la location
+     * @param changes Champs modifiés (les champs null sont ignorés)
+     * @param expectedVersion Version attendue (null : pas de contrôle de version)
+     * @param ownerId Propriétaire attendu (null : pas de contrôle du propriétaire)
+     * @param updatedAt Nouvelle date de mise à jour
+     * @return Nombre de lignes modifiées (0 si la location n'existe pas, a changé de version ou n'appartient pas au propriétaire)
+     */
+    int patch(Long id, RentalPatchRequest changes, Long expectedVersion, Long ownerId, LocalDateTime updatedAt);
+}
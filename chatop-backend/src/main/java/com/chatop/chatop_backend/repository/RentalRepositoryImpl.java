@@ -0,0 +1,179 @@
+package com.chatop.chatop_backend.repository;
+
+import com.chatop.chatop_backend.dto.RentalPatchRequest;
+import com.chatop.chatop_backend.dto.RentalSearchCriteria;
+import com.chatop.chatop_backend.model.Rental;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Implémentation des requêtes de recherche et de mise à jour partielle des locations avec l'API Criteria.
+ * Seuls les critères renseignés produisent une condition SQL, afin que MySQL puisse choisir
+ * l'index composite le plus sélectif (voir init.sql).
+ */
+class RentalRepositoryImpl implements RentalRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Rental> search(RentalSearchCriteria criteria, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Rental> query = cb.createQuery(Rental.class);
+        Root<Rental> root = query.from(Rental.class);
+        root.fetch("owner");
+        query.select(root)
+                .where(predicates(cb, root, criteria, null))
+                .orderBy(orders(cb, root, criteria.getSort()));
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public int patch(Long id, RentalPatchRequest changes, Long expectedVersion, Long ownerId, LocalDateTime updatedAt) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Rental> update = cb.createCriteriaUpdate(Rental.class);
+        Root<Rental> root = update.from(Rental.class);
+        if (changes.getName() != null) {
+            update.set(root.<String>get("name"), changes.getName());
+        }
+        if (changes.getSurface() != null) {
+            update.set(root.<BigDecimal>get("surface"), changes.getSurface());
+        }
+        if (changes.getPrice() != null) {
+            update.set(root.<BigDecimal>get("price"), changes.getPrice());
+        }
+        if (changes.getDescription() != null) {
+            update.set(root.<String>get("description"), changes.getDescription());
+        }
+        if (changes.getLatitude() != null && changes.getLongitude() != null) {
+            update.set(root.<Double>get("latitude"), changes.getLatitude());
+            update.set(root.<Double>get("longitude"), changes.getLongitude());
+        }
+        update.set(root.<LocalDateTime>get("updatedAt"), updatedAt);
+        Path<Long> version = root.get("version");
+        update.set(version, cb.sum(version, 1L));
+
+        List<Predicate> where = new ArrayList<>(3);
+        where.add(cb.equal(root.get("id"), id));
+        if (expectedVersion != null) {
+            where.add(cb.equal(version, expectedVersion));
+        }
+        if (ownerId != null) {
+            where.add(cb.equal(root.get("owner").get("id"), ownerId));
+        }
+        update.where(where.toArray(Predicate[]::new));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public long countSearch(RentalSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Rental> root = query.from(Rental.class);
+        query.select(cb.count(root)).where(predicates(cb, root, criteria, null));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public long[] countByBuckets(RentalSearchCriteria criteria, FacetDimension dimension, BigDecimal[] bounds) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Rental> root = query.from(Rental.class);
+        Path<BigDecimal> value = root.get(dimension == FacetDimension.PRICE ? "price" : "surface");
+
+        List<Selection<?>> sums = new ArrayList<>(bounds.length + 1);
+        for (int i = 0; i <= bounds.length; i++) {
+            List<Predicate> inBucket = new ArrayList<>(2);
+            if (i > 0) {
+                inBucket.add(cb.greaterThanOrEqualTo(value, bounds[i - 1]));
+            }
+            if (i < bounds.length) {
+                inBucket.add(cb.lessThan(value, bounds[i]));
+            }
+            Expression<Integer> one = cb.<Integer>selectCase()
+                    .when(cb.and(inBucket.toArray(Predicate[]::new)), 1)
+                    .otherwise(0);
+            sums.add(cb.sum(one));
+        }
+        query.multiselect(sums).where(predicates(cb, root, criteria, dimension));
+
+        Object[] row = entityManager.createQuery(query).getSingleResult();
+        long[] counts = new long[bounds.length + 1];
+        for (int i = 0; i < counts.length; i++) {
+            // SUM renvoie NULL lorsqu'aucune ligne ne correspond
+            counts[i] = row[i] == null ? 0L : ((Number) row[i]).longValue();
+        }
+        return counts;
+    }
+
+    /**
+     * Construit les conditions de la recherche.
+     *
+     * @param skip Dimension dont le filtre est ignoré (facette), ou null
+     */
+    private Predicate[] predicates(CriteriaBuilder cb, Root<Rental> root, RentalSearchCriteria criteria,
+            FacetDimension skip) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (skip != FacetDimension.PRICE) {
+            addRange(cb, predicates, root.get("price"), criteria.getMinPrice(), criteria.getMaxPrice());
+        }
+        if (skip != FacetDimension.SURFACE) {
+            addRange(cb, predicates, root.get("surface"), criteria.getMinSurface(), criteria.getMaxSurface());
+        }
+        if (criteria.getOwnerId() != null) {
+            predicates.add(cb.equal(root.get("owner").get("id"), criteria.getOwnerId()));
+        }
+        String keyword = criteria.getKeyword();
+        if (keyword != null && !keyword.isBlank()) {
+            String pattern = "%" + escapeLike(keyword.trim().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(root.get("name")), pattern, '\\'),
+                    cb.like(cb.lower(root.get("description")), pattern, '\\')));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    private static void addRange(CriteriaBuilder cb, List<Predicate> predicates, Path<BigDecimal> path,
+            BigDecimal min, BigDecimal max) {
+        if (min != null) {
+            predicates.add(cb.greaterThanOrEqualTo(path, min));
+        }
+        if (max != null) {
+            predicates.add(cb.lessThanOrEqualTo(path, max));
+        }
+    }
+
+    private static List<Order> orders(CriteriaBuilder cb, Root<Rental> root, RentalSearchCriteria.Sort sort) {
+        Path<Long> id = root.get("id");
+        return switch (sort == null ? RentalSearchCriteria.Sort.NEWEST : sort) {
+            case NEWEST -> List.of(cb.desc(id));
+            case OLDEST -> List.of(cb.asc(id));
+            case PRICE_ASC -> List.of(cb.asc(root.get("price")), cb.asc(id));
+            case PRICE_DESC -> List.of(cb.desc(root.get("price")), cb.desc(id));
+            case SURFACE_ASC -> List.of(cb.asc(root.get("surface")), cb.asc(id));
+            case SURFACE_DESC -> List.of(cb.desc(root.get("surface")), cb.desc(id));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
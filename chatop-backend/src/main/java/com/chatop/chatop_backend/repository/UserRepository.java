@@ -2,9 +2,12 @@ package com.chatop.chatop_backend.repository;
 
 import com.chatop.chatop_backend.model.User;
 
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -14,7 +17,9 @@ import java.util.Optional;
  * Elle hérite de l'interface JpaRepository qui contient les méthodes CRUD de base.
  * @Repository permet de déclarer ce composant comme un bean Spring.
  * Les méthodes de cette interface sont utilisées par le service AuthService pour accéder aux données des utilisateurs.
+ * Les lectures fréquentes passent par UserCacheService, qui met en cache des copies immuables plutôt que les entités.
  * @see com.chatop.chatop_backend.service.AuthService
+ * @see com.chatop.chatop_backend.service.UserCacheService
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -25,6 +30,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param email Email de l'utilisateur
      * @return Utilisateur correspondant à l'email
      */
-    @Cacheable(value = "useCache", key = "#email")
     public Optional<User> findByEmail(String email);
+
+    /**
+     * Remplace le mot de passe haché d'un utilisateur (mise à niveau du facteur de travail BCrypt).
+     *
+     * @param email Email de l'utilisateur
+     * @param password Nouveau mot de passe haché
+     * @return Nombre de lignes mises à jour
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :password where u.email = :email")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
 }
@@ -0,0 +1,174 @@
+package com.chatop.chatop_backend.search;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Calendriers de disponibilité de tout le catalogue, en mémoire : pour chaque location, un {@link DayBitmap}
+ * par année civile. Une location sans jour bloqué ne coûte qu'une entrée de la table.
+ * - Les locations sont triées par identifiant : une recherche "disponible du X au Y" parcourt le catalogue
+ *   à partir du curseur de pagination et s'arrête dès que la page est pleine.
+ * - Pour chaque location, le test se résume à un ET binaire masqué par année traversée (un ou deux mots de 64 bits
+ *   pour un séjour ordinaire), au lieu d'une jointure ligne à ligne sur des dates en SQL.
+ * - Les calendriers sont immuables et remplacés à chaque écriture : les lectures ne prennent aucun verrou.
+ * Les écritures doivent être sérialisées par l'appelant. Cette classe ne dépend pas de Spring : elle est aussi
+ * utilisée par les benchmarks.
+ */
+public final class AvailabilityCalendar {
+
+    // Années consécutives à partir de firstYear ; une année absente n'a aucun jour bloqué
+    private record Years(int firstYear, DayBitmap[] bitmaps) {
+
+        static final Years NONE = new Years(0, new DayBitmap[0]);
+
+        DayBitmap get(int year) {
+            int index = year - firstYear;
+            return index >= 0 && index < bitmaps.length ? bitmaps[index] : DayBitmap.EMPTY;
+        }
+
+        Years with(int year, DayBitmap bitmap) {
+            if (bitmaps.length == 0) {
+                return bitmap.isEmpty() ? this : new Years(year, new DayBitmap[] { bitmap });
+            }
+            int first = Math.min(firstYear, year);
+            int last = Math.max(firstYear + bitmaps.length - 1, year);
+            DayBitmap[] updated = new DayBitmap[last - first + 1];
+            Arrays.fill(updated, DayBitmap.EMPTY);
+            System.arraycopy(bitmaps, 0, updated, firstYear - first, bitmaps.length);
+            updated[year - first] = bitmap;
+            return new Years(first, updated);
+        }
+
+        boolean isFree(List<DayBitmap.Segment> segments) {
+            if (bitmaps.length == 0) {
+                return true;
+            }
+            for (DayBitmap.Segment segment : segments) {
+                if (!get(segment.year()).isClear(segment.fromDay(), segment.toDay())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final ConcurrentSkipListMap<Long, Years> rentals = new ConcurrentSkipListMap<>();
+
+    /**
+     * Ajoute une location sans jour bloqué (sans effet si elle est déjà présente).
+     *
+     * @param rentalId Identifiant de la location
+     */
+    public void addRental(long rentalId) {
+        rentals.putIfAbsent(rentalId, Years.NONE);
+    }
+
+    /**
+     * Retire une location du calendrier.
+     *
+     * @param rentalId Identifiant de la location
+     */
+    public void removeRental(long rentalId) {
+        rentals.remove(rentalId);
+    }
+
+    /**
+     * Remplace les jours bloqués d'une location pour une année. Ignoré si la location est inconnue :
+     * une modification de calendrier notifiée après la suppression de la location ne la fait pas réapparaître.
+     *
+     * @param rentalId Identifiant de la location
+     * @param year Année
+     * @param bitmap Jours bloqués
+     */
+    public void put(long rentalId, int year, DayBitmap bitmap) {
+        rentals.computeIfPresent(rentalId, (id, current) -> current.with(year, bitmap));
+    }
+
+    /**
+     * Jours bloqués d'une location pour plusieurs années.
+     *
+     * @param rentalId Identifiant de la location
+     * @param fromYear Première année
+     * @param toYear Dernière année (incluse)
+     * @return Jours bloqués par année, ou null si la location est inconnue
+     */
+    public Map<Integer, DayBitmap> get(long rentalId, int fromYear, int toYear) {
+        Years years = rentals.get(rentalId);
+        if (years == null) {
+            return null;
+        }
+        Map<Integer, DayBitmap> bitmaps = new LinkedHashMap<>();
+        for (int year = fromYear; year <= toYear; year++) {
+            bitmaps.put(year, years.get(year));
+        }
+        return bitmaps;
+    }
+
+    /**
+     * Recherche les locations libres sur toute la période [from, to), par identifiant croissant.
+     *
+     * @param from Première nuit (incluse)
+     * @param to Jour de départ (exclu)
+     * @param afterId Identifiant à partir duquel chercher (exclu)
+     * @param limit Nombre maximal de résultats
+     * @return Identifiants des locations disponibles
+     */
+    public long[] findAvailable(LocalDate from, LocalDate to, long afterId, int limit) {
+        List<DayBitmap.Segment> segments = DayBitmap.segments(from, to);
+        long[] ids = new long[limit];
+        int count = 0;
+        for (Map.Entry<Long, Years> entry : rentals.tailMap(afterId, false).entrySet()) {
+            if (count == limit) {
+                break;
+            }
+            if (entry.getValue().isFree(segments)) {
+                ids[count++] = entry.getKey();
+            }
+        }
+        return count == limit ? ids : Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Compte les locations libres sur toute la période [from, to).
+     *
+     * @param from Première nuit (incluse)
+     * @param to Jour de départ (exclu)
+     * @return Nombre de locations disponibles
+     */
+    public long countAvailable(LocalDate from, LocalDate to) {
+        List<DayBitmap.Segment> segments = DayBitmap.segments(from, to);
+        long count = 0;
+        for (Years years : rentals.values()) {
+            if (years.isFree(segments)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Nombre de locations
+     */
+    public int size() {
+        return rentals.size();
+    }
+
+    /**
+     * @return Nombre d'années comportant au moins un jour bloqué, toutes locations confondues
+     */
+    public long bitmaps() {
+        long count = 0;
+        for (Years years : rentals.values()) {
+            for (DayBitmap bitmap : years.bitmaps()) {
+                if (!bitmap.isEmpty()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
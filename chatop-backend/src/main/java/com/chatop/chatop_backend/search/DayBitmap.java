@@ -0,0 +1,269 @@
+package com.chatop.chatop_backend.search;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Jours bloqués d'une location pour une année civile : un bit par nuit (bit i = i-ème jour de l'année, à partir de 0).
+ * - En base, une année tient dans {@value #BYTES} octets (366 bits, octet k bit j = jour 8k + j).
+ * - En mémoire, les bits sont rangés dans {@value #WORDS} mots de 64 bits : vérifier qu'un séjour est libre
+ *   revient à un ET binaire masqué sur un ou deux mots, quelle que soit la durée du séjour dans l'année.
+ * Les instances sont immuables : chaque modification renvoie une nouvelle instance ({@link #EMPTY} si plus
+ * aucun jour n'est bloqué). Cette classe ne dépend pas de Spring : elle est aussi utilisée par les benchmarks.
+ */
+public final class DayBitmap {
+
+    /**
+     * Nombre maximal de jours d'une année (année bissextile).
+     */
+    public static final int DAYS = 366;
+
+    /**
+     * Taille d'une année sérialisée.
+     */
+    public static final int BYTES = (DAYS + 7) / 8;
+
+    private static final int WORDS = (DAYS + 63) / 64;
+
+    /**
+     * Année sans aucun jour bloqué.
+     */
+    public static final DayBitmap EMPTY = new DayBitmap(new long[WORDS]);
+
+    /**
+     * Portion d'une période comprise dans une année civile.
+     *
+     * @param year Année
+     * @param fromDay Premier jour (inclus, à partir de 0)
+     * @param toDay Dernier jour (exclu)
+     */
+    public record Segment(int year, int fromDay, int toDay) {
+    }
+
+    private final long[] words;
+
+    private DayBitmap(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Découpe une période [from, to) par année civile.
+     *
+     * @param from Première nuit (incluse)
+     * @param to Jour de départ (exclu)
+     * @return Segments, dans l'ordre chronologique (vide si to n'est pas après from)
+     */
+    public static List<Segment> segments(LocalDate from, LocalDate to) {
+        if (!to.isAfter(from)) {
+            return List.of();
+        }
+        LocalDate last = to.minusDays(1);
+        List<Segment> segments = new ArrayList<>(last.getYear() - from.getYear() + 1);
+        for (int year = from.getYear(); year <= last.getYear(); year++) {
+            int fromDay = year == from.getYear() ? from.getDayOfYear() - 1 : 0;
+            int toDay = year == last.getYear() ? last.getDayOfYear() : Year.of(year).length();
+            segments.add(new Segment(year, fromDay, toDay));
+        }
+        return segments;
+    }
+
+    /**
+     * Relit une année sérialisée.
+     *
+     * @param bytes Octets lus en base (au plus {@value #BYTES})
+     * @return Jours bloqués
+     * @throws IllegalArgumentException si le tableau est trop long
+     */
+    public static DayBitmap fromBytes(byte[] bytes) {
+        if (bytes == null) {
+            return EMPTY;
+        }
+        if (bytes.length > BYTES) {
+            throw new IllegalArgumentException("Calendrier invalide: " + bytes.length + " octets");
+        }
+        long[] words = new long[WORDS];
+        boolean empty = true;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != 0) {
+                words[i >>> 3] |= (bytes[i] & 0xFFL) << ((i & 7) << 3);
+                empty = false;
+            }
+        }
+        return empty ? EMPTY : new DayBitmap(words);
+    }
+
+    /**
+     * Sérialise l'année ({@value #BYTES} octets).
+     *
+     * @return Octets à enregistrer en base
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[BYTES];
+        for (int i = 0; i < BYTES; i++) {
+            bytes[i] = (byte) (words[i >>> 3] >>> ((i & 7) << 3));
+        }
+        return bytes;
+    }
+
+    /**
+     * Bloque ou libère les jours [fromDay, toDay).
+     *
+     * @param fromDay Premier jour (inclus)
+     * @param toDay Dernier jour (exclu)
+     * @param blocked true pour bloquer, false pour libérer
+     * @return Nouvelle année (cette instance si rien ne change)
+     */
+    public DayBitmap withRange(int fromDay, int toDay, boolean blocked) {
+        checkRange(fromDay, toDay);
+        if (fromDay == toDay) {
+            return this;
+        }
+        long[] updated = words.clone();
+        int first = fromDay >>> 6;
+        int last = (toDay - 1) >>> 6;
+        for (int i = first; i <= last; i++) {
+            long mask = -1L;
+            if (i == first) {
+                mask &= -1L << fromDay;
+            }
+            if (i == last) {
+                mask &= -1L >>> -toDay;
+            }
+            updated[i] = blocked ? updated[i] | mask : updated[i] & ~mask;
+        }
+        if (Arrays.equals(updated, words)) {
+            return this;
+        }
+        for (long word : updated) {
+            if (word != 0) {
+                return new DayBitmap(updated);
+            }
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Indique si aucun jour de [fromDay, toDay) n'est bloqué.
+     *
+     * @param fromDay Premier jour (inclus)
+     * @param toDay Dernier jour (exclu)
+     * @return true si la période est entièrement libre
+     */
+    public boolean isClear(int fromDay, int toDay) {
+        checkRange(fromDay, toDay);
+        if (this == EMPTY || fromDay == toDay) {
+            return true;
+        }
+        int first = fromDay >>> 6;
+        int last = (toDay - 1) >>> 6;
+        long firstMask = -1L << fromDay;
+        long lastMask = -1L >>> -toDay;
+        if (first == last) {
+            return (words[first] & firstMask & lastMask) == 0;
+        }
+        if ((words[first] & firstMask) != 0) {
+            return false;
+        }
+        for (int i = first + 1; i < last; i++) {
+            if (words[i] != 0) {
+                return false;
+            }
+        }
+        return (words[last] & lastMask) == 0;
+    }
+
+    /**
+     * Indique si le jour est bloqué.
+     *
+     * @param day Jour de l'année (à partir de 0)
+     * @return true si le jour est bloqué
+     */
+    public boolean isBlocked(int day) {
+        checkRange(day, day + 1);
+        return (words[day >>> 6] & (1L << day)) != 0;
+    }
+
+    /**
+     * Premier jour bloqué à partir de day.
+     *
+     * @param day Jour de départ (inclus)
+     * @return Jour trouvé, ou -1 s'il n'y en a pas
+     */
+    public int nextBlockedDay(int day) {
+        int i = day >>> 6;
+        if (day >= DAYS) {
+            return -1;
+        }
+        long word = words[i] & (-1L << day);
+        while (true) {
+            if (word != 0) {
+                int found = (i << 6) + Long.numberOfTrailingZeros(word);
+                return found < DAYS ? found : -1;
+            }
+            if (++i == WORDS) {
+                return -1;
+            }
+            word = words[i];
+        }
+    }
+
+    /**
+     * Premier jour libre à partir de day.
+     *
+     * @param day Jour de départ (inclus)
+     * @return Jour trouvé, ou {@value #DAYS} s'il n'y en a pas
+     */
+    public int nextFreeDay(int day) {
+        int i = day >>> 6;
+        if (day >= DAYS) {
+            return DAYS;
+        }
+        long word = ~words[i] & (-1L << day);
+        while (true) {
+            if (word != 0) {
+                return Math.min(DAYS, (i << 6) + Long.numberOfTrailingZeros(word));
+            }
+            if (++i == WORDS) {
+                return DAYS;
+            }
+            word = ~words[i];
+        }
+    }
+
+    /**
+     * @return true si aucun jour n'est bloqué
+     */
+    public boolean isEmpty() {
+        return this == EMPTY;
+    }
+
+    /**
+     * @return Nombre de jours bloqués
+     */
+    public int blockedDays() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof DayBitmap bitmap && Arrays.equals(words, bitmap.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    private static void checkRange(int fromDay, int toDay) {
+        if (fromDay < 0 || toDay > DAYS || fromDay > toDay) {
+            throw new IndexOutOfBoundsException("Jours invalides: [" + fromDay + ", " + toDay + ")");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.chatop.chatop_backend.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.analysis.fr.FrenchLightStemFilter;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.util.ElisionFilter;
+
+import java.util.Arrays;
+
+/**
+ * Analyseur des textes d'annonces en français.
+ * StandardTokenizer → élisions (l', d', qu'...) → minuscules → mots vides → suppression des accents → racinisation légère.
+ * Les accents sont retirés avant la racinisation : "équipée", "equipee" et "Équipé" produisent le même terme,
+ * que l'accent soit présent dans l'annonce ou dans la recherche.
+ */
+public final class FrenchFoldingAnalyzer extends Analyzer {
+
+    private static final CharArraySet ELISIONS = new CharArraySet(Arrays.asList(
+            "l", "m", "t", "qu", "n", "s", "j", "d", "c", "jusqu", "quoiqu", "lorsqu", "puisqu"), true);
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        Tokenizer source = new StandardTokenizer();
+        TokenStream result = new ElisionFilter(source, ELISIONS);
+        result = new LowerCaseFilter(result);
+        result = new StopFilter(result, FrenchAnalyzer.getDefaultStopSet());
+        result = new ASCIIFoldingFilter(result);
+        result = new FrenchLightStemFilter(result);
+        return new TokenStreamComponents(source, result);
+    }
+
+    @Override
+    protected TokenStream normalize(String fieldName, TokenStream in) {
+        // Normalisation des termes non analysés (préfixes "appart*", termes flous)
+        return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+    }
+}
@@ -0,0 +1,163 @@
+package com.chatop.chatop_backend.search;
+
+/**
+ * Zone d'une recherche géographique : un cercle (centre et rayon) ou un rectangle de latitudes/longitudes.
+ * Les résultats sont classés par distance au point de référence : le centre du cercle, ou celui du rectangle
+ * si aucun autre point n'est fourni. Un rectangle dont minLongitude dépasse maxLongitude traverse l'antiméridien.
+ * Les distances sont calculées sur une sphère (formule de haversine), en kilomètres.
+ *
+ * @param minLatitude Latitude minimale du rectangle englobant
+ * @param maxLatitude Latitude maximale du rectangle englobant
+ * @param minLongitude Longitude minimale du rectangle englobant
+ * @param maxLongitude Longitude maximale du rectangle englobant
+ * @param referenceLatitude Latitude du point de référence (tri par distance)
+ * @param referenceLongitude Longitude du point de référence (tri par distance)
+ * @param radiusKm Rayon du cercle en kilomètres, ou NaN pour un rectangle
+ */
+public record GeoArea(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude,
+        double referenceLatitude, double referenceLongitude, double radiusKm) {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    /**
+     * Cercle de rayon donné autour d'un point. Le rectangle englobant couvre toutes les longitudes
+     * lorsque le cercle contient un pôle.
+     *
+     * @param latitude Latitude du centre
+     * @param longitude Longitude du centre
+     * @param radiusKm Rayon en kilomètres (positif)
+     * @return Zone de recherche
+     * @throws IllegalArgumentException si les coordonnées ou le rayon sont invalides
+     */
+    public static GeoArea circle(double latitude, double longitude, double radiusKm) {
+        validate(latitude, longitude);
+        if (!(radiusKm > 0) || Double.isInfinite(radiusKm)) {
+            throw new IllegalArgumentException("Le rayon doit être positif");
+        }
+        double angular = radiusKm / EARTH_RADIUS_KM;
+        double deltaLatitude = Math.toDegrees(angular);
+        double minLatitude = latitude - deltaLatitude;
+        double maxLatitude = latitude + deltaLatitude;
+        // Écart de longitude maximal atteint sur le cercle (et non à la latitude du centre)
+        double ratio = Math.sin(angular) / Math.cos(Math.toRadians(latitude));
+        if (minLatitude <= -90 || maxLatitude >= 90 || angular >= Math.PI / 2 || !(ratio < 1)) {
+            return new GeoArea(Math.max(-90, minLatitude), Math.min(90, maxLatitude), -180, 180,
+                    latitude, longitude, radiusKm);
+        }
+        double deltaLongitude = Math.toDegrees(Math.asin(ratio));
+        double minLongitude = normalizeLongitude(longitude - deltaLongitude);
+        double maxLongitude = normalizeLongitude(longitude + deltaLongitude);
+        return new GeoArea(minLatitude, maxLatitude, minLongitude, maxLongitude, latitude, longitude, radiusKm);
+    }
+
+    /**
+     * Rectangle de latitudes/longitudes, classé par distance à un point de référence.
+     *
+     * @param minLatitude Latitude minimale
+     * @param minLongitude Longitude minimale (ouest)
+     * @param maxLatitude Latitude maximale
+     * @param maxLongitude Longitude maximale (est ; inférieure à minLongitude si le rectangle traverse l'antiméridien)
+     * @param referenceLatitude Latitude du point de référence, ou null pour le centre du rectangle
+     * @param referenceLongitude Longitude du point de référence, ou null pour le centre du rectangle
+     * @return Zone de recherche
+     * @throws IllegalArgumentException si les coordonnées sont invalides
+     */
+    public static GeoArea box(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+            Double referenceLatitude, Double referenceLongitude) {
+        validate(minLatitude, minLongitude);
+        validate(maxLatitude, maxLongitude);
+        if (minLatitude > maxLatitude) {
+            throw new IllegalArgumentException("La latitude minimale dépasse la latitude maximale");
+        }
+        if ((referenceLatitude == null) != (referenceLongitude == null)) {
+            throw new IllegalArgumentException("La latitude et la longitude du point de référence vont ensemble");
+        }
+        double centerLatitude = (minLatitude + maxLatitude) / 2;
+        double width = maxLongitude >= minLongitude ? maxLongitude - minLongitude : maxLongitude + 360 - minLongitude;
+        double centerLongitude = normalizeLongitude(minLongitude + width / 2);
+        if (referenceLatitude != null) {
+            validate(referenceLatitude, referenceLongitude);
+            centerLatitude = referenceLatitude;
+            centerLongitude = referenceLongitude;
+        }
+        return new GeoArea(minLatitude, maxLatitude, minLongitude, maxLongitude, centerLatitude, centerLongitude,
+                Double.NaN);
+    }
+
+    /**
+     * Vérifie un couple de coordonnées (les deux valeurs absentes sont acceptées : location non géolocalisée).
+     *
+     * @param latitude Latitude, entre -90 et 90
+     * @param longitude Longitude, entre -180 et 180
+     * @throws IllegalArgumentException si une seule valeur est fournie ou si elle est hors limites
+     */
+    public static void validate(Double latitude, Double longitude) {
+        if (latitude == null && longitude == null) {
+            return;
+        }
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("La latitude et la longitude doivent être fournies ensemble");
+        }
+        if (!(latitude >= -90 && latitude <= 90)) {
+            throw new IllegalArgumentException("La latitude doit être comprise entre -90 et 90");
+        }
+        if (!(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("La longitude doit être comprise entre -180 et 180");
+        }
+    }
+
+    /**
+     * @return true pour un cercle, false pour un rectangle
+     */
+    public boolean isCircle() {
+        return !Double.isNaN(radiusKm);
+    }
+
+    /**
+     * @return true si le rectangle englobant traverse l'antiméridien (longitude ±180)
+     */
+    public boolean crossesAntimeridian() {
+        return minLongitude > maxLongitude;
+    }
+
+    /**
+     * Distance d'un point au point de référence s'il appartient à la zone.
+     *
+     * @param latitude Latitude du point
+     * @param longitude Longitude du point
+     * @return Distance en kilomètres, ou -1 si le point est hors de la zone
+     */
+    public double distanceIfInside(double latitude, double longitude) {
+        if (latitude < minLatitude || latitude > maxLatitude) {
+            return -1;
+        }
+        boolean inLongitudes = crossesAntimeridian()
+                ? longitude >= minLongitude || longitude <= maxLongitude
+                : longitude >= minLongitude && longitude <= maxLongitude;
+        if (!inLongitudes) {
+            return -1;
+        }
+        double distance = distanceKm(referenceLatitude, referenceLongitude, latitude, longitude);
+        return isCircle() && distance > radiusKm ? -1 : distance;
+    }
+
+    /**
+     * Distance orthodromique entre deux points (formule de haversine).
+     *
+     * @return Distance en kilomètres
+     */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double sinLatitude = Math.sin(Math.toRadians(latitude2 - latitude1) / 2);
+        double sinLongitude = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+        double a = sinLatitude * sinLatitude
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) * sinLongitude * sinLongitude;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static double normalizeLongitude(double longitude) {
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        return longitude > 180 ? longitude - 360 : longitude;
+    }
+}
@@ -0,0 +1,384 @@
+package com.chatop.chatop_backend.search;
+
+import com.chatop.chatop_backend.dto.RentalGeoRow;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index spatial en mémoire des locations géolocalisées : grille régulière de cellules de latitude/longitude.
+ * - Chaque cellule contient des tableaux primitifs immuables (identifiants, latitudes, longitudes), remplacés
+ *   par copie à chaque écriture : les lectures ne prennent aucun verrou et une écriture ne copie que sa cellule.
+ * - Une recherche ne parcourt que les cellules qui recouvrent le rectangle englobant de la zone, calcule la
+ *   distance des points candidats et ne conserve que les plus proches (tas borné à la limite demandée).
+ * La taille des cellules est un compromis : trop grandes, elles contiennent beaucoup de points hors de la zone
+ * (et leurs copies sont coûteuses) ; trop petites, une recherche à grand rayon visite beaucoup de cellules.
+ * Les écritures sont sérialisées. Cette classe ne dépend pas de Spring : elle est aussi utilisée par les benchmarks.
+ */
+public final class RentalGeoGrid {
+
+    /**
+     * Résultat d'une recherche.
+     *
+     * @param ids Identifiants des locations, de la plus proche à la plus éloignée
+     * @param distancesKm Distance de chaque location au point de référence, en kilomètres
+     * @param total Nombre de locations dans la zone (au-delà de la limite comprise)
+     */
+    public record Hits(long[] ids, double[] distancesKm, long total) {
+    }
+
+    private final double cellSizeDegrees;
+    private final int rows;
+    private final int columns;
+    private final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+    // Cellule de chaque location indexée : lue et modifiée uniquement par les écritures (sous le verrou)
+    private final Map<Long, Long> cellOfRental = new HashMap<>();
+    private volatile int size;
+
+    /**
+     * Crée une grille vide.
+     *
+     * @param cellSizeDegrees Côté d'une cellule en degrés (0.1° de latitude ≈ 11 km)
+     * @throws IllegalArgumentException si la taille est invalide
+     */
+    public RentalGeoGrid(double cellSizeDegrees) {
+        if (!(cellSizeDegrees > 0) || cellSizeDegrees > 90) {
+            throw new IllegalArgumentException("La taille des cellules doit être comprise entre 0 et 90 degrés");
+        }
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.rows = (int) Math.ceil(180 / cellSizeDegrees);
+        this.columns = (int) Math.ceil(360 / cellSizeDegrees);
+    }
+
+    /**
+     * Construit une grille à partir de toutes les locations géolocalisées (les lignes sans coordonnées sont ignorées).
+     *
+     * @param locations Locations à indexer
+     * @param cellSizeDegrees Côté d'une cellule en degrés
+     * @return Grille construite
+     */
+    public static RentalGeoGrid build(Iterator<RentalGeoRow> locations, double cellSizeDegrees) {
+        RentalGeoGrid grid = new RentalGeoGrid(cellSizeDegrees);
+        Map<Long, CellBuilder> builders = new HashMap<>();
+        while (locations.hasNext()) {
+            RentalGeoRow row = locations.next();
+            if (row.latitude() == null || row.longitude() == null) {
+                continue;
+            }
+            long key = grid.cellKey(row.latitude(), row.longitude());
+            if (grid.cellOfRental.put(row.id(), key) == null) {
+                builders.computeIfAbsent(key, k -> new CellBuilder()).add(row.id(), row.latitude(), row.longitude());
+            }
+        }
+        builders.forEach((key, builder) -> grid.cells.put(key, builder.build()));
+        grid.size = grid.cellOfRental.size();
+        return grid;
+    }
+
+    /**
+     * Ajoute une location ou déplace une location déjà indexée.
+     *
+     * @param id Identifiant de la location
+     * @param latitude Latitude
+     * @param longitude Longitude
+     */
+    public synchronized void put(long id, double latitude, double longitude) {
+        long key = cellKey(latitude, longitude);
+        Long previous = cellOfRental.put(id, key);
+        if (previous != null && previous != key) {
+            removeFromCell(previous, id);
+        }
+        cells.compute(key, (k, cell) -> cell == null ? Cell.of(id, latitude, longitude) : cell.with(id, latitude, longitude));
+        size = cellOfRental.size();
+    }
+
+    /**
+     * Retire une location de l'index (sans effet si elle n'y est pas).
+     *
+     * @param id Identifiant de la location
+     */
+    public synchronized void remove(long id) {
+        Long previous = cellOfRental.remove(id);
+        if (previous != null) {
+            removeFromCell(previous, id);
+            size = cellOfRental.size();
+        }
+    }
+
+    /**
+     * @return Nombre de locations indexées
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Recherche les locations de la zone, de la plus proche à la plus éloignée du point de référence.
+     *
+     * @param area Zone de recherche
+     * @param limit Nombre maximal de résultats
+     * @return Les limit locations les plus proches et le nombre total de locations dans la zone
+     */
+    public Hits search(GeoArea area, int limit) {
+        TopK top = new TopK(limit);
+        int rowFrom = row(area.minLatitude());
+        int rowTo = row(area.maxLatitude());
+        int columnFrom = column(area.minLongitude());
+        int columnTo = column(area.maxLongitude());
+        int columnCount = area.crossesAntimeridian()
+                ? Math.min(columns, columnTo + columns - columnFrom + 1)
+                : columnTo - columnFrom + 1;
+
+        long rangeCells = (long) (rowTo - rowFrom + 1) * columnCount;
+        if (rangeCells > cells.size()) {
+            // Zone très étendue : moins de cellules occupées que de cellules à visiter
+            for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                long key = entry.getKey();
+                int row = (int) (key / columns);
+                int column = (int) (key % columns);
+                if (row >= rowFrom && row <= rowTo && Math.floorMod(column - columnFrom, columns) < columnCount) {
+                    entry.getValue().collect(area, top);
+                }
+            }
+        } else {
+            for (int row = rowFrom; row <= rowTo; row++) {
+                for (int i = 0; i < columnCount; i++) {
+                    Cell cell = cells.get((long) row * columns + (columnFrom + i) % columns);
+                    if (cell != null) {
+                        cell.collect(area, top);
+                    }
+                }
+            }
+        }
+        return top.toHits();
+    }
+
+    /**
+     * Même recherche par parcours complet des locations fournies, sans index
+     * (repli lorsque l'index est indisponible, et référence des benchmarks).
+     *
+     * @param locations Locations candidates
+     * @param area Zone de recherche
+     * @param limit Nombre maximal de résultats
+     * @return Les limit locations les plus proches et le nombre total de locations dans la zone
+     */
+    public static Hits rank(Iterator<RentalGeoRow> locations, GeoArea area, int limit) {
+        TopK top = new TopK(limit);
+        while (locations.hasNext()) {
+            RentalGeoRow row = locations.next();
+            if (row.latitude() == null || row.longitude() == null) {
+                continue;
+            }
+            double distance = area.distanceIfInside(row.latitude(), row.longitude());
+            if (distance >= 0) {
+                top.offer(row.id(), distance);
+            }
+        }
+        return top.toHits();
+    }
+
+    private void removeFromCell(long key, long id) {
+        cells.computeIfPresent(key, (k, cell) -> cell.without(id));
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return (long) row(latitude) * columns + column(longitude);
+    }
+
+    private int row(double latitude) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((latitude + 90) / cellSizeDegrees)));
+    }
+
+    private int column(double longitude) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor((longitude + 180) / cellSizeDegrees)));
+    }
+
+    /**
+     * Contenu immuable d'une cellule.
+     */
+    private record Cell(long[] ids, double[] latitudes, double[] longitudes) {
+
+        static Cell of(long id, double latitude, double longitude) {
+            return new Cell(new long[] { id }, new double[] { latitude }, new double[] { longitude });
+        }
+
+        Cell with(long id, double latitude, double longitude) {
+            int index = indexOf(id);
+            if (index < 0) {
+                index = ids.length;
+                Cell grown = new Cell(Arrays.copyOf(ids, index + 1), Arrays.copyOf(latitudes, index + 1),
+                        Arrays.copyOf(longitudes, index + 1));
+                grown.ids[index] = id;
+                grown.latitudes[index] = latitude;
+                grown.longitudes[index] = longitude;
+                return grown;
+            }
+            Cell moved = new Cell(ids, latitudes.clone(), longitudes.clone());
+            moved.latitudes[index] = latitude;
+            moved.longitudes[index] = longitude;
+            return moved;
+        }
+
+        // null (cellule retirée de la grille) lorsque la dernière location est retirée
+        Cell without(long id) {
+            int index = indexOf(id);
+            if (index < 0) {
+                return this;
+            }
+            if (ids.length == 1) {
+                return null;
+            }
+            return new Cell(remove(ids, index), remove(latitudes, index), remove(longitudes, index));
+        }
+
+        void collect(GeoArea area, TopK top) {
+            for (int i = 0; i < ids.length; i++) {
+                double distance = area.distanceIfInside(latitudes[i], longitudes[i]);
+                if (distance >= 0) {
+                    top.offer(ids[i], distance);
+                }
+            }
+        }
+
+        private int indexOf(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static long[] remove(long[] values, int index) {
+            long[] copy = new long[values.length - 1];
+            System.arraycopy(values, 0, copy, 0, index);
+            System.arraycopy(values, index + 1, copy, index, copy.length - index);
+            return copy;
+        }
+
+        private static double[] remove(double[] values, int index) {
+            double[] copy = new double[values.length - 1];
+            System.arraycopy(values, 0, copy, 0, index);
+            System.arraycopy(values, index + 1, copy, index, copy.length - index);
+            return copy;
+        }
+    }
+
+    /**
+     * Accumulateur d'une cellule pendant la construction de la grille.
+     */
+    private static final class CellBuilder {
+        private long[] ids = new long[8];
+        private double[] latitudes = new double[8];
+        private double[] longitudes = new double[8];
+        private int size;
+
+        void add(long id, double latitude, double longitude) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                latitudes = Arrays.copyOf(latitudes, size * 2);
+                longitudes = Arrays.copyOf(longitudes, size * 2);
+            }
+            ids[size] = id;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            size++;
+        }
+
+        Cell build() {
+            return new Cell(Arrays.copyOf(ids, size), Arrays.copyOf(latitudes, size), Arrays.copyOf(longitudes, size));
+        }
+    }
+
+    /**
+     * Tas borné (max-tas sur la distance) des locations les plus proches ; à distance égale, le plus petit identifiant.
+     */
+    private static final class TopK {
+        private final long[] ids;
+        private final double[] distances;
+        private int size;
+        private long total;
+
+        TopK(int limit) {
+            if (limit < 1) {
+                throw new IllegalArgumentException("La limite doit être positive");
+            }
+            this.ids = new long[limit];
+            this.distances = new double[limit];
+        }
+
+        void offer(long id, double distance) {
+            total++;
+            if (size < ids.length) {
+                ids[size] = id;
+                distances[size] = distance;
+                siftUp(size++);
+            } else if (farther(distances[0], ids[0], distance, id)) {
+                ids[0] = id;
+                distances[0] = distance;
+                siftDown(0);
+            }
+        }
+
+        Hits toHits() {
+            long[] sortedIds = new long[size];
+            double[] sortedDistances = new double[size];
+            // Le sommet du max-tas est la plus grande distance restante : remplissage de la fin vers le début
+            for (int i = size - 1; i >= 0; i--) {
+                sortedIds[i] = ids[0];
+                sortedDistances[i] = distances[0];
+                size--;
+                ids[0] = ids[size];
+                distances[0] = distances[size];
+                siftDown(0);
+            }
+            return new Hits(sortedIds, sortedDistances, total);
+        }
+
+        private static boolean farther(double distance, long id, double otherDistance, long otherId) {
+            return distance > otherDistance || (distance == otherDistance && id > otherId);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!farther(distances[index], ids[index], distances[parent], ids[parent])) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= size) {
+                    return;
+                }
+                int largest = left;
+                int right = left + 1;
+                if (right < size && farther(distances[right], ids[right], distances[left], ids[left])) {
+                    largest = right;
+                }
+                if (!farther(distances[largest], ids[largest], distances[index], ids[index])) {
+                    return;
+                }
+                swap(index, largest);
+                index = largest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            long id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+            double distance = distances[i];
+            distances[i] = distances[j];
+            distances[j] = distance;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.chatop.chatop_backend.search;
+
+import com.chatop.chatop_backend.dto.RentalTextRow;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.IOUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index inversé Lucene du nom et de la description des locations, stocké sur disque.
+ * - Un document par location, identifié par le terme "id" : une mise à jour remplace le document existant.
+ * - Les résultats sont classés par pertinence (BM25) ; un terme trouvé dans le nom pèse 3 fois plus
+ *   que dans la description.
+ * - Les écritures sont visibles des recherches après {@link #refresh()} ou {@link #commit()} (lecteur quasi temps réel),
+ *   et ne sont durables sur disque qu'après {@link #commit()}.
+ * Un seul processus peut ouvrir un répertoire d'index (verrou d'écriture Lucene).
+ * Cette classe ne dépend pas de Spring : elle est aussi utilisée par les benchmarks.
+ */
+public final class RentalTextIndex implements Closeable {
+
+    /**
+     * Résultat d'une recherche.
+     *
+     * @param ids Identifiants des locations, de la plus pertinente à la moins pertinente
+     * @param scores Score de pertinence de chaque location
+     * @param totalHits Nombre de documents correspondants (borne inférieure si totalHitsExact est faux)
+     * @param totalHitsExact Indique si totalHits est exact
+     */
+    public record Hits(long[] ids, float[] scores, long totalHits, boolean totalHitsExact) {
+        static final Hits EMPTY = new Hits(new long[0], new float[0], 0, true);
+    }
+
+    public static final String FIELD_ID = "id";
+    public static final String FIELD_NAME = "name";
+    public static final String FIELD_DESCRIPTION = "description";
+
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(FIELD_NAME, 3f, FIELD_DESCRIPTION, 1f);
+    private static final Set<String> ID_ONLY = Set.of(FIELD_ID);
+
+    private final Directory directory;
+    private final Analyzer analyzer;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    /**
+     * Ouvre (ou crée) l'index dans un répertoire du disque.
+     *
+     * @param path Répertoire de l'index
+     * @return Index ouvert
+     * @throws IOException si le répertoire est inaccessible ou déjà verrouillé par un autre processus
+     */
+    public static RentalTextIndex open(Path path) throws IOException {
+        Files.createDirectories(path);
+        return new RentalTextIndex(FSDirectory.open(path));
+    }
+
+    /**
+     * @param directory Stockage de l'index (fermé avec l'index)
+     * @throws IOException si l'index ne peut pas être ouvert
+     */
+    public RentalTextIndex(Directory directory) throws IOException {
+        this.directory = directory;
+        this.analyzer = new FrenchFoldingAnalyzer();
+        IndexWriter indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        try {
+            this.searcherManager = new SearcherManager(indexWriter, null);
+        } catch (IOException | RuntimeException e) {
+            IOUtils.closeWhileHandlingException(indexWriter, analyzer, directory);
+            throw e;
+        }
+        this.writer = indexWriter;
+    }
+
+    /**
+     * Ajoute ou remplace le document d'une location.
+     *
+     * @param id Identifiant de la location
+     * @param name Nom (peut être null)
+     * @param description Description (peut être null)
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public void upsert(long id, String name, String description) throws IOException {
+        writer.updateDocument(idTerm(id), document(id, name, description));
+    }
+
+    /**
+     * Supprime le document d'une location (sans effet s'il n'existe pas).
+     *
+     * @param id Identifiant de la location
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public void delete(long id) throws IOException {
+        writer.deleteDocuments(idTerm(id));
+    }
+
+    /**
+     * Remplace tout le contenu de l'index puis valide. Les recherches continuent de voir l'ancien contenu
+     * jusqu'à la validation, à condition qu'aucune autre écriture n'appelle {@link #refresh()} entre-temps.
+     *
+     * @param rows Locations à indexer
+     * @return Nombre de documents indexés
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public long replaceAll(Iterator<RentalTextRow> rows) throws IOException {
+        writer.deleteAll();
+        long count = 0;
+        while (rows.hasNext()) {
+            RentalTextRow row = rows.next();
+            writer.addDocument(document(row.id(), row.name(), row.description()));
+            count++;
+        }
+        commit();
+        return count;
+    }
+
+    /**
+     * Rend les écritures durables sur disque et visibles des recherches.
+     *
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public void commit() throws IOException {
+        writer.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * Rend les écritures visibles des recherches sans les valider sur disque.
+     *
+     * @throws IOException en cas d'erreur de lecture
+     */
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * Recherche les locations les plus pertinentes.
+     * Syntaxe simple : tous les mots sont requis, "phrase exacte", préfixe*, -exclusion, a | b.
+     * Une syntaxe invalide n'échoue jamais : elle est interprétée au mieux.
+     *
+     * @param text Texte recherché
+     * @param limit Nombre maximal de résultats (au moins 1)
+     * @return Résultats classés par pertinence
+     * @throws IOException en cas d'erreur de lecture
+     */
+    public Hits search(String text, int limit) throws IOException {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query query = parser.parse(text);
+        if (query == null) {
+            return Hits.EMPTY;
+        }
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(query, Math.max(1, limit));
+            StoredFields storedFields = searcher.storedFields();
+            long[] ids = new long[top.scoreDocs.length];
+            float[] scores = new float[top.scoreDocs.length];
+            for (int i = 0; i < top.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = top.scoreDocs[i];
+                ids[i] = Long.parseLong(storedFields.document(scoreDoc.doc, ID_ONLY).get(FIELD_ID));
+                scores[i] = scoreDoc.score;
+            }
+            return new Hits(ids, scores, top.totalHits.value,
+                    top.totalHits.relation == TotalHits.Relation.EQUAL_TO);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * @return Nombre de documents indexés (écritures non validées comprises)
+     */
+    public int numDocs() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * @return Taille de l'index sur disque, en octets
+     * @throws IOException en cas d'erreur de lecture du répertoire
+     */
+    public long sizeInBytes() throws IOException {
+        long size = 0;
+        for (String file : directory.listAll()) {
+            try {
+                size += directory.fileLength(file);
+            } catch (IOException e) {
+                // Fichier supprimé entre-temps par une fusion de segments
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOUtils.close(searcherManager, writer, analyzer, directory);
+    }
+
+    private static Term idTerm(long id) {
+        return new Term(FIELD_ID, Long.toString(id));
+    }
+
+    private static Document document(long id, String name, String description) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, Long.toString(id), Field.Store.YES));
+        if (name != null) {
+            document.add(new TextField(FIELD_NAME, name, Field.Store.NO));
+        }
+        if (description != null) {
+            document.add(new TextField(FIELD_DESCRIPTION, description, Field.Store.NO));
+        }
+        return document;
+    }
+}
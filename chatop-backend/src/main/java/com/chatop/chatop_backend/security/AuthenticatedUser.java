@@ -0,0 +1,129 @@
+package com.chatop.chatop_backend.security;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal Spring Security utilisé par l'application.
+ * Il peut être construit depuis la base de données (CustomUserDetailsService) ou
+ * directement depuis les claims d'un token JWT vérifié, sans aucune requête SQL.
+ * Il transporte l'identifiant, l'email, le nom et le rôle de l'utilisateur.
+ * Le mot de passe haché n'est présent que lors de l'authentification par identifiants
+ * et il est effacé par Spring Security une fois celle-ci terminée.
+ * @see com.chatop.chatop_backend.security.JwtAuthenticationFilter
+ */
+public final class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String DEFAULT_ROLE = "ROLE_USER";
+
+    private final Long id;
+    private final String email;
+    private final String name;
+    private final String role;
+    private final List<GrantedAuthority> authorities;
+    private String password;
+
+    public AuthenticatedUser(Long id, String email, String name, String role, String password) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.role = normalizeRole(role);
+        this.authorities = List.of(new SimpleGrantedAuthority(this.role));
+        this.password = password;
+    }
+
+    /**
+     * Construit un principal à partir des claims d'un token vérifié.
+     *
+     * @param token Token vérifié contenant les claims uid et role
+     * @return Principal authentifié, ou null si le token ne contient pas les claims nécessaires
+     */
+    public static AuthenticatedUser fromToken(VerifiedToken token) {
+        Long userId = token.userId();
+        if (userId == null || token.subject() == null) {
+            return null;
+        }
+        return new AuthenticatedUser(userId, token.subject(), null, token.role(), null);
+    }
+
+    /**
+     * S'assure que le rôle commence bien par "ROLE_" pour respecter les conventions Spring Security.
+     *
+     * @param role Rôle brut (éventuellement null ou sans préfixe)
+     * @return Rôle normalisé
+     */
+    public static String normalizeRole(String role) {
+        if (role == null || role.isEmpty()) {
+            return DEFAULT_ROLE;
+        }
+        return role.startsWith("ROLE_") ? role : "ROLE_" + role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[id=" + id + ", email=" + email + ", role=" + role + "]";
+    }
+}
@@ -0,0 +1,129 @@
+package com.chatop.chatop_backend.security;
+
+import com.chatop.chatop_backend.exception.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Encodeur de mots de passe qui exécute le hachage (BCrypt) sur un pool de threads dédié et borné.
+ * - Le pool est dimensionné sur le nombre de cœurs : le hachage, coûteux en CPU, ne peut plus
+ *   affamer les threads Tomcat qui servent les endpoints de lecture.
+ * - La file d'attente est bornée : lorsqu'elle est pleine, l'appel échoue immédiatement avec
+ *   {@link PasswordHashingOverloadedException} (HTTP 503) au lieu de s'accumuler.
+ * Les métriques auth.bcrypt.queue.depth, auth.bcrypt.latency et auth.bcrypt.rejected sont exposées via Actuator.
+ * @see com.chatop.chatop_backend.config.SecurityConfig#passwordEncoder
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    /**
+     * @param delegate Encodeur réel (BCrypt)
+     * @param poolSize Nombre de threads de hachage
+     * @param queueCapacity Nombre maximal de hachages en attente
+     * @param retryAfterSeconds Délai conseillé au client lorsque la file est pleine
+     * @param meterRegistry Registre des métriques
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity,
+                                  long retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.retryAfterSeconds = retryAfterSeconds;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.bcrypt.queue.depth", executor, e -> e.getQueue().size())
+                .description("Nombre de hachages de mots de passe en attente")
+                .register(meterRegistry);
+        Gauge.builder("auth.bcrypt.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Nombre de hachages de mots de passe en cours")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.bcrypt.latency")
+                .description("Durée de calcul d'un hachage de mot de passe")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.bcrypt.latency")
+                .description("Durée de calcul d'un hachage de mot de passe")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.bcrypt.rejected")
+                .description("Hachages rejetés car la file d'attente était pleine")
+                .register(meterRegistry);
+        log.info("🔐 Pool de hachage des mots de passe initialisé: {} threads, file de {}", poolSize, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean matches = submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+        return Boolean.TRUE.equals(matches);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Simple lecture du coût encodé dans le hash : aucun calcul, pas besoin du pool
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("⚠️ File de hachage des mots de passe saturée ({} en attente), requête rejetée",
+                    executor.getQueue().size());
+            throw new PasswordHashingOverloadedException("Service d'authentification saturé, réessayez plus tard",
+                    retryAfterSeconds);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingOverloadedException("Hachage du mot de passe interrompu", retryAfterSeconds);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Erreur lors du hachage du mot de passe", cause);
+        }
+    }
+}
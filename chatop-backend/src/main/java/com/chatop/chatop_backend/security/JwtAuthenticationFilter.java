@@ -4,10 +4,12 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.chatop.chatop_backend.config.SecurityConfig;
 import lombok.RequiredArgsConstructor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,13 +21,16 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Date;
 
 /**
  * Filtre pour intercepter les requêtes HTTP et vérifier l'authentification JWT.
  * Ce filtre vérifie si un token JWT valide est présent dans l'en-tête Authorization.
- * Il extrait l'email de l'utilisateur depuis le token et charge les détails de l'utilisateur depuis la base de données.
+ * Le token est vérifié une seule fois par requête via {@link JwtService#verify(String)}.
+ * Il extrait l'email de l'utilisateur depuis le token et charge les détails de l'utilisateur depuis la base de données,
+ * ou, si jwt.principal-source=token, reconstruit le principal directement depuis les claims du token.
  * Si l'utilisateur est authentifié, il crée un token d'authentification Spring Security et met à jour le contexte de sécurité.
+ * Les routes publiques et statiques (images, Swagger, Actuator...) ne passent pas du tout par ce filtre
+ * (voir {@link #shouldNotFilter(HttpServletRequest)}), et les logs de diagnostic ne sont construits qu'au niveau DEBUG.
  * @Component indique que cette classe est un composant Spring.
  * @RequiredArgsConstructor génère un constructeur avec tous les champs en lecture seule.
  * @see com.chatop.chatop_backend.security.JwtService
@@ -38,14 +43,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final UserDetailsService userDetailsService;
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    // Source du principal : "database" (chargement via UserDetailsService) ou "token" (claims du JWT, aucune requête SQL)
+    @Value("${jwt.principal-source:database}")
+    private String principalSource;
+
+    // Contournement du filtre pour les routes publiques (désactivable pour comparaison)
+    @Value("${jwt.filter.public-bypass:true}")
+    private boolean publicBypass;
+
+    private final PublicRouteClassifier publicRoutes = new PublicRouteClassifier(SecurityConfig.JWT_BYPASS_ROUTES);
+
+    /**
+     * Les routes publiques n'ont besoin d'aucune authentification : le token n'est ni lu ni vérifié.
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return publicBypass && publicRoutes.matches(request);
+    }
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
+        final boolean debug = log.isDebugEnabled();
         // Logs sur la requête entrante
-        log.debug("🔍 Traitement de la requête: {} {}", request.getMethod(), request.getRequestURI());
+        if (debug) {
+            log.debug("🔍 Traitement de la requête: {} {}", request.getMethod(), request.getRequestURI());
+        }
         
         // Récupère l'en-tête Authorization
         final String authHeader = request.getHeader("Authorization");
@@ -55,42 +81,61 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Vérifie si l'en-tête Authorization est présent et commence par "Bearer "
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             // Si non, passe au filtre suivant
-            log.debug("⚠️ Pas de header Bearer -> on laisse passer la requête sans auth");
+            if (debug) {
+                log.debug("⚠️ Pas de header Bearer -> on laisse passer la requête sans auth");
+            }
             filterChain.doFilter(request, response);
             return;
         }
         
         // Log de débogage pour l'en-tête Authorization (version masquée pour la sécurité)
-        String maskedAuth = authHeader.substring(0, 15) + "..." + authHeader.substring(authHeader.length() - 10);
-        log.debug("🔐 En-tête d'autorisation détecté: {}", maskedAuth);
+        if (debug) {
+            String maskedAuth = authHeader.length() > 25
+                    ? authHeader.substring(0, 15) + "..." + authHeader.substring(authHeader.length() - 10)
+                    : "Bearer ...";
+            log.debug("🔐 En-tête d'autorisation détecté: {}", maskedAuth);
+        }
 
         // Extrait le token JWT (en supprimant le préfixe "Bearer ")
         jwt = authHeader.substring(7);
         
         try {
-            // Extrait l'email de l'utilisateur depuis le token
-            userEmail = jwtService.extractUsername(jwt);
-            log.debug("👤 Email extrait du token: {}", userEmail);
-            
-            // Vérifie et log la date d'expiration du token
-            Date expiration = jwtService.extractExpiration(jwt);
-            log.debug("⏱️ Expiration du token: {}, Token valide encore: {} secondes", 
-                     expiration, 
-                     (expiration.getTime() - System.currentTimeMillis()) / 1000);
+            // Vérifie le token une seule fois (signature + expiration) et récupère son contenu
+            VerifiedToken token = jwtService.verify(jwt);
+            userEmail = token.subject();
+            if (debug) {
+                log.debug("👤 Email extrait du token: {}", userEmail);
+                // Log la date d'expiration du token
+                log.debug("⏱️ Expiration du token: {}, Token valide encore: {} secondes", 
+                         token.expiration(), 
+                         token.secondsToExpiry());
+            }
             
             // Vérifie si l'email existe et si l'utilisateur n'est pas déjà authentifié
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                log.debug("🔍 Tentative de chargement de l'utilisateur avec l'email: {}", userEmail);
-                
                 try {
-                    // Charge les détails de l'utilisateur depuis la base de données
-                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-                    log.debug("✅ Utilisateur chargé avec succès: {}", userDetails.getUsername());
+                    // En mode "token", le principal est reconstruit depuis les claims vérifiées, sans base de données.
+                    // Les tokens émis sans les claims uid/role retombent sur le chargement en base.
+                    UserDetails userDetails = "token".equalsIgnoreCase(principalSource)
+                            ? AuthenticatedUser.fromToken(token)
+                            : null;
+                    if (userDetails == null) {
+                        if (debug) {
+                            log.debug("🔍 Tentative de chargement de l'utilisateur avec l'email: {}", userEmail);
+                        }
+                        // Charge les détails de l'utilisateur depuis la base de données
+                        userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                    }
+                    if (debug) {
+                        log.debug("✅ Utilisateur chargé avec succès: {}", userDetails.getUsername());
+                    }
                     
-                    // Vérifie si le token est valide pour cet utilisateur
-                    if (jwtService.isTokenValid(jwt, userDetails)) {
+                    // Vérifie si le token est valide pour cet utilisateur (sans nouvelle vérification de signature)
+                    if (jwtService.isTokenValid(token, userDetails)) {
                         // Crée un token d'authentification Spring Security
-                        log.debug("✅ Token VALIDE, authentification de l'utilisateur: {}", userDetails.getUsername());
+                        if (debug) {
+                            log.debug("✅ Token VALIDE, authentification de l'utilisateur: {}", userDetails.getUsername());
+                        }
                         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                                 userDetails,
                                 null,
@@ -104,7 +149,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         
                         // Met à jour le contexte de sécurité avec l'authentification
                         SecurityContextHolder.getContext().setAuthentication(authToken);
-                        log.debug("🔒 Contexte de sécurité mis à jour avec l'authentification");
+                        if (debug) {
+                            log.debug("🔒 Contexte de sécurité mis à jour avec l'authentification");
+                        }
                     } else {
                         // Si le token n'est pas valide, envoie une erreur 403
                         log.warn("❌ Token INVALIDE pour l'utilisateur: {}", userEmail);
@@ -124,7 +171,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         
         // Continue la chaîne de filtres
-        log.debug("⏩ Poursuite de la chaîne de filtres");
+        if (debug) {
+            log.debug("⏩ Poursuite de la chaîne de filtres");
+        }
         filterChain.doFilter(request, response);
     }
 }
@@ -1,10 +1,13 @@
 package com.chatop.chatop_backend.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import com.chatop.chatop_backend.model.User;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
@@ -24,22 +27,49 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
-    // Clé secrète pour signer les tokens JWT (à définir dans application.properties)
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-    
+    // Claims embarquées dans le token pour reconstruire le principal sans requête SQL
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+
     // Durée de validité du token (en millisecondes) - 24 heures par défaut
-    @Value("${jwt.expiration:86400000}")
-    private long jwtExpiration;
+    private final long jwtExpiration;
+
+    // Clé de signature et parser construits une seule fois : le décodage base64 du secret
+    // et la construction du parser ne sont plus répétés à chaque vérification
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+
+    // Cache optionnel des tokens déjà vérifiés, consulté avant toute opération cryptographique
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * Construit le service à partir du secret (défini dans application.properties ou Vault).
+     *
+     * @param jwtSecret Clé secrète encodée en base64 pour signer les tokens JWT
+     * @param jwtExpiration Durée de validité du token en millisecondes
+     * @param verifiedTokenCache Cache des tokens déjà vérifiés
+     */
+    public JwtService(@Value("${jwt.secret}") String jwtSecret,
+                      @Value("${jwt.expiration:86400000}") long jwtExpiration,
+                      VerifiedTokenCache verifiedTokenCache) {
+        this.jwtExpiration = jwtExpiration;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
 
     /**
      * Génère un token JWT pour un utilisateur.
+     * L'identifiant (uid) et le rôle (role) de l'utilisateur sont embarqués dans le token
+     * afin que le filtre puisse reconstruire le principal sans accès à la base de données.
      *
      * @param userDetails Détails de l'utilisateur
      * @return Token JWT généré
      */
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        return generateToken(principalClaims(userDetails), userDetails);
     }
 
     /**
@@ -55,30 +85,78 @@ public class JwtService {
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     /**
-     * Vérifie si un token JWT est valide pour un utilisateur donné en utilisant les détails de l'utilisateur et la clé secrète. la clé secret est définie dans le fichier application.properties.
+     * Construit les claims décrivant le principal (identifiant et rôle) à partir des détails de l'utilisateur.
+     *
+     * @param userDetails Détails de l'utilisateur
+     * @return Claims uid et role, lorsque ces informations sont disponibles
+     */
+    private Map<String, Object> principalClaims(UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        Long userId = null;
+        if (userDetails instanceof User user) {
+            userId = user.getId();
+        } else if (userDetails instanceof AuthenticatedUser authenticatedUser) {
+            userId = authenticatedUser.getId();
+        }
+        if (userId != null) {
+            claims.put(CLAIM_USER_ID, userId);
+        }
+        String role = userDetails.getAuthorities().stream()
+                .findFirst()
+                .map(GrantedAuthority::getAuthority)
+                .orElse(null);
+        claims.put(CLAIM_ROLE, AuthenticatedUser.normalizeRole(role));
+        return claims;
+    }
+
+    /**
+     * Vérifie un token JWT une seule fois (signature et expiration) et retourne son contenu.
+     * C'est l'unique point d'entrée cryptographique du service : les autres méthodes s'appuient dessus.
+     * Si le cache des tokens vérifiés est actif, il est consulté avant toute vérification de signature.
      *
      * @param token Token JWT à vérifier
+     * @return Token vérifié contenant le sujet, l'expiration et les claims
+     * @throws io.jsonwebtoken.JwtException si le token est invalide ou expiré
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.getExpiration(), claims);
+        verifiedTokenCache.put(token, verified);
+        return verified;
+    }
+
+    /**
+     * Vérifie si un token déjà vérifié correspond à l'utilisateur donné et n'est pas expiré.
+     * Aucune vérification cryptographique n'est refaite.
+     *
+     * @param token Token vérifié
      * @param userDetails Détails de l'utilisateur
      * @return true si le token est valide, false sinon
      */
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.subject() != null
+                && token.subject().equals(userDetails.getUsername())
+                && !token.isExpiredAt(System.currentTimeMillis());
     }
 
     /**
-     * Vérifie si un token JWT a expiré.
+     * Vérifie si un token JWT est valide pour un utilisateur donné en utilisant les détails de l'utilisateur et la clé secrète. la clé secret est définie dans le fichier application.properties.
      *
      * @param token Token JWT à vérifier
-     * @return true si le token a expiré, false sinon
+     * @param userDetails Détails de l'utilisateur
+     * @return true si le token est valide, false sinon
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return isTokenValid(verify(token), userDetails);
     }
 
     /**
@@ -88,7 +166,7 @@ public class JwtService {
      * @return Date d'expiration
      */
     Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).expiration();
     }
 
     /**
@@ -98,7 +176,7 @@ public class JwtService {
      * @return Nom d'utilisateur
      */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     /**
@@ -110,31 +188,6 @@ public class JwtService {
      * @return Valeur de la claim
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    /**
-     * Extrait toutes les claims d'un token JWT.
-     *
-     * @param token Token JWT
-     * @return Toutes les claims
-     */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    /**
-     * Récupère la clé de signature pour les tokens JWT.
-     *
-     * @return Clé de signature
-     */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return claimsResolver.apply(verify(token).claims());
     }
 }
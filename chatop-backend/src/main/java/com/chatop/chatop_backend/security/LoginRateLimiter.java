@@ -0,0 +1,210 @@
+package com.chatop.chatop_backend.security;
+
+import com.chatop.chatop_backend.exception.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Limiteur de tentatives de connexion en mémoire (algorithme du seau à jetons).
+ * - Un seau par email et un seau par adresse IP : une tentative consomme un jeton dans chacun.
+ *   Le seau de l'email est vérifié d'abord : un email bloqué n'entame pas le seau de l'IP.
+ * - Seuls les échecs comptent : une connexion réussie rend ses jetons ({@link #loginSucceeded(String, String)}).
+ * - L'adresse IP est celle de request.getRemoteAddr(), résolue depuis X-Forwarded-For par Tomcat
+ *   pour les seuls proxys de confiance (server.tomcat.remoteip.internal-proxies).
+ * - Sans verrou : l'état d'un seau est immuable et remplacé par compare-and-set.
+ * - Les seaux inactifs (donc pleins) sont purgés périodiquement pour borner la mémoire.
+ * Une tentative rejetée lève {@link LoginThrottledException} avant tout calcul BCrypt.
+ * La métrique auth.login.throttled (tag scope=email|ip) compte les rejets.
+ *
+ * @Component indique que cette classe est un composant Spring.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginRateLimiter.class);
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final boolean enabled;
+    private final Limit emailLimit;
+    private final Limit ipLimit;
+    private final ConcurrentHashMap<String, AtomicReference<Bucket>> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+    private final Counter emailRejections;
+    private final Counter ipRejections;
+
+    public LoginRateLimiter(
+            @Value("${chatop.auth.throttle.enabled:true}") boolean enabled,
+            @Value("${chatop.auth.throttle.email.capacity:5}") int emailCapacity,
+            @Value("${chatop.auth.throttle.email.refill-period:1m}") Duration emailRefillPeriod,
+            @Value("${chatop.auth.throttle.ip.capacity:20}") int ipCapacity,
+            @Value("${chatop.auth.throttle.ip.refill-period:1m}") Duration ipRefillPeriod,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.emailLimit = new Limit(emailCapacity, emailRefillPeriod);
+        this.ipLimit = new Limit(ipCapacity, ipRefillPeriod);
+
+        this.emailRejections = Counter.builder("auth.login.throttled")
+                .description("Tentatives de connexion rejetées par le limiteur")
+                .tag("scope", "email")
+                .register(meterRegistry);
+        this.ipRejections = Counter.builder("auth.login.throttled")
+                .description("Tentatives de connexion rejetées par le limiteur")
+                .tag("scope", "ip")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.buckets", buckets, ConcurrentHashMap::size)
+                .description("Nombre de seaux de limitation actuellement en mémoire")
+                .register(meterRegistry);
+        log.info("🚦 Limiteur de connexions {}: {} tentatives/{} par email, {} tentatives/{} par IP",
+                enabled ? "activé" : "désactivé", emailCapacity, emailRefillPeriod, ipCapacity, ipRefillPeriod);
+    }
+
+    /**
+     * Consomme une tentative de connexion pour l'email puis pour l'adresse IP.
+     * Si l'IP est bloquée, le jeton de l'email est rendu.
+     *
+     * @param email Email saisi (insensible à la casse)
+     * @param clientIp Adresse IP du client
+     * @throws LoginThrottledException si l'une des deux limites est atteinte
+     */
+    public void checkLoginAttempt(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        sweepIfDue(now);
+
+        if (email != null) {
+            long waitNanos = tryConsume(emailKey(email), emailLimit, now);
+            if (waitNanos > 0) {
+                emailRejections.increment();
+                log.warn("🚫 Trop de tentatives de connexion pour l'email: {}", email);
+                throw new LoginThrottledException("Trop de tentatives de connexion, réessayez plus tard",
+                        toRetryAfterSeconds(waitNanos));
+            }
+        }
+        if (clientIp != null) {
+            long waitNanos = tryConsume(ipKey(clientIp), ipLimit, now);
+            if (waitNanos > 0) {
+                if (email != null) {
+                    refund(emailKey(email), emailLimit, now);
+                }
+                ipRejections.increment();
+                log.warn("🚫 Trop de tentatives de connexion depuis l'IP: {}", clientIp);
+                throw new LoginThrottledException("Trop de tentatives de connexion, réessayez plus tard",
+                        toRetryAfterSeconds(waitNanos));
+            }
+        }
+    }
+
+    /**
+     * Rend les jetons consommés par une tentative réussie : seuls les échecs sont limités.
+     *
+     * @param email Email saisi (insensible à la casse)
+     * @param clientIp Adresse IP du client
+     */
+    public void loginSucceeded(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (email != null) {
+            refund(emailKey(email), emailLimit, now);
+        }
+        if (clientIp != null) {
+            refund(ipKey(clientIp), ipLimit, now);
+        }
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email.toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+
+    /**
+     * Tente de consommer un jeton.
+     *
+     * @return 0 si le jeton a été consommé, sinon le délai (ns) avant qu'un jeton soit disponible
+     */
+    private long tryConsume(String key, Limit limit, long now) {
+        AtomicReference<Bucket> ref = buckets.computeIfAbsent(key,
+                k -> new AtomicReference<>(new Bucket(limit.capacity(), now)));
+        while (true) {
+            Bucket current = ref.get();
+            double tokens = limit.refill(current, now);
+            if (tokens < 1.0) {
+                return (long) Math.ceil((1.0 - tokens) * limit.nanosPerToken());
+            }
+            if (ref.compareAndSet(current, new Bucket(tokens - 1.0, Math.max(now, current.updatedAt())))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Rend un jeton, sans dépasser la capacité. Un seau purgé entre-temps était plein : rien à rendre.
+     */
+    private void refund(String key, Limit limit, long now) {
+        AtomicReference<Bucket> ref = buckets.get(key);
+        if (ref != null) {
+            ref.updateAndGet(current -> new Bucket(Math.min(limit.capacity(), limit.refill(current, now) + 1.0),
+                    Math.max(now, current.updatedAt())));
+        }
+    }
+
+    /**
+     * Purge, au plus une fois par minute, les seaux redevenus pleins : les supprimer est
+     * équivalent à les conserver puisqu'un nouveau seau est créé plein.
+     */
+    private void sweepIfDue(long now) {
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        int before = buckets.size();
+        buckets.entrySet().removeIf(entry -> {
+            Limit limit = entry.getKey().startsWith("ip:") ? ipLimit : emailLimit;
+            return limit.refill(entry.getValue().get(), now) >= limit.capacity();
+        });
+        log.debug("🧹 Seaux de limitation purgés: {} -> {}", before, buckets.size());
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    /**
+     * État immuable d'un seau : jetons disponibles à l'instant updatedAt (System.nanoTime()).
+     */
+    private record Bucket(double tokens, long updatedAt) {
+    }
+
+    /**
+     * Limite configurée : capacité du seau et durée nécessaire pour le remplir entièrement.
+     */
+    private record Limit(int capacity, double nanosPerToken) {
+
+        Limit(int capacity, Duration refillPeriod) {
+            this(Math.max(1, capacity), (double) refillPeriod.toNanos() / Math.max(1, capacity));
+        }
+
+        double refill(Bucket bucket, long now) {
+            long elapsed = Math.max(0, now - bucket.updatedAt());
+            return Math.min(capacity, bucket.tokens() + elapsed / nanosPerToken);
+        }
+    }
+}
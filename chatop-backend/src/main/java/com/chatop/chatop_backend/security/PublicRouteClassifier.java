@@ -0,0 +1,88 @@
+package com.chatop.chatop_backend.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Classificateur précompilé des routes publiques, construit une seule fois au démarrage.
+ * Les motifs sont limités aux deux formes utilisées par la configuration de sécurité :
+ * - chemin exact ("/healthcheck") : recherche dans un HashSet ;
+ * - préfixe ("/uploads/**") : comparaison startsWith sur une courte liste.
+ * Aucune expression régulière ni AntPathMatcher n'est évalué à la requête.
+ * @see com.chatop.chatop_backend.config.SecurityConfig#JWT_BYPASS_ROUTES
+ */
+public final class PublicRouteClassifier {
+
+    private static final String PREFIX_WILDCARD = "/**";
+
+    private final Set<String> exactPaths = new HashSet<>();
+    private final String[] prefixes;
+
+    /**
+     * @param patterns Motifs de routes publiques (chemins exacts ou préfixes terminés par "/**")
+     * @throws IllegalArgumentException si un motif utilise un autre joker
+     */
+    public PublicRouteClassifier(String... patterns) {
+        List<String> prefixList = new ArrayList<>();
+        for (String pattern : patterns) {
+            if (pattern.endsWith(PREFIX_WILDCARD)) {
+                String base = pattern.substring(0, pattern.length() - PREFIX_WILDCARD.length());
+                requireLiteral(base, pattern);
+                // "/uploads/**" couvre aussi "/uploads" lui-même
+                exactPaths.add(base.isEmpty() ? "/" : base);
+                prefixList.add(base + "/");
+            } else {
+                requireLiteral(pattern, pattern);
+                exactPaths.add(pattern);
+            }
+        }
+        this.prefixes = prefixList.toArray(String[]::new);
+    }
+
+    /**
+     * Indique si la requête cible une route publique.
+     *
+     * @param request Requête HTTP
+     * @return true si la route est publique
+     */
+    public boolean matches(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty() && path.startsWith(contextPath)) {
+            path = path.substring(contextPath.length());
+        }
+        return matches(path);
+    }
+
+    /**
+     * Indique si le chemin (sans contexte applicatif) correspond à une route publique.
+     *
+     * @param path Chemin de la requête
+     * @return true si la route est publique
+     */
+    public boolean matches(String path) {
+        // Un chemin contenant des segments ambigus est laissé au traitement complet
+        if (path == null || path.indexOf(';') >= 0 || path.contains("..") || path.contains("//")) {
+            return false;
+        }
+        if (exactPaths.contains(path)) {
+            return true;
+        }
+        for (String prefix : prefixes) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void requireLiteral(String value, String pattern) {
+        if (value.indexOf('*') >= 0 || value.indexOf('?') >= 0 || value.indexOf('{') >= 0) {
+            throw new IllegalArgumentException("Motif de route publique non supporté: " + pattern);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.chatop.chatop_backend.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Résultat immuable de la vérification d'un token JWT.
+ * La signature et l'expiration ont déjà été contrôlées par {@link JwtService#verify(String)} :
+ * les informations exposées ici peuvent être lues sans nouvelle vérification cryptographique.
+ *
+ * @param subject Sujet du token (email de l'utilisateur)
+ * @param expiration Date d'expiration du token
+ * @param claims Ensemble des claims vérifiées (immuables avec jjwt 0.12)
+ * @see com.chatop.chatop_backend.security.JwtService
+ */
+public record VerifiedToken(String subject, Date expiration, Claims claims) {
+
+    /**
+     * Indique si le token est expiré à l'instant donné.
+     *
+     * @param nowMillis Instant de référence en millisecondes
+     * @return true si le token est expiré, false sinon
+     */
+    public boolean isExpiredAt(long nowMillis) {
+        return expiration != null && expiration.getTime() <= nowMillis;
+    }
+
+    /**
+     * Identifiant de l'utilisateur embarqué dans le token (claim uid).
+     *
+     * @return Identifiant, ou null pour un token émis sans cette claim
+     */
+    public Long userId() {
+        Object value = claims.get(JwtService.CLAIM_USER_ID);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    /**
+     * Rôle de l'utilisateur embarqué dans le token (claim role).
+     *
+     * @return Rôle, ou null pour un token émis sans cette claim
+     */
+    public String role() {
+        Object value = claims.get(JwtService.CLAIM_ROLE);
+        return value instanceof String role ? role : null;
+    }
+
+    /**
+     * Durée de validité restante du token, en secondes.
+     *
+     * @return Nombre de secondes avant expiration
+     */
+    public long secondsToExpiry() {
+        return expiration == null ? Long.MAX_VALUE : (expiration.getTime() - System.currentTimeMillis()) / 1000;
+    }
+}
@@ -0,0 +1,147 @@
+package com.chatop.chatop_backend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache borné des tokens JWT déjà vérifiés, consulté avant toute opération cryptographique.
+ * - La clé est l'empreinte SHA-256 du token (le token brut n'est jamais conservé en mémoire).
+ * - L'éviction suit l'ordre LRU dès que la taille maximale est atteinte.
+ * - Une entrée n'est jamais servie après l'expiration (claim exp) du token.
+ * Le cache est désactivé par défaut et s'active avec la propriété jwt.cache.enabled.
+ * Les métriques jwt.cache.hits, jwt.cache.misses, jwt.cache.evictions et jwt.cache.size sont exposées via Actuator.
+ * @see com.chatop.chatop_backend.security.JwtService
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final Map<String, VerifiedToken> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    // MessageDigest n'est pas thread-safe : une instance par thread évite la synchronisation
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    });
+
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:false}") boolean enabled,
+                              @Value("${jwt.cache.max-size:10000}") int maxSize,
+                              MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        // LinkedHashMap en ordre d'accès : l'entrée la moins récemment utilisée est évincée en premier
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                if (size() > VerifiedTokenCache.this.maxSize) {
+                    VerifiedTokenCache.this.evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hits = Counter.builder("jwt.cache.hits")
+                .description("Tokens JWT servis depuis le cache sans vérification cryptographique")
+                .register(meterRegistry);
+        this.misses = Counter.builder("jwt.cache.misses")
+                .description("Tokens JWT absents du cache (vérification de signature nécessaire)")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("jwt.cache.evictions")
+                .description("Entrées évincées (LRU ou expiration du token)")
+                .register(meterRegistry);
+        Gauge.builder("jwt.cache.size", this, VerifiedTokenCache::size)
+                .description("Nombre de tokens vérifiés actuellement en cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indique si le cache est actif.
+     *
+     * @return true si le cache est activé par configuration
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Recherche un token déjà vérifié et encore valide.
+     *
+     * @param token Token JWT brut
+     * @return Token vérifié, ou null si absent ou expiré
+     */
+    public VerifiedToken get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        String key = digest(token);
+        synchronized (entries) {
+            VerifiedToken cached = entries.get(key);
+            if (cached != null && cached.isExpiredAt(System.currentTimeMillis())) {
+                // Le token a atteint son exp : on retire l'entrée et on laisse le parser lever l'erreur
+                entries.remove(key);
+                evictions.increment();
+                cached = null;
+            }
+            if (cached == null) {
+                misses.increment();
+            } else {
+                hits.increment();
+            }
+            return cached;
+        }
+    }
+
+    /**
+     * Enregistre un token dont la signature vient d'être vérifiée.
+     *
+     * @param token Token JWT brut
+     * @param verified Résultat de la vérification
+     */
+    public void put(String token, VerifiedToken verified) {
+        if (!enabled || verified.expiration() == null) {
+            return;
+        }
+        String key = digest(token);
+        synchronized (entries) {
+            entries.put(key, verified);
+        }
+    }
+
+    /**
+     * Vide le cache (par exemple après une rotation du secret JWT).
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().withoutPadding().encodeToString(hash);
+    }
+}
@@ -5,21 +5,28 @@ import org.slf4j.LoggerFactory;
 import com.chatop.chatop_backend.dto.AuthResponse;
 import com.chatop.chatop_backend.dto.LoginRequest;
 import com.chatop.chatop_backend.dto.RegisterRequest;
+import com.chatop.chatop_backend.dto.UserSnapshot;
 import com.chatop.chatop_backend.exception.EmailAlreadyInUseException;
+import com.chatop.chatop_backend.exception.PasswordHashingOverloadedException;
 import com.chatop.chatop_backend.exception.UserNotFoundException;
 import com.chatop.chatop_backend.model.User;
 import com.chatop.chatop_backend.repository.UserRepository;
+import com.chatop.chatop_backend.security.AuthenticatedUser;
 import com.chatop.chatop_backend.security.JwtService;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 /**
  * Service gérant l'authentification et l'enregistrement des utilisateurs.
@@ -41,25 +48,22 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final UserCacheService userCacheService;
 
     /**
      * Enregistre un nouvel utilisateur dans le système.
+     * Une seule requête SQL (INSERT) : l'unicité de l'email est garantie par l'index unique
+     * {@link User#EMAIL_UNIQUE_INDEX}, et l'identifiant généré est relu depuis l'entité sauvegardée.
+     * Seule une violation de cet index est traduite en {@link EmailAlreadyInUseException}.
      *
      * @param request Données d'enregistrement
      * @return Réponse d'authentification avec le token JWT
      * @throws EmailAlreadyInUseException si l'email est déjà utilisé
-     * @throws UserNotFoundException si l'utilisateur n'est pas trouvé après l'enregistrement
      */
     public AuthResponse register(RegisterRequest request) {
         logger.info("Début de l'enregistrement d'un nouvel utilisateur avec l'email: {}", request.getEmail());
         
         try {
-            // Vérifie si l'email existe déjà
-            if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-                logger.warn("Tentative d'enregistrement avec un email déjà utilisé: {}", request.getEmail());
-                throw new EmailAlreadyInUseException("Email already in use");
-            }
-
             // Crée un nouvel utilisateur
             var user = User.builder()
                     .name(request.getName())
@@ -69,16 +73,20 @@ public class AuthService {
                     .updatedAt(LocalDateTime.now())
                     .build();
             
-            // Sauvegarde l'utilisateur
-            userRepository.save(user);
+            // Sauvegarde l'utilisateur : la contrainte unique sur l'email rejette les doublons
+            try {
+                user = userRepository.save(user);
+            } catch (DataIntegrityViolationException e) {
+                if (!isDuplicateEmail(e)) {
+                    throw e;
+                }
+                logger.warn("Tentative d'enregistrement avec un email déjà utilisé: {}", request.getEmail());
+                throw new EmailAlreadyInUseException("Email already in use");
+            }
             logger.debug("Utilisateur créé en base de données: {}", user.getId());
-            
-            // Récupère l'utilisateur depuis le repository pour s'assurer qu'il a bien été enregistré
-            user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> {
-                    logger.error("Utilisateur introuvable juste après l'enregistrement: {}", request.getEmail());
-                    return new UserNotFoundException("User not found after registration");
-                });
+
+            // Ajoute l'utilisateur au cache : ses premières requêtes ne dépendent pas du retard du réplica
+            userCacheService.put(UserSnapshot.from(user));
             
             // Génère un token JWT
             var jwtToken = jwtService.generateToken(user);
@@ -86,7 +94,7 @@ public class AuthService {
             
             // Retourne la réponse
             return new AuthResponse(jwtToken, user.getId(), user.getEmail(), user.getName());
-        } catch (EmailAlreadyInUseException | UserNotFoundException e) {
+        } catch (EmailAlreadyInUseException | PasswordHashingOverloadedException e) {
             // Propager les exceptions spécifiques pour qu'elles soient gérées par le contrôleur
             throw e;
         } catch (Exception e) {
@@ -96,8 +104,25 @@ public class AuthService {
         }
     }
 
+    /**
+     * Indique si la violation de contrainte provient de l'index unique de l'email.
+     * Les autres violations (colonne obligatoire, autre index) ne sont pas des doublons d'email.
+     *
+     * @param e Violation de contrainte levée par l'INSERT
+     * @return true si l'email est déjà utilisé
+     */
+    static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        // MySQL : "Duplicate entry '...' for key 'USERS.USERS_email_idx'" (SQLState 23000, code 1062)
+        return e.getMostSpecificCause() instanceof SQLIntegrityConstraintViolationException violation
+                && violation.getMessage() != null
+                && violation.getMessage().toLowerCase(Locale.ROOT)
+                        .contains(User.EMAIL_UNIQUE_INDEX.toLowerCase(Locale.ROOT));
+    }
+
     /**
      * Authentifie un utilisateur existant.
+     * L'utilisateur chargé pendant l'authentification (principal {@link AuthenticatedUser})
+     * est réutilisé pour construire la réponse : aucune requête SQL supplémentaire.
      *
      * @param request Données de connexion
      * @return Réponse d'authentification avec le token JWT
@@ -109,14 +134,21 @@ public class AuthService {
         
         try {
             // Authentifie l'utilisateur avec Spring Security
-            authenticationManager.authenticate(
+            Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             request.getEmail(),
                             request.getPassword()
                     )
             );
             
-            // Récupère l'utilisateur depuis la base de données
+            // Réutilise l'utilisateur chargé pendant l'authentification
+            if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+                var jwtToken = jwtService.generateToken(principal);
+                logger.info("Connexion réussie pour l'utilisateur: {}", principal.getId());
+                return new AuthResponse(jwtToken, principal.getId(), principal.getEmail(), principal.getName());
+            }
+
+            // Principal d'un autre type (fournisseur d'authentification tiers) : lecture en base
             var user = userRepository.findByEmail(request.getEmail())
                     .orElseThrow(() -> {
                         logger.error("Utilisateur non trouvé lors de la connexion: {}", request.getEmail());
@@ -132,7 +164,7 @@ public class AuthService {
         } catch (BadCredentialsException e) {
             logger.warn("Échec d'authentification pour l'email: {}", request.getEmail());
             throw new AuthenticationCredentialsNotFoundException("Invalid credentials", e);
-        } catch (UserNotFoundException e) {
+        } catch (UserNotFoundException | PasswordHashingOverloadedException e) {
             // Propager l'exception pour qu'elle soit gérée par le contrôleur
             throw e;
         } catch (Exception e) {
@@ -0,0 +1,96 @@
+package com.chatop.chatop_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Requêtes HTTP conditionnelles (If-None-Match / If-Modified-Since / If-Match) des contrôleurs.
+ * La version d'une ressource est évaluée avant tout mapping ou sérialisation : une réponse 304 n'a pas de corps.
+ * Les réponses sont marquées "Cache-Control: private, no-cache" : le navigateur conserve la réponse
+ * mais la revalide à chaque appel.
+ * Métrique http.conditional.responses{resource, outcome} : not_modified, full, precondition_failed, conflict.
+ *
+ * @Component indique que cette classe est un composant Spring.
+ */
+@Component
+public class ConditionalRequestSupport {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final MeterRegistry meterRegistry;
+
+    public ConditionalRequestSupport(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Vérifie les en-têtes If-None-Match et If-Modified-Since.
+     * Si la ressource n'a pas changé, le statut 304 et les validateurs sont déjà positionnés sur la réponse :
+     * le contrôleur doit alors renvoyer null.
+     *
+     * @param webRequest Requête courante
+     * @param version Version courante de la ressource
+     * @param resource Nom de la ressource (tag des métriques)
+     * @return true si le client possède déjà la version courante
+     */
+    public boolean checkNotModified(WebRequest webRequest, ResourceVersion version, String resource) {
+        boolean notModified = version.lastModified() >= 0
+                ? webRequest.checkNotModified(version.etag(), version.lastModified())
+                : webRequest.checkNotModified(version.etag());
+        counter(resource, notModified ? "not_modified" : "full").increment();
+        return notModified;
+    }
+
+    /**
+     * Évalue l'en-tête If-Match d'une modification.
+     *
+     * @param ifMatch Valeur de l'en-tête If-Match (null si absent)
+     * @param version Version courante de la ressource
+     * @param resource Nom de la ressource (tag des métriques)
+     * @return true si la modification peut être appliquée, false si elle doit être rejetée (412)
+     */
+    public boolean checkIfMatch(String ifMatch, ResourceVersion version, String resource) {
+        if (version.matches(ifMatch)) {
+            return true;
+        }
+        counter(resource, "precondition_failed").increment();
+        return false;
+    }
+
+    /**
+     * Comptabilise le rejet d'une modification conditionnelle détecté après coup
+     * (UPDATE conditionnel sur la version n'ayant modifié aucune ligne).
+     *
+     * @param resource Nom de la ressource (tag des métriques)
+     * @param outcome Résultat : precondition_failed (If-Match) ou conflict (version dans le corps)
+     */
+    public void recordRejected(String resource, String outcome) {
+        counter(resource, outcome).increment();
+    }
+
+    /**
+     * Réponse 200 portant les validateurs de la ressource.
+     *
+     * @param version Version de la ressource renvoyée
+     * @return Constructeur de la réponse
+     */
+    public ResponseEntity.BodyBuilder ok(ResourceVersion version) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(version.etag()).cacheControl(REVALIDATE);
+        if (version.lastModified() >= 0) {
+            builder.lastModified(version.lastModified());
+        }
+        return builder;
+    }
+
+    private Counter counter(String resource, String outcome) {
+        return Counter.builder("http.conditional.responses")
+                .description("Réponses aux requêtes conditionnelles, par ressource et par résultat")
+                .tag("resource", resource)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -1,27 +1,29 @@
 package com.chatop.chatop_backend.service;
 
-import com.chatop.chatop_backend.model.User;
+import com.chatop.chatop_backend.dto.UserSnapshot;
 import com.chatop.chatop_backend.repository.UserRepository;
+import com.chatop.chatop_backend.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
 import java.util.Optional;
 
 /**
  * Service pour charger les détails de l'utilisateur à partir de la base de données.
  * Utilisé par Spring Security pour l'authentification et l'autorisation.
+ * Implémente aussi {@link UserDetailsPasswordService} pour enregistrer les hachages mis à niveau après une connexion réussie.
  */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
+    private final UserCacheService userCacheService;
     private final UserRepository userRepository;
     private static final Logger log = LoggerFactory.getLogger(CustomUserDetailsService.class);
 
@@ -39,8 +41,8 @@ public class CustomUserDetailsService implements UserDetailsService {
         log.debug("🔍 Recherche de l'utilisateur par email: {}", email);
         
         try {
-            // Recherche l'utilisateur et log le résultat
-            Optional<User> userOptional = userRepository.findByEmail(email);
+            // Recherche l'utilisateur (via le cache des utilisateurs) et log le résultat
+            Optional<UserSnapshot> userOptional = userCacheService.findByEmail(email);
             log.debug("👤 Existence de l'utilisateur dans la base: {}", userOptional.isPresent());
             
             if (userOptional.isEmpty()) {
@@ -48,27 +50,27 @@ public class CustomUserDetailsService implements UserDetailsService {
                 throw new UsernameNotFoundException("Utilisateur non trouvé avec l'email: " + email);
             }
             
-            User user = userOptional.get();
+            UserSnapshot user = userOptional.get();
             
             // Journalisation des informations utilisateur (sans données sensibles)
             log.debug("✅ Utilisateur trouvé: id={}, email={}, rôle={}, création={}", 
-                    user.getId(), user.getEmail(), user.getRole(), user.getCreatedAt());
+                    user.id(), user.email(), user.role(), user.createdAt());
 
             // S'assurer que le rôle commence bien par "ROLE_"
-            String role = user.getRole();
-            if (role == null || role.isEmpty()) {
-                log.warn("⚠️ L'utilisateur {} n'a pas de rôle défini, attribution du rôle par défaut ROLE_USER", user.getId());
-                role = "ROLE_USER";
-            } else if (!role.startsWith("ROLE_")) {
-                role = "ROLE_" + role;
+            if (user.role() == null || user.role().isEmpty()) {
+                log.warn("⚠️ L'utilisateur {} n'a pas de rôle défini, attribution du rôle par défaut ROLE_USER", user.id());
             }
+            String role = AuthenticatedUser.normalizeRole(user.role());
             
             log.debug("🔒 Rôle utilisé pour l'authentification: {}", role);
 
-            return new org.springframework.security.core.userdetails.User(
-                    user.getEmail(),
-                    user.getPassword(),
-                    Collections.singletonList(new SimpleGrantedAuthority(role))
+            // Le principal transporte aussi l'identifiant et le nom de l'utilisateur
+            return new AuthenticatedUser(
+                    user.id(),
+                    user.email(),
+                    user.name(),
+                    role,
+                    user.password()
             );
         } catch (UsernameNotFoundException e) {
             // Propagation de l'exception spécifique
@@ -79,4 +81,26 @@ public class CustomUserDetailsService implements UserDetailsService {
             throw new UsernameNotFoundException("Erreur lors du chargement de l'utilisateur: " + e.getMessage());
         }
     }
+
+    /**
+     * Enregistre un mot de passe ré-haché avec le facteur de travail courant.
+     * Appelé par Spring Security après une connexion réussie lorsque le hachage stocké est obsolète.
+     *
+     * @param user Principal authentifié
+     * @param newPassword Nouveau mot de passe haché
+     * @return Principal mis à jour
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        log.info("🔐 Mise à niveau du hachage du mot de passe pour: {}", user.getUsername());
+        userRepository.updatePassword(user.getUsername(), newPassword);
+
+        if (user instanceof AuthenticatedUser authenticatedUser) {
+            userCacheService.evict(authenticatedUser.getId(), authenticatedUser.getEmail());
+            return new AuthenticatedUser(authenticatedUser.getId(), authenticatedUser.getEmail(),
+                    authenticatedUser.getName(), authenticatedUser.getRole(), newPassword);
+        }
+        userCacheService.evict(null, user.getUsername());
+        return loadUserByUsername(user.getUsername());
+    }
 }
@@ -0,0 +1,337 @@
+package com.chatop.chatop_backend.service;
+
+import com.chatop.chatop_backend.config.DataSourceRouting;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base des index en mémoire construits depuis la base puis tenus à jour par les événements validés
+ * (catalogue, plein texte, spatial, disponibilités).
+ * - {@link #rebuild()} recharge l'état complet depuis la base principale ; les modifications reçues pendant
+ *   la construction sont mises de côté puis rejouées sur le nouvel état avant sa publication.
+ * - {@link #apply(Change, Object)} applique une modification sous le verrou d'écriture ; les lectures
+ *   ne prennent jamais ce verrou.
+ * - Une erreur (construction ou modification) marque l'index comme périmé : il n'est plus utilisé, et une
+ *   reconstruction est planifiée automatiquement après chatop.index.rebuild-retry-delay, puis retentée
+ *   au même rythme tant qu'elle échoue.
+ *
+ * @param <S> État de l'index (structure mutable modifiée en place, ou version immuable remplacée)
+ */
+public abstract class EventSyncedIndex<S> {
+
+    /**
+     * Modification d'un index : renvoie le nouvel état (le même objet si l'état est modifié en place).
+     *
+     * @param <S> État de l'index
+     */
+    @FunctionalInterface
+    protected interface Change<S> {
+
+        S applyTo(S state) throws Exception;
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(EventSyncedIndex.class);
+
+    private final String label;
+    private final boolean enabled;
+    private final long retryDelayMillis;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ScheduledExecutorService rebuildScheduler;
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final AtomicLong failures = new AtomicLong();
+
+    private final Object writeLock = new Object();
+    private final Queue<Change<S>> pendingChanges = new ConcurrentLinkedQueue<>();
+    private volatile S state;
+    private volatile boolean ready;
+    private volatile boolean stale;
+    private volatile Instant lastRebuildAt;
+    private volatile long lastRebuildMillis;
+    private boolean building;
+
+    /**
+     * @param label Nom de l'index dans les journaux (ex. "🗺️ Index spatial")
+     * @param enabled false pour ne jamais construire ni utiliser l'index
+     * @param initialState État avant la première construction (peut être null)
+     * @param transactionManager Gestionnaire de transactions (lecture de la base lors des reconstructions)
+     * @param retryDelay Délai avant la reconstruction automatique d'un index périmé
+     */
+    protected EventSyncedIndex(String label, boolean enabled, S initialState,
+            PlatformTransactionManager transactionManager, Duration retryDelay) {
+        this.label = label;
+        this.enabled = enabled;
+        this.state = initialState;
+        this.retryDelayMillis = Math.max(1, retryDelay.toMillis());
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Les écouteurs s'exécutent après la validation : une nouvelle transaction évite de réutiliser
+        // la connexion de la transaction terminée
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rebuildScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, getClass().getSimpleName() + "-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Charge l'état complet depuis la base de données. Appelée dans une transaction en lecture seule
+     * sur la base principale : l'index doit refléter toutes les écritures validées.
+     *
+     * @param current État courant (réutilisable s'il est reconstruit en place, peut être null)
+     * @return Nouvel état
+     * @throws Exception en cas d'erreur de lecture ou de construction
+     */
+    protected abstract S load(S current) throws Exception;
+
+    /**
+     * Résumé de l'état pour les journaux (ex. "1200 locations").
+     *
+     * @param state État de l'index
+     * @return Résumé
+     */
+    protected abstract String describe(S state);
+
+    /**
+     * Appelée sous le verrou d'écriture après l'application de modifications, avant la publication
+     * de l'état (ex. validation d'un index Lucene). Ne fait rien par défaut.
+     *
+     * @param state Nouvel état
+     * @throws Exception en cas d'erreur : l'index est alors marqué comme périmé
+     */
+    protected void afterChanges(S state) throws Exception {
+    }
+
+    /**
+     * Ajoute les statistiques propres à l'index.
+     *
+     * @param state État courant (peut être null)
+     * @param stats Statistiques à compléter
+     */
+    protected void addStats(S state, Map<String, Object> stats) {
+    }
+
+    /**
+     * (Re)construit l'index depuis la base de données.
+     * Les modifications reçues pendant la construction sont mises de côté puis rejouées.
+     */
+    public void rebuild() {
+        S current;
+        synchronized (writeLock) {
+            if (!enabled || building) {
+                log.warn("⚠️ {}: reconstruction ignorée (index désactivé ou reconstruction en cours)", label);
+                return;
+            }
+            building = true;
+            pendingChanges.clear();
+            current = state;
+        }
+        long start = System.nanoTime();
+        try {
+            S built = DataSourceRouting.onPrimary(() -> readOnlyTransaction.execute(status -> {
+                try {
+                    return load(current);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            }));
+            synchronized (writeLock) {
+                S replayed = built;
+                Change<S> pending;
+                while ((pending = pendingChanges.poll()) != null) {
+                    replayed = pending.applyTo(replayed);
+                }
+                afterChanges(replayed);
+                state = replayed;
+                building = false;
+                ready = true;
+                stale = false;
+            }
+            lastRebuildAt = Instant.now();
+            lastRebuildMillis = (System.nanoTime() - start) / 1_000_000;
+            log.info("✅ {}: reconstruction terminée en {} ms ({})", label, lastRebuildMillis, describe(state));
+        } catch (Exception e) {
+            synchronized (writeLock) {
+                building = false;
+                pendingChanges.clear();
+            }
+            markStale("reconstruction", e);
+        }
+    }
+
+    /**
+     * Publie un état obtenu sans reconstruction (ex. index persistant réutilisé au démarrage).
+     *
+     * @param initialized État prêt à être servi
+     */
+    protected final void initialize(S initialized) {
+        synchronized (writeLock) {
+            state = initialized;
+            ready = true;
+            stale = false;
+        }
+    }
+
+    /**
+     * Rattache un état qui doit encore être reconstruit avant d'être servi (ex. index persistant obsolète) :
+     * il sera passé à {@link #load(Object)}.
+     *
+     * @param attached État à reconstruire
+     */
+    protected final void attach(S attached) {
+        synchronized (writeLock) {
+            state = attached;
+        }
+    }
+
+    /**
+     * Retire l'état publié (ex. fermeture de l'index à l'arrêt) : l'index n'est plus utilisé.
+     *
+     * @return État retiré (peut être null)
+     */
+    protected final S detach() {
+        synchronized (writeLock) {
+            S detached = state;
+            state = null;
+            ready = false;
+            return detached;
+        }
+    }
+
+    /**
+     * Applique une modification validée. Pendant une reconstruction, elle est mise de côté puis rejouée.
+     * Une erreur n'est jamais propagée à l'appelant : l'index est alors marqué comme périmé.
+     *
+     * @param change Modification à appliquer
+     * @param subject Objet de la modification (journaux)
+     */
+    protected final void apply(Change<S> change, Object subject) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            synchronized (writeLock) {
+                if (building) {
+                    pendingChanges.add(change);
+                    return;
+                }
+                S current = state;
+                if (current == null) {
+                    return;
+                }
+                S updated = change.applyTo(current);
+                afterChanges(updated);
+                state = updated;
+            }
+            log.debug("🔄 {}: mis à jour ({})", label, subject);
+        } catch (Exception e) {
+            markStale("mise à jour (" + subject + ")", e);
+        }
+    }
+
+    /**
+     * Marque l'index comme périmé et planifie sa reconstruction (une seule à la fois).
+     *
+     * @param operation Opération en échec (journaux)
+     * @param cause Erreur rencontrée
+     */
+    protected final void markStale(String operation, Exception cause) {
+        stale = true;
+        failures.incrementAndGet();
+        log.error("❌ {}: échec de la {}, index périmé ({}), reconstruction dans {} ms", label, operation,
+                cause.getMessage(), retryDelayMillis, cause);
+        if (enabled && rebuildScheduled.compareAndSet(false, true)) {
+            try {
+                rebuildScheduler.schedule(() -> {
+                    rebuildScheduled.set(false);
+                    rebuild();
+                }, retryDelayMillis, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                // Planificateur arrêté (arrêt de l'application)
+                rebuildScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * @return true si l'index est activé, construit et à jour
+     */
+    public final boolean isUsable() {
+        return enabled && ready && !stale && state != null;
+    }
+
+    /**
+     * @return true si l'index est activé
+     */
+    public final boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return État courant s'il est utilisable, Optional.empty() sinon
+     */
+    protected final Optional<S> usableState() {
+        S current = state;
+        return enabled && ready && !stale ? Optional.ofNullable(current) : Optional.empty();
+    }
+
+    /**
+     * @return État courant, utilisable ou non (peut être null)
+     */
+    protected final S currentState() {
+        return state;
+    }
+
+    /**
+     * @return Transaction en lecture seule, pour les lectures complémentaires (ex. vérification de cohérence)
+     */
+    protected final TransactionTemplate readOnlyTransaction() {
+        return readOnlyTransaction;
+    }
+
+    /**
+     * Statistiques de l'index (exposées par son endpoint Actuator).
+     *
+     * @return Statistiques
+     */
+    public Map<String, Object> stats() {
+        S current = state;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ready", ready);
+        stats.put("stale", stale);
+        stats.put("rebuildScheduled", rebuildScheduled.get());
+        stats.put("failures", failures.get());
+        addStats(current, stats);
+        stats.put("lastRebuildAt", lastRebuildAt);
+        stats.put("lastRebuildMillis", lastRebuildMillis);
+        return stats;
+    }
+
+    /**
+     * Arrête le planificateur des reconstructions à l'arrêt de l'application.
+     */
+    @PreDestroy
+    public void stopRebuilds() {
+        rebuildScheduler.shutdownNow();
+    }
+}
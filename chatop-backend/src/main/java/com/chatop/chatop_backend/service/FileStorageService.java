@@ -1,8 +1,11 @@
 package com.chatop.chatop_backend.service;
 
+import com.chatop.chatop_backend.event.RentalPicturesReleasedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
@@ -14,7 +17,8 @@ import java.util.UUID;
 
 /**
  * Cette classe est un service qui permet de gérer le stockage des fichiers.
- * Elle permet de sauvegarder un fichier sur le serveur.
+ * Elle permet de sauvegarder un fichier sur le serveur et de supprimer les images
+ * qui ne sont plus référencées par aucune location.
  * 
  * @Service: Indique à Spring qu'il s'agit d'un service.
  */
@@ -67,4 +71,66 @@ public class FileStorageService {
             throw e;
         }
     }
+
+    /**
+     * Supprime les images libérées, une fois la transaction validée.
+     *
+     * @param event Images qui ne sont plus référencées
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPicturesReleased(RentalPicturesReleasedEvent event) {
+        int deleted = 0;
+        for (String picture : event.pictures()) {
+            if (deleteFile(picture)) {
+                deleted++;
+            }
+        }
+        log.info("🧹 {} image(s) orpheline(s) supprimée(s) sur {}", deleted, event.pictures().size());
+    }
+
+    /**
+     * Indique si deux chemins enregistrés désignent le même fichier (chemin relatif, URL complète ou nom seul).
+     *
+     * @param storedPath Premier chemin
+     * @param otherPath Second chemin
+     * @return true si les noms de fichier sont identiques
+     */
+    public static boolean sameFile(String storedPath, String otherPath) {
+        if (storedPath == null || otherPath == null) {
+            return storedPath == otherPath;
+        }
+        return filename(storedPath).equals(filename(otherPath));
+    }
+
+    private static String filename(String storedPath) {
+        return storedPath.substring(storedPath.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Supprime un fichier enregistré par {@link #saveFile(MultipartFile)}.
+     * Seul le nom du fichier est conservé : le chemin est toujours résolu dans le répertoire de téléchargement.
+     *
+     * @param storedPath Chemin enregistré ("/uploads/xxx.jpg", URL complète ou simple nom de fichier)
+     * @return true si un fichier a été supprimé
+     */
+    public boolean deleteFile(String storedPath) {
+        if (storedPath == null || storedPath.isBlank()) {
+            return false;
+        }
+        String filename = filename(storedPath);
+        Path uploadDir = Paths.get(UPLOAD_DIR).toAbsolutePath().normalize();
+        Path path = uploadDir.resolve(filename).normalize();
+        if (filename.isEmpty() || !uploadDir.equals(path.getParent())) {
+            log.warn("⚠️ Chemin d'image ignoré: {}", storedPath);
+            return false;
+        }
+        try {
+            boolean deleted = Files.deleteIfExists(path);
+            log.debug("🗑️ Image {} supprimée: {}", filename, deleted);
+            return deleted;
+        } catch (IOException e) {
+            log.error("❌ Échec de la suppression de l'image {}: {}", filename, e.getMessage());
+            return false;
+        }
+    }
 }
@@ -0,0 +1,110 @@
+package com.chatop.chatop_backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Écrit une liste JSON (ou des lignes NDJSON) élément par élément directement dans le flux de réponse.
+ * Aucune liste complète (ni d'entités, ni de DTOs) n'est construite en mémoire : chaque élément
+ * est sérialisé dès qu'il est produit par l'itérateur, puis devient éligible au ramasse-miettes.
+ * Le ObjectMapper de Spring est utilisé pour conserver la configuration JSON de l'application (snake_case, dates).
+ *
+ * @Component indique que cette classe est un composant Spring.
+ */
+@Component
+public class JsonStreamWriter {
+
+    // Nombre d'éléments écrits entre deux vidages du flux (et deux appels à afterBatch)
+    public static final int BATCH_SIZE = 500;
+
+    private final ObjectMapper objectMapper;
+    // Le vidage est fait par lot, et non après chaque élément comme le ferait ObjectMapper par défaut
+    private final ObjectWriter elementWriter;
+
+    public JsonStreamWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.elementWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Écrit les éléments sous forme de tableau JSON.
+     *
+     * @param out Flux de sortie (il n'est pas fermé)
+     * @param field Nom du champ englobant ({"field": [...]}), ou null pour un tableau seul
+     * @param rows Éléments à écrire, produits à la demande
+     * @param afterBatch Action exécutée après chaque lot (ex. vider le contexte de persistance), peut être null
+     * @return Nombre d'éléments écrits
+     * @throws IOException en cas d'erreur d'écriture (client déconnecté...)
+     */
+    public long writeArray(OutputStream out, String field, Iterator<?> rows, Runnable afterBatch) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (field != null) {
+                generator.writeStartObject();
+                generator.writeFieldName(field);
+            }
+            generator.writeStartArray();
+            while (rows.hasNext()) {
+                elementWriter.writeValue(generator, rows.next());
+                if (++count % BATCH_SIZE == 0) {
+                    generator.flush();
+                    if (afterBatch != null) {
+                        afterBatch.run();
+                    }
+                }
+            }
+            generator.writeEndArray();
+            if (field != null) {
+                generator.writeEndObject();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Écrit les éléments en NDJSON, un document JSON par ligne. Le flux est vidé par lot, et non après
+     * chaque ligne : c'est le format des exports volumineux, pas celui des notifications de progression.
+     *
+     * @param out Flux de sortie (il n'est pas fermé)
+     * @param rows Éléments à écrire, produits à la demande
+     * @return Nombre d'éléments écrits
+     * @throws IOException en cas d'erreur d'écriture (client déconnecté...)
+     */
+    public long writeLines(OutputStream out, Iterator<?> rows) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Pas de séparateur implicite entre deux valeurs racines : chaque ligne se termine par '\n'
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                elementWriter.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+                if (++count % BATCH_SIZE == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Écrit une valeur sur une ligne (NDJSON) puis vide le flux, pour que le client la reçoive immédiatement.
+     *
+     * @param out Flux de sortie (il n'est pas fermé)
+     * @param value Valeur à écrire
+     * @throws IOException en cas d'erreur d'écriture (client déconnecté...)
+     */
+    public void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(elementWriter.writeValueAsBytes(value));
+        out.write('\n');
+        out.flush();
+    }
+}
@@ -0,0 +1,102 @@
+package com.chatop.chatop_backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Curseur opaque de pagination par clé (keyset) : il encode le dernier identifiant lu, ou la dernière
+ * position (date de création, identifiant) pour un tri chronologique.
+ * Le format interne ("v1:<id>" ou "t1:<date ISO>|<id>" en base64url) n'est pas exposé au client, qui se contente
+ * de renvoyer la valeur reçue dans le champ "next".
+ */
+final class KeysetCursor {
+
+    /**
+     * Dernière position lue dans un tri (date de création, identifiant).
+     *
+     * @param createdAt Date de création du dernier élément
+     * @param id Identifiant du dernier élément
+     */
+    record Position(LocalDateTime createdAt, long id) {
+    }
+
+    private static final String VERSION_PREFIX = "v1:";
+    private static final String POSITION_PREFIX = "t1:";
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Encode le dernier identifiant d'une page.
+     *
+     * @param lastId Identifiant du dernier élément de la page
+     * @return Curseur opaque
+     */
+    static String encode(long lastId) {
+        byte[] raw = (VERSION_PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Décode un curseur reçu du client.
+     *
+     * @param cursor Curseur opaque
+     * @return Dernier identifiant lu
+     * @throws IllegalArgumentException si le curseur est invalide
+     */
+    static long decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(VERSION_PREFIX)) {
+                throw new IllegalArgumentException("Curseur de pagination invalide");
+            }
+            long lastId = Long.parseLong(raw.substring(VERSION_PREFIX.length()));
+            if (lastId < 0) {
+                throw new IllegalArgumentException("Curseur de pagination invalide");
+            }
+            return lastId;
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException et erreurs de décodage base64 sont des IllegalArgumentException
+            throw new IllegalArgumentException("Curseur de pagination invalide", e);
+        }
+    }
+
+    /**
+     * Encode la dernière position d'une page triée par (date de création, identifiant).
+     *
+     * @param createdAt Date de création du dernier élément de la page
+     * @param id Identifiant du dernier élément de la page
+     * @return Curseur opaque
+     */
+    static String encode(LocalDateTime createdAt, long id) {
+        byte[] raw = (POSITION_PREFIX + createdAt + "|" + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Décode un curseur de position reçu du client.
+     *
+     * @param cursor Curseur opaque
+     * @return Dernière position lue
+     * @throws IllegalArgumentException si le curseur est invalide
+     */
+    static Position decodePosition(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (!raw.startsWith(POSITION_PREFIX) || separator < 0) {
+                throw new IllegalArgumentException("Curseur de pagination invalide");
+            }
+            LocalDateTime createdAt = LocalDateTime.parse(raw.substring(POSITION_PREFIX.length(), separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            if (id < 0) {
+                throw new IllegalArgumentException("Curseur de pagination invalide");
+            }
+            return new Position(createdAt, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide", e);
+        }
+    }
+}
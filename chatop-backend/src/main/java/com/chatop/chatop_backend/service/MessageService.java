@@ -1,8 +1,11 @@
 package com.chatop.chatop_backend.service;
 
 import com.chatop.chatop_backend.dto.MessageDto;
+import com.chatop.chatop_backend.dto.RentalMessagePageDto;
 import com.chatop.chatop_backend.dto.ResponseMessage;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface MessageService {
@@ -10,4 +13,10 @@ public interface MessageService {
     ResponseMessage saveMessage(MessageDto dto);
     
     List<MessageDto> getAllMessages();
+
+    long streamAllMessages(OutputStream out) throws IOException;
+
+    long exportMessages(OutputStream out) throws IOException;
+
+    RentalMessagePageDto getRentalMessages(Long rentalId, String cursor, Integer limit);
 }
@@ -1,33 +1,56 @@
 package com.chatop.chatop_backend.service;
 
 import com.chatop.chatop_backend.dto.MessageDto;
+import com.chatop.chatop_backend.dto.MessageExportRow;
+import com.chatop.chatop_backend.dto.RentalMessageDto;
+import com.chatop.chatop_backend.dto.RentalMessagePageDto;
 import com.chatop.chatop_backend.dto.ResponseMessage;
+import com.chatop.chatop_backend.exception.RentalNotFoundException;
 import com.chatop.chatop_backend.model.Message;
 import com.chatop.chatop_backend.model.Rental;
 import com.chatop.chatop_backend.model.User;
 import com.chatop.chatop_backend.repository.MessageRepository;
 import com.chatop.chatop_backend.repository.RentalRepository;
 import com.chatop.chatop_backend.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
-@RequiredArgsConstructor
 public class MessageServiceImpl implements MessageService {
 
     private final MessageRepository messageRepository;
     private final UserRepository userRepository;
     private final RentalRepository rentalRepository;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final int defaultPageSize;
+    private final int maxPageSize;
     private static final Logger log = LoggerFactory.getLogger(MessageServiceImpl.class);
 
+    public MessageServiceImpl(MessageRepository messageRepository, UserRepository userRepository,
+            RentalRepository rentalRepository, JsonStreamWriter jsonStreamWriter,
+            @Value("${chatop.messages.page.default-size:50}") int defaultPageSize,
+            @Value("${chatop.messages.page.max-size:200}") int maxPageSize) {
+        this.messageRepository = messageRepository;
+        this.userRepository = userRepository;
+        this.rentalRepository = rentalRepository;
+        this.jsonStreamWriter = jsonStreamWriter;
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.defaultPageSize = Math.min(Math.max(1, defaultPageSize), this.maxPageSize);
+    }
+
     @Override
     public ResponseMessage saveMessage(MessageDto dto) {
         String operationId = UUID.randomUUID().toString();
@@ -137,6 +160,7 @@ public class MessageServiceImpl implements MessageService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MessageDto> getAllMessages() {
         String operationId = UUID.randomUUID().toString();
         log.info("📥 [{}] Début de récupération de tous les messages", operationId);
@@ -187,4 +211,84 @@ public class MessageServiceImpl implements MessageService {
             log.info("🏁 [{}] Fin de l'opération de récupération des messages", operationId);
         }
     }
+
+    /**
+     * Écrit tous les messages dans le flux sous forme de tableau JSON, ligne par ligne.
+     * Les messages sont projetés directement en DTO par la requête : aucune entité n'est chargée.
+     *
+     * @param out Flux de sortie de la réponse
+     * @return Nombre de messages écrits
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long streamAllMessages(OutputStream out) throws IOException {
+        String operationId = UUID.randomUUID().toString();
+        log.info("📥 [{}] Début de l'écriture en flux de tous les messages", operationId);
+        try (Stream<MessageDto> messages = messageRepository.streamAllAsDto()) {
+            long count = jsonStreamWriter.writeArray(out, null, messages.iterator(), null);
+            log.info("✅ [{}] {} messages écrits en flux", operationId, count);
+            return count;
+        }
+    }
+
+    /**
+     * Exporte tous les messages en NDJSON (une ligne par message : rental_id, user_id, message, created_at).
+     * Les lignes sont lues au fil de l'eau par le pilote MySQL et projetées sans entité ni contexte de persistance
+     * à vider : la mémoire utilisée ne dépend pas du nombre de messages. En lecture seule, l'export est servi
+     * par le réplica lorsqu'il est activé.
+     *
+     * @param out Flux de sortie de la réponse (éventuellement compressé par l'appelant)
+     * @return Nombre de messages exportés
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportMessages(OutputStream out) throws IOException {
+        String operationId = UUID.randomUUID().toString();
+        log.info("📤 [{}] Début de l'export NDJSON des messages", operationId);
+        try (Stream<MessageExportRow> rows = messageRepository.streamExportRows()) {
+            long count = jsonStreamWriter.writeLines(out, rows.iterator());
+            log.info("✅ [{}] {} messages exportés", operationId, count);
+            return count;
+        }
+    }
+
+    /**
+     * Récupère une page du fil de discussion d'une location, du plus ancien au plus récent message
+     * (pagination par clé sur la date de création puis l'identifiant).
+     * Deux requêtes quelle que soit la taille de la page : l'existence de la location, puis les messages
+     * avec le nom de leur auteur (jointure sur USERS). Une ligne de plus que la taille demandée est lue
+     * pour savoir s'il existe une page suivante.
+     *
+     * @param rentalId Identifiant de la location
+     * @param cursor Curseur opaque renvoyé par la page précédente (null pour la première page)
+     * @param limit Taille de page souhaitée (plafonnée à chatop.messages.page.max-size)
+     * @return Page de messages et curseur de la page suivante (null s'il n'y en a pas)
+     * @throws RentalNotFoundException si la location n'existe pas
+     * @throws IllegalArgumentException si le curseur ou la taille de page est invalide
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public RentalMessagePageDto getRentalMessages(Long rentalId, String cursor, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("La taille de page doit être positive");
+        }
+        int pageSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        KeysetCursor.Position after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decodePosition(cursor);
+        log.info("🔍 Récupération d'une page de {} messages de la location {}", pageSize, rentalId);
+
+        if (!rentalRepository.existsById(rentalId)) {
+            throw new RentalNotFoundException("Location non trouvée avec l'ID: " + rentalId);
+        }
+        List<RentalMessageDto> rows = after == null
+                ? messageRepository.findThreadFirstPage(rentalId, Limit.of(pageSize + 1))
+                : messageRepository.findThreadPageAfter(rentalId, after.createdAt(), after.id(), Limit.of(pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<RentalMessageDto> page = hasNext ? rows.subList(0, pageSize) : rows;
+        RentalMessageDto last = hasNext ? page.get(page.size() - 1) : null;
+        String next = last != null ? KeysetCursor.encode(last.createdAt(), last.id()) : null;
+        log.info("✅ {} messages de la location {} récupérés, page suivante: {}", page.size(), rentalId, hasNext);
+        return new RentalMessagePageDto(List.copyOf(page), next);
+    }
 }
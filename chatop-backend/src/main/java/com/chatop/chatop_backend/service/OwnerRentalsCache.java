@@ -0,0 +1,131 @@
+package com.chatop.chatop_backend.service;
+
+import com.chatop.chatop_backend.config.DataSourceRouting;
+import com.chatop.chatop_backend.dto.RentalPageDto;
+import com.chatop.chatop_backend.event.RentalChangedEvent;
+import com.chatop.chatop_backend.event.RentalsImportedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Cache des pages de locations par propriétaire (GET /api/user/{id}/rentals).
+ * Un seul cache Caffeine borné en nombre de pages (chatop.cache.owner-rentals.max-pages), clé :
+ * propriétaire, génération, curseur et taille de page. Un curseur forgé occupe donc au plus une entrée
+ * du cache, jamais une mémoire non bornée.
+ * - Une création, modification ou suppression validée d'une location incrémente la génération de son
+ *   propriétaire : toutes ses pages deviennent inaccessibles d'un coup, sans toucher aux autres propriétaires,
+ *   puis sortent du cache par taille ou par durée de vie. Les générations sont réparties sur un tableau
+ *   de taille fixe (quelques propriétaires partagent une génération et sont invalidés ensemble).
+ * - Un import en masse incrémente l'époque commune à tous les propriétaires et vide le cache.
+ * - Une lecture en cours pendant l'invalidation enregistre sa page sous l'ancienne génération :
+ *   elle ne peut pas servir une page antérieure à la modification.
+ * - La page est lue hors de tout verrou du cache : deux lectures simultanées d'une même page absente
+ *   interrogent toutes deux la base, aucune ne bloque les autres clés.
+ * Le cache est propre à l'instance : les écritures faites sur une autre instance ne sont vues
+ * qu'à l'expiration des entrées (chatop.cache.owner-rentals.ttl).
+ *
+ * @Component indique que cette classe est un composant Spring.
+ * @see com.chatop.chatop_backend.config.CacheConfig
+ */
+@Component
+public class OwnerRentalsCache {
+
+    public static final String RENTALS_BY_OWNER = "rentalsByOwner";
+
+    private static final Logger log = LoggerFactory.getLogger(OwnerRentalsCache.class);
+
+    private static final int GENERATION_STRIPES = 4096;
+
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> rentalsByOwner;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong epoch = new AtomicLong();
+
+    /**
+     * Clé d'une page en cache.
+     *
+     * @param ownerId Identifiant du propriétaire
+     * @param epoch Époque (incrémentée à chaque import)
+     * @param generation Génération du propriétaire (incrémentée à chaque modification de ses locations)
+     * @param afterId Identifiant après lequel commence la page
+     * @param pageSize Taille de la page
+     */
+    private record PageKey(Long ownerId, long epoch, long generation, long afterId, int pageSize) {
+    }
+
+    public OwnerRentalsCache(CacheManager cacheManager) {
+        Cache cache = cacheManager.getCache(RENTALS_BY_OWNER);
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            throw new IllegalStateException("Le cache " + RENTALS_BY_OWNER + " doit être un cache Caffeine");
+        }
+        this.rentalsByOwner = caffeineCache.getNativeCache();
+    }
+
+    /**
+     * Retourne une page des locations d'un propriétaire, chargée par loader si elle n'est pas en cache.
+     * Une page manquante est lue sur la base principale : lue sur un réplica en retard, elle serait mise en cache
+     * sous la nouvelle génération et servie pendant toute la durée de vie du cache, bien au-delà du retard toléré.
+     *
+     * @param ownerId Identifiant du propriétaire
+     * @param afterId Identifiant après lequel commence la page
+     * @param pageSize Taille de la page
+     * @param loader Lecture de la page en base
+     * @return Page de locations
+     */
+    public RentalPageDto getPage(Long ownerId, long afterId, int pageSize, Supplier<RentalPageDto> loader) {
+        // Époque et génération lues avant la page : une invalidation pendant la lecture la rend inaccessible
+        PageKey key = new PageKey(ownerId, epoch.get(), generations.get(stripe(ownerId)), afterId, pageSize);
+        if (rentalsByOwner.getIfPresent(key) instanceof RentalPageDto cached) {
+            return cached;
+        }
+        log.debug("🔍 Cache des locations manqué pour le propriétaire {} (après {}, {} par page)", ownerId, afterId, pageSize);
+        RentalPageDto page = DataSourceRouting.onPrimary(loader);
+        rentalsByOwner.put(key, page);
+        return page;
+    }
+    /**
+     * Invalide les pages du propriétaire après une modification validée d'une de ses locations.
+     *
+     * @param event Modification de la location
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalChanged(RentalChangedEvent event) {
+        evict(event.ownerId());
+    }
+
+    /**
+     * Vide le cache après un import de locations en masse (propriétaires concernés inconnus).
+     *
+     * @param event Import terminé
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalsImported(RentalsImportedEvent event) {
+        epoch.incrementAndGet();
+        rentalsByOwner.invalidateAll();
+        log.debug("🧹 Cache des locations par propriétaire vidé après l'import de {} locations", event.imported());
+    }
+
+    /**
+     * Invalide toutes les pages d'un propriétaire.
+     *
+     * @param ownerId Identifiant du propriétaire (peut être null)
+     */
+    public void evict(Long ownerId) {
+        if (ownerId != null) {
+            generations.incrementAndGet(stripe(ownerId));
+            log.debug("🧹 Pages de locations invalidées pour le propriétaire {}", ownerId);
+        }
+    }
+
+    private static int stripe(Long ownerId) {
+        return Math.floorMod(Long.hashCode(ownerId), GENERATION_STRIPES);
+    }
+}
@@ -0,0 +1,181 @@
+package com.chatop.chatop_backend.service;
+
+import com.chatop.chatop_backend.config.DataSourceRouting;
+import com.chatop.chatop_backend.dto.RentalAvailabilityRow;
+import com.chatop.chatop_backend.event.RentalAvailabilityChangedEvent;
+import com.chatop.chatop_backend.event.RentalChangedEvent;
+import com.chatop.chatop_backend.event.RentalsImportedEvent;
+import com.chatop.chatop_backend.repository.RentalAvailabilityRepository;
+import com.chatop.chatop_backend.repository.RentalRepository;
+import com.chatop.chatop_backend.search.AvailabilityCalendar;
+import com.chatop.chatop_backend.search.DayBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Calendriers de disponibilité de toutes les locations, gardés en mémoire ({@link AvailabilityCalendar}).
+ * Ils sont construits au démarrage depuis la base (années en cours et suivantes), puis mis à jour à chaque
+ * {@link RentalChangedEvent} (ajout ou retrait d'une location) et {@link RentalAvailabilityChangedEvent} validé.
+ * Tant qu'ils ne sont pas prêts, ou s'ils sont périmés après une erreur, les calendriers sont lus en base.
+ *
+ * @Component indique que cette classe est un composant Spring.
+ */
+@Component
+public class RentalAvailabilityIndex extends EventSyncedIndex<AvailabilityCalendar> {
+
+    private static final Logger log = LoggerFactory.getLogger(RentalAvailabilityIndex.class);
+
+    private final RentalRepository rentalRepository;
+    private final RentalAvailabilityRepository availabilityRepository;
+
+    public RentalAvailabilityIndex(RentalRepository rentalRepository,
+            RentalAvailabilityRepository availabilityRepository, PlatformTransactionManager transactionManager,
+            @Value("${chatop.availability.index.enabled:true}") boolean enabled,
+            @Value("${chatop.index.rebuild-retry-delay:30s}") Duration retryDelay) {
+        super("📅 Calendriers de disponibilité", enabled, new AvailabilityCalendar(), transactionManager, retryDelay);
+        this.rentalRepository = rentalRepository;
+        this.availabilityRepository = availabilityRepository;
+    }
+
+    /**
+     * Construit les calendriers une fois l'application démarrée.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (isEnabled()) {
+            rebuild();
+        } else {
+            log.info("📅 Calendriers de disponibilité en mémoire désactivés");
+        }
+    }
+
+    /**
+     * Reconstruit les calendriers après un import en masse (les lignes importées ne produisent pas d'événement unitaire).
+     *
+     * @param event Import terminé
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalsImported(RentalsImportedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        log.info("📅 Reconstruction des calendriers après l'import de {} locations", event.imported());
+        rebuild();
+    }
+
+    /**
+     * Ajoute ou retire une location validée.
+     *
+     * @param event Modification de la location
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalChanged(RentalChangedEvent event) {
+        long rentalId = event.rentalId();
+        apply(calendar -> {
+            if (event.type() == RentalChangedEvent.Type.DELETED) {
+                calendar.removeRental(rentalId);
+            } else {
+                calendar.addRental(rentalId);
+            }
+            return calendar;
+        }, "location " + rentalId);
+    }
+
+    /**
+     * Applique les jours bloqués ou libérés d'une location.
+     * Deux modifications du même calendrier peuvent être notifiées dans l'ordre inverse de leur validation :
+     * les années modifiées sont donc relues depuis la base principale sous le verrou d'écriture, la dernière
+     * relecture appliquée reflète toujours le dernier état validé.
+     *
+     * @param event Années modifiées de la location
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(RentalAvailabilityChangedEvent event) {
+        long rentalId = event.rentalId();
+        apply(calendar -> {
+            Map<Integer, DayBitmap> years = readYears(rentalId, event.years());
+            event.years().forEach(year -> calendar.put(rentalId, year, years.getOrDefault(year, DayBitmap.EMPTY)));
+            return calendar;
+        }, "calendrier de la location " + rentalId);
+    }
+
+    private Map<Integer, DayBitmap> readYears(long rentalId, Set<Integer> years) {
+        int fromYear = Collections.min(years);
+        int toYear = Collections.max(years);
+        List<RentalAvailabilityRow> rows = DataSourceRouting.onPrimary(() -> readOnlyTransaction().execute(status ->
+                availabilityRepository.findRowsByRentalIdIn(List.of(rentalId), fromYear, toYear)));
+        return rows.stream().collect(Collectors.toMap(RentalAvailabilityRow::year,
+                row -> DayBitmap.fromBytes(row.blockedDays())));
+    }
+
+    /**
+     * Jours bloqués d'une location, lus en mémoire.
+     *
+     * @param rentalId Identifiant de la location
+     * @param fromYear Première année
+     * @param toYear Dernière année (incluse)
+     * @return Jours bloqués par année, ou Optional.empty() si les calendriers ne sont pas utilisables
+     *         ou ne connaissent pas la location
+     */
+    public Optional<Map<Integer, DayBitmap>> get(long rentalId, int fromYear, int toYear) {
+        return usableState().map(calendar -> calendar.get(rentalId, fromYear, toYear));
+    }
+
+    /**
+     * Recherche les locations disponibles sur toute la période [from, to), par identifiant croissant.
+     *
+     * @param from Première nuit (incluse)
+     * @param to Jour de départ (exclu)
+     * @param afterId Identifiant à partir duquel chercher (exclu)
+     * @param limit Nombre maximal de résultats
+     * @return Identifiants, ou Optional.empty() si les calendriers ne sont pas utilisables
+     */
+    public Optional<long[]> findAvailable(LocalDate from, LocalDate to, long afterId, int limit) {
+        return usableState().map(calendar -> calendar.findAvailable(from, to, afterId, limit));
+    }
+
+    /**
+     * Les années passées ne sont pas chargées : les recherches ne portent que sur des dates à venir.
+     */
+    @Override
+    protected AvailabilityCalendar load(AvailabilityCalendar current) {
+        int fromYear = LocalDate.now().getYear();
+        AvailabilityCalendar target = new AvailabilityCalendar();
+        try (Stream<Long> ids = rentalRepository.streamIds()) {
+            ids.forEach(target::addRental);
+        }
+        try (Stream<RentalAvailabilityRow> rows = availabilityRepository.streamRowsFromYear(fromYear)) {
+            rows.forEach(row -> target.put(row.rentalId(), row.year(), DayBitmap.fromBytes(row.blockedDays())));
+        }
+        return target;
+    }
+
+    @Override
+    protected String describe(AvailabilityCalendar calendar) {
+        return calendar.size() + " locations, " + calendar.bitmaps() + " années avec des jours bloqués";
+    }
+
+    @Override
+    protected void addStats(AvailabilityCalendar calendar, Map<String, Object> stats) {
+        long bitmaps = calendar == null ? 0 : calendar.bitmaps();
+        stats.put("rentals", calendar == null ? 0 : calendar.size());
+        stats.put("bitmaps", bitmaps);
+        stats.put("bitmapBytes", bitmaps * DayBitmap.BYTES);
+    }
+}
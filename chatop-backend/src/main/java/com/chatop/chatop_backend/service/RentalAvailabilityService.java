@@ -0,0 +1,329 @@
+package com.chatop.chatop_backend.service;
+
+import com.chatop.chatop_backend.dto.DateRangeDto;
+import com.chatop.chatop_backend.dto.RentalAvailabilityDto;
+import com.chatop.chatop_backend.dto.RentalAvailabilityRow;
+import com.chatop.chatop_backend.dto.RentalDto;
+import com.chatop.chatop_backend.dto.RentalPageDto;
+import com.chatop.chatop_backend.dto.RentalRow;
+import com.chatop.chatop_backend.event.RentalAvailabilityChangedEvent;
+import com.chatop.chatop_backend.exception.RentalNotFoundException;
+import com.chatop.chatop_backend.model.RentalAvailability;
+import com.chatop.chatop_backend.model.RentalAvailabilityId;
+import com.chatop.chatop_backend.repository.RentalAvailabilityRepository;
+import com.chatop.chatop_backend.repository.RentalRepository;
+import com.chatop.chatop_backend.search.DayBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service des calendriers de disponibilité des locations.
+ * - Un calendrier est stocké en base sous forme d'un bitmap de jours bloqués par année (table RENTAL_AVAILABILITY) ;
+ *   bloquer ou libérer une période ne lit et n'écrit que les années concernées, sous le verrou de la location.
+ * - Les lectures et la recherche "disponible du X au Y" sont servies par les calendriers en mémoire
+ *   ({@link RentalAvailabilityIndex}) ; s'ils sont indisponibles, les calendriers sont lus en base.
+ * Une période désigne des nuits : du "from" (inclus) au "to" (exclu, jour de départ). Elle doit commencer au plus tôt
+ * aujourd'hui et se terminer au plus tard dans chatop.availability.horizon-days jours.
+ *
+ * @Service indique que cette classe est un service Spring.
+ */
+@Service
+public class RentalAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(RentalAvailabilityService.class);
+
+    // Recherche en base (calendriers en mémoire indisponibles) : locations lues par lots, nombre de lots par page borné
+    private static final int FALLBACK_BATCH_SIZE = 1000;
+    private static final int FALLBACK_MAX_BATCHES = 20;
+
+    private final RentalRepository rentalRepository;
+    private final RentalAvailabilityRepository availabilityRepository;
+    private final RentalAvailabilityIndex availabilityIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int horizonDays;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public RentalAvailabilityService(RentalRepository rentalRepository,
+            RentalAvailabilityRepository availabilityRepository, RentalAvailabilityIndex availabilityIndex,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${chatop.availability.horizon-days:730}") int horizonDays,
+            @Value("${chatop.rentals.page.default-size:20}") int defaultPageSize,
+            @Value("${chatop.rentals.page.max-size:100}") int maxPageSize) {
+        this.rentalRepository = rentalRepository;
+        this.availabilityRepository = availabilityRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.eventPublisher = eventPublisher;
+        this.horizonDays = Math.max(1, horizonDays);
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.defaultPageSize = Math.min(Math.max(1, defaultPageSize), this.maxPageSize);
+    }
+
+    /**
+     * Récupère le calendrier d'une location sur une période.
+     *
+     * @param rentalId Identifiant de la location
+     * @param from Première nuit (incluse)
+     * @param to Jour de départ (exclu)
+     * @return Disponibilité et périodes bloquées
+     * @throws RentalNotFoundException si la location n'existe pas
+     * @throws IllegalArgumentException si la période est invalide
+     */
+    @Transactional(readOnly = true)
+    public RentalAvailabilityDto getAvailability(Long rentalId, LocalDate from, LocalDate to) {
+        validatePeriod(from, to);
+        log.info("📅 Lecture du calendrier de la location {} du {} au {}", rentalId, from, to);
+        int lastYear = to.minusDays(1).getYear();
+        Map<Integer, DayBitmap> years = availabilityIndex.get(rentalId, from.getYear(), lastYear)
+                .orElseGet(() -> {
+                    if (!rentalRepository.existsById(rentalId)) {
+                        throw new RentalNotFoundException("Location non trouvée avec l'ID: " + rentalId);
+                    }
+                    return loadYears(rentalId, from.getYear(), lastYear);
+                });
+        return toDto(rentalId, from, to, years);
+    }
+
+    /**
+     * Bloque les nuits d'une période (sans effet sur les nuits déjà bloquées).
+     *
+     * @param rentalId Identifiant de la location
+     * @param from Première nuit (incluse)
+     * @param to Jour de départ (exclu)
+     * @param ownerId Propriétaire attendu (utilisateur authentifié, null : pas de contrôle)
+     * @return Calendrier de la période après modification
+     * @throws RentalNotFoundException si la location n'existe pas
+     * @throws AccessDeniedException si la location n'appartient pas à l'utilisateur
+     * @throws IllegalArgumentException si la période est invalide
+     */
+    @Transactional
+    public RentalAvailabilityDto block(Long rentalId, LocalDate from, LocalDate to, Long ownerId) {
+        return update(rentalId, from, to, ownerId, true);
+    }
+
+    /**
+     * Libère les nuits d'une période (sans effet sur les nuits déjà libres).
+     *
+     * @param rentalId Identifiant de la location
+     * @param from Première nuit (incluse)
+     * @param to Jour de départ (exclu)
+     * @param ownerId Propriétaire attendu (utilisateur authentifié, null : pas de contrôle)
+     * @return Calendrier de la période après modification
+     * @throws RentalNotFoundException si la location n'existe pas
+     * @throws AccessDeniedException si la location n'appartient pas à l'utilisateur
+     * @throws IllegalArgumentException si la période est invalide
+     */
+    @Transactional
+    public RentalAvailabilityDto free(Long rentalId, LocalDate from, LocalDate to, Long ownerId) {
+        return update(rentalId, from, to, ownerId, false);
+    }
+
+    /**
+     * Recherche les locations disponibles sur toute une période, par identifiant croissant (pagination par clé).
+     *
+     * @param from Première nuit (incluse)
+     * @param to Jour de départ (exclu)
+     * @param cursor Curseur opaque renvoyé par la page précédente (null pour la première page)
+     * @param limit Taille de page souhaitée (plafonnée à chatop.rentals.page.max-size)
+     * @return Page de locations disponibles et curseur de la page suivante (null s'il n'y en a pas)
+     * @throws IllegalArgumentException si la période, le curseur ou la taille de page est invalide
+     */
+    @Transactional(readOnly = true)
+    public RentalPageDto findAvailableRentals(LocalDate from, LocalDate to, String cursor, Integer limit) {
+        validatePeriod(from, to);
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("La taille de page doit être positive");
+        }
+        int pageSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        long afterId = cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decode(cursor);
+        log.info("📅 Recherche de {} locations disponibles du {} au {} après l'ID: {}", pageSize, from, to, afterId);
+
+        long[] found = availabilityIndex.findAvailable(from, to, afterId, pageSize + 1).orElse(null);
+        String next;
+        long[] page;
+        if (found != null) {
+            boolean hasNext = found.length > pageSize;
+            page = hasNext ? Arrays.copyOf(found, pageSize) : found;
+            next = hasNext ? KeysetCursor.encode(page[page.length - 1]) : null;
+        } else {
+            log.warn("⚠️ Calendriers en mémoire indisponibles, recherche de disponibilité en base");
+            List<Long> ids = new ArrayList<>(pageSize);
+            long scannedUpTo = scanAvailable(from, to, afterId, pageSize + 1, ids);
+            boolean hasNext = ids.size() > pageSize;
+            List<Long> pageIds = hasNext ? ids.subList(0, pageSize) : ids;
+            page = pageIds.stream().mapToLong(Long::longValue).toArray();
+            // Parcours interrompu avant d'avoir rempli la page : la page suivante reprend après la dernière location lue
+            next = hasNext ? KeysetCursor.encode(page[page.length - 1])
+                    : scannedUpTo > 0 ? KeysetCursor.encode(scannedUpTo) : null;
+        }
+        List<RentalDto> rentals = loadInOrder(page);
+        log.info("✅ {} locations disponibles du {} au {}, page suivante: {}", rentals.size(), from, to, next != null);
+        return new RentalPageDto(rentals, next);
+    }
+
+    private RentalAvailabilityDto update(Long rentalId, LocalDate from, LocalDate to, Long ownerId, boolean blocked) {
+        validatePeriod(from, to);
+        String action = blocked ? "Blocage" : "Libération";
+        log.info("📅 {} des nuits du {} au {} pour la location {}", action, from, to, rentalId);
+        // Verrou sur la ligne de la location : deux modifications du même calendrier ne peuvent pas s'entrelacer
+        Long currentOwnerId = rentalRepository.lockOwnerIdById(rentalId)
+                .orElseThrow(() -> new RentalNotFoundException("Location non trouvée avec l'ID: " + rentalId));
+        if (ownerId != null && !ownerId.equals(currentOwnerId)) {
+            log.warn("⛔ Modification du calendrier refusée: la location {} n'appartient pas à l'utilisateur {}",
+                    rentalId, ownerId);
+            throw new AccessDeniedException("La location n'appartient pas à l'utilisateur");
+        }
+
+        int lastYear = to.minusDays(1).getYear();
+        Map<Integer, RentalAvailability> rows = availabilityRepository.findByRental(rentalId, from.getYear(), lastYear)
+                .stream()
+                .collect(Collectors.toMap(row -> row.getId().getYear(), Function.identity()));
+        Map<Integer, DayBitmap> years = new LinkedHashMap<>();
+        Set<Integer> changed = new LinkedHashSet<>();
+        for (DayBitmap.Segment segment : DayBitmap.segments(from, to)) {
+            RentalAvailability row = rows.get(segment.year());
+            DayBitmap current = row == null ? DayBitmap.EMPTY : DayBitmap.fromBytes(row.getBlockedDays());
+            DayBitmap updated = current.withRange(segment.fromDay(), segment.toDay(), blocked);
+            years.put(segment.year(), updated);
+            if (updated.equals(current)) {
+                continue;
+            }
+            changed.add(segment.year());
+            // Une année sans jour bloqué n'a pas de ligne
+            if (updated.isEmpty()) {
+                availabilityRepository.delete(row);
+            } else if (row == null) {
+                availabilityRepository.save(new RentalAvailability(
+                        new RentalAvailabilityId(rentalId, segment.year()), updated.toBytes()));
+            } else {
+                row.setBlockedDays(updated.toBytes());
+            }
+        }
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new RentalAvailabilityChangedEvent(rentalId, Set.copyOf(changed)));
+        }
+        log.info("✅ {} terminé pour la location {}: {} année(s) modifiée(s)", action, rentalId, changed.size());
+        return toDto(rentalId, from, to, years);
+    }
+
+    // Parcourt les locations par lots d'identifiants et lit leurs calendriers ; renvoie le dernier identifiant lu
+    // si le parcours s'est arrêté sur la limite de lots (0 si tout le catalogue a été parcouru ou la page remplie)
+    private long scanAvailable(LocalDate from, LocalDate to, long afterId, int wanted, List<Long> found) {
+        List<DayBitmap.Segment> segments = DayBitmap.segments(from, to);
+        int lastYear = to.minusDays(1).getYear();
+        long cursorId = afterId;
+        for (int batch = 0; batch < FALLBACK_MAX_BATCHES; batch++) {
+            List<Long> ids = rentalRepository.findIdsAfter(cursorId, Limit.of(FALLBACK_BATCH_SIZE));
+            if (ids.isEmpty()) {
+                return 0L;
+            }
+            Map<Long, Map<Integer, DayBitmap>> calendars = new HashMap<>();
+            for (RentalAvailabilityRow row : availabilityRepository.findRowsByRentalIdIn(ids, from.getYear(), lastYear)) {
+                calendars.computeIfAbsent(row.rentalId(), id -> new HashMap<>())
+                        .put(row.year(), DayBitmap.fromBytes(row.blockedDays()));
+            }
+            for (Long id : ids) {
+                if (isFree(calendars.getOrDefault(id, Map.of()), segments)) {
+                    found.add(id);
+                    if (found.size() == wanted) {
+                        return 0L;
+                    }
+                }
+            }
+            if (ids.size() < FALLBACK_BATCH_SIZE) {
+                return 0L;
+            }
+            cursorId = ids.get(ids.size() - 1);
+        }
+        return cursorId;
+    }
+
+    private Map<Integer, DayBitmap> loadYears(Long rentalId, int fromYear, int toYear) {
+        Map<Integer, DayBitmap> years = new HashMap<>();
+        for (RentalAvailability row : availabilityRepository.findByRental(rentalId, fromYear, toYear)) {
+            years.put(row.getId().getYear(), DayBitmap.fromBytes(row.getBlockedDays()));
+        }
+        return years;
+    }
+
+    private static boolean isFree(Map<Integer, DayBitmap> years, List<DayBitmap.Segment> segments) {
+        for (DayBitmap.Segment segment : segments) {
+            if (!years.getOrDefault(segment.year(), DayBitmap.EMPTY).isClear(segment.fromDay(), segment.toDay())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Périodes bloquées de [from, to), fusionnées d'une année sur l'autre
+    private static RentalAvailabilityDto toDto(Long rentalId, LocalDate from, LocalDate to,
+            Map<Integer, DayBitmap> years) {
+        List<DateRangeDto> blocked = new ArrayList<>();
+        for (DayBitmap.Segment segment : DayBitmap.segments(from, to)) {
+            DayBitmap bitmap = years.getOrDefault(segment.year(), DayBitmap.EMPTY);
+            LocalDate firstDay = LocalDate.ofYearDay(segment.year(), 1);
+            int day = bitmap.nextBlockedDay(segment.fromDay());
+            while (day >= 0 && day < segment.toDay()) {
+                int end = Math.min(bitmap.nextFreeDay(day), segment.toDay());
+                LocalDate rangeFrom = firstDay.plusDays(day);
+                LocalDate rangeTo = firstDay.plusDays(end);
+                int last = blocked.size() - 1;
+                if (last >= 0 && blocked.get(last).to().equals(rangeFrom)) {
+                    blocked.set(last, new DateRangeDto(blocked.get(last).from(), rangeTo));
+                } else {
+                    blocked.add(new DateRangeDto(rangeFrom, rangeTo));
+                }
+                day = bitmap.nextBlockedDay(end);
+            }
+        }
+        return new RentalAvailabilityDto(rentalId, from, to, blocked.isEmpty(), blocked);
+    }
+
+    private List<RentalDto> loadInOrder(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> idList = Arrays.stream(ids).boxed().collect(Collectors.toList());
+        // Location supprimée entre la recherche et le chargement : absente de la page
+        return rentalRepository.findRowsByIdIn(idList).stream()
+                .sorted(Comparator.comparing(RentalRow::id))
+                .map(RentalRow::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private void validatePeriod(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Les dates de début (from) et de fin (to) sont obligatoires");
+        }
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("La date de fin doit être postérieure à la date de début");
+        }
+        LocalDate today = LocalDate.now();
+        if (from.isBefore(today)) {
+            throw new IllegalArgumentException("La période ne peut pas commencer avant aujourd'hui");
+        }
+        LocalDate horizon = today.plusDays(horizonDays);
+        if (to.isAfter(horizon)) {
+            throw new IllegalArgumentException("La période doit se terminer au plus tard le " + horizon);
+        }
+    }
+}
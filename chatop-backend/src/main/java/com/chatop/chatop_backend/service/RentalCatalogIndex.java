@@ -0,0 +1,798 @@
+package com.chatop.chatop_backend.service;
+
+import com.chatop.chatop_backend.dto.RentalCatalogRow;
+import com.chatop.chatop_backend.dto.RentalSearchCriteria;
+import com.chatop.chatop_backend.event.RentalChangedEvent;
+import com.chatop.chatop_backend.event.RentalsImportedEvent;
+import com.chatop.chatop_backend.repository.RentalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Index en mémoire du catalogue des locations, optimisé pour la lecture.
+ * - Les prix et surfaces sont stockés en virgule fixe (centièmes, long) dans des tables triées de tableaux
+ *   primitifs : une recherche par intervalle se résume à deux recherches dichotomiques.
+ * - L'index est immuable : chaque modification produit une nouvelle version publiée par une référence volatile.
+ *   Les tables sont découpées en segments ({@link Table}) : une écriture ne recopie que les segments touchés
+ *   et leur répertoire, au lieu des 11 tableaux de N valeurs (près de 90 Mo à un million de locations). Les lectures ne prennent jamais de verrou.
+ * - Il est construit au démarrage depuis la base, puis mis à jour à chaque {@link RentalChangedEvent}
+ *   validé (voir {@link EventSyncedIndex}). {@link #checkConsistency()} le compare à la base.
+ * Seules les recherches sans propriétaire, sans mot-clé et portant sur au plus un intervalle (prix ou surface)
+ * sont servies par l'index ; les autres sont laissées à MySQL.
+ *
+ * @Component indique que cette classe est un composant Spring.
+ */
+@Component
+public class RentalCatalogIndex extends EventSyncedIndex<RentalCatalogIndex.Snapshot> {
+
+    /**
+     * Colonnes indexées.
+     */
+    public enum Dimension { PRICE, SURFACE }
+
+    /**
+     * Résultat d'une recherche servie par l'index.
+     *
+     * @param ids Identifiants de la page, dans l'ordre demandé
+     * @param total Nombre total de locations correspondant aux critères
+     * @param priceFacet Nombre de locations par tranche de prix (filtre de prix ignoré)
+     * @param surfaceFacet Nombre de locations par tranche de surface (filtre de surface ignoré)
+     */
+    public record SearchResult(long[] ids, long total, long[] priceFacet, long[] surfaceFacet) {
+    }
+
+    /**
+     * Résultat de la comparaison entre l'index et la base de données.
+     * Des écarts peuvent apparaître si des écritures ont lieu pendant la vérification.
+     */
+    public record ConsistencyReport(boolean consistent, int indexSize, long databaseSize, long missing,
+            long extra, long mismatched, List<Long> sampleIds, Instant checkedAt) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(RentalCatalogIndex.class);
+
+    // Nombre de décimales conservées (centimes, centièmes de m²)
+    private static final int SCALE = 2;
+    private static final int SAMPLE_SIZE = 20;
+
+    // Champs des tables : clé de tri, identifiant (départage), puis valeurs associées
+    static final int KEY = 0;
+    static final int ID = 1;
+    // Colonnes triées par prix ou surface : valeur de l'autre dimension
+    static final int OTHER = 2;
+    // Table triée par identifiant (clé = identifiant)
+    static final int PRICE = 2;
+    static final int SURFACE = 3;
+    static final int OWNER = 4;
+
+    private final RentalRepository rentalRepository;
+
+    public RentalCatalogIndex(RentalRepository rentalRepository, PlatformTransactionManager transactionManager,
+            @Value("${chatop.catalog.enabled:true}") boolean enabled,
+            @Value("${chatop.index.rebuild-retry-delay:30s}") Duration retryDelay) {
+        super("📚 Index du catalogue", enabled, Snapshot.EMPTY, transactionManager, retryDelay);
+        this.rentalRepository = rentalRepository;
+    }
+
+    /**
+     * Construit l'index une fois l'application démarrée.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (isEnabled()) {
+            rebuild();
+        } else {
+            log.info("📚 Index du catalogue des locations désactivé");
+        }
+    }
+
+    /**
+     * Reconstruit l'index après un import en masse (les lignes importées ne produisent pas d'événement unitaire).
+     *
+     * @param event Import terminé
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalsImported(RentalsImportedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        log.info("📚 Reconstruction de l'index catalogue après l'import de {} locations", event.imported());
+        rebuild();
+    }
+
+    /**
+     * Applique une modification validée d'une location (opération idempotente, rejouable après une reconstruction).
+     *
+     * @param event Modification de la location
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalChanged(RentalChangedEvent event) {
+        apply(snapshot -> snapshot.apply(event), event.type() + " " + event.rentalId());
+    }
+
+    @Override
+    protected Snapshot load(Snapshot current) {
+        try (Stream<RentalCatalogRow> rows = rentalRepository.streamCatalogRows()) {
+            return Snapshot.build(rows.iterator());
+        }
+    }
+
+    @Override
+    protected String describe(Snapshot snapshot) {
+        return snapshot.size() + " locations";
+    }
+
+    /**
+     * Indique si la recherche peut être servie par l'index.
+     *
+     * @param criteria Critères de recherche
+     * @return true si l'index est prêt et que les critères sont supportés
+     */
+    public boolean supports(RentalSearchCriteria criteria) {
+        boolean priceRange = criteria.getMinPrice() != null || criteria.getMaxPrice() != null;
+        boolean surfaceRange = criteria.getMinSurface() != null || criteria.getMaxSurface() != null;
+        return isUsable()
+                && criteria.getOwnerId() == null
+                && (criteria.getKeyword() == null || criteria.getKeyword().isBlank())
+                && !(priceRange && surfaceRange);
+    }
+
+    /**
+     * Recherche des locations dans l'index (voir {@link #supports(RentalSearchCriteria)}).
+     *
+     * @param criteria Critères de recherche
+     * @param offset Position du premier résultat
+     * @param limit Nombre maximal de résultats
+     * @param priceBounds Bornes des tranches de prix
+     * @param surfaceBounds Bornes des tranches de surface
+     * @return Résultat, ou Optional.empty() si l'index ne peut pas servir cette recherche
+     */
+    public Optional<SearchResult> search(RentalSearchCriteria criteria, int offset, int limit,
+            BigDecimal[] priceBounds, BigDecimal[] surfaceBounds) {
+        if (!supports(criteria)) {
+            return Optional.empty();
+        }
+        Snapshot s = currentState();
+        Dimension rangeDimension = null;
+        BigDecimal min = null;
+        BigDecimal max = null;
+        if (criteria.getMinPrice() != null || criteria.getMaxPrice() != null) {
+            rangeDimension = Dimension.PRICE;
+            min = criteria.getMinPrice();
+            max = criteria.getMaxPrice();
+        } else if (criteria.getMinSurface() != null || criteria.getMaxSurface() != null) {
+            rangeDimension = Dimension.SURFACE;
+            min = criteria.getMinSurface();
+            max = criteria.getMaxSurface();
+        }
+
+        Table column = rangeDimension == null ? null : s.column(rangeDimension);
+        int from = 0;
+        int to = s.size();
+        if (column != null) {
+            from = min == null ? 0 : column.lowerBound(toFixed(min, RoundingMode.CEILING));
+            to = max == null ? column.size() : column.upperBound(toFixed(max, RoundingMode.FLOOR));
+            to = Math.max(from, to);
+        }
+
+        long[] ids = page(s, rangeDimension, column, from, to, criteria.getSort(), offset, limit);
+        long[] priceFacet = facet(s, Dimension.PRICE, priceBounds, rangeDimension, column, from, to);
+        long[] surfaceFacet = facet(s, Dimension.SURFACE, surfaceBounds, rangeDimension, column, from, to);
+        return Optional.of(new SearchResult(ids, to - from, priceFacet, surfaceFacet));
+    }
+
+    /**
+     * Compare l'index à la base de données (identifiants, prix, surfaces et propriétaires).
+     *
+     * @return Rapport de cohérence
+     */
+    public ConsistencyReport checkConsistency() {
+        Snapshot s = currentState();
+        long[] counters = new long[4]; // base, manquants, en trop, différents
+        List<Long> samples = new ArrayList<>();
+        readOnlyTransaction().executeWithoutResult(status -> {
+            try (Stream<RentalCatalogRow> rows = rentalRepository.streamCatalogRows()) {
+                Iterator<RentalCatalogRow> iterator = rows.iterator();
+                int i = 0;
+                while (iterator.hasNext()) {
+                    RentalCatalogRow row = iterator.next();
+                    counters[0]++;
+                    long id = row.id();
+                    while (i < s.size() && s.byId.get(ID, i) < id) {
+                        counters[2]++;
+                        sample(samples, s.byId.get(ID, i++));
+                    }
+                    if (i < s.size() && s.byId.get(ID, i) == id) {
+                        if (s.byId.get(PRICE, i) != toFixed(row.price(), RoundingMode.HALF_UP)
+                                || s.byId.get(SURFACE, i) != toFixed(row.surface(), RoundingMode.HALF_UP)
+                                || s.byId.get(OWNER, i) != row.ownerId()) {
+                            counters[3]++;
+                            sample(samples, id);
+                        }
+                        i++;
+                    } else {
+                        counters[1]++;
+                        sample(samples, id);
+                    }
+                }
+                while (i < s.size()) {
+                    counters[2]++;
+                    sample(samples, s.byId.get(ID, i++));
+                }
+            }
+        });
+        boolean consistent = counters[1] == 0 && counters[2] == 0 && counters[3] == 0;
+        if (!consistent) {
+            log.warn("⚠️ Index du catalogue incohérent: {} manquantes, {} en trop, {} différentes",
+                    counters[1], counters[2], counters[3]);
+        }
+        return new ConsistencyReport(consistent, s.size(), counters[0], counters[1], counters[2], counters[3],
+                samples, Instant.now());
+    }
+
+    @Override
+    protected void addStats(Snapshot s, Map<String, Object> stats) {
+        stats.put("size", s.size());
+        stats.put("version", s.version);
+        stats.put("updatedAt", s.updatedAt);
+        stats.put("segments", s.byId.segmentCount() + s.byPrice.segmentCount() + s.bySurface.segmentCount());
+        // 5 valeurs par location dans la table par identifiant + 3 par colonne triée, 8 octets par valeur
+        stats.put("estimatedBytes", (long) s.size() * 11 * Long.BYTES);
+    }
+
+    private static void sample(List<Long> samples, long id) {
+        if (samples.size() < SAMPLE_SIZE) {
+            samples.add(id);
+        }
+    }
+
+    /**
+     * Extrait la page demandée, dans l'ordre de tri demandé, parmi les positions [from, to) de la colonne filtrée.
+     */
+    private static long[] page(Snapshot s, Dimension rangeDimension, Table column, int from, int to,
+            RentalSearchCriteria.Sort sort, int offset, int limit) {
+        RentalSearchCriteria.Sort order = sort == null ? RentalSearchCriteria.Sort.NEWEST : sort;
+        Dimension sortDimension = switch (order) {
+            case PRICE_ASC, PRICE_DESC -> Dimension.PRICE;
+            case SURFACE_ASC, SURFACE_DESC -> Dimension.SURFACE;
+            case NEWEST, OLDEST -> null;
+        };
+        boolean descending = order == RentalSearchCriteria.Sort.NEWEST
+                || order == RentalSearchCriteria.Sort.PRICE_DESC
+                || order == RentalSearchCriteria.Sort.SURFACE_DESC;
+
+        // Sans filtre, ou filtre et tri sur la même colonne : l'ordre voulu est déjà celui de la table
+        if (rangeDimension == null) {
+            Table ordered = sortDimension == null ? s.byId : s.column(sortDimension);
+            return slice(ordered, 0, ordered.size(), offset, limit, descending);
+        }
+        if (rangeDimension == sortDimension) {
+            return slice(column, from, to, offset, limit, descending);
+        }
+
+        // Filtre et tri sur des colonnes différentes : sélection des N premiers avec un tas borné
+        int wanted = (int) Math.min((long) offset + limit, to - from);
+        if (wanted <= 0) {
+            return new long[0];
+        }
+        int sortField = sortDimension == null ? ID : OTHER;
+        // Candidats {clé de tri, identifiant}
+        Comparator<long[]> ascending = Comparator.<long[]>comparingLong(c -> c[0]).thenComparingLong(c -> c[1]);
+        Comparator<long[]> wantedOrder = descending ? ascending.reversed() : ascending;
+        // Le tas garde en tête le pire des N meilleurs éléments rencontrés
+        PriorityQueue<long[]> heap = new PriorityQueue<>(wanted, wantedOrder.reversed());
+        column.forEachRow(from, to, (fields, i) -> {
+            long key = fields[sortField][i];
+            long id = fields[ID][i];
+            if (heap.size() < wanted) {
+                heap.add(new long[] { key, id });
+                return;
+            }
+            long[] worst = heap.peek();
+            int cmp = key != worst[0] ? Long.compare(key, worst[0]) : Long.compare(id, worst[1]);
+            if ((descending ? -cmp : cmp) < 0) {
+                heap.poll();
+                heap.add(new long[] { key, id });
+            }
+        });
+        long[][] best = heap.toArray(new long[0][]);
+        Arrays.sort(best, wantedOrder);
+        int count = Math.max(0, Math.min(limit, best.length - offset));
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = best[offset + i][1];
+        }
+        return ids;
+    }
+
+    private static long[] slice(Table ordered, int from, int to, int offset, int limit, boolean descending) {
+        int count = (int) Math.max(0, Math.min((long) limit, (long) (to - from) - offset));
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = ordered.get(ID, descending ? to - 1 - offset - i : from + offset + i);
+        }
+        return ids;
+    }
+
+    /**
+     * Compte les locations par tranche pour une facette (le filtre de la dimension elle-même est ignoré).
+     */
+    private static long[] facet(Snapshot s, Dimension dimension, BigDecimal[] bounds, Dimension rangeDimension,
+            Table rangeColumn, int from, int to) {
+        long[] fixedBounds = new long[bounds.length];
+        for (int i = 0; i < bounds.length; i++) {
+            fixedBounds[i] = toFixed(bounds[i], RoundingMode.CEILING);
+        }
+        long[] counts = new long[bounds.length + 1];
+        if (rangeDimension == null || rangeDimension == dimension) {
+            // Toutes les locations : chaque tranche se compte par recherche dichotomique
+            Table column = s.column(dimension);
+            int previous = 0;
+            for (int i = 0; i < fixedBounds.length; i++) {
+                int position = column.lowerBound(fixedBounds[i]);
+                counts[i] = position - previous;
+                previous = position;
+            }
+            counts[bounds.length] = column.size() - previous;
+        } else {
+            // Locations filtrées sur l'autre colonne : parcours des valeurs de cette dimension
+            rangeColumn.forEachRow(from, to, (fields, i) -> counts[upperBound(fixedBounds, fields[OTHER][i])]++);
+        }
+        return counts;
+    }
+
+    static long toFixed(BigDecimal value, RoundingMode roundingMode) {
+        return value.movePointRight(SCALE).setScale(0, roundingMode).longValueExact();
+    }
+
+    /**
+     * Première position dont la valeur est strictement supérieure à value.
+     */
+    private static int upperBound(long[] sorted, long value) {
+        return upperBound(sorted, sorted.length, value);
+    }
+
+    private static int upperBound(long[] sorted, int length, long value) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Table immuable de lignes triées par (clé, identifiant), stockée par champ dans des tableaux primitifs
+     * et découpée en segments (SEGMENT_SIZE lignes à la construction, coupés en deux au-delà de 2 × SEGMENT_SIZE).
+     * Une insertion ou une suppression recopie un seul segment et le répertoire des segments (une référence et une
+     * position par segment) : au plus quelques centaines de Ko, quelle que soit la taille de la table.
+     * Les segments vidés sont retirés ; la reconstruction de l'index les regroupe à nouveau.
+     * Les positions sont globales (0 à size() - 1), comme dans un tableau unique.
+     */
+    static final class Table {
+
+        static final int SEGMENT_SIZE = 1024;
+
+        /**
+         * Visite d'une ligne : fields[champ][index] dans le segment courant.
+         */
+        @FunctionalInterface
+        interface RowVisitor {
+            void visit(long[][] fields, int index);
+        }
+
+        final int width;
+        // segments[s][champ][ligne]
+        private final long[][][] segments;
+        // starts[s] : position de la première ligne du segment s ; starts[segments.length] = nombre de lignes
+        private final int[] starts;
+
+        private Table(int width, long[][][] segments, int[] starts) {
+            this.width = width;
+            this.segments = segments;
+            this.starts = starts;
+        }
+
+        static Table empty(int width) {
+            return new Table(width, new long[0][][], new int[] { 0 });
+        }
+
+        /**
+         * Construit une table à partir de colonnes complètes déjà triées par (clé, identifiant).
+         */
+        static Table of(long[]... fields) {
+            int size = fields[KEY].length;
+            int count = (size + SEGMENT_SIZE - 1) / SEGMENT_SIZE;
+            long[][][] segments = new long[count][][];
+            int[] starts = new int[count + 1];
+            for (int s = 0; s < count; s++) {
+                int from = s * SEGMENT_SIZE;
+                int to = Math.min(size, from + SEGMENT_SIZE);
+                segments[s] = new long[fields.length][];
+                for (int f = 0; f < fields.length; f++) {
+                    segments[s][f] = Arrays.copyOfRange(fields[f], from, to);
+                }
+                starts[s] = from;
+            }
+            starts[count] = size;
+            return new Table(fields.length, segments, starts);
+        }
+
+        int size() {
+            return starts[segments.length];
+        }
+
+        int segmentCount() {
+            return segments.length;
+        }
+
+        long get(int field, int position) {
+            int s = segmentOf(position);
+            return segments[s][field][position - starts[s]];
+        }
+
+        void forEachRow(int from, int to, RowVisitor visitor) {
+            if (from >= to) {
+                return;
+            }
+            for (int s = segmentOf(from); s < segments.length && starts[s] < to; s++) {
+                int first = Math.max(from, starts[s]) - starts[s];
+                int last = Math.min(to, starts[s + 1]) - starts[s];
+                for (int i = first; i < last; i++) {
+                    visitor.visit(segments[s], i);
+                }
+            }
+        }
+
+        /** Première position dont la clé est supérieure ou égale à min. */
+        int lowerBound(long min) {
+            // Premier segment dont la dernière clé est >= min
+            int low = 0;
+            int high = segments.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (lastKey(mid) < min) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low == segments.length) {
+                return size();
+            }
+            long[] keys = segments[low][KEY];
+            int first = 0;
+            int last = keys.length;
+            while (first < last) {
+                int mid = (first + last) >>> 1;
+                if (keys[mid] < min) {
+                    first = mid + 1;
+                } else {
+                    last = mid;
+                }
+            }
+            return starts[low] + first;
+        }
+
+        /** Première position dont la clé est strictement supérieure à max. */
+        int upperBound(long max) {
+            // Premier segment dont la dernière clé est > max
+            int low = 0;
+            int high = segments.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (lastKey(mid) <= max) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low == segments.length) {
+                return size();
+            }
+            long[] keys = segments[low][KEY];
+            return starts[low] + RentalCatalogIndex.upperBound(keys, keys.length, max);
+        }
+
+        /** Position de (key, id), ou -(point d'insertion) - 1. */
+        int find(long key, long id) {
+            int s = segmentFor(key, id);
+            if (s == segments.length) {
+                return -(size() + 1);
+            }
+            int local = findLocal(segments[s], key, id);
+            return local >= 0 ? starts[s] + local : -(starts[s] + (-(local + 1)) + 1);
+        }
+
+        /**
+         * Insère une ligne (row[KEY], row[ID], valeurs associées) à sa place.
+         */
+        Table with(long... row) {
+            if (segments.length == 0) {
+                long[][] segment = new long[width][];
+                for (int f = 0; f < width; f++) {
+                    segment[f] = new long[] { row[f] };
+                }
+                return new Table(width, new long[][][] { segment }, new int[] { 0, 1 });
+            }
+            // Après la dernière ligne : ajout au dernier segment
+            int s = Math.min(segmentFor(row[KEY], row[ID]), segments.length - 1);
+            long[][] segment = segments[s];
+            int local = findLocal(segment, row[KEY], row[ID]);
+            int position = local >= 0 ? local : -(local + 1);
+            long[][] updated = new long[width][];
+            for (int f = 0; f < width; f++) {
+                updated[f] = insert(segment[f], position, row[f]);
+            }
+            if (updated[KEY].length <= 2 * SEGMENT_SIZE) {
+                return replace(s, updated);
+            }
+            // Segment trop grand : coupé en deux moitiés
+            int half = updated[KEY].length / 2;
+            long[][] left = new long[width][];
+            long[][] right = new long[width][];
+            for (int f = 0; f < width; f++) {
+                left[f] = Arrays.copyOfRange(updated[f], 0, half);
+                right[f] = Arrays.copyOfRange(updated[f], half, updated[f].length);
+            }
+            return replace(s, left, right);
+        }
+
+        Table without(long key, long id) {
+            int s = segmentFor(key, id);
+            if (s == segments.length) {
+                return this;
+            }
+            long[][] segment = segments[s];
+            int local = findLocal(segment, key, id);
+            if (local < 0) {
+                return this;
+            }
+            if (segment[KEY].length == 1) {
+                return replace(s);
+            }
+            long[][] updated = new long[width][];
+            for (int f = 0; f < width; f++) {
+                updated[f] = remove(segment[f], local);
+            }
+            return replace(s, updated);
+        }
+
+        private long lastKey(int s) {
+            long[] keys = segments[s][KEY];
+            return keys[keys.length - 1];
+        }
+
+        // Segment contenant la position (0 <= position < size())
+        private int segmentOf(int position) {
+            int low = 0;
+            int high = segments.length - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (starts[mid] <= position) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        // Premier segment dont la dernière ligne est >= (key, id), segments.length s'il n'y en a pas
+        private int segmentFor(long key, long id) {
+            int low = 0;
+            int high = segments.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                long[][] segment = segments[mid];
+                int last = segment[KEY].length - 1;
+                if (compare(segment, last, key, id) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static int findLocal(long[][] segment, long key, long id) {
+            int low = 0;
+            int high = segment[KEY].length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(segment, mid, key, id);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private static int compare(long[][] segment, int index, long key, long id) {
+            long rowKey = segment[KEY][index];
+            return rowKey != key ? Long.compare(rowKey, key) : Long.compare(segment[ID][index], id);
+        }
+
+        // Remplace le segment s par zéro, un ou deux segments ; seul le répertoire est recopié
+        private Table replace(int s, long[][]... replacement) {
+            int count = segments.length - 1 + replacement.length;
+            long[][][] updated = new long[count][][];
+            System.arraycopy(segments, 0, updated, 0, s);
+            System.arraycopy(replacement, 0, updated, s, replacement.length);
+            System.arraycopy(segments, s + 1, updated, s + replacement.length, segments.length - s - 1);
+            int[] updatedStarts = new int[count + 1];
+            System.arraycopy(starts, 0, updatedStarts, 0, s + 1);
+            for (int i = s; i < count; i++) {
+                updatedStarts[i + 1] = updatedStarts[i] + updated[i][KEY].length;
+            }
+            return new Table(width, updated, updatedStarts);
+        }
+    }
+
+    /**
+     * Version immuable de l'index : une table par identifiant (prix, surface, propriétaire)
+     * et une colonne triée par prix et par surface.
+     */
+    static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(Table.empty(5), Table.empty(3), Table.empty(3), 0);
+
+        // Champs : KEY = ID = identifiant, PRICE, SURFACE, OWNER
+        final Table byId;
+        // Champs : KEY = prix (ou surface), ID, OTHER = surface (ou prix)
+        final Table byPrice;
+        final Table bySurface;
+        final long version;
+        final Instant updatedAt = Instant.now();
+
+        Snapshot(Table byId, Table byPrice, Table bySurface, long version) {
+            this.byId = byId;
+            this.byPrice = byPrice;
+            this.bySurface = bySurface;
+            this.version = version;
+        }
+
+        int size() {
+            return byId.size();
+        }
+
+        Table column(Dimension dimension) {
+            return dimension == Dimension.PRICE ? byPrice : bySurface;
+        }
+
+        /**
+         * Construit l'index à partir de lignes triées par identifiant.
+         */
+        static Snapshot build(Iterator<RentalCatalogRow> rows) {
+            LongArray ids = new LongArray();
+            LongArray prices = new LongArray();
+            LongArray surfaces = new LongArray();
+            LongArray owners = new LongArray();
+            while (rows.hasNext()) {
+                RentalCatalogRow row = rows.next();
+                ids.add(row.id());
+                prices.add(toFixed(row.price(), RoundingMode.HALF_UP));
+                surfaces.add(toFixed(row.surface(), RoundingMode.HALF_UP));
+                owners.add(row.ownerId());
+            }
+            long[] idArray = ids.toArray();
+            long[] priceArray = prices.toArray();
+            long[] surfaceArray = surfaces.toArray();
+            return new Snapshot(Table.of(idArray, idArray, priceArray, surfaceArray, owners.toArray()),
+                    sortedColumn(idArray, priceArray, surfaceArray),
+                    sortedColumn(idArray, surfaceArray, priceArray), 1);
+        }
+
+        private static Table sortedColumn(long[] ids, long[] keys, long[] others) {
+            Integer[] order = new Integer[ids.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            // Les identifiants sont déjà croissants : un tri stable sur la clé donne l'ordre (clé, id)
+            Arrays.sort(order, Comparator.comparingLong(i -> keys[i]));
+            long[] sortedKeys = new long[ids.length];
+            long[] sortedIds = new long[ids.length];
+            long[] sortedOthers = new long[ids.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedKeys[i] = keys[order[i]];
+                sortedIds[i] = ids[order[i]];
+                sortedOthers[i] = others[order[i]];
+            }
+            return Table.of(sortedKeys, sortedIds, sortedOthers);
+        }
+
+        /**
+         * Produit la version suivante de l'index après une modification (opération idempotente).
+         */
+        Snapshot apply(RentalChangedEvent event) {
+            Snapshot base = without(event.rentalId());
+            if (event.type() == RentalChangedEvent.Type.DELETED || event.rental() == null) {
+                return base;
+            }
+            return base.with(event.rentalId(),
+                    toFixed(event.rental().getPrice(), RoundingMode.HALF_UP),
+                    toFixed(event.rental().getSurface(), RoundingMode.HALF_UP),
+                    event.ownerId() == null ? 0L : event.ownerId());
+        }
+
+        private Snapshot with(long id, long price, long surface, long owner) {
+            return new Snapshot(byId.with(id, id, price, surface, owner), byPrice.with(price, id, surface),
+                    bySurface.with(surface, id, price), version + 1);
+        }
+
+        private Snapshot without(long id) {
+            int position = byId.find(id, id);
+            if (position < 0) {
+                return this;
+            }
+            long price = byId.get(PRICE, position);
+            long surface = byId.get(SURFACE, position);
+            return new Snapshot(byId.without(id, id), byPrice.without(price, id), bySurface.without(surface, id),
+                    version + 1);
+        }
+    }
+
+    private static long[] insert(long[] array, int position, long value) {
+        long[] copy = new long[array.length + 1];
+        System.arraycopy(array, 0, copy, 0, position);
+        copy[position] = value;
+        System.arraycopy(array, position, copy, position + 1, array.length - position);
+        return copy;
+    }
+
+    private static long[] remove(long[] array, int position) {
+        long[] copy = new long[array.length - 1];
+        System.arraycopy(array, 0, copy, 0, position);
+        System.arraycopy(array, position + 1, copy, position, array.length - position - 1);
+        return copy;
+    }
+
+    /**
+     * Tableau de long extensible, utilisé pendant la construction.
+     */
+    private static final class LongArray {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
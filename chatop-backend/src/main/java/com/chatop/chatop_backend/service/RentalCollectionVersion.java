@@ -0,0 +1,63 @@
+package com.chatop.chatop_backend.service;
+
+import com.chatop.chatop_backend.event.RentalChangedEvent;
+import com.chatop.chatop_backend.event.RentalsImportedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteur de version de la collection des locations, utilisé comme ETag de GET /api/rentals.
+ * Il est incrémenté après la validation de chaque {@link RentalChangedEvent} : une lecture ne peut donc
+ * jamais associer un contenu ancien à une version récente. Le compteur est propre à l'instance et repart
+ * d'une nouvelle époque à chaque démarrage ; avec plusieurs instances, les écritures faites sur une autre
+ * instance ne sont pas vues (même limite que l'index du catalogue).
+ *
+ * @Component indique que cette classe est un composant Spring.
+ */
+@Component
+public class RentalCollectionVersion {
+
+    private final long epoch = ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE;
+    private final AtomicLong counter = new AtomicLong();
+    // Arrondi à la seconde : If-Modified-Since n'a qu'une précision d'une seconde
+    private volatile long lastModified = System.currentTimeMillis() / 1000 * 1000;
+
+    /**
+     * Incrémente la version après une modification validée d'une location.
+     *
+     * @param event Modification de la location
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalChanged(RentalChangedEvent event) {
+        markChanged();
+    }
+
+    /**
+     * Incrémente la version après un import de locations en masse.
+     *
+     * @param event Import terminé
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalsImported(RentalsImportedEvent event) {
+        markChanged();
+    }
+
+    /**
+     * Incrémente la version de la collection (modification hors événement unitaire, import en masse...).
+     */
+    public void markChanged() {
+        lastModified = System.currentTimeMillis();
+        counter.incrementAndGet();
+    }
+
+    /**
+     * @return Version courante de la collection
+     */
+    public ResourceVersion current() {
+        long modified = lastModified;
+        return ResourceVersion.ofCollection("rentals", epoch, counter.get(), modified);
+    }
+}
@@ -0,0 +1,122 @@
+package com.chatop.chatop_backend.service;
+
+import com.chatop.chatop_backend.dto.RentalDto;
+import com.chatop.chatop_backend.dto.RentalGeoRow;
+import com.chatop.chatop_backend.event.RentalChangedEvent;
+import com.chatop.chatop_backend.event.RentalsImportedEvent;
+import com.chatop.chatop_backend.repository.RentalRepository;
+import com.chatop.chatop_backend.search.GeoArea;
+import com.chatop.chatop_backend.search.RentalGeoGrid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Index spatial en mémoire des locations géolocalisées ({@link RentalGeoGrid}).
+ * Il est construit au démarrage depuis la base, puis mis à jour à chaque {@link RentalChangedEvent} validé
+ * (une location sans coordonnées en est retirée). Tant qu'il n'est pas prêt, ou s'il est périmé après une erreur,
+ * les recherches géographiques sont faites en base.
+ *
+ * @Component indique que cette classe est un composant Spring.
+ */
+@Component
+public class RentalGeoIndex extends EventSyncedIndex<RentalGeoGrid> {
+
+    private static final Logger log = LoggerFactory.getLogger(RentalGeoIndex.class);
+
+    private final RentalRepository rentalRepository;
+    private final double cellSizeDegrees;
+
+    public RentalGeoIndex(RentalRepository rentalRepository, PlatformTransactionManager transactionManager,
+            @Value("${chatop.geo.enabled:true}") boolean enabled,
+            @Value("${chatop.geo.cell-size-degrees:0.1}") double cellSizeDegrees,
+            @Value("${chatop.index.rebuild-retry-delay:30s}") Duration retryDelay) {
+        super("🗺️ Index spatial", enabled, new RentalGeoGrid(cellSizeDegrees), transactionManager, retryDelay);
+        this.rentalRepository = rentalRepository;
+        this.cellSizeDegrees = cellSizeDegrees;
+    }
+
+    /**
+     * Construit l'index une fois l'application démarrée.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (isEnabled()) {
+            rebuild();
+        } else {
+            log.info("🗺️ Index spatial des locations désactivé");
+        }
+    }
+
+    /**
+     * Reconstruit l'index après un import en masse (les lignes importées ne produisent pas d'événement unitaire).
+     *
+     * @param event Import terminé
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalsImported(RentalsImportedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        log.info("🗺️ Reconstruction de l'index spatial après l'import de {} locations", event.imported());
+        rebuild();
+    }
+
+    /**
+     * Applique une modification validée d'une location.
+     *
+     * @param event Modification de la location
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalChanged(RentalChangedEvent event) {
+        apply(grid -> {
+            RentalDto rental = event.rental();
+            if (event.type() == RentalChangedEvent.Type.DELETED || rental == null
+                    || rental.getLatitude() == null || rental.getLongitude() == null) {
+                grid.remove(event.rentalId());
+            } else {
+                grid.put(event.rentalId(), rental.getLatitude(), rental.getLongitude());
+            }
+            return grid;
+        }, event.type() + " " + event.rentalId());
+    }
+
+    /**
+     * Recherche les locations d'une zone, de la plus proche à la plus éloignée du point de référence.
+     *
+     * @param area Zone de recherche
+     * @param limit Nombre maximal de résultats
+     * @return Résultats, ou Optional.empty() si l'index n'est pas utilisable
+     */
+    public Optional<RentalGeoGrid.Hits> search(GeoArea area, int limit) {
+        return usableState().map(grid -> grid.search(area, limit));
+    }
+
+    @Override
+    protected RentalGeoGrid load(RentalGeoGrid current) {
+        try (Stream<RentalGeoRow> rows = rentalRepository.streamGeoRows()) {
+            return RentalGeoGrid.build(rows.iterator(), cellSizeDegrees);
+        }
+    }
+
+    @Override
+    protected String describe(RentalGeoGrid grid) {
+        return grid.size() + " locations géolocalisées";
+    }
+
+    @Override
+    protected void addStats(RentalGeoGrid grid, Map<String, Object> stats) {
+        stats.put("cellSizeDegrees", cellSizeDegrees);
+        stats.put("rentals", grid == null ? 0 : grid.size());
+    }
+}
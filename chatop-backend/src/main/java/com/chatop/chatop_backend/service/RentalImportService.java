@@ -0,0 +1,423 @@
+package com.chatop.chatop_backend.service;
+
+import com.chatop.chatop_backend.dto.RentalImportErrorDto;
+import com.chatop.chatop_backend.dto.RentalImportProgressDto;
+import com.chatop.chatop_backend.dto.RentalImportRow;
+import com.chatop.chatop_backend.event.RentalsImportedEvent;
+import com.chatop.chatop_backend.search.GeoArea;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Import de locations en masse (POST /api/rentals/import) depuis un flux NDJSON ou CSV.
+ * - Le flux est lu au fil de l'eau : seul le lot courant (chatop.rentals.import.chunk-size lignes) est en mémoire.
+ * - Les propriétaires d'un lot sont résolus en une seule requête (email IN (...)) et mémorisés pour la suite.
+ * - Les lignes valides d'un lot sont insérées par JdbcTemplate.batchUpdate dans une transaction.
+ *   Hibernate ne regroupe pas les INSERT d'entités en GenerationType.IDENTITY (hibernate.jdbc.batch_size
+ *   est ignoré pour les locations) ; ici, avec rewriteBatchedStatements=true, le pilote MySQL envoie
+ *   chaque lot sous forme d'INSERT multi-lignes, en conservant l'AUTO_INCREMENT existant.
+ * - Une ligne de progression NDJSON est écrite après chaque lot ; un lot refusé par la base est rejeté
+ *   en entier sans interrompre l'import.
+ * Les index en mémoire et la version de la collection sont mis à jour une seule fois, à la fin,
+ * via {@link RentalsImportedEvent}.
+ *
+ * @Service indique que cette classe est un service Spring.
+ */
+@Service
+public class RentalImportService {
+
+    /**
+     * Formats d'import acceptés.
+     */
+    public enum Format { NDJSON, CSV }
+
+    private static final Logger log = LoggerFactory.getLogger(RentalImportService.class);
+
+    private static final String INSERT_RENTAL = "INSERT INTO RENTALS (name, surface, price, picture, description, "
+            + "latitude, longitude, owner_id, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String SELECT_OWNERS = "SELECT id, email FROM USERS WHERE email IN (:emails)";
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final ObjectReader rowReader;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final long maxRows;
+    private final int maxErrors;
+
+    public RentalImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper, JsonStreamWriter jsonStreamWriter, ApplicationEventPublisher eventPublisher,
+            @Value("${chatop.rentals.import.chunk-size:1000}") int chunkSize,
+            @Value("${chatop.rentals.import.max-rows:1000000}") long maxRows,
+            @Value("${chatop.rentals.import.max-errors:100}") int maxErrors) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chatop.rentals.import.chunk-size doit être positif");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.rowReader = objectMapper.readerFor(RentalImportRow.class);
+        this.jsonStreamWriter = jsonStreamWriter;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Importe les locations lues dans le flux et écrit la progression en NDJSON.
+     * Les lignes sans owner_email (ou avec l'email de l'appelant) sont attribuées à l'appelant ;
+     * un autre propriétaire n'est accepté que si allowOtherOwners est vrai.
+     *
+     * @param in Flux à importer (UTF-8)
+     * @param format Format du flux
+     * @param callerId Identifiant de l'utilisateur authentifié
+     * @param callerEmail Email de l'utilisateur authentifié
+     * @param allowOtherOwners true si l'appelant peut importer des locations pour d'autres utilisateurs
+     * @param progressOut Flux de la réponse : une ligne par lot (il n'est pas fermé)
+     * @return Bilan de l'import ("done" ou "failed"), à écrire par l'appelant
+     */
+    public RentalImportProgressDto importRentals(InputStream in, Format format, Long callerId, String callerEmail,
+            boolean allowOtherOwners, OutputStream progressOut) {
+        ImportState state = new ImportState(callerId, callerEmail, allowOtherOwners);
+        log.info("📦 Début de l'import {} de locations pour l'utilisateur {}", format, callerId);
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            RowSource source = format == Format.CSV ? new CsvRowSource(reader) : new NdjsonRowSource(reader);
+            List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+            int readInChunk = 0;
+            ParsedRow row;
+            while ((row = source.next()) != null) {
+                if (state.read == maxRows) {
+                    throw new IllegalStateException("Import limité à " + maxRows + " lignes");
+                }
+                state.read++;
+                if (row.error() != null) {
+                    state.reject(row.line(), row.error());
+                } else {
+                    chunk.add(row);
+                }
+                if (++readInChunk == chunkSize) {
+                    writeChunk(chunk, state);
+                    jsonStreamWriter.writeLine(progressOut, state.progress("progress", false));
+                    chunk.clear();
+                    readInChunk = 0;
+                }
+            }
+            if (readInChunk > 0) {
+                writeChunk(chunk, state);
+                jsonStreamWriter.writeLine(progressOut, state.progress("progress", false));
+            }
+            log.info("✅ Import terminé: {} lignes lues, {} locations insérées, {} rejetées en {} ms",
+                    state.read, state.imported, state.rejected, state.elapsedMillis());
+            return state.progress("done", true);
+        } catch (IOException | RuntimeException e) {
+            log.error("❌ Import interrompu après {} lignes ({} insérées): {}", state.read, state.imported, e.getMessage());
+            state.reject(state.read, "Import interrompu: " + e.getMessage());
+            return state.progress("failed", true);
+        } finally {
+            if (state.imported > 0) {
+                eventPublisher.publishEvent(new RentalsImportedEvent(state.imported));
+            }
+        }
+    }
+
+    // Résolution des propriétaires du lot, puis un seul batchUpdate dans une transaction
+    private void writeChunk(List<ParsedRow> chunk, ImportState state) {
+        state.chunks++;
+        if (chunk.isEmpty()) {
+            return;
+        }
+        resolveOwners(chunk, state);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+        List<Object[]> batch = new ArrayList<>(chunk.size());
+        for (ParsedRow parsed : chunk) {
+            Long ownerId = state.ownerOf(parsed.row());
+            if (ownerId == null) {
+                state.reject(parsed.line(), state.ownerError(parsed.row()));
+                continue;
+            }
+            RentalImportRow row = parsed.row();
+            batch.add(new Object[] { row.getName().trim(), row.getSurface(), row.getPrice(), blankToNull(row.getPicture()),
+                    row.getDescription(), row.getLatitude(), row.getLongitude(), ownerId, now, now });
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            chunkTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_RENTAL, batch));
+            state.imported += batch.size();
+            log.debug("📦 Lot {} inséré: {} locations", state.chunks, batch.size());
+        } catch (DataAccessException e) {
+            log.warn("⚠️ Lot {} refusé par la base ({} lignes): {}", state.chunks, batch.size(), e.getMostSpecificCause().getMessage());
+            for (ParsedRow parsed : chunk) {
+                if (state.ownerOf(parsed.row()) != null) {
+                    state.reject(parsed.line(), "Lot refusé par la base: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    // Une requête par lot pour les emails encore inconnus ; le résultat est conservé pour tout l'import
+    private void resolveOwners(List<ParsedRow> chunk, ImportState state) {
+        if (!state.allowOtherOwners) {
+            return;
+        }
+        Set<String> unknown = new HashSet<>();
+        for (ParsedRow parsed : chunk) {
+            String email = state.foreignOwner(parsed.row());
+            if (email != null && !state.owners.containsKey(email)) {
+                unknown.add(email);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return;
+        }
+        namedJdbcTemplate.query(SELECT_OWNERS, Map.of("emails", unknown), rs -> {
+            state.owners.put(rs.getString("email").toLowerCase(Locale.ROOT), rs.getLong("id"));
+        });
+        for (String email : unknown) {
+            // null : email inexistant, mémorisé pour ne pas le rechercher à nouveau
+            state.owners.putIfAbsent(email, null);
+        }
+    }
+
+    private static String validate(RentalImportRow row) {
+        if (row.getName() == null || row.getName().isBlank()) {
+            return "Le nom est obligatoire";
+        }
+        if (row.getName().trim().length() > MAX_NAME_LENGTH) {
+            return "Le nom ne doit pas dépasser " + MAX_NAME_LENGTH + " caractères";
+        }
+        if (row.getSurface() == null || row.getSurface().signum() <= 0) {
+            return "La surface doit être positive";
+        }
+        if (row.getPrice() == null || row.getPrice().signum() <= 0) {
+            return "Le prix doit être positif";
+        }
+        try {
+            GeoArea.validate(row.getLatitude(), row.getLongitude());
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Ligne lue dans le flux : la location, ou la cause de son rejet.
+     */
+    private record ParsedRow(long line, RentalImportRow row, String error) {
+
+        static ParsedRow of(long line, RentalImportRow row) {
+            String error = validate(row);
+            return new ParsedRow(line, error == null ? row : null, error);
+        }
+
+        static ParsedRow rejected(long line, String error) {
+            return new ParsedRow(line, null, error);
+        }
+    }
+
+    private interface RowSource {
+        // Ligne suivante, ou null en fin de flux
+        ParsedRow next() throws IOException;
+    }
+
+    /**
+     * Un objet JSON par ligne ; une ligne invalide est rejetée sans interrompre la lecture.
+     */
+    private final class NdjsonRowSource implements RowSource {
+
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    return ParsedRow.of(line, rowReader.readValue(text));
+                } catch (JsonProcessingException e) {
+                    return ParsedRow.rejected(line, "JSON invalide: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * CSV avec une ligne d'en-tête : name, surface, price, picture, description, owner_email, latitude, longitude
+     * (dans n'importe quel ordre).
+     */
+    private static final class CsvRowSource implements RowSource {
+
+        private final CsvRecordReader reader;
+        private Map<String, Integer> columns;
+
+        CsvRowSource(BufferedReader reader) {
+            this.reader = new CsvRecordReader(reader);
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            if (columns == null) {
+                readHeader();
+            }
+            List<String> fields;
+            while ((fields = reader.next()) != null) {
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                long line = reader.recordLine();
+                try {
+                    RentalImportRow row = new RentalImportRow(field(fields, "name"), decimal(fields, "surface"),
+                            decimal(fields, "price"), field(fields, "picture"), field(fields, "description"),
+                            field(fields, "owner_email"), number(fields, "latitude"), number(fields, "longitude"));
+                    return ParsedRow.of(line, row);
+                } catch (NumberFormatException e) {
+                    return ParsedRow.rejected(line, "Nombre invalide");
+                }
+            }
+            return null;
+        }
+
+        private void readHeader() throws IOException {
+            List<String> header = reader.next();
+            if (header == null) {
+                columns = Map.of();
+                return;
+            }
+            columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                // Le BOM UTF-8 éventuel (export Excel) est ignoré
+                String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                columns.put(name, i);
+            }
+            for (String required : List.of("name", "surface", "price")) {
+                if (!columns.containsKey(required)) {
+                    throw new IllegalArgumentException("Colonne obligatoire absente de l'en-tête CSV: " + required);
+                }
+            }
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            return index == null || index >= fields.size() ? null : fields.get(index);
+        }
+
+        private BigDecimal decimal(List<String> fields, String column) {
+            String value = field(fields, column);
+            return value == null || value.isBlank() ? null : new BigDecimal(value.trim());
+        }
+
+        private Double number(List<String> fields, String column) {
+            String value = field(fields, column);
+            return value == null || value.isBlank() ? null : Double.valueOf(value.trim());
+        }
+    }
+
+    /**
+     * Compteurs et propriétaires résolus d'un import en cours.
+     */
+    private final class ImportState {
+
+        private final long startNanos = System.nanoTime();
+        private final Long callerId;
+        private final String callerEmail;
+        private final boolean allowOtherOwners;
+        // Email (minuscules) -> identifiant, null si l'utilisateur n'existe pas
+        private final Map<String, Long> owners = new HashMap<>();
+        private final List<RentalImportErrorDto> errors = new ArrayList<>();
+        private int chunks;
+        private long read;
+        private long imported;
+        private long rejected;
+
+        ImportState(Long callerId, String callerEmail, boolean allowOtherOwners) {
+            this.callerId = callerId;
+            this.callerEmail = callerEmail == null ? null : callerEmail.toLowerCase(Locale.ROOT);
+            this.allowOtherOwners = allowOtherOwners;
+        }
+
+        // Email d'un propriétaire autre que l'appelant, ou null
+        String foreignOwner(RentalImportRow row) {
+            String email = row.getOwnerEmail() == null ? "" : row.getOwnerEmail().trim().toLowerCase(Locale.ROOT);
+            return email.isEmpty() || email.equals(callerEmail) ? null : email;
+        }
+
+        Long ownerOf(RentalImportRow row) {
+            String email = foreignOwner(row);
+            if (email == null) {
+                return callerId;
+            }
+            return allowOtherOwners ? owners.get(email) : null;
+        }
+
+        String ownerError(RentalImportRow row) {
+            return allowOtherOwners
+                    ? "Propriétaire inconnu: " + row.getOwnerEmail()
+                    : "Import réservé aux locations de l'utilisateur authentifié: " + row.getOwnerEmail();
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxErrors) {
+                errors.add(new RentalImportErrorDto(line, message));
+            }
+        }
+
+        long elapsedMillis() {
+            return (System.nanoTime() - startNanos) / 1_000_000;
+        }
+
+        RentalImportProgressDto progress(String status, boolean withErrors) {
+            return new RentalImportProgressDto(status, chunks, read, imported, rejected, elapsedMillis(),
+                    withErrors ? List.copyOf(errors) : null);
+        }
+    }
+}
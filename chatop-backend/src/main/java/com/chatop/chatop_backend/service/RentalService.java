@@ -1,7 +1,18 @@
 package com.chatop.chatop_backend.service;
 
+import com.chatop.chatop_backend.dto.RentalBulkDeleteResultDto;
 import com.chatop.chatop_backend.dto.RentalDto;
+import com.chatop.chatop_backend.dto.RentalGeoSearchResultDto;
+import com.chatop.chatop_backend.dto.RentalPageDto;
+import com.chatop.chatop_backend.dto.RentalPatchRequest;
+import com.chatop.chatop_backend.dto.RentalSearchCriteria;
+import com.chatop.chatop_backend.dto.RentalSearchResultDto;
+import com.chatop.chatop_backend.dto.RentalTextSearchResultDto;
+import com.chatop.chatop_backend.search.GeoArea;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,12 +28,39 @@ public interface RentalService {
     // Lire une location par son identifiant
     Optional<RentalDto> getRentalById(Long id);
 
+    // Lire la version (ETag, date de modification) d'une location sans la charger
+    Optional<ResourceVersion> getRentalVersion(Long id);
+
     // Lire toutes les locations
     List<RentalDto> getAllRentals();
 
-    // Mettre à jour une location
-    RentalDto updateRental(Long id, RentalDto rentalDto);
+    // Lire une page de locations à partir d'un curseur opaque (null pour la première page)
+    RentalPageDto getRentalsPage(String cursor, Integer limit);
+
+    // Lire une page des locations d'un propriétaire (mise en cache par propriétaire)
+    RentalPageDto getRentalsByOwner(Long ownerId, String cursor, Integer limit);
+
+    // Rechercher des locations (filtres, tri, pagination) avec les facettes prix et surface
+    RentalSearchResultDto searchRentals(RentalSearchCriteria criteria, Integer page, Integer size);
+
+    // Rechercher des locations par texte libre (nom et description), classées par pertinence
+    RentalTextSearchResultDto searchRentalsByText(String query, Integer limit);
+
+    // Rechercher des locations dans une zone géographique (rayon ou rectangle), classées par distance
+    RentalGeoSearchResultDto searchRentalsNearby(GeoArea area, Integer limit);
+
+    // Écrire toutes les locations en JSON dans le flux, sans les charger toutes en mémoire
+    long streamAllRentals(OutputStream out) throws IOException;
+
+    // Mettre à jour une location, si elle est encore à la version attendue (null : sans contrôle)
+    RentalDto updateRental(Long id, RentalDto rentalDto, Long expectedVersion);
+
+    // Modifier partiellement une location en une seule requête UPDATE, conditionnée par la version attendue
+    RentalDto patchRental(Long id, RentalPatchRequest changes, Long expectedVersion, Long ownerId);
+
+    // Supprimer une location de l'utilisateur (false si elle n'existe pas)
+    boolean deleteRental(Long id, Long ownerId);
 
-    // Supprimer une location
-    void deleteRental(Long id);
+    // Supprimer plusieurs locations de l'utilisateur en une seule requête DELETE
+    RentalBulkDeleteResultDto deleteRentals(Collection<Long> ids, Long ownerId);
 }
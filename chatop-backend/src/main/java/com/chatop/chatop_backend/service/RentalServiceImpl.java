@@ -1,19 +1,62 @@
 package com.chatop.chatop_backend.service;
 
+import com.chatop.chatop_backend.dto.RentalBulkDeleteResultDto;
+import com.chatop.chatop_backend.dto.RentalDeletionRow;
 import com.chatop.chatop_backend.dto.RentalDto;
+import com.chatop.chatop_backend.dto.RentalGeoRow;
+import com.chatop.chatop_backend.dto.RentalGeoSearchResultDto;
+import com.chatop.chatop_backend.dto.RentalNearbyDto;
+import com.chatop.chatop_backend.dto.FacetBucketDto;
+import com.chatop.chatop_backend.dto.RentalPageDto;
+import com.chatop.chatop_backend.dto.RentalPatchRequest;
+import com.chatop.chatop_backend.dto.RentalRow;
+import com.chatop.chatop_backend.dto.RentalVersionRow;
+import com.chatop.chatop_backend.dto.RentalSearchCriteria;
+import com.chatop.chatop_backend.dto.RentalSearchResultDto;
+import com.chatop.chatop_backend.dto.RentalTextSearchResultDto;
+import com.chatop.chatop_backend.event.RentalChangedEvent;
+import com.chatop.chatop_backend.event.RentalPicturesReleasedEvent;
+import com.chatop.chatop_backend.exception.RentalNotFoundException;
+import com.chatop.chatop_backend.exception.RentalVersionConflictException;
 import com.chatop.chatop_backend.model.Rental;
 import com.chatop.chatop_backend.model.User;
 import com.chatop.chatop_backend.repository.RentalRepository;
+import com.chatop.chatop_backend.repository.RentalRepositoryCustom.FacetDimension;
 import com.chatop.chatop_backend.repository.UserRepository;
+import com.chatop.chatop_backend.search.GeoArea;
+import com.chatop.chatop_backend.search.RentalGeoGrid;
+import com.chatop.chatop_backend.search.RentalTextIndex;
 
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Cette classe implémente les méthodes définies dans l'interface RentalService.
@@ -28,27 +71,79 @@ public class RentalServiceImpl implements RentalService {
 
     private final RentalRepository rentalRepository;
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RentalCatalogIndex catalogIndex;
+    private final RentalTextSearchService textSearchService;
+    private final OwnerRentalsCache ownerRentalsCache;
+    private final RentalGeoIndex geoIndex;
+    // Lecture par projection (RentalRow) plutôt que par entités Rental + User (chatop.rentals.read-path)
+    private final boolean projectionReadPath;
     private static final Logger log = LoggerFactory.getLogger(RentalServiceImpl.class);
 
-    public RentalServiceImpl(RentalRepository rentalRepository, UserRepository userRepository) {
+    // Taille de page par défaut et taille maximale acceptée pour la pagination des locations
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    // Bornes des tranches des facettes de recherche (n bornes = n + 1 tranches)
+    private final BigDecimal[] priceBuckets;
+    private final BigDecimal[] surfaceBuckets;
+
+    // Rayon maximal d'une recherche géographique
+    private final double maxRadiusKm;
+
+    public RentalServiceImpl(RentalRepository rentalRepository, UserRepository userRepository,
+            EntityManager entityManager, JsonStreamWriter jsonStreamWriter,
+            ApplicationEventPublisher eventPublisher, RentalCatalogIndex catalogIndex,
+            RentalTextSearchService textSearchService, OwnerRentalsCache ownerRentalsCache, RentalGeoIndex geoIndex,
+            @Value("${chatop.rentals.page.default-size:20}") int defaultPageSize,
+            @Value("${chatop.rentals.page.max-size:100}") int maxPageSize,
+            @Value("${chatop.rentals.search.price-buckets:250,500,1000,2000}") BigDecimal[] priceBuckets,
+            @Value("${chatop.rentals.search.surface-buckets:25,50,100,200}") BigDecimal[] surfaceBuckets,
+            @Value("${chatop.rentals.read-path:projection}") String readPath,
+            @Value("${chatop.geo.max-radius-km:200}") double maxRadiusKm) {
         this.rentalRepository = rentalRepository;
         this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.jsonStreamWriter = jsonStreamWriter;
+        this.eventPublisher = eventPublisher;
+        this.catalogIndex = catalogIndex;
+        this.textSearchService = textSearchService;
+        this.ownerRentalsCache = ownerRentalsCache;
+        this.geoIndex = geoIndex;
+        this.maxRadiusKm = maxRadiusKm;
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.defaultPageSize = Math.min(Math.max(1, defaultPageSize), this.maxPageSize);
+        this.priceBuckets = sortedBounds(priceBuckets);
+        this.surfaceBuckets = sortedBounds(surfaceBuckets);
+        this.projectionReadPath = switch (readPath.trim().toLowerCase(Locale.ROOT)) {
+            case "projection" -> true;
+            case "entity" -> false;
+            default -> throw new IllegalArgumentException(
+                    "chatop.rentals.read-path doit valoir 'projection' ou 'entity': " + readPath);
+        };
+        log.info("📖 Lecture des locations par {}", projectionReadPath ? "projection" : "entités");
     }
 
     /**
      * Crée une nouvelle location dans la base de données.
+     * La lecture du propriétaire et l'INSERT partagent une transaction en écriture (base principale).
      * 
      * @param rentalDto Données de la location à créer
      * @return Location créée
       */
     @Override
+    @Transactional
     public RentalDto createRental(RentalDto rentalDto) {
         log.info("📝 Création d'une nouvelle location: {}", rentalDto.getName());
         try {
 
             Rental rental = mapToEntity(rentalDto);
-            rental.setCreatedAt(LocalDateTime.now());
-            rental.setUpdatedAt(LocalDateTime.now());
+            // Précision à la milliseconde (colonnes DATETIME(3)) : l'ETag calculé ici est celui relu ensuite en base
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            rental.setCreatedAt(now);
+            rental.setUpdatedAt(now);
 
             // 🔥 Vérifier que l'utilisateur existe
             User owner = userRepository.findById(rentalDto.getOwnerId())
@@ -56,7 +151,9 @@ public class RentalServiceImpl implements RentalService {
             rental.setOwner(owner);
             
             Rental savedRental = rentalRepository.save(rental);
-            return mapToDto(savedRental);
+            RentalDto created = mapToDto(savedRental);
+            eventPublisher.publishEvent(RentalChangedEvent.created(created));
+            return created;
         } catch (Exception e) {
             log.error("❌ Erreur lors de la création de la location: {}", e.getMessage());
             throw new RuntimeException("Erreur lors de la création de la location");
@@ -66,15 +163,19 @@ public class RentalServiceImpl implements RentalService {
     }
 
     /**
-     * Récupère une location à partir de son ID.
+     * Récupère une location à partir de son ID (par projection, voir {@link #getAllRentals()}).
      * 
      * @param id ID de la location à récupérer
      * @return Location trouvée
       */
     @Override
+    @Transactional(readOnly = true)
     public Optional<RentalDto> getRentalById(Long id) {
         log.info("🔍 Recherche de la location avec l'ID: {}", id);
         try {
+            if (projectionReadPath) {
+                return rentalRepository.findRowById(id).map(RentalRow::toDto);
+            }
             return rentalRepository.findById(id).map(this::mapToDto);
         } catch (Exception e) {
             log.error("❌ Location non trouvée avec l'ID: {}", id);
@@ -84,15 +185,37 @@ public class RentalServiceImpl implements RentalService {
         }
     }
 
+    /**
+     * Récupère la version d'une location (quelques colonnes lues, sans l'entité ni le propriétaire).
+     *
+     * @param id ID de la location
+     * @return Version de la location, ou Optional.empty() si elle n'existe pas
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getRentalVersion(Long id) {
+        return rentalRepository.findVersionById(id)
+                .map(row -> ResourceVersion.ofRental(row.id(), row.version(), row.updatedAt()));
+    }
+
     /**
      * Récupère toutes les locations de la base de données.
+     * Par défaut, lecture par projection (RentalRow) dans une transaction en lecture seule :
+     * ni entités, ni jointure sur les utilisateurs, ni flush.
      * 
      * @return Liste de toutes les locations
       */
     @Override
+    @Transactional(readOnly = true)
     public List<RentalDto> getAllRentals() {
         log.info("🔍 Récupération de toutes les locations");
         try {
+            if (projectionReadPath) {
+                return rentalRepository.findAllRows()
+                        .stream()
+                        .map(RentalRow::toDto)
+                        .collect(Collectors.toList());
+            }
             return rentalRepository.findAll()
                     .stream()
                     .map(this::mapToDto)
@@ -105,34 +228,365 @@ public class RentalServiceImpl implements RentalService {
         }
     }
 
+    /**
+     * Récupère une page de locations triées par identifiant (pagination par clé).
+     * Par défaut, lecture par projection (RentalRow), comme {@link #getAllRentals()}.
+     * Une ligne de plus que la taille demandée est lue pour savoir s'il existe une page suivante.
+     *
+     * @param cursor Curseur opaque renvoyé par la page précédente (null pour la première page)
+     * @param limit Taille de page souhaitée (plafonnée à chatop.rentals.page.max-size)
+     * @return Page de locations et curseur de la page suivante (null s'il n'y en a pas)
+     * @throws IllegalArgumentException si le curseur ou la taille de page est invalide
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public RentalPageDto getRentalsPage(String cursor, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("La taille de page doit être positive");
+        }
+        int pageSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        long afterId = cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decode(cursor);
+        log.info("🔍 Récupération d'une page de {} locations après l'ID: {}", pageSize, afterId);
+
+        List<RentalDto> rows;
+        if (projectionReadPath) {
+            rows = rentalRepository.findRowsAfter(afterId, Limit.of(pageSize + 1))
+                    .stream()
+                    .map(RentalRow::toDto)
+                    .collect(Collectors.toList());
+        } else {
+            rows = rentalRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1))
+                    .stream()
+                    .map(this::mapToDto)
+                    .collect(Collectors.toList());
+        }
+        boolean hasNext = rows.size() > pageSize;
+        List<RentalDto> rentals = hasNext ? rows.subList(0, pageSize) : rows;
+        String next = hasNext ? KeysetCursor.encode(rentals.get(rentals.size() - 1).getId()) : null;
+        log.info("✅ {} locations récupérées, page suivante: {}", rentals.size(), hasNext);
+        return new RentalPageDto(rentals, next);
+    }
+
+    /**
+     * Récupère une page des locations d'un propriétaire, triées par identifiant (pagination par clé).
+     * La requête n'utilise que l'index rentals_owner_idx : son coût dépend de la taille de la page, pas du catalogue.
+     * Les pages sont mises en cache par propriétaire et invalidées à chaque modification de ses locations.
+     *
+     * @param ownerId Identifiant du propriétaire
+     * @param cursor Curseur opaque renvoyé par la page précédente (null pour la première page)
+     * @param limit Taille de page souhaitée (plafonnée à chatop.rentals.page.max-size)
+     * @return Page de locations et curseur de la page suivante (null s'il n'y en a pas)
+     * @throws IllegalArgumentException si le curseur ou la taille de page est invalide
+     */
+    @Override
+    public RentalPageDto getRentalsByOwner(Long ownerId, String cursor, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("La taille de page doit être positive");
+        }
+        int pageSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        long afterId = cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decode(cursor);
+        log.info("🔍 Récupération d'une page de {} locations du propriétaire {} après l'ID: {}", pageSize, ownerId, afterId);
+
+        // Le repository ouvre lui-même une transaction en lecture seule : aucune connexion sur un succès du cache,
+        // et une page manquante est lue sur la base principale (voir OwnerRentalsCache)
+        return ownerRentalsCache.getPage(ownerId, afterId, pageSize, () -> {
+            List<RentalRow> rows = rentalRepository.findRowsByOwner(ownerId, afterId, Limit.of(pageSize + 1));
+            boolean hasNext = rows.size() > pageSize;
+            List<RentalRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+            List<RentalDto> rentals = page.stream()
+                    .map(RentalRow::toDto)
+                    .collect(Collectors.toUnmodifiableList());
+            String next = hasNext ? KeysetCursor.encode(page.get(page.size() - 1).id()) : null;
+            log.info("✅ {} locations du propriétaire {} lues en base, page suivante: {}", rentals.size(), ownerId, hasNext);
+            return new RentalPageDto(rentals, next);
+        });
+    }
+
+    /**
+     * Recherche des locations selon des critères, avec tri, pagination et facettes.
+     * Quatre requêtes au plus : la page, le total et une requête d'agrégation par facette.
+     *
+     * @param criteria Critères de recherche
+     * @param page Numéro de page (à partir de 0, 0 par défaut)
+     * @param size Taille de page (plafonnée à chatop.rentals.page.max-size)
+     * @return Page de résultats, total et facettes
+     * @throws IllegalArgumentException si les critères sont incohérents
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public RentalSearchResultDto searchRentals(RentalSearchCriteria criteria, Integer page, Integer size) {
+        validateRange("prix", criteria.getMinPrice(), criteria.getMaxPrice());
+        validateRange("surface", criteria.getMinSurface(), criteria.getMaxSurface());
+        if ((page != null && page < 0) || (size != null && size < 1)) {
+            throw new IllegalArgumentException("Pagination invalide");
+        }
+        int pageNumber = page == null ? 0 : page;
+        int pageSize = size == null ? defaultPageSize : Math.min(size, maxPageSize);
+        if ((long) pageNumber * pageSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Pagination invalide");
+        }
+        log.info("🔍 Recherche de locations: {} (page {}, taille {})", criteria, pageNumber, pageSize);
+
+        // Recherches simples servies par l'index en mémoire : seule la page elle-même est lue en base
+        Optional<RentalCatalogIndex.SearchResult> indexed = catalogIndex.search(criteria, pageNumber * pageSize,
+                pageSize, priceBuckets, surfaceBuckets);
+        if (indexed.isPresent()) {
+            RentalCatalogIndex.SearchResult result = indexed.get();
+            Map<String, List<FacetBucketDto>> facets = new LinkedHashMap<>();
+            facets.put("price", facetBuckets(priceBuckets, result.priceFacet()));
+            facets.put("surface", facetBuckets(surfaceBuckets, result.surfaceFacet()));
+            log.info("✅ {} locations trouvées via l'index du catalogue", result.total());
+            return new RentalSearchResultDto(loadInOrder(result.ids()), result.total(), pageNumber, pageSize, facets);
+        }
+
+        long total = rentalRepository.countSearch(criteria);
+        List<RentalDto> rentals = total == 0 || (long) pageNumber * pageSize >= total
+                ? List.of()
+                : rentalRepository.search(criteria, pageNumber * pageSize, pageSize).stream()
+                        .map(this::mapToDto)
+                        .collect(Collectors.toList());
+
+        Map<String, List<FacetBucketDto>> facets = new LinkedHashMap<>();
+        facets.put("price", facet(criteria, FacetDimension.PRICE, priceBuckets));
+        facets.put("surface", facet(criteria, FacetDimension.SURFACE, surfaceBuckets));
+
+        log.info("✅ {} locations trouvées ({} renvoyées)", total, rentals.size());
+        return new RentalSearchResultDto(rentals, total, pageNumber, pageSize, facets);
+    }
+
+    /**
+     * Recherche des locations par texte libre dans leur nom et leur description.
+     * La recherche passe par l'index plein texte (pertinence, accents ignorés) ; s'il n'est pas disponible,
+     * elle se rabat sur la recherche par mot-clé en base (LIKE, locations les plus récentes d'abord).
+     *
+     * @param query Texte recherché
+     * @param limit Nombre maximal de résultats (plafonné à chatop.rentals.page.max-size)
+     * @return Locations classées par pertinence
+     * @throws IllegalArgumentException si le texte est vide ou la limite invalide
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public RentalTextSearchResultDto searchRentalsByText(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Le texte recherché est obligatoire");
+        }
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Limite invalide: " + limit);
+        }
+        int size = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        log.info("🔍 Recherche plein texte de locations: \"{}\" (limite {})", query, size);
+
+        Optional<RentalTextIndex.Hits> hits = textSearchService.search(query, size);
+        if (hits.isPresent()) {
+            RentalTextIndex.Hits result = hits.get();
+            log.info("✅ {} locations trouvées via l'index plein texte", result.totalHits());
+            return new RentalTextSearchResultDto(loadInOrder(result.ids()), result.totalHits(), result.totalHitsExact());
+        }
+
+        log.warn("⚠️ Index plein texte indisponible, recherche par mot-clé en base");
+        RentalSearchCriteria criteria = RentalSearchCriteria.builder()
+                .keyword(query.trim())
+                .sort(RentalSearchCriteria.Sort.NEWEST)
+                .build();
+        long total = rentalRepository.countSearch(criteria);
+        List<RentalDto> rentals = total == 0
+                ? List.of()
+                : rentalRepository.search(criteria, 0, size).stream()
+                        .map(this::mapToDto)
+                        .collect(Collectors.toList());
+        return new RentalTextSearchResultDto(rentals, total, true);
+    }
+
+    private List<FacetBucketDto> facet(RentalSearchCriteria criteria, FacetDimension dimension, BigDecimal[] bounds) {
+        return facetBuckets(bounds, rentalRepository.countByBuckets(criteria, dimension, bounds));
+    }
+
+    private static List<FacetBucketDto> facetBuckets(BigDecimal[] bounds, long[] counts) {
+        List<FacetBucketDto> buckets = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            buckets.add(new FacetBucketDto(
+                    i == 0 ? null : bounds[i - 1],
+                    i == bounds.length ? null : bounds[i],
+                    counts[i]));
+        }
+        return buckets;
+    }
+
+    /**
+     * Recherche les locations d'une zone géographique, de la plus proche à la plus éloignée du point de référence.
+     * La recherche est servie par l'index spatial en mémoire ; s'il est indisponible, les locations du rectangle
+     * englobant sont lues en base et classées de la même façon. Les locations de la page sont ensuite chargées
+     * en une seule requête.
+     *
+     * @param area Zone de recherche (cercle ou rectangle)
+     * @param limit Nombre maximal de résultats (plafonné à chatop.rentals.page.max-size)
+     * @return Locations classées par distance et nombre total de locations dans la zone
+     * @throws IllegalArgumentException si la limite est invalide ou le rayon trop grand
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public RentalGeoSearchResultDto searchRentalsNearby(GeoArea area, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Limite invalide: " + limit);
+        }
+        if (area.isCircle() && area.radiusKm() > maxRadiusKm) {
+            throw new IllegalArgumentException("Le rayon ne doit pas dépasser " + maxRadiusKm + " km");
+        }
+        int size = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        log.info("🗺️ Recherche géographique de locations autour de ({}, {}) (limite {})",
+                area.referenceLatitude(), area.referenceLongitude(), size);
+
+        RentalGeoGrid.Hits hits = geoIndex.search(area, size).orElseGet(() -> {
+            log.warn("⚠️ Index spatial indisponible, recherche géographique en base");
+            try (Stream<RentalGeoRow> rows = streamGeoRowsInBox(area)) {
+                return RentalGeoGrid.rank(rows.iterator(), area, size);
+            }
+        });
+        if (hits.ids().length == 0) {
+            return new RentalGeoSearchResultDto(List.of(), hits.total());
+        }
+
+        List<Long> ids = Arrays.stream(hits.ids()).boxed().collect(Collectors.toList());
+        Map<Long, RentalRow> byId = rentalRepository.findRowsByIdIn(ids).stream()
+                .collect(Collectors.toMap(RentalRow::id, Function.identity()));
+        List<RentalNearbyDto> rentals = new ArrayList<>(ids.size());
+        for (int i = 0; i < hits.ids().length; i++) {
+            RentalRow row = byId.get(hits.ids()[i]);
+            // Location supprimée entre la recherche et le chargement
+            if (row != null) {
+                rentals.add(new RentalNearbyDto(row.toDto(), Math.round(hits.distancesKm()[i] * 1000) / 1000.0));
+            }
+        }
+        log.info("✅ {} locations trouvées dans la zone ({} au total)", rentals.size(), hits.total());
+        return new RentalGeoSearchResultDto(rentals, hits.total());
+    }
+
+    // Rectangle englobant de la zone, découpé en deux s'il traverse l'antiméridien
+    private Stream<RentalGeoRow> streamGeoRowsInBox(GeoArea area) {
+        if (!area.crossesAntimeridian()) {
+            return rentalRepository.streamGeoRowsInBox(area.minLatitude(), area.maxLatitude(),
+                    area.minLongitude(), area.maxLongitude());
+        }
+        return Stream.concat(
+                rentalRepository.streamGeoRowsInBox(area.minLatitude(), area.maxLatitude(), area.minLongitude(), 180),
+                rentalRepository.streamGeoRowsInBox(area.minLatitude(), area.maxLatitude(), -180, area.maxLongitude()));
+    }
+
+    /**
+     * Charge les locations d'une page (une seule requête) dans l'ordre des identifiants fournis.
+     */
+    private List<RentalDto> loadInOrder(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> idList = Arrays.stream(ids).boxed().collect(Collectors.toList());
+        Map<Long, Rental> byId = rentalRepository.findByIdIn(idList).stream()
+                .collect(Collectors.toMap(Rental::getId, Function.identity()));
+        return idList.stream()
+                .map(byId::get)
+                .filter(rental -> rental != null)
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    private static void validateRange(String label, BigDecimal min, BigDecimal max) {
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new IllegalArgumentException("Intervalle de " + label + " invalide: minimum supérieur au maximum");
+        }
+    }
+
+    private static BigDecimal[] sortedBounds(BigDecimal[] bounds) {
+        return bounds == null ? new BigDecimal[0] : Arrays.stream(bounds).distinct().sorted().toArray(BigDecimal[]::new);
+    }
+
+    /**
+     * Écrit toutes les locations dans le flux au format {"rentals": [...]}, ligne par ligne.
+     * Les lignes sont lues par un curseur JDBC en avant seulement, converties en DTO puis sérialisées
+     * immédiatement ; le contexte de persistance est vidé après chaque lot pour que la mémoire
+     * reste constante quel que soit le nombre de locations.
+     *
+     * @param out Flux de sortie de la réponse
+     * @return Nombre de locations écrites
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long streamAllRentals(OutputStream out) throws IOException {
+        log.info("🔍 Écriture en flux de toutes les locations");
+        try (Stream<Rental> rentals = rentalRepository.streamAll()) {
+            long count = jsonStreamWriter.writeArray(out, "rentals",
+                    rentals.map(this::mapToDto).iterator(), entityManager::clear);
+            log.info("✅ {} locations écrites en flux", count);
+            return count;
+        }
+    }
+
     /**
      * Met à jour une location existante dans la base de données.
+     * Le contrôle de version est atomique : la version lue est comparée à la version attendue, puis
+     * l'UPDATE généré par Hibernate (@Version) ne modifie la ligne que si elle n'a pas changé depuis cette lecture.
+     * La lecture, le contrôle et l'UPDATE partagent une transaction en écriture : la ligne comparée est lue
+     * sur la base principale, jamais sur un réplica en retard.
      * 
      * @param id ID de la location à mettre à jour
      * @param rentalDto Données de la location à mettre à jour
+     * @param expectedVersion Version attendue (If-Match), null pour une mise à jour sans contrôle
      * @return Location mise à jour
+     * @throws RentalVersionConflictException si la location a été modifiée depuis la version attendue
       */
     @Override
-    public RentalDto updateRental(Long id, RentalDto rentalDto) {
-        log.info("🔄 Mise à jour de la location avec l'ID: {}", id);
+    @Transactional
+    public RentalDto updateRental(Long id, RentalDto rentalDto, Long expectedVersion) {
+        log.info("🔄 Mise à jour de la location avec l'ID: {} (version attendue: {})", id, expectedVersion);
         try {
 
             Optional<Rental> optionalRental = rentalRepository.findById(id);
             if (optionalRental.isPresent()) {
                 log.info("✅ Location trouvée, mise à jour des données en cours...");
                 Rental rental = optionalRental.get();
+                if (expectedVersion != null && !expectedVersion.equals(rental.getVersion())) {
+                    log.warn("⚠️ Conflit de version sur la location {}: attendue {}, actuelle {}", id, expectedVersion,
+                            rental.getVersion());
+                    throw new RentalVersionConflictException("La location a été modifiée entre-temps", rental.getVersion(),
+                            rental.getUpdatedAt());
+                }
+                String previousPicture = rental.getPicture();
                 rental.setName(rentalDto.getName());
                 rental.setSurface(rentalDto.getSurface());
                 rental.setPrice(rentalDto.getPrice());
                 rental.setPicture(rentalDto.getPicture());
                 rental.setDescription(rentalDto.getDescription());
-                rental.setUpdatedAt(LocalDateTime.now());
-                Rental updatedRental = rentalRepository.save(rental);
-                return mapToDto(updatedRental);
+                rental.setLatitude(rentalDto.getLatitude());
+                rental.setLongitude(rentalDto.getLongitude());
+                rental.setUpdatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+                // flush immédiat : la version incrémentée par Hibernate est celle renvoyée au client (ETag)
+                Rental updatedRental;
+                try {
+                    updatedRental = rentalRepository.saveAndFlush(rental);
+                } catch (OptimisticLockingFailureException e) {
+                    // Écriture concurrente validée entre la lecture et l'UPDATE ... WHERE version = ?
+                    // L'entité modifiée est détachée : la relecture ne doit pas déclencher un nouveau flush
+                    entityManager.clear();
+                    RentalVersionRow current = rentalRepository.findVersionById(id)
+                            .orElseThrow(() -> new RentalNotFoundException("Location non trouvée avec l'ID: " + id));
+                    log.warn("⚠️ Conflit de version sur la location {}: lue {}, actuelle {}", id, rental.getVersion(),
+                            current.version());
+                    throw new RentalVersionConflictException("La location a été modifiée entre-temps", current.version(),
+                            current.updatedAt());
+                }
+                RentalDto updated = mapToDto(updatedRental);
+                eventPublisher.publishEvent(RentalChangedEvent.updated(updated));
+                // L'ancienne image est libérée si elle a été remplacée (le DTO peut contenir l'URL du même fichier)
+                if (previousPicture != null && !FileStorageService.sameFile(previousPicture, updatedRental.getPicture())) {
+                    releasePictures(Set.of(previousPicture));
+                }
+                return updated;
             } else {
                 log.error("❌ Location non trouvée avec l'ID: {}", id);
                 throw new RuntimeException("Location non trouvée avec l'ID: " + id);
             }
+        } catch (RentalVersionConflictException | RentalNotFoundException e) {
+            throw e;
         } catch (Exception e) {
             log.error("❌ Erreur lors de la mise à jour de la location: {}", e.getMessage());
             throw new RuntimeException("Erreur lors de la mise à jour de la location avec l'id: " + id);
@@ -141,28 +595,146 @@ public class RentalServiceImpl implements RentalService {
         }
     }
 
+    /**
+     * Modifie partiellement une location : une seule requête UPDATE ne contenant que les colonnes modifiées,
+     * conditionnée par l'identifiant, la version attendue et le propriétaire. L'entité n'est pas chargée.
+     * Si aucune ligne n'est modifiée, la cause est déterminée par une lecture de la version courante.
+     *
+     * @param id ID de la location
+     * @param changes Champs modifiés (les champs null sont conservés)
+     * @param expectedVersion Version attendue (null : modification inconditionnelle)
+     * @param ownerId Propriétaire de la location (utilisateur authentifié)
+     * @return Location modifiée
+     * @throws RentalNotFoundException si la location n'existe pas
+     * @throws AccessDeniedException si la location n'appartient pas à l'utilisateur
+     * @throws RentalVersionConflictException si la location a été modifiée depuis la version attendue
+     */
+    @Override
+    @Transactional
+    public RentalDto patchRental(Long id, RentalPatchRequest changes, Long expectedVersion, Long ownerId) {
+        if (!changes.hasChanges()) {
+            throw new IllegalArgumentException("Aucun champ à modifier");
+        }
+        if ((changes.getLatitude() == null) != (changes.getLongitude() == null)) {
+            throw new IllegalArgumentException("La latitude et la longitude doivent être fournies ensemble");
+        }
+        log.info("🩹 Modification partielle de la location avec l'ID: {} (version attendue: {})", id, expectedVersion);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        int updated = rentalRepository.patch(id, changes, expectedVersion, ownerId, now);
+        if (updated == 0) {
+            RentalVersionRow current = rentalRepository.findVersionById(id)
+                    .orElseThrow(() -> new RentalNotFoundException("Location non trouvée avec l'ID: " + id));
+            if (ownerId != null && !ownerId.equals(current.ownerId())) {
+                log.warn("⛔ Modification refusée: la location {} n'appartient pas à l'utilisateur {}", id, ownerId);
+                throw new AccessDeniedException("La location n'appartient pas à l'utilisateur");
+            }
+            log.warn("⚠️ Conflit de version sur la location {}: attendue {}, actuelle {}", id, expectedVersion, current.version());
+            throw new RentalVersionConflictException("La location a été modifiée entre-temps", current.version(),
+                    current.updatedAt());
+        }
+        // UPDATE en masse : le contexte de persistance est contourné, la relecture passe par la projection
+        RentalDto patched = rentalRepository.findRowById(id).map(RentalRow::toDto)
+                .orElseThrow(() -> new RentalNotFoundException("Location non trouvée avec l'ID: " + id));
+        eventPublisher.publishEvent(RentalChangedEvent.updated(patched));
+        log.info("✅ Location {} modifiée, nouvelle version: {}", id, patched.getVersion());
+        return patched;
+    }
+
     /**
      * Supprime une location de la base de données à partir de son ID.
+     * Une projection (propriétaire, image) puis un seul DELETE : ni l'entité ni ses messages ne sont chargés,
+     * les messages sont supprimés par la clé étrangère (ON DELETE CASCADE).
      * 
      * @param id ID de la location à supprimer
+     * @param ownerId Propriétaire de la location (utilisateur authentifié, null : pas de contrôle)
+     * @return true si la location a été supprimée, false si elle n'existe pas
+     * @throws AccessDeniedException si la location n'appartient pas à l'utilisateur
       */
     @Override
-    public void deleteRental(Long id) {
+    @Transactional
+    public boolean deleteRental(Long id, Long ownerId) {
         log.info("🗑️ Suppression de la location avec l'ID: {}", id);
-        try {    
-            Optional<Rental> optionalRental = rentalRepository.findById(id);
-            if (optionalRental.isPresent()) {
-                log.info("✅ Location trouvée, suppression en cours...");
-                rentalRepository.deleteById(id);
+        List<RentalDeletionRow> rows = rentalRepository.findDeletionRowsByIdIn(List.of(id));
+        if (rows.isEmpty()) {
+            log.warn("⚠️ Location non trouvée avec l'ID: {}", id);
+            return false;
+        }
+        if (ownerId != null && !ownerId.equals(rows.get(0).ownerId())) {
+            log.warn("⛔ Suppression refusée: la location {} n'appartient pas à l'utilisateur {}", id, ownerId);
+            throw new AccessDeniedException("La location n'appartient pas à l'utilisateur");
+        }
+        deleteRows(rows);
+        log.info("🔑 Location supprimée avec succès: {}", id);
+        return true;
+    }
+
+    /**
+     * Supprime plusieurs locations en une seule requête DELETE.
+     * Seules les locations appartenant à l'utilisateur sont supprimées ; les autres identifiants
+     * sont signalés comme inexistants ou interdits.
+     *
+     * @param ids Identifiants des locations à supprimer
+     * @param ownerId Propriétaire des locations (utilisateur authentifié, null : pas de contrôle)
+     * @return Identifiants supprimés, inexistants et interdits
+     */
+    @Override
+    @Transactional
+    public RentalBulkDeleteResultDto deleteRentals(Collection<Long> ids, Long ownerId) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        log.info("🗑️ Suppression en masse de {} location(s) pour l'utilisateur {}", requested.size(), ownerId);
+        Map<Long, RentalDeletionRow> found = rentalRepository.findDeletionRowsByIdIn(requested).stream()
+                .collect(Collectors.toMap(RentalDeletionRow::id, Function.identity()));
+
+        List<RentalDeletionRow> owned = new ArrayList<>(found.size());
+        List<Long> deleted = new ArrayList<>(found.size());
+        List<Long> notFound = new ArrayList<>();
+        List<Long> forbidden = new ArrayList<>();
+        for (Long id : requested) {
+            RentalDeletionRow row = found.get(id);
+            if (row == null) {
+                notFound.add(id);
+            } else if (ownerId != null && !ownerId.equals(row.ownerId())) {
+                forbidden.add(id);
             } else {
-                log.error("❌ Location non trouvée avec l'ID: {}", id);
-                throw new RuntimeException("Location non trouvée avec l'ID: " + id);
+                owned.add(row);
+                deleted.add(id);
             }
-        } catch (Exception e) {
-            log.error("❌ Erreur lors de la suppression de la location: {}", e.getMessage());
-            throw new RuntimeException("Erreur lors de la suppression de la location avec l'id: " + id);
-        } finally {
-            log.info("🔑 Location supprimée avec succès: {}", id);
+        }
+        if (!owned.isEmpty()) {
+            deleteRows(owned);
+        }
+        log.info("✅ Suppression en masse: {} supprimée(s), {} inexistante(s), {} interdite(s)",
+                deleted.size(), notFound.size(), forbidden.size());
+        return new RentalBulkDeleteResultDto(deleted, notFound, forbidden);
+    }
+
+    // Un seul DELETE pour toutes les lignes, puis événements et libération des images
+    private void deleteRows(List<RentalDeletionRow> rows) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        Set<String> pictures = new HashSet<>();
+        for (RentalDeletionRow row : rows) {
+            ids.add(row.id());
+            if (row.picture() != null) {
+                pictures.add(row.picture());
+            }
+        }
+        int deleted = rentalRepository.deleteAllByIdIn(ids);
+        log.debug("🗑️ {} ligne(s) supprimée(s) de RENTALS", deleted);
+        for (RentalDeletionRow row : rows) {
+            eventPublisher.publishEvent(RentalChangedEvent.deleted(row.id(), row.ownerId()));
+        }
+        releasePictures(pictures);
+    }
+
+    // Les fichiers encore référencés par une autre location sont conservés ; les autres sont supprimés après validation
+    private void releasePictures(Set<String> pictures) {
+        if (pictures.isEmpty()) {
+            return;
+        }
+        Set<String> orphaned = new HashSet<>(pictures);
+        orphaned.removeAll(rentalRepository.findPicturesIn(pictures));
+        if (!orphaned.isEmpty()) {
+            eventPublisher.publishEvent(new RentalPicturesReleasedEvent(List.copyOf(orphaned)));
         }
     }
 
@@ -177,27 +749,9 @@ private RentalDto mapToDto(Rental rental) {
         dto.setSurface(rental.getSurface());
         dto.setPrice(rental.getPrice());
         
-        // Vérifier que le chemin n'inclut pas déjà "/uploads/"
-        String picturePath = rental.getPicture();
-        if (picturePath != null && !picturePath.isEmpty()) {
-            log.trace("🖼️ Traitement du chemin d'image: {}", picturePath);
-            // Vérifier si l'URL contient déjà http://localhost:3001
-            if (picturePath.startsWith("http://localhost:3001")) {
-                dto.setPicture(picturePath);
-            } else {
-                // Si le chemin ne commence pas par "/uploads/", ajouter "/uploads/"
-                if (!picturePath.startsWith("/uploads/")) {
-                    picturePath = "/uploads/" + picturePath;
-                    log.trace("🖼️ Ajout du préfixe '/uploads/' au chemin d'image");
-                }
-                // Ajouter le préfixe du serveur
-                dto.setPicture("http://localhost:3001" + picturePath);
-                log.trace("🖼️ URL d'image complète générée: {}", dto.getPicture());
-            }
-        } else {
-            dto.setPicture(null);
-            log.trace("🖼️ Aucune image fournie pour cette location");
-        }
+        // Préfixe "/uploads/" et URL du serveur ajoutés si nécessaire
+        dto.setPicture(RentalDto.pictureUrl(rental.getPicture()));
+        log.trace("🖼️ URL d'image: {}", dto.getPicture());
         
         dto.setDescription(rental.getDescription());
 
@@ -219,6 +773,9 @@ private RentalDto mapToDto(Rental rental) {
         }
         
         dto.setOwnerId(rental.getOwner().getId());
+        dto.setVersion(rental.getVersion());
+        dto.setLatitude(rental.getLatitude());
+        dto.setLongitude(rental.getLongitude());
         log.debug("✅ Mapping Entity -> DTO terminé avec succès pour la location: {}", rental.getId());
         return dto;
     } catch (NullPointerException e) {
@@ -267,6 +824,8 @@ private Rental mapToEntity(RentalDto dto) {
         }
         
         rental.setDescription(dto.getDescription());
+        rental.setLatitude(dto.getLatitude());
+        rental.setLongitude(dto.getLongitude());
 
         // 🔥 Vérifier l'existence du propriétaire
         try {
@@ -0,0 +1,189 @@
+package com.chatop.chatop_backend.service;
+
+import com.chatop.chatop_backend.dto.RentalTextRow;
+import com.chatop.chatop_backend.event.RentalChangedEvent;
+import com.chatop.chatop_backend.event.RentalsImportedEvent;
+import com.chatop.chatop_backend.repository.RentalRepository;
+import com.chatop.chatop_backend.search.RentalTextIndex;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Recherche plein texte sur le nom et la description des locations, via un index Lucene embarqué
+ * ({@link RentalTextIndex}) stocké dans chatop.search.text.index-path.
+ * - Au démarrage, l'index existant est réutilisé si son nombre de documents correspond à la base ;
+ *   sinon il est reconstruit.
+ * - Chaque {@link RentalChangedEvent} validé met à jour le document de la location puis valide l'index.
+ * - Une erreur d'ouverture ou d'écriture marque l'index comme périmé : les recherches repassent par MySQL (LIKE)
+ *   jusqu'à la reconstruction automatique (ou manuelle : POST /actuator/rentaltextindex).
+ *
+ * @Component indique que cette classe est un composant Spring.
+ */
+@Component
+public class RentalTextSearchService extends EventSyncedIndex<RentalTextIndex> {
+
+    private static final Logger log = LoggerFactory.getLogger(RentalTextSearchService.class);
+
+    private final RentalRepository rentalRepository;
+    private final Path indexPath;
+
+    public RentalTextSearchService(RentalRepository rentalRepository, PlatformTransactionManager transactionManager,
+            @Value("${chatop.search.text.enabled:true}") boolean enabled,
+            @Value("${chatop.search.text.index-path:./data/rental-index}") Path indexPath,
+            @Value("${chatop.index.rebuild-retry-delay:30s}") Duration retryDelay) {
+        super("🔎 Index plein texte", enabled, null, transactionManager, retryDelay);
+        this.rentalRepository = rentalRepository;
+        this.indexPath = indexPath;
+    }
+
+    /**
+     * Ouvre l'index une fois l'application démarrée et le reconstruit s'il ne correspond pas à la base.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!isEnabled()) {
+            log.info("🔎 Recherche plein texte désactivée");
+            return;
+        }
+        RentalTextIndex index;
+        try {
+            index = RentalTextIndex.open(indexPath);
+        } catch (IOException e) {
+            // La reconstruction planifiée retentera l'ouverture
+            markStale("ouverture de " + indexPath.toAbsolutePath(), e);
+            return;
+        }
+        long documents = index.numDocs();
+        long rentals = rentalRepository.count();
+        if (documents != rentals) {
+            log.info("🔎 Index plein texte à reconstruire ({} documents pour {} locations)", documents, rentals);
+            attach(index);
+            rebuild();
+        } else {
+            initialize(index);
+            log.info("🔎 Index plein texte réutilisé: {} documents ({})", documents, indexPath.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Reconstruit l'index après un import en masse (les lignes importées ne produisent pas d'événement unitaire).
+     *
+     * @param event Import terminé
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalsImported(RentalsImportedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        log.info("🔎 Reconstruction de l'index plein texte après l'import de {} locations", event.imported());
+        rebuild();
+    }
+
+    /**
+     * Répercute une modification validée d'une location dans l'index.
+     *
+     * @param event Modification de la location
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalChanged(RentalChangedEvent event) {
+        apply(index -> {
+            if (event.type() == RentalChangedEvent.Type.DELETED) {
+                index.delete(event.rentalId());
+            } else if (event.rental() != null) {
+                index.upsert(event.rentalId(), event.rental().getName(), event.rental().getDescription());
+            }
+            return index;
+        }, event.type() + " " + event.rentalId());
+    }
+
+    /**
+     * Recherche les locations les plus pertinentes pour un texte.
+     *
+     * @param text Texte recherché
+     * @param limit Nombre maximal de résultats
+     * @return Résultats classés par pertinence, ou Optional.empty() si l'index n'est pas utilisable
+     */
+    public Optional<RentalTextIndex.Hits> search(String text, int limit) {
+        Optional<RentalTextIndex> usable = usableState();
+        if (usable.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(usable.get().search(text, limit));
+        } catch (IOException | RuntimeException e) {
+            log.error("❌ Erreur de lecture de l'index plein texte: {}", e.getMessage(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Ferme l'index (et libère son verrou) à l'arrêt de l'application.
+     */
+    @PreDestroy
+    public void close() {
+        RentalTextIndex current = detach();
+        if (current == null) {
+            return;
+        }
+        try {
+            current.close();
+        } catch (IOException e) {
+            log.warn("⚠️ Erreur lors de la fermeture de l'index plein texte: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * L'index est reconstruit en place ; il est ouvert ici si son ouverture au démarrage a échoué.
+     */
+    @Override
+    protected RentalTextIndex load(RentalTextIndex current) throws IOException {
+        RentalTextIndex target = current;
+        if (target == null) {
+            target = RentalTextIndex.open(indexPath);
+            // Rattaché tout de suite : une nouvelle tentative le réutilise au lieu de buter sur le verrou Lucene
+            attach(target);
+        }
+        try (Stream<RentalTextRow> rows = rentalRepository.streamTextRows()) {
+            target.replaceAll(rows.iterator());
+        }
+        return target;
+    }
+
+    // Chaque lot de modifications est validé avant d'être visible des recherches
+    @Override
+    protected void afterChanges(RentalTextIndex index) throws IOException {
+        index.commit();
+    }
+
+    @Override
+    protected String describe(RentalTextIndex index) {
+        return index.numDocs() + " documents";
+    }
+
+    @Override
+    protected void addStats(RentalTextIndex index, Map<String, Object> stats) {
+        stats.put("path", indexPath.toAbsolutePath().toString());
+        if (index != null) {
+            stats.put("documents", index.numDocs());
+            try {
+                stats.put("sizeInBytes", index.sizeInBytes());
+            } catch (IOException e) {
+                stats.put("sizeInBytes", null);
+            }
+        }
+    }
+}
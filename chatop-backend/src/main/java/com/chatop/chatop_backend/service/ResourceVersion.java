@@ -0,0 +1,103 @@
+package com.chatop.chatop_backend.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Validateurs HTTP d'une ressource : ETag fort et date de dernière modification.
+ * - L'ETag d'une location est dérivé de son identifiant et de sa colonne version (verrouillage optimiste) :
+ *   il change à chaque mise à jour et permet de retrouver la version attendue depuis un en-tête If-Match.
+ * - L'ETag d'un utilisateur est dérivé de son identifiant et de son updated_at (à la milliseconde).
+ * Un ETag est identique qu'il soit calculé depuis l'entité, le DTO ou une projection légère.
+ *
+ * @param etag ETag fort, guillemets compris
+ * @param lastModified Date de dernière modification (millisecondes epoch, -1 si inconnue)
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+    public static ResourceVersion ofRental(Long id, Long version, LocalDateTime updatedAt) {
+        return rental(id, version, toEpochMillis(updatedAt));
+    }
+
+    public static ResourceVersion ofRental(Long id, Long version, Date updatedAt) {
+        return rental(id, version, updatedAt == null ? -1 : updatedAt.getTime());
+    }
+
+    /**
+     * Extrait la version d'une location d'un ETag produit par {@link #ofRental(Long, Long, Date)}.
+     *
+     * @param id Identifiant de la location
+     * @param etag ETag envoyé par le client (If-Match)
+     * @return Version, ou null si l'ETag ne désigne pas une version de cette location
+     */
+    public static Long parseRentalVersion(Long id, String etag) {
+        if (etag == null) {
+            return null;
+        }
+        String tag = etag.trim();
+        String prefix = "\"r" + id + "-v";
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) {
+            return null;
+        }
+        try {
+            return Long.valueOf(tag.substring(prefix.length(), tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static ResourceVersion ofUser(Long id, LocalDateTime updatedAt) {
+        return of("u", id, toEpochMillis(updatedAt));
+    }
+
+    /**
+     * Version d'une collection, dérivée d'un compteur de modifications.
+     *
+     * @param name Nom de la collection
+     * @param epoch Identifiant de l'instance du compteur (change à chaque redémarrage)
+     * @param counter Valeur du compteur
+     * @param lastModified Date de la dernière modification
+     * @return Version de la collection
+     */
+    public static ResourceVersion ofCollection(String name, long epoch, long counter, long lastModified) {
+        return new ResourceVersion("\"" + name + "-" + Long.toHexString(epoch) + "-" + Long.toHexString(counter) + "\"",
+                lastModified);
+    }
+
+    /**
+     * Évalue un en-tête If-Match (comparaison forte, RFC 9110 §13.1.1).
+     *
+     * @param ifMatch Valeur de l'en-tête : "*" ou liste d'ETags séparés par des virgules
+     * @return true si l'un des ETags correspond à cette version
+     */
+    public boolean matches(String ifMatch) {
+        if (ifMatch == null) {
+            return true;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            // Un ETag faible (W/"...") ne satisfait jamais une comparaison forte
+            if ("*".equals(tag) || etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ResourceVersion rental(Long id, Long version, long updatedAtMillis) {
+        if (version == null) {
+            return of("r", id, updatedAtMillis);
+        }
+        return new ResourceVersion("\"r" + id + "-v" + version + "\"", updatedAtMillis);
+    }
+
+    private static ResourceVersion of(String prefix, Long id, long updatedAtMillis) {
+        return new ResourceVersion("\"" + prefix + id + "-" + Long.toHexString(Math.max(0, updatedAtMillis)) + "\"",
+                updatedAtMillis);
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? -1 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
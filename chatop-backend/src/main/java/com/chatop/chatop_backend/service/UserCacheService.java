@@ -0,0 +1,129 @@
+package com.chatop.chatop_backend.service;
+
+import com.chatop.chatop_backend.dto.UserSnapshot;
+import com.chatop.chatop_backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Service de lecture des utilisateurs à travers un cache en mémoire.
+ * Les utilisateurs sont indexés à la fois par email et par identifiant : un chargement par l'une
+ * des clés alimente aussi l'autre cache. Les valeurs sont des {@link UserSnapshot} immuables,
+ * jamais des entités JPA managées. Les utilisateurs inexistants ne sont pas mis en cache.
+ * Toute modification d'un utilisateur doit appeler {@link #evict(Long, String)} ; un utilisateur créé est
+ * ajouté avec {@link #put(UserSnapshot)}.
+ *
+ * @Service indique que cette classe est un service Spring.
+ * @see com.chatop.chatop_backend.config.CacheConfig
+ */
+@Service
+public class UserCacheService {
+
+    public static final String USERS_BY_EMAIL = "usersByEmail";
+    public static final String USERS_BY_ID = "usersById";
+
+    private static final Logger log = LoggerFactory.getLogger(UserCacheService.class);
+
+    private final UserRepository userRepository;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> usersByEmail;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> usersById;
+
+    public UserCacheService(UserRepository userRepository, CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.usersByEmail = nativeCache(cacheManager, USERS_BY_EMAIL);
+        this.usersById = nativeCache(cacheManager, USERS_BY_ID);
+    }
+
+    /**
+     * Recherche un utilisateur par son email (insensible à la casse, comme la collation MySQL).
+     *
+     * @param email Email de l'utilisateur
+     * @return Copie de l'utilisateur, ou Optional.empty() s'il n'existe pas
+     */
+    public Optional<UserSnapshot> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        // Caffeine ne stocke pas les résultats null : un email inconnu n'est pas mis en cache
+        Object cached = usersByEmail.get(emailKey(email), key -> {
+            log.debug("🔍 Cache utilisateurs manqué pour l'email: {}", email);
+            UserSnapshot snapshot = userRepository.findByEmail(email).map(UserSnapshot::from).orElse(null);
+            if (snapshot != null) {
+                usersById.put(snapshot.id(), snapshot);
+            }
+            return snapshot;
+        });
+        return Optional.ofNullable((UserSnapshot) cached);
+    }
+
+    /**
+     * Recherche un utilisateur par son identifiant.
+     * Un chargement depuis la base passe par une transaction en lecture seule (réplica s'il est configuré).
+     *
+     * @param id Identifiant de l'utilisateur
+     * @return Copie de l'utilisateur, ou Optional.empty() s'il n'existe pas
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserSnapshot> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Object cached = usersById.get(id, key -> {
+            log.debug("🔍 Cache utilisateurs manqué pour l'ID: {}", id);
+            UserSnapshot snapshot = userRepository.findById(id).map(UserSnapshot::from).orElse(null);
+            if (snapshot != null) {
+                usersByEmail.put(emailKey(snapshot.email()), snapshot);
+            }
+            return snapshot;
+        });
+        return Optional.ofNullable((UserSnapshot) cached);
+    }
+
+    /**
+     * Ajoute un utilisateur qui vient d'être créé : ses premières requêtes authentifiées ne relisent pas
+     * la base, où le réplica pourrait ne pas encore l'avoir reçu.
+     *
+     * @param snapshot Copie de l'utilisateur créé
+     */
+    public void put(UserSnapshot snapshot) {
+        usersById.put(snapshot.id(), snapshot);
+        usersByEmail.put(emailKey(snapshot.email()), snapshot);
+        log.debug("📥 Utilisateur ajouté au cache: id={}, email={}", snapshot.id(), snapshot.email());
+    }
+
+    /**
+     * Invalide les entrées d'un utilisateur après sa modification.
+     *
+     * @param id Identifiant de l'utilisateur (peut être null)
+     * @param email Email de l'utilisateur (peut être null)
+     */
+    public void evict(Long id, String email) {
+        if (id != null) {
+            usersById.invalidate(id);
+        }
+        if (email != null) {
+            usersByEmail.invalidate(emailKey(email));
+        }
+        log.debug("🧹 Entrées du cache utilisateurs invalidées: id={}, email={}", id, email);
+    }
+
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            throw new IllegalStateException("Le cache " + name + " doit être un cache Caffeine");
+        }
+        return caffeineCache.getNativeCache();
+    }
+}
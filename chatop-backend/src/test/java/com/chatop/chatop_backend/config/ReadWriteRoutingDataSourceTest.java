@@ -0,0 +1,170 @@
+package com.chatop.chatop_backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Routage lecture/écriture : cible choisie selon la transaction, l'état du réplica et la fenêtre
+ * de fraîcheur propre à chaque utilisateur.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() throws SQLException {
+        ReadWriteRoutingDataSource routing = routing(Duration.ofMinutes(1));
+
+        assertThat(readAs(routing, "alice@test.com")).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void writesAndNonTransactionalAccessUsePrimary() throws SQLException {
+        ReadWriteRoutingDataSource routing = routing(Duration.ofMinutes(1));
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        authenticate("alice@test.com");
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void writerReadsItsOwnWritesFromPrimary() throws SQLException {
+        ReadWriteRoutingDataSource routing = routing(Duration.ofMinutes(1));
+
+        commitWriteAs(routing, "alice@test.com");
+
+        assertThat(readAs(routing, "alice@test.com")).isSameAs(primaryConnection);
+        // Les écritures d'alice ne renvoient pas les lectures des autres utilisateurs vers la base principale
+        assertThat(readAs(routing, "bob@test.com")).isSameAs(replicaConnection);
+        assertThat(readAs(routing, null)).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void anonymousWritesOnlyAffectAnonymousReads() throws SQLException {
+        ReadWriteRoutingDataSource routing = routing(Duration.ofMinutes(1));
+
+        commitWriteAs(routing, null);
+
+        assertThat(readAs(routing, null)).isSameAs(primaryConnection);
+        assertThat(readAs(routing, "bob@test.com")).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void rolledBackWriteDoesNotOpenFreshnessWindow() throws SQLException {
+        ReadWriteRoutingDataSource routing = routing(Duration.ofMinutes(1));
+
+        authenticate("alice@test.com");
+        TransactionSynchronizationManager.initSynchronization();
+        routing.getConnection();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(readAs(routing, "alice@test.com")).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void freshnessWindowExpiresAfterMaxLag() throws Exception {
+        ReadWriteRoutingDataSource routing = routing(Duration.ofMillis(50));
+
+        commitWriteAs(routing, "alice@test.com");
+        Thread.sleep(100);
+
+        assertThat(readAs(routing, "alice@test.com")).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void unusableReplicaIsBypassed() throws SQLException {
+        ReadWriteRoutingDataSource routing = routing(Duration.ofMinutes(1));
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+
+        assertThat(readAs(routing, "alice@test.com")).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void onPrimaryForcesPrimaryForReadOnlyTransactions() {
+        ReadWriteRoutingDataSource routing = routing(Duration.ofMinutes(1));
+
+        Connection connection = DataSourceRouting.onPrimary(() -> {
+            try {
+                return readAs(routing, "alice@test.com");
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(connection).isSameAs(primaryConnection);
+        assertThat(DataSourceRouting.isPrimaryForced()).isFalse();
+    }
+
+    private ReadWriteRoutingDataSource routing(Duration maxLag) {
+        return new ReadWriteRoutingDataSource(primary, replica, lagMonitor, maxLag, 100, new SimpleMeterRegistry());
+    }
+
+    // Transaction en écriture validée par l'utilisateur (null : anonyme)
+    private void commitWriteAs(ReadWriteRoutingDataSource routing, String user) throws SQLException {
+        authenticate(user);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(routing.getConnection()).isSameAs(primaryConnection);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // Connexion ouverte par une transaction en lecture seule de l'utilisateur (null : anonyme)
+    private Connection readAs(ReadWriteRoutingDataSource routing, String user) throws SQLException {
+        authenticate(user);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            return routing.getConnection();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    private static void authenticate(String user) {
+        SecurityContextHolder.getContext().setAuthentication(user == null ? null
+                : UsernamePasswordAuthenticationToken.authenticated(user, "n/a", List.of()));
+    }
+}
@@ -0,0 +1,198 @@
+package com.chatop.chatop_backend.config;
+
+import com.chatop.chatop_backend.dto.RentalDto;
+import com.chatop.chatop_backend.exception.RentalVersionConflictException;
+import com.chatop.chatop_backend.model.User;
+import com.chatop.chatop_backend.repository.UserRepository;
+import com.chatop.chatop_backend.service.RentalService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Lecture puis écriture dans une même requête, avec deux sources de données : la base principale et
+ * un réplica en lecture seule (même base H2, utilisateur READER limité à SELECT). Une écriture envoyée
+ * sur une connexion du réplica échoue, comme sur un réplica MySQL en read_only.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:chatop-routing;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "chatop.datasource.replica.enabled=true",
+        // Sans DB_CLOSE_DELAY : H2 réserve cette option aux administrateurs, la base reste ouverte par le pool principal
+        "chatop.datasource.replica.url=jdbc:h2:mem:chatop-routing;MODE=MySQL",
+        "chatop.datasource.replica.username=READER",
+        "chatop.datasource.replica.password=reader"
+})
+@TestPropertySource("classpath:chatop-test.properties")
+@AutoConfigureMockMvc
+class ReadWriteRoutingIntegrationTest {
+
+    private static final String OWNER_EMAIL = "owner@routing.test";
+
+    // SHOW REPLICA STATUS n'existe pas sous H2 : le réplica est déclaré à jour
+    @MockBean
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RentalService rentalService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        // Le pool du réplica ne se connecte qu'à sa première lecture, après la création de son utilisateur
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        primary.execute("CREATE USER IF NOT EXISTS READER PASSWORD 'reader'");
+        primary.execute("GRANT SELECT ON SCHEMA PUBLIC TO READER");
+
+        owner = userRepository.findByEmail(OWNER_EMAIL).orElseGet(() -> userRepository.save(User.builder()
+                .name("Owner")
+                .email(OWNER_EMAIL)
+                .password("not-used")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build()));
+    }
+
+    @Test
+    void replicaConnectionsRejectWrites() {
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM USERS WHERE email = ?", Long.class, OWNER_EMAIL))
+                .isEqualTo(1L);
+        assertThatThrownBy(() -> replica.update("DELETE FROM USERS WHERE 1 = 0"))
+                .isInstanceOf(DataAccessException.class);
+    }
+
+    @Test
+    void readOnReplicaThenWriteOnPrimaryInSameRequest() throws Exception {
+        Long rentalId = rentalService.createRental(rental("Studio routé")).getId();
+        double replicaConnections = replicaConnections();
+
+        // L'envoi d'un message lit l'utilisateur et la location (lecture seule) puis enregistre le message
+        mockMvc.perform(post("/api/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rental_id\":" + rentalId + ",\"user_id\":" + owner.getId()
+                                + ",\"message\":\"Lecture sur le réplica puis écriture sur la base principale\"}")
+                        .with(user(OWNER_EMAIL)))
+                .andExpect(status().isOk());
+
+        // Les lectures ont bien eu lieu sur le réplica : l'INSERT qui suit a obtenu sa propre connexion
+        assertThat(replicaConnections()).isGreaterThan(replicaConnections);
+        assertThat(new JdbcTemplate(primaryDataSource)
+                .queryForObject("SELECT COUNT(*) FROM messages WHERE rental_id = ?", Long.class, rentalId))
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void rentalWritesReadTheirRowsOnPrimary() {
+        double replicaConnections = replicaConnections();
+        RentalDto rental = rental("Studio");
+
+        try {
+            // Chaque appel est fait par un utilisateur sans écriture récente : seule la transaction
+            // en écriture du service peut envoyer ses lectures sur la base principale
+            authenticate("creator@routing.test");
+            RentalDto created = rentalService.createRental(rental);
+
+            authenticate("editor@routing.test");
+            rental.setName("Studio rénové");
+            RentalDto updated = rentalService.updateRental(created.getId(), rental, created.getVersion());
+            assertThat(updated.getVersion()).isGreaterThan(created.getVersion());
+
+            authenticate("late-editor@routing.test");
+            assertThatThrownBy(() -> rentalService.updateRental(created.getId(), rental, created.getVersion()))
+                    .isInstanceOf(RentalVersionConflictException.class);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        assertThat(replicaConnections()).isEqualTo(replicaConnections);
+    }
+
+    @Test
+    void ownerPageMissesAreLoadedFromPrimary() {
+        RentalDto created = rentalService.createRental(rental("Studio en cache"));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        double replicaConnections = replicaConnections();
+
+        try {
+            // Lecteur sans écriture récente, dans une transaction en lecture seule, juste après l'invalidation :
+            // la page manquante ne doit pas venir du réplica (elle resterait en cache au-delà du retard toléré)
+            authenticate("visitor@routing.test");
+            List<RentalDto> rentals = readOnly.execute(status ->
+                    rentalService.getRentalsByOwner(owner.getId(), null, 100).getRentals());
+            assertThat(rentals).extracting(RentalDto::getId).contains(created.getId());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        assertThat(replicaConnections()).isEqualTo(replicaConnections);
+    }
+
+    private RentalDto rental(String name) {
+        RentalDto rental = new RentalDto();
+        rental.setName(name);
+        rental.setSurface(BigDecimal.valueOf(25));
+        rental.setPrice(BigDecimal.valueOf(600));
+        rental.setDescription("Location de test du routage");
+        rental.setOwnerId(owner.getId());
+        return rental;
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(UsernamePasswordAuthenticationToken.authenticated(email, "n/a", List.of()));
+    }
+
+    private double replicaConnections() {
+        return meterRegistry.get("datasource.routing.connections").tag("target", "replica").counter().count();
+    }
+}
@@ -0,0 +1,275 @@
+package com.chatop.chatop_backend.controller;
+
+import com.chatop.chatop_backend.dto.RentalBulkDeleteResultDto;
+import com.chatop.chatop_backend.dto.RentalDto;
+import com.chatop.chatop_backend.exception.RentalVersionConflictException;
+import com.chatop.chatop_backend.security.AuthenticatedUser;
+import com.chatop.chatop_backend.security.JwtService;
+import com.chatop.chatop_backend.service.ConditionalRequestSupport;
+import com.chatop.chatop_backend.service.FileStorageService;
+import com.chatop.chatop_backend.service.JsonStreamWriter;
+import com.chatop.chatop_backend.service.MessageService;
+import com.chatop.chatop_backend.service.RentalCollectionVersion;
+import com.chatop.chatop_backend.service.RentalImportService;
+import com.chatop.chatop_backend.service.RentalService;
+import com.chatop.chatop_backend.service.UserCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Contrôleur des locations, sans la chaîne de filtres de sécurité : modification partielle conditionnelle
+ * (428 sans version, 412 pour If-Match, 409 pour la version du corps), limites de la suppression en masse
+ * et modification ou suppression réservées au propriétaire (403 sinon).
+ * L'utilisateur authentifié est fourni directement comme principal de la requête.
+ */
+@WebMvcTest(RentalController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource("classpath:chatop-test.properties")
+class RentalControllerTest {
+
+    private static final long OWNER_ID = 11L;
+    private static final long RENTAL_ID = 5L;
+
+    @TestConfiguration
+    static class ConditionalRequestConfig {
+
+        @Bean
+        ConditionalRequestSupport conditionalRequestSupport() {
+            return new ConditionalRequestSupport(new SimpleMeterRegistry());
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RentalService rentalService;
+
+    @MockBean
+    private FileStorageService fileStorageService;
+
+    @MockBean
+    private UserCacheService userCacheService;
+
+    @MockBean
+    private RentalCollectionVersion collectionVersion;
+
+    @MockBean
+    private RentalImportService rentalImportService;
+
+    @MockBean
+    private JsonStreamWriter jsonStreamWriter;
+
+    @MockBean
+    private MessageService messageService;
+
+    // Dépendances du filtre JWT, enregistré par la tranche web mais désactivé (addFilters = false)
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @Test
+    void patchWithoutVersionRequiresPrecondition() throws Exception {
+        mockMvc.perform(patchRental("{\"name\":\"Nouveau nom\"}"))
+                .andExpect(status().isPreconditionRequired());
+
+        verify(rentalService, never()).patchRental(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void patchWithForeignIfMatchFailsPrecondition() throws Exception {
+        mockMvc.perform(patchRental("{\"name\":\"Nouveau nom\"}").header(HttpHeaders.IF_MATCH, "\"r6-v1\""))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(rentalService, never()).patchRental(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void patchWithIfMatchAppliesExpectedVersion() throws Exception {
+        RentalDto patched = new RentalDto();
+        patched.setId(RENTAL_ID);
+        patched.setName("Nouveau nom");
+        patched.setVersion(2L);
+        when(rentalService.patchRental(eq(RENTAL_ID), any(), eq(1L), eq(OWNER_ID))).thenReturn(patched);
+
+        mockMvc.perform(patchRental("{\"name\":\"Nouveau nom\"}").header(HttpHeaders.IF_MATCH, "\"r5-v1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"r5-v2\""))
+                .andExpect(jsonPath("$.name").value("Nouveau nom"));
+    }
+
+    @Test
+    void patchWithWildcardIfMatchSkipsVersionCheck() throws Exception {
+        RentalDto patched = new RentalDto();
+        patched.setId(RENTAL_ID);
+        patched.setVersion(4L);
+        when(rentalService.patchRental(eq(RENTAL_ID), any(), isNull(), eq(OWNER_ID))).thenReturn(patched);
+
+        mockMvc.perform(patchRental("{\"name\":\"Nouveau nom\",\"version\":1}").header(HttpHeaders.IF_MATCH, "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"r5-v4\""));
+    }
+
+    @Test
+    void ifMatchConflictFailsPrecondition() throws Exception {
+        when(rentalService.patchRental(eq(RENTAL_ID), any(), eq(1L), eq(OWNER_ID)))
+                .thenThrow(new RentalVersionConflictException("Conflit", 2L, null));
+
+        mockMvc.perform(patchRental("{\"name\":\"Nouveau nom\"}").header(HttpHeaders.IF_MATCH, "\"r5-v1\""))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"r5-v2\""));
+    }
+
+    @Test
+    void bodyVersionConflictIsReportedAsConflict() throws Exception {
+        when(rentalService.patchRental(eq(RENTAL_ID), any(), eq(1L), eq(OWNER_ID)))
+                .thenThrow(new RentalVersionConflictException("Conflit", 2L, null));
+
+        mockMvc.perform(patchRental("{\"name\":\"Nouveau nom\",\"version\":1}"))
+                .andExpect(status().isConflict())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"r5-v2\""));
+    }
+
+    @Test
+    void bulkDeleteWithinLimit() throws Exception {
+        when(rentalService.deleteRentals(anyCollection(), eq(OWNER_ID)))
+                .thenReturn(new RentalBulkDeleteResultDto(List.of(1L, 2L), List.of(3L), List.of()));
+
+        mockMvc.perform(bulkDelete("{\"ids\":[1,2,3]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted.length()").value(2))
+                .andExpect(jsonPath("$.not_found[0]").value(3));
+    }
+
+    @Test
+    void bulkDeleteRejectsTooManyIds() throws Exception {
+        String ids = LongStream.rangeClosed(1, 501).mapToObj(Long::toString).collect(Collectors.joining(","));
+
+        mockMvc.perform(bulkDelete("{\"ids\":[" + ids + "]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(rentalService, never()).deleteRentals(anyCollection(), any());
+    }
+
+    @Test
+    void bulkDeleteRejectsEmptyOrNullIds() throws Exception {
+        mockMvc.perform(bulkDelete("{\"ids\":[]}")).andExpect(status().isBadRequest());
+        mockMvc.perform(bulkDelete("{\"ids\":[1,null]}")).andExpect(status().isBadRequest());
+
+        verify(rentalService, never()).deleteRentals(anyCollection(), any());
+    }
+
+    @Test
+    void putOnForeignRentalIsForbidden() throws Exception {
+        when(rentalService.getRentalById(RENTAL_ID)).thenReturn(Optional.of(existingRental(OWNER_ID + 1)));
+
+        mockMvc.perform(putRental().param("name", "Nouveau nom"))
+                .andExpect(status().isForbidden());
+
+        verify(rentalService, never()).updateRental(anyLong(), any(), any());
+    }
+
+    @Test
+    void putByOwnerUpdatesRental() throws Exception {
+        RentalDto updated = existingRental(OWNER_ID);
+        updated.setName("Nouveau nom");
+        updated.setVersion(2L);
+        when(rentalService.getRentalById(RENTAL_ID)).thenReturn(Optional.of(existingRental(OWNER_ID)));
+        when(rentalService.updateRental(eq(RENTAL_ID), any(), isNull())).thenReturn(updated);
+
+        mockMvc.perform(putRental().param("name", "Nouveau nom"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Nouveau nom"));
+    }
+
+    @Test
+    void deleteOfForeignRentalIsForbidden() throws Exception {
+        when(rentalService.deleteRental(RENTAL_ID, OWNER_ID))
+                .thenThrow(new AccessDeniedException("La location n'appartient pas à l'utilisateur"));
+
+        mockMvc.perform(delete("/api/rentals/{id}", RENTAL_ID).principal(owner()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void deleteByOwnerPassesCallerToService() throws Exception {
+        when(rentalService.deleteRental(RENTAL_ID, OWNER_ID)).thenReturn(true);
+
+        mockMvc.perform(delete("/api/rentals/{id}", RENTAL_ID).principal(owner()))
+                .andExpect(status().isNoContent());
+
+        verify(rentalService).deleteRental(RENTAL_ID, OWNER_ID);
+    }
+
+    private static MockHttpServletRequestBuilder putRental() {
+        return multipart(HttpMethod.PUT, "/api/rentals/{id}", RENTAL_ID)
+                .principal(owner());
+    }
+
+    private static RentalDto existingRental(long ownerId) {
+        RentalDto rental = new RentalDto();
+        rental.setId(RENTAL_ID);
+        rental.setName("Studio");
+        rental.setOwnerId(ownerId);
+        rental.setVersion(1L);
+        return rental;
+    }
+
+    private static MockHttpServletRequestBuilder patchRental(String body) {
+        return patch("/api/rentals/{id}", RENTAL_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)
+                .principal(owner());
+    }
+
+    private static MockHttpServletRequestBuilder bulkDelete(String body) {
+        return post("/api/rentals/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)
+                .principal(owner());
+    }
+
+    private static Authentication owner() {
+        AuthenticatedUser principal = new AuthenticatedUser(OWNER_ID, "owner@test.com", "Owner", "USER", null);
+        return UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+    }
+}
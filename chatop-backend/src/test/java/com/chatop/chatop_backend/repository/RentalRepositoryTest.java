@@ -0,0 +1,84 @@
+package com.chatop.chatop_backend.repository;
+
+import com.chatop.chatop_backend.dto.RentalRow;
+import com.chatop.chatop_backend.model.Rental;
+import com.chatop.chatop_backend.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pagination par clé en projection ({@link RentalRepository#findRowsAfter}) : mêmes lignes que la page
+ * d'entités, en une seule requête et sans entité chargée. Les requêtes sont comptées par les statistiques Hibernate.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@TestPropertySource("classpath:chatop-test.properties")
+class RentalRepositoryTest {
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = User.builder().email("owner@test.com").name("Owner").password("hashed").build();
+        entityManager.persist(owner);
+        for (int i = 1; i <= 5; i++) {
+            entityManager.persist(rental("Location " + i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void rowsAfterMatchEntityPage() {
+        List<Long> entityIds = rentalRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(5)).stream()
+                .map(Rental::getId)
+                .toList();
+        long afterId = entityIds.get(1);
+        entityManager.clear();
+        statistics.clear();
+
+        List<RentalRow> rows = rentalRepository.findRowsAfter(afterId, Limit.of(2));
+
+        assertThat(rows).extracting(RentalRow::id).containsExactly(entityIds.get(2), entityIds.get(3));
+        assertThat(rows).extracting(RentalRow::ownerId).containsOnly(owner.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        // Projection : ni location ni propriétaire chargés comme entités
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void rowsAfterLastIdIsEmpty() {
+        long lastId = rentalRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(5)).get(4).getId();
+
+        assertThat(rentalRepository.findRowsAfter(lastId, Limit.of(10))).isEmpty();
+    }
+
+    private Rental rental(String name) {
+        Rental rental = new Rental();
+        rental.setName(name);
+        rental.setSurface(new BigDecimal("25"));
+        rental.setPrice(new BigDecimal("600"));
+        rental.setOwner(owner);
+        return rental;
+    }
+}
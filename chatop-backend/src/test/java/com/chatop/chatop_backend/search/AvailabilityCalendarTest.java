@@ -0,0 +1,75 @@
+package com.chatop.chatop_backend.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recherche de disponibilités sur {@link AvailabilityCalendar} : pagination par identifiant,
+ * séjours à cheval sur deux années, locations inconnues ou supprimées.
+ */
+class AvailabilityCalendarTest {
+
+    private final AvailabilityCalendar calendar = new AvailabilityCalendar();
+
+    @BeforeEach
+    void setUp() {
+        calendar.addRental(1);
+        calendar.addRental(2);
+        calendar.addRental(3);
+        // Location 2 : nuits du 10 au 12 janvier 2025 bloquées (jours 9 à 11)
+        calendar.put(2, 2025, DayBitmap.EMPTY.withRange(9, 12, true));
+    }
+
+    @Test
+    void blockedRentalIsExcluded() {
+        LocalDate from = LocalDate.of(2025, 1, 8);
+        LocalDate to = LocalDate.of(2025, 1, 11);
+
+        assertThat(calendar.findAvailable(from, to, 0, 10)).containsExactly(1L, 3L);
+        assertThat(calendar.countAvailable(from, to)).isEqualTo(2);
+        // Départ le jour du premier blocage : la nuit du 10 n'est pas réservée
+        assertThat(calendar.findAvailable(from, LocalDate.of(2025, 1, 10), 0, 10)).containsExactly(1L, 2L, 3L);
+        assertThat(calendar.findAvailable(LocalDate.of(2025, 1, 13), LocalDate.of(2025, 1, 20), 0, 10))
+                .containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void pagesFollowIdentifiers() {
+        LocalDate from = LocalDate.of(2025, 1, 8);
+        LocalDate to = LocalDate.of(2025, 1, 11);
+
+        assertThat(calendar.findAvailable(from, to, 0, 1)).containsExactly(1L);
+        assertThat(calendar.findAvailable(from, to, 1, 1)).containsExactly(3L);
+        assertThat(calendar.findAvailable(from, to, 3, 1)).isEmpty();
+    }
+
+    @Test
+    void stayAcrossNewYear() {
+        calendar.put(1, 2026, DayBitmap.EMPTY.withRange(0, 1, true));
+
+        assertThat(calendar.findAvailable(LocalDate.of(2025, 12, 30), LocalDate.of(2026, 1, 2), 0, 10))
+                .containsExactly(2L, 3L);
+        assertThat(calendar.findAvailable(LocalDate.of(2025, 12, 30), LocalDate.of(2026, 1, 1), 0, 10))
+                .containsExactly(1L, 2L, 3L);
+        assertThat(calendar.get(1, 2025, 2026)).containsEntry(2025, DayBitmap.EMPTY);
+        assertThat(calendar.bitmaps()).isEqualTo(2);
+    }
+
+    @Test
+    void unknownOrRemovedRentalsAreIgnored() {
+        calendar.put(9, 2025, DayBitmap.EMPTY.withRange(0, 10, true));
+        calendar.removeRental(2);
+        // Modification notifiée après la suppression : la location ne réapparaît pas
+        calendar.put(2, 2025, DayBitmap.EMPTY.withRange(0, 10, true));
+
+        assertThat(calendar.get(9, 2025, 2025)).isNull();
+        assertThat(calendar.get(2, 2025, 2025)).isNull();
+        assertThat(calendar.size()).isEqualTo(2);
+        assertThat(calendar.findAvailable(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 5), 0, 10))
+                .containsExactly(1L, 3L);
+    }
+}
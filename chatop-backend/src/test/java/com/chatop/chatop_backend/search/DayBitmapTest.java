@@ -0,0 +1,123 @@
+package com.chatop.chatop_backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Masques de {@link DayBitmap} : plages à cheval sur deux mots de 64 bits, bornes de l'année,
+ * sérialisation et découpage d'une période par année civile.
+ */
+class DayBitmapTest {
+
+    @Test
+    void rangeAcrossWordBoundary() {
+        DayBitmap bitmap = DayBitmap.EMPTY.withRange(60, 70, true);
+
+        assertThat(bitmap.blockedDays()).isEqualTo(10);
+        assertThat(bitmap.isBlocked(59)).isFalse();
+        assertThat(bitmap.isBlocked(60)).isTrue();
+        assertThat(bitmap.isBlocked(63)).isTrue();
+        assertThat(bitmap.isBlocked(64)).isTrue();
+        assertThat(bitmap.isBlocked(69)).isTrue();
+        assertThat(bitmap.isBlocked(70)).isFalse();
+        assertThat(bitmap.isClear(0, 60)).isTrue();
+        assertThat(bitmap.isClear(70, DayBitmap.DAYS)).isTrue();
+        assertThat(bitmap.isClear(55, 61)).isFalse();
+        assertThat(bitmap.isClear(69, 70)).isFalse();
+        assertThat(bitmap.isClear(0, DayBitmap.DAYS)).isFalse();
+    }
+
+    @Test
+    void fullWordRange() {
+        DayBitmap bitmap = DayBitmap.EMPTY.withRange(64, 128, true);
+
+        assertThat(bitmap.blockedDays()).isEqualTo(64);
+        assertThat(bitmap.isBlocked(63)).isFalse();
+        assertThat(bitmap.isBlocked(64)).isTrue();
+        assertThat(bitmap.isBlocked(127)).isTrue();
+        assertThat(bitmap.isBlocked(128)).isFalse();
+        assertThat(bitmap.isClear(0, 64)).isTrue();
+        assertThat(bitmap.isClear(128, DayBitmap.DAYS)).isTrue();
+    }
+
+    @Test
+    void nextBlockedAndFreeDays() {
+        DayBitmap bitmap = DayBitmap.EMPTY.withRange(60, 70, true);
+
+        assertThat(bitmap.nextBlockedDay(0)).isEqualTo(60);
+        assertThat(bitmap.nextBlockedDay(65)).isEqualTo(65);
+        assertThat(bitmap.nextFreeDay(60)).isEqualTo(70);
+        assertThat(bitmap.nextFreeDay(0)).isEqualTo(0);
+        assertThat(bitmap.nextBlockedDay(70)).isEqualTo(-1);
+        assertThat(bitmap.nextBlockedDay(DayBitmap.DAYS)).isEqualTo(-1);
+    }
+
+    @Test
+    void wholeYearBlockedThenReleased() {
+        DayBitmap full = DayBitmap.EMPTY.withRange(0, DayBitmap.DAYS, true);
+
+        assertThat(full.blockedDays()).isEqualTo(DayBitmap.DAYS);
+        assertThat(full.isBlocked(DayBitmap.DAYS - 1)).isTrue();
+        assertThat(full.nextFreeDay(0)).isEqualTo(DayBitmap.DAYS);
+        // Plus aucun jour bloqué : l'instance partagée est renvoyée
+        assertThat(full.withRange(0, DayBitmap.DAYS, false)).isSameAs(DayBitmap.EMPTY);
+    }
+
+    @Test
+    void unchangedRangeReturnsSameInstance() {
+        DayBitmap bitmap = DayBitmap.EMPTY.withRange(60, 70, true);
+
+        assertThat(bitmap.withRange(62, 65, true)).isSameAs(bitmap);
+        assertThat(bitmap.withRange(100, 110, false)).isSameAs(bitmap);
+        assertThat(DayBitmap.EMPTY.withRange(5, 5, true)).isSameAs(DayBitmap.EMPTY);
+    }
+
+    @Test
+    void invalidRangesAreRejected() {
+        assertThatThrownBy(() -> DayBitmap.EMPTY.withRange(-1, 3, true))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> DayBitmap.EMPTY.isClear(10, DayBitmap.DAYS + 1))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> DayBitmap.EMPTY.isClear(10, 9))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void bytesRoundTrip() {
+        DayBitmap bitmap = DayBitmap.EMPTY.withRange(60, 70, true).withRange(365, 366, true);
+
+        byte[] bytes = bitmap.toBytes();
+
+        assertThat(bytes).hasSize(DayBitmap.BYTES);
+        // Octet k bit j = jour 8k + j : jours 60 à 63 puis 64 à 69
+        assertThat(bytes[7]).isEqualTo((byte) 0xF0);
+        assertThat(bytes[8]).isEqualTo((byte) 0x3F);
+        assertThat(bytes[45]).isEqualTo((byte) 0x20);
+        assertThat(DayBitmap.fromBytes(bytes)).isEqualTo(bitmap);
+    }
+
+    @Test
+    void emptyOrInvalidBytes() {
+        assertThat(DayBitmap.fromBytes(null)).isSameAs(DayBitmap.EMPTY);
+        assertThat(DayBitmap.fromBytes(new byte[DayBitmap.BYTES])).isSameAs(DayBitmap.EMPTY);
+        // Une année plus courte (colonne écrite avant l'ajout d'octets) reste lisible
+        assertThat(DayBitmap.fromBytes(new byte[] { 1 }).isBlocked(0)).isTrue();
+        assertThatThrownBy(() -> DayBitmap.fromBytes(new byte[DayBitmap.BYTES + 1]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void segmentsSplitByCalendarYear() {
+        // 2024 est bissextile : le 30 décembre est le 365e jour
+        assertThat(DayBitmap.segments(LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 3))).containsExactly(
+                new DayBitmap.Segment(2024, 364, 366),
+                new DayBitmap.Segment(2025, 0, 2));
+        assertThat(DayBitmap.segments(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 2))).containsExactly(
+                new DayBitmap.Segment(2025, 59, 60));
+        assertThat(DayBitmap.segments(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 1))).isEmpty();
+    }
+}
@@ -0,0 +1,72 @@
+package com.chatop.chatop_backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Zones de recherche {@link GeoArea} : rectangles et cercles traversant l'antiméridien,
+ * cercles contenant un pôle et validation des coordonnées.
+ */
+class GeoAreaTest {
+
+    @Test
+    void boxAcrossAntimeridian() {
+        GeoArea area = GeoArea.box(-20, 170, -10, -170, null, null);
+
+        assertThat(area.crossesAntimeridian()).isTrue();
+        assertThat(area.isCircle()).isFalse();
+        // Centre du rectangle : 20° de large à partir de 170°
+        assertThat(area.referenceLongitude()).isEqualTo(180.0);
+        assertThat(area.distanceIfInside(-15, 179)).isGreaterThanOrEqualTo(0);
+        assertThat(area.distanceIfInside(-15, -179)).isGreaterThanOrEqualTo(0);
+        assertThat(area.distanceIfInside(-15, 0)).isEqualTo(-1);
+        assertThat(area.distanceIfInside(-15, 169)).isEqualTo(-1);
+        assertThat(area.distanceIfInside(-21, 179)).isEqualTo(-1);
+    }
+
+    @Test
+    void circleAcrossAntimeridian() {
+        GeoArea area = GeoArea.circle(0, 179.5, 200);
+
+        assertThat(area.isCircle()).isTrue();
+        assertThat(area.crossesAntimeridian()).isTrue();
+        assertThat(area.minLongitude()).isGreaterThan(0);
+        assertThat(area.maxLongitude()).isLessThan(0);
+        // Un degré de l'autre côté de l'antiméridien, à l'équateur
+        assertThat(area.distanceIfInside(0, -179.5)).isCloseTo(111.195, within(0.01));
+        assertThat(area.distanceIfInside(0, -177)).isEqualTo(-1);
+    }
+
+    @Test
+    void circleContainingPoleCoversAllLongitudes() {
+        GeoArea area = GeoArea.circle(89.5, 0, 100);
+
+        assertThat(area.minLongitude()).isEqualTo(-180.0);
+        assertThat(area.maxLongitude()).isEqualTo(180.0);
+        assertThat(area.maxLatitude()).isEqualTo(90.0);
+        assertThat(area.distanceIfInside(89.9, 180)).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void haversineDistance() {
+        assertThat(GeoArea.distanceKm(0, 0, 0, 1)).isCloseTo(111.195, within(0.01));
+        assertThat(GeoArea.distanceKm(0, 179.5, 0, -179.5)).isCloseTo(111.195, within(0.01));
+        assertThat(GeoArea.distanceKm(48.85, 2.35, 48.85, 2.35)).isEqualTo(0.0);
+    }
+
+    @Test
+    void invalidCoordinatesAreRejected() {
+        GeoArea.validate(null, null);
+
+        assertThatThrownBy(() -> GeoArea.validate(1.0, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeoArea.validate(90.5, 0.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeoArea.validate(0.0, -180.5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeoArea.validate(Double.NaN, 0.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeoArea.circle(0, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeoArea.box(10, 0, 5, 1, null, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeoArea.box(0, 0, 5, 1, 2.0, null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,89 @@
+package com.chatop.chatop_backend.search;
+
+import com.chatop.chatop_backend.dto.RentalGeoRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Grille {@link RentalGeoGrid} : résultats identiques au parcours complet ({@link RentalGeoGrid#rank}),
+ * y compris pour les zones qui traversent l'antiméridien.
+ */
+class RentalGeoGridTest {
+
+    private final List<RentalGeoRow> rows = List.of(
+            new RentalGeoRow(1L, -15.0, 179.5),
+            new RentalGeoRow(2L, -15.0, -179.5),
+            new RentalGeoRow(3L, -15.0, 0.0),
+            new RentalGeoRow(4L, -15.0, 175.0),
+            new RentalGeoRow(5L, null, null));
+
+    private RentalGeoGrid grid;
+
+    @BeforeEach
+    void setUp() {
+        grid = RentalGeoGrid.build(rows.iterator(), 1.0);
+    }
+
+    @Test
+    void locationsWithoutCoordinatesAreSkipped() {
+        assertThat(grid.size()).isEqualTo(4);
+    }
+
+    @Test
+    void wideBoxAcrossAntimeridian() {
+        GeoArea area = GeoArea.box(-20, 170, -10, -170, -15.0, 179.9);
+
+        RentalGeoGrid.Hits hits = grid.search(area, 10);
+
+        assertThat(hits.ids()).containsExactly(1L, 2L, 4L);
+        assertThat(hits.total()).isEqualTo(3);
+        assertThat(RentalGeoGrid.rank(rows.iterator(), area, 10).ids()).containsExactly(hits.ids());
+    }
+
+    @Test
+    void narrowBoxAcrossAntimeridian() {
+        // Quatre cellules à visiter, autant que de cellules occupées : parcours cellule par cellule
+        GeoArea area = GeoArea.box(-15.5, 179.2, -14.5, -179.4, -15.0, 179.9);
+
+        RentalGeoGrid.Hits hits = grid.search(area, 10);
+
+        assertThat(hits.ids()).containsExactly(1L, 2L);
+        assertThat(RentalGeoGrid.rank(rows.iterator(), area, 10).ids()).containsExactly(hits.ids());
+    }
+
+    @Test
+    void circleAcrossAntimeridian() {
+        GeoArea area = GeoArea.circle(-15.0, 179.9, 100);
+
+        RentalGeoGrid.Hits hits = grid.search(area, 10);
+
+        assertThat(hits.ids()).containsExactly(1L, 2L);
+        assertThat(hits.distancesKm()[0]).isLessThan(hits.distancesKm()[1]);
+        assertThat(hits.distancesKm()[1]).isLessThanOrEqualTo(100.0);
+    }
+
+    @Test
+    void limitKeepsNearestAndCountsTotal() {
+        RentalGeoGrid.Hits hits = grid.search(GeoArea.box(-20, 170, -10, -170, -15.0, 179.9), 1);
+
+        assertThat(hits.ids()).containsExactly(1L);
+        assertThat(hits.total()).isEqualTo(3);
+    }
+
+    @Test
+    void moveAndRemove() {
+        GeoArea area = GeoArea.box(-20, 170, -10, -170, -15.0, 179.9);
+
+        grid.put(2, 48.85, 2.35);
+        grid.remove(1);
+        grid.remove(42);
+
+        assertThat(grid.size()).isEqualTo(3);
+        assertThat(grid.search(area, 10).ids()).containsExactly(4L);
+        assertThat(grid.search(GeoArea.circle(48.85, 2.35, 5), 10).ids()).containsExactly(2L);
+    }
+}
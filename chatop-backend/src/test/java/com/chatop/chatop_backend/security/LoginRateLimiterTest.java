@@ -0,0 +1,91 @@
+package com.chatop.chatop_backend.security;
+
+import com.chatop.chatop_backend.exception.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Limiteur de connexions {@link LoginRateLimiter} : seaux par email et par IP, ordre de vérification,
+ * jetons rendus aux connexions réussies et métrique des rejets.
+ * Les seaux se remplissent en une heure : aucun jeton n'est regagné pendant le test.
+ */
+class LoginRateLimiterTest {
+
+    private static final String IP = "203.0.113.7";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoginRateLimiter limiter = new LoginRateLimiter(true, 2, Duration.ofHours(1), 3, Duration.ofHours(1),
+            meterRegistry);
+
+    @Test
+    void emailBucketIsCaseInsensitive() {
+        limiter.checkLoginAttempt("alice@test.com", IP);
+        limiter.checkLoginAttempt("alice@test.com", "198.51.100.1");
+
+        assertThatThrownBy(() -> limiter.checkLoginAttempt("ALICE@test.com", "198.51.100.2"))
+                .isInstanceOfSatisfying(LoginThrottledException.class, e ->
+                        // Un jeton toutes les 30 minutes
+                        assertThat(e.getRetryAfterSeconds()).isBetween(1L, 1800L));
+        assertThat(rejections("email")).isEqualTo(1.0);
+    }
+
+    @Test
+    void blockedEmailDoesNotConsumeIpBucket() {
+        limiter.checkLoginAttempt("alice@test.com", IP);
+        limiter.checkLoginAttempt("alice@test.com", IP);
+        assertThatThrownBy(() -> limiter.checkLoginAttempt("alice@test.com", IP))
+                .isInstanceOf(LoginThrottledException.class);
+
+        // Le rejet par email n'a pas entamé le seau de l'IP : il lui reste un jeton
+        limiter.checkLoginAttempt("bob@test.com", IP);
+        assertThatThrownBy(() -> limiter.checkLoginAttempt("carol@test.com", IP))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThat(rejections("email")).isEqualTo(1.0);
+        assertThat(rejections("ip")).isEqualTo(1.0);
+    }
+
+    @Test
+    void blockedIpRefundsEmailToken() {
+        for (int i = 0; i < 3; i++) {
+            limiter.checkLoginAttempt("user" + i + "@test.com", IP);
+        }
+        assertThatThrownBy(() -> limiter.checkLoginAttempt("carol@test.com", IP))
+                .isInstanceOf(LoginThrottledException.class);
+
+        // Le jeton de carol a été rendu : ses deux tentatives restent disponibles depuis une autre IP
+        limiter.checkLoginAttempt("carol@test.com", "198.51.100.1");
+        limiter.checkLoginAttempt("carol@test.com", "198.51.100.1");
+    }
+
+    @Test
+    void successfulLoginsAreNotCharged() {
+        assertThatCode(() -> {
+            for (int i = 0; i < 10; i++) {
+                limiter.checkLoginAttempt("alice@test.com", IP);
+                limiter.loginSucceeded("alice@test.com", IP);
+            }
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    void disabledLimiterNeverRejects() {
+        LoginRateLimiter disabled = new LoginRateLimiter(false, 1, Duration.ofHours(1), 1, Duration.ofHours(1),
+                new SimpleMeterRegistry());
+
+        assertThatCode(() -> {
+            for (int i = 0; i < 10; i++) {
+                disabled.checkLoginAttempt("alice@test.com", IP);
+            }
+        }).doesNotThrowAnyException();
+    }
+
+    private double rejections(String scope) {
+        return meterRegistry.get("auth.login.throttled").tag("scope", scope).counter().count();
+    }
+}
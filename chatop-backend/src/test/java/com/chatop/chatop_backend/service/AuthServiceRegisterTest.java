@@ -0,0 +1,127 @@
+package com.chatop.chatop_backend.service;
+
+import com.chatop.chatop_backend.dto.AuthResponse;
+import com.chatop.chatop_backend.dto.LoginRequest;
+import com.chatop.chatop_backend.dto.RegisterRequest;
+import com.chatop.chatop_backend.exception.EmailAlreadyInUseException;
+import com.chatop.chatop_backend.repository.UserRepository;
+import com.chatop.chatop_backend.security.AuthenticatedUser;
+import com.chatop.chatop_backend.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Inscription : une seule requête SQL (INSERT), et seule la violation de l'index unique de l'email
+ * est traduite en {@link EmailAlreadyInUseException}. Connexion : le principal {@link AuthenticatedUser}
+ * chargé pendant l'authentification est réutilisé sans requête. Les requêtes sont comptées par les
+ * statistiques Hibernate.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@TestPropertySource("classpath:chatop-test.properties")
+class AuthServiceRegisterTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final JwtService jwtService = mock(JwtService.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final UserCacheService userCacheService = mock(UserCacheService.class);
+    private final AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+    private AuthService authService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+        when(jwtService.generateToken(any(UserDetails.class))).thenReturn("token");
+        authService = new AuthService(userRepository, passwordEncoder, jwtService, authenticationManager,
+                userCacheService);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void registerExecutesSingleInsert() {
+        AuthResponse response = authService.register(new RegisterRequest("Alice", "alice@test.com", "secret123"));
+
+        assertThat(response.getId()).isNotNull();
+        assertThat(response.getToken()).isEqualTo("token");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+    }
+
+    @Test
+    void duplicateEmailIsReportedWithoutPriorSelect() {
+        authService.register(new RegisterRequest("Alice", "alice@test.com", "secret123"));
+        statistics.clear();
+
+        assertThatThrownBy(() -> authService.register(new RegisterRequest("Alice bis", "alice@test.com", "secret456")))
+                .isInstanceOf(EmailAlreadyInUseException.class);
+        // Pas de SELECT préalable : l'INSERT rejeté par l'index unique est la seule requête
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void otherIntegrityViolationsAreNotReportedAsDuplicateEmail() {
+        assertThatThrownBy(() -> authService.register(new RegisterRequest(null, "bob@test.com", "secret123")))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .isNotInstanceOf(EmailAlreadyInUseException.class);
+    }
+
+    @Test
+    void loginReusesAuthenticatedPrincipalWithoutQuery() {
+        AuthResponse registered = authService.register(new RegisterRequest("Alice", "alice@test.com", "secret123"));
+        AuthenticatedUser principal = new AuthenticatedUser(registered.getId(), "alice@test.com", "Alice",
+                "ROLE_USER", "hashed");
+        authenticateAs(principal);
+        statistics.clear();
+
+        AuthResponse response = authService.login(new LoginRequest("alice@test.com", "secret123"));
+
+        assertThat(response.getId()).isEqualTo(registered.getId());
+        assertThat(response.getToken()).isEqualTo("token");
+        // L'utilisateur a déjà été chargé par l'authentification : aucune relecture en base
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void loginWithOtherPrincipalReadsUserOnce() {
+        AuthResponse registered = authService.register(new RegisterRequest("Alice", "alice@test.com", "secret123"));
+        authenticateAs(new User("alice@test.com", "hashed", AuthorityUtils.createAuthorityList("ROLE_USER")));
+        statistics.clear();
+
+        AuthResponse response = authService.login(new LoginRequest("alice@test.com", "secret123"));
+
+        assertThat(response.getId()).isEqualTo(registered.getId());
+        // Principal d'un autre type : un seul SELECT par email
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private void authenticateAs(UserDetails principal) {
+        when(authenticationManager.authenticate(any())).thenReturn(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+    }
+}
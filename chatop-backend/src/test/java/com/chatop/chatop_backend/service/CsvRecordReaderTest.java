@@ -0,0 +1,63 @@
+package com.chatop.chatop_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Lecture CSV de l'import ({@link CsvRecordReader}) : champs entre guillemets, guillemets doublés,
+ * sauts de ligne dans un champ, fins de ligne Windows et numéros de ligne des enregistrements.
+ */
+class CsvRecordReaderTest {
+
+    @Test
+    void quotedFields() throws IOException {
+        CsvRecordReader reader = reader("name,surface,description\n"
+                + "\"Studio, centre\",25,\"Le \"\"meilleur\"\" studio\"\n"
+                + "\"Sur\ndeux lignes\",30,\r\n"
+                + "Loft,80,fin");
+
+        assertThat(reader.next()).containsExactly("name", "surface", "description");
+        assertThat(reader.recordLine()).isEqualTo(1);
+        assertThat(reader.next()).containsExactly("Studio, centre", "25", "Le \"meilleur\" studio");
+        assertThat(reader.recordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("Sur\ndeux lignes", "30", "");
+        assertThat(reader.recordLine()).isEqualTo(3);
+        // Le saut de ligne du champ précédent compte : cet enregistrement commence ligne 5
+        assertThat(reader.next()).containsExactly("Loft", "80", "fin");
+        assertThat(reader.recordLine()).isEqualTo(5);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void emptyFieldsAndInnerQuotes() throws IOException {
+        CsvRecordReader reader = reader(",,\n\"\",a\"b\n");
+
+        assertThat(reader.next()).containsExactly("", "", "");
+        assertThat(reader.next()).containsExactly("", "a\"b");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void emptyInput() throws IOException {
+        assertThat(reader("").next()).isNull();
+    }
+
+    @Test
+    void unclosedQuoteIsRejected() throws IOException {
+        CsvRecordReader reader = reader("name\n\"Studio,25\n");
+
+        assertThat(reader.next()).containsExactly("name");
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("ligne 2");
+    }
+
+    private static CsvRecordReader reader(String csv) {
+        return new CsvRecordReader(new StringReader(csv));
+    }
+}
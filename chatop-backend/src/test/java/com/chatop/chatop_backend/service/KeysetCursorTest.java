@@ -0,0 +1,62 @@
+package com.chatop.chatop_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Curseurs de pagination {@link KeysetCursor} : aller-retour et rejet des curseurs invalides ou forgés.
+ */
+class KeysetCursorTest {
+
+    @Test
+    void identifierRoundTrip() {
+        String cursor = KeysetCursor.encode(42L);
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+        assertThat(KeysetCursor.decode(cursor)).isEqualTo(42L);
+        assertThat(KeysetCursor.decode(KeysetCursor.encode(0L))).isEqualTo(0L);
+        assertThat(KeysetCursor.decode(KeysetCursor.encode(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void positionRoundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_000_000);
+
+        KeysetCursor.Position position = KeysetCursor.decodePosition(KeysetCursor.encode(createdAt, 7L));
+
+        assertThat(position).isEqualTo(new KeysetCursor.Position(createdAt, 7L));
+    }
+
+    @Test
+    void invalidIdentifierCursorsAreRejected() {
+        assertThatThrownBy(() -> KeysetCursor.decode("pas un curseur!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(raw("v1:abc"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(raw("v1:-5"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(raw("42"))).isInstanceOf(IllegalArgumentException.class);
+        // Un curseur de position n'est pas accepté à la place d'un curseur d'identifiant, et inversement
+        assertThatThrownBy(() -> KeysetCursor.decode(KeysetCursor.encode(LocalDateTime.now(), 1L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decodePosition(KeysetCursor.encode(1L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void invalidPositionCursorsAreRejected() {
+        assertThatThrownBy(() -> KeysetCursor.decodePosition(raw("t1:2025-03-14T09:26")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decodePosition(raw("t1:hier|3")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decodePosition(raw("t1:2025-03-14T09:26|-3")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,53 @@
+package com.chatop.chatop_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ETags de {@link ResourceVersion} : format, relecture de la version d'une location depuis If-Match
+ * et comparaison forte.
+ */
+class ResourceVersionTest {
+
+    @Test
+    void rentalETagCarriesVersion() {
+        ResourceVersion version = ResourceVersion.ofRental(7L, 3L, new Date(1_000L));
+
+        assertThat(version.etag()).isEqualTo("\"r7-v3\"");
+        assertThat(version.lastModified()).isEqualTo(1_000L);
+        assertThat(ResourceVersion.ofRental(7L, 3L, (Date) null).lastModified()).isEqualTo(-1L);
+        // Sans colonne version, l'ETag est dérivé de la date de modification
+        assertThat(ResourceVersion.ofRental(7L, null, new Date(255L)).etag()).isEqualTo("\"r7-ff\"");
+        assertThat(ResourceVersion.ofCollection("rentals", 1L, 255L, 10L).etag()).isEqualTo("\"rentals-1-ff\"");
+    }
+
+    @Test
+    void parseRentalVersion() {
+        assertThat(ResourceVersion.parseRentalVersion(7L, "\"r7-v3\"")).isEqualTo(3L);
+        assertThat(ResourceVersion.parseRentalVersion(7L, "  \"r7-v12\" ")).isEqualTo(12L);
+        assertThat(ResourceVersion.parseRentalVersion(7L, null)).isNull();
+        // ETag d'une autre location, ETag faible, version absente ou non numérique
+        assertThat(ResourceVersion.parseRentalVersion(7L, "\"r8-v3\"")).isNull();
+        assertThat(ResourceVersion.parseRentalVersion(7L, "\"r77-v3\"")).isNull();
+        assertThat(ResourceVersion.parseRentalVersion(7L, "W/\"r7-v3\"")).isNull();
+        assertThat(ResourceVersion.parseRentalVersion(7L, "\"r7-v\"")).isNull();
+        assertThat(ResourceVersion.parseRentalVersion(7L, "\"r7-vx\"")).isNull();
+        assertThat(ResourceVersion.parseRentalVersion(7L, "r7-v3")).isNull();
+    }
+
+    @Test
+    void strongComparison() {
+        ResourceVersion version = ResourceVersion.ofRental(7L, 3L, (Date) null);
+
+        assertThat(version.matches(null)).isTrue();
+        assertThat(version.matches("*")).isTrue();
+        assertThat(version.matches("\"r7-v3\"")).isTrue();
+        assertThat(version.matches("\"r7-v2\", \"r7-v3\"")).isTrue();
+        assertThat(version.matches("\"r7-v2\"")).isFalse();
+        // Un ETag faible ne satisfait jamais If-Match
+        assertThat(version.matches("W/\"r7-v3\"")).isFalse();
+    }
+}